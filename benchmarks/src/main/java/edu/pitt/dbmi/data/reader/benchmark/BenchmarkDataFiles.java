@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.generator.DataFileGenerator;
+import edu.pitt.dbmi.data.reader.generator.LowerCovarianceDataFileGenerator;
+import edu.pitt.dbmi.data.reader.generator.TabularDataFileGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the synthetic files read by the benchmarks.
+ *
+ * Oct 19, 2026 12:08:44 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class BenchmarkDataFiles {
+
+    public static final char QUOTE_CHARACTER = '"';
+    public static final String COMMENT_MARKER = "//";
+    public static final String MISSING_VALUE_MARKER = "*";
+    public static final int NUMBER_OF_CATEGORIES = 4;
+    public static final int NUMBER_OF_CASES = 1000;
+
+    private static final int COMMENT_LINE_INTERVAL = 100;
+    private static final long SEED = 20190101L;
+
+    private BenchmarkDataFiles() {
+    }
+
+    /**
+     * Write a comma-delimited tabular data file to a temporary file. Mixed data
+     * alternates continuous and discrete columns.
+     *
+     * @param shape
+     * @param dataType
+     * @param format
+     * @return
+     * @throws IOException
+     */
+    public static Path createTabularDataFile(Shape shape, DataType dataType, Format format) throws IOException {
+        TabularDataFileGenerator generator = new TabularDataFileGenerator(shape.getNumberOfRows(), shape.getNumberOfColumns(), Delimiter.COMMA);
+        generator.setDiscreteColumnRatio(getDiscreteColumnRatio(dataType));
+        generator.setNumberOfCategories(NUMBER_OF_CATEGORIES);
+        generator.setHasHeader(format.hasHeader());
+        if (format == Format.QUOTED) {
+            generator.setQuoteCharacter(QUOTE_CHARACTER);
+        }
+        if (format == Format.COMMENTED) {
+            generator.setCommentMarker(COMMENT_MARKER);
+            generator.setCommentLineInterval(COMMENT_LINE_INTERVAL);
+        }
+
+        return generate(generator, "tabular_" + shape.name().toLowerCase(), ".csv");
+    }
+
+    /**
+     * Write a comma-delimited tabular data file with a header and no comments
+     * or quotes to a temporary file.
+     *
+     * @param numOfRows
+     * @param numOfColumns
+     * @param dataType
+     * @return
+     * @throws IOException
+     */
+    public static Path createTabularDataFile(int numOfRows, int numOfColumns, DataType dataType) throws IOException {
+        TabularDataFileGenerator generator = new TabularDataFileGenerator(numOfRows, numOfColumns, Delimiter.COMMA);
+        generator.setDiscreteColumnRatio(getDiscreteColumnRatio(dataType));
+        generator.setNumberOfCategories(NUMBER_OF_CATEGORIES);
+        generator.setHasHeader(true);
+
+        return generate(generator, "tabular_" + numOfColumns, ".csv");
+    }
+
+    /**
+     * Write a space-delimited lower covariance matrix to a temporary file.
+     *
+     * @param numOfVariables
+     * @return
+     * @throws IOException
+     */
+    public static Path createCovarianceDataFile(int numOfVariables) throws IOException {
+        DataFileGenerator generator = new LowerCovarianceDataFileGenerator(numOfVariables, NUMBER_OF_CASES, Delimiter.SPACE);
+
+        return generate(generator, "covariance_" + numOfVariables, ".txt");
+    }
+
+    public static boolean isDiscrete(DataType dataType, int columnNumber) {
+        switch (dataType) {
+            case DISCRETE:
+                return true;
+            case MIXED:
+                return columnNumber % 2 == 0;
+            default:
+                return false;
+        }
+    }
+
+    private static double getDiscreteColumnRatio(DataType dataType) {
+        switch (dataType) {
+            case DISCRETE:
+                return 1.0;
+            case MIXED:
+                return 0.5;
+            default:
+                return 0;
+        }
+    }
+
+    private static Path generate(DataFileGenerator generator, String prefix, String suffix) throws IOException {
+        generator.setSeed(SEED);
+
+        Path dataFile = Files.createTempFile(prefix, suffix);
+        generator.generate(dataFile);
+
+        return dataFile;
+    }
+
+}
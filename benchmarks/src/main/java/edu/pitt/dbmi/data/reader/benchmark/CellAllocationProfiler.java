@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports the heap allocation per cell parsed, estimated from the allocation
+ * the readers record in their metrics. A pass counts the allocation of the
+ * thread running it and of the worker threads it uses, so multi-threaded
+ * reads are measured in full. Enable it with
+ * <code>-prof edu.pitt.dbmi.data.reader.benchmark.CellAllocationProfiler</code>.
+ *
+ * Oct 19, 2026 1:12:27 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class CellAllocationProfiler implements InternalProfiler {
+
+    private static final LongAdder ALLOCATED_BYTES = new LongAdder();
+    private static final LongAdder NUMBER_OF_CELLS = new LongAdder();
+
+    static void add(ReadMetrics readMetrics) {
+        ALLOCATED_BYTES.add(readMetrics.getAllocatedBytes());
+        NUMBER_OF_CELLS.add(readMetrics.getNumberOfCells());
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        ALLOCATED_BYTES.reset();
+        NUMBER_OF_CELLS.reset();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        long numOfCells = NUMBER_OF_CELLS.sum();
+        if (numOfCells == 0) {
+            return Collections.emptyList();
+        }
+
+        double allocatedBytesPerCell = (double) ALLOCATED_BYTES.sum() / numOfCells;
+
+        return Collections.singletonList(new ScalarResult("alloc.per.cell", allocatedBytesPerCell, "B/cell", AggregationPolicy.AVG));
+    }
+
+    @Override
+    public String getDescription() {
+        return "Heap allocation per cell parsed";
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceData;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceDataReader;
+import edu.pitt.dbmi.data.reader.covariance.LowerCovarianceDataFileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link LowerCovarianceDataFileReader}.
+ *
+ * Oct 19, 2026 12:46:09 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CovarianceDataReaderBenchmark {
+
+    @Param({"100", "1000", "3000"})
+    public int numberOfVariables;
+
+    @Param({"1", "4"})
+    public int numberOfThreads;
+
+    private Path dataFile;
+    private long fileSize;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dataFile = BenchmarkDataFiles.createCovarianceDataFile(numberOfVariables);
+        fileSize = Files.size(dataFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dataFile);
+    }
+
+    @Benchmark
+    public CovarianceData readInData(ReadCounters counters) throws IOException {
+        LowerCovarianceDataFileReader dataReader = new LowerCovarianceDataFileReader(dataFile, Delimiter.SPACE);
+        dataReader.setNumberOfThreads(numberOfThreads);
+        dataReader.setCommentMarker(BenchmarkDataFiles.COMMENT_MARKER);
+        dataReader.setQuoteCharacter(BenchmarkDataFiles.QUOTE_CHARACTER);
+        CovarianceData covarianceData = dataReader.readInData();
+
+        counters.add(fileSize, dataReader.getReadMetrics());
+
+        return covarianceData;
+    }
+
+}
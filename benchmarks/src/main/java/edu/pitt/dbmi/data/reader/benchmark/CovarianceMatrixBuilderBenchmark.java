@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+import edu.pitt.dbmi.data.reader.covariance.CovarianceMatrixBuilder;
+import edu.pitt.dbmi.data.reader.covariance.PackedCovarianceData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link CovarianceMatrixBuilder} on square data in memory,
+ * against the plain triple loop over the rows.
+ *
+ * Oct 19, 2026 11:07:30 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CovarianceMatrixBuilderBenchmark {
+
+    /**
+     * The number of rows and of columns.
+     */
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int numberOfThreads;
+
+    private double[][] rows;
+    private double[][] columns;
+    private List<String> variables;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(size);
+        rows = new double[size][size];
+        for (double[] row : rows) {
+            for (int j = 0; j < size; j++) {
+                row[j] = random.nextDouble();
+            }
+        }
+
+        columns = new double[size][];
+        for (int j = 0; j < size; j++) {
+            columns[j] = new double[size];
+            for (int r = 0; r < size; r++) {
+                columns[j][r] = rows[r][j];
+            }
+        }
+
+        variables = new ArrayList<>(size);
+        for (int j = 1; j <= size; j++) {
+            variables.add("X" + j);
+        }
+    }
+
+    @Benchmark
+    public PackedCovarianceData buildFromRows() throws InterruptedException {
+        CovarianceMatrixBuilder builder = new CovarianceMatrixBuilder();
+        builder.setNumberOfThreads(numberOfThreads);
+
+        return builder.buildFromRows(rows, variables, false);
+    }
+
+    @Benchmark
+    public PackedCovarianceData buildFromColumns() throws InterruptedException {
+        CovarianceMatrixBuilder builder = new CovarianceMatrixBuilder();
+        builder.setNumberOfThreads(numberOfThreads);
+
+        return builder.buildFromColumns(columns, size, variables, false);
+    }
+
+    /**
+     * The centered cross products summed row by row, on one thread.
+     *
+     * @return
+     */
+    @Benchmark
+    public double[] naiveFromRows() {
+        double[] means = new double[size];
+        for (double[] row : rows) {
+            for (int j = 0; j < size; j++) {
+                means[j] += row[j] / size;
+            }
+        }
+
+        double[] values = new double[PackedCovarianceData.size(size)];
+        for (double[] row : rows) {
+            int index = 0;
+            for (int i = 0; i < size; i++) {
+                double x = row[i] - means[i];
+                for (int j = 0; j <= i; j++) {
+                    values[index++] += x * (row[j] - means[j]);
+                }
+            }
+        }
+
+        return values;
+    }
+
+}
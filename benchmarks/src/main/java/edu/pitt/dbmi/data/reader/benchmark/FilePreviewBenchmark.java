@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+import edu.pitt.dbmi.data.reader.preview.BasicDataPreviewer;
+import edu.pitt.dbmi.data.reader.preview.DataPreviewer;
+import edu.pitt.dbmi.data.reader.util.DialectSniffer;
+import edu.pitt.dbmi.data.reader.util.FileDialect;
+import edu.pitt.dbmi.data.reader.util.TextFileUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link BasicDataPreviewer}, {@link TextFileUtils#inferDelimiter}
+ * and {@link DialectSniffer}. They only look at parts of the file, so they are
+ * measured in average time per call.
+ *
+ * Oct 19, 2026 12:51:40 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilePreviewBenchmark {
+
+    private static final int NUMBER_OF_LINES = 20;
+    private static final int NUMBER_OF_CHARACTERS = 100;
+    private static final char[] DELIMITERS = {'\t', ' ', ',', ':', ';', '|'};
+
+    @Param({"TALL", "WIDE", "SQUARE"})
+    public Shape shape;
+
+    private Path dataFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dataFile = BenchmarkDataFiles.createTabularDataFile(shape, DataType.MIXED, Format.HEADER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dataFile);
+    }
+
+    @Benchmark
+    public List<String> getPreviews() throws IOException {
+        DataPreviewer dataPreviewer = new BasicDataPreviewer(dataFile);
+
+        return dataPreviewer.getPreviews(1, NUMBER_OF_LINES, NUMBER_OF_CHARACTERS);
+    }
+
+    @Benchmark
+    public char inferDelimiter() throws IOException {
+        return TextFileUtils.inferDelimiter(dataFile.toFile(), NUMBER_OF_LINES, 0, BenchmarkDataFiles.COMMENT_MARKER, BenchmarkDataFiles.QUOTE_CHARACTER, DELIMITERS);
+    }
+
+    @Benchmark
+    public FileDialect sniffDialect() throws IOException {
+        return (new DialectSniffer(dataFile)).sniff();
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+/**
+ * The file layouts of the generated tabular data.
+ *
+ * Oct 19, 2026 12:05:12 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public enum Format {
+
+    /**
+     * Unquoted values with a header.
+     */
+    HEADER,
+    /**
+     * Unquoted values without a header.
+     */
+    NO_HEADER,
+    /**
+     * Quoted header and values.
+     */
+    QUOTED,
+    /**
+     * Unquoted values with a header and comment lines in between the data.
+     */
+    COMMENTED;
+
+    public boolean hasHeader() {
+        return this != NO_HEADER;
+    }
+
+}
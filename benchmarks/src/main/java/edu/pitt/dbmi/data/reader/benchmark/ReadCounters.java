@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Secondary benchmark results. JMH reports the megabytes of the input file
+ * and the cells parsed by the reader as rates, i.e. MB/s and cells/s.
+ *
+ * @see CellAllocationProfiler
+ *
+ * Oct 19, 2026 12:21:30 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ReadCounters {
+
+    public double megabytes;
+    public long cells;
+
+    @Setup(Level.Iteration)
+    public void clean() {
+        megabytes = 0;
+        cells = 0;
+    }
+
+    public void add(long fileSize, ReadMetrics readMetrics) {
+        megabytes += fileSize / (1024.0 * 1024.0);
+        cells += readMetrics.getNumberOfCells();
+
+        CellAllocationProfiler.add(readMetrics);
+    }
+
+}
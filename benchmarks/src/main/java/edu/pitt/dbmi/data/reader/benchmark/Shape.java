@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+/**
+ * The shapes of the generated benchmark inputs. All the shapes have about the
+ * same number of cells so their throughput can be compared.
+ *
+ * Oct 19, 2026 12:02:10 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public enum Shape {
+
+    TALL(200_000, 20),
+    WIDE(200, 20_000),
+    SQUARE(2_000, 2_000);
+
+    private final int numberOfRows;
+    private final int numberOfColumns;
+
+    private Shape(int numberOfRows, int numberOfColumns) {
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.tabular.TabularColumnFileReader;
+import edu.pitt.dbmi.data.reader.tabular.TabularColumnReader;
+import edu.pitt.dbmi.data.reader.util.LineCounter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link TabularColumnFileReader}.
+ *
+ * Oct 19, 2026 12:40:52 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TabularColumnReaderBenchmark {
+
+    private static final int EXCLUSION_INTERVAL = 10;
+
+    @Param({"TALL", "WIDE", "SQUARE"})
+    public Shape shape;
+
+    @Param({"HEADER", "QUOTED", "COMMENTED"})
+    public Format format;
+
+    private Path dataFile;
+    private long fileSize;
+    private Set<String> namesOfColumnsToExclude;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dataFile = BenchmarkDataFiles.createTabularDataFile(shape, DataType.CONTINUOUS, format);
+        fileSize = Files.size(dataFile);
+
+        namesOfColumnsToExclude = new HashSet<>();
+        for (int col = 1; col <= shape.getNumberOfColumns(); col += EXCLUSION_INTERVAL) {
+            namesOfColumnsToExclude.add("X" + col);
+        }
+    }
+
+    /**
+     * Forget the line and column counts kept by {@link LineCounter} so that
+     * each invocation counts the file, as a reader of a new file does.
+     */
+    @Setup(Level.Invocation)
+    public void clearLineCounts() {
+        LineCounter.clearCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dataFile);
+    }
+
+    @Benchmark
+    public DataColumn[] readInDataColumns(ReadCounters counters) throws IOException {
+        TabularColumnReader columnReader = createColumnReader();
+        DataColumn[] dataColumns = columnReader.readInDataColumns(false);
+
+        counters.add(fileSize, columnReader.getReadMetrics());
+
+        return dataColumns;
+    }
+
+    @Benchmark
+    public DataColumn[] readInDataColumnsExcludingNames(ReadCounters counters) throws IOException {
+        TabularColumnReader columnReader = createColumnReader();
+        DataColumn[] dataColumns = columnReader.readInDataColumns(namesOfColumnsToExclude, false);
+
+        counters.add(fileSize, columnReader.getReadMetrics());
+
+        return dataColumns;
+    }
+
+    private TabularColumnReader createColumnReader() {
+        TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, Delimiter.COMMA);
+        columnReader.setCommentMarker(BenchmarkDataFiles.COMMENT_MARKER);
+        columnReader.setQuoteCharacter(BenchmarkDataFiles.QUOTE_CHARACTER);
+
+        return columnReader;
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.benchmark;
+
+import edu.pitt.dbmi.data.reader.Data;
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.tabular.TabularColumnFileReader;
+import edu.pitt.dbmi.data.reader.tabular.TabularColumnReader;
+import edu.pitt.dbmi.data.reader.tabular.TabularDataColumn;
+import edu.pitt.dbmi.data.reader.tabular.TabularDataFileReader;
+import edu.pitt.dbmi.data.reader.tabular.TabularDataReader;
+import edu.pitt.dbmi.data.reader.util.LineCounter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link TabularDataFileReader}.
+ *
+ * Oct 19, 2026 12:31:15 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TabularDataReaderBenchmark {
+
+    @Param({"TALL", "WIDE", "SQUARE"})
+    public Shape shape;
+
+    @Param({"CONTINUOUS", "DISCRETE", "MIXED"})
+    public DataType dataType;
+
+    @Param({"HEADER", "NO_HEADER", "QUOTED", "COMMENTED"})
+    public Format format;
+
+    private Path dataFile;
+    private long fileSize;
+    private DataColumn[] dataColumns;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dataFile = BenchmarkDataFiles.createTabularDataFile(shape, dataType, format);
+        fileSize = Files.size(dataFile);
+
+        TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, Delimiter.COMMA);
+        columnReader.setCommentMarker(BenchmarkDataFiles.COMMENT_MARKER);
+        columnReader.setQuoteCharacter(BenchmarkDataFiles.QUOTE_CHARACTER);
+
+        boolean isDiscrete = false;
+        dataColumns = format.hasHeader()
+                ? columnReader.readInDataColumns(isDiscrete)
+                : columnReader.generateColumns(new int[0], isDiscrete);
+        for (DataColumn dataColumn : dataColumns) {
+            dataColumn.setDiscrete(BenchmarkDataFiles.isDiscrete(dataType, dataColumn.getColumnNumber()));
+        }
+    }
+
+    /**
+     * Forget the line and column counts kept by {@link LineCounter} so that
+     * each invocation counts the file, as a reader of a new file does.
+     */
+    @Setup(Level.Invocation)
+    public void clearLineCounts() {
+        LineCounter.clearCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dataFile);
+    }
+
+    @Benchmark
+    public Data read(ReadCounters counters) throws IOException {
+        TabularDataReader dataReader = createDataReader();
+        Data data = dataReader.read(dataColumns, format.hasHeader());
+
+        counters.add(fileSize, dataReader.getReadMetrics());
+
+        return data;
+    }
+
+    @Benchmark
+    public DataColumn[] determineDiscreteDataColumns(ReadCounters counters) throws IOException {
+        DataColumn[] columns = Arrays.stream(dataColumns)
+                .map(e -> new TabularDataColumn(e.getName(), e.getColumnNumber(), e.isGenerated()))
+                .toArray(DataColumn[]::new);
+
+        TabularDataReader dataReader = createDataReader();
+        dataReader.determineDiscreteDataColumns(columns, BenchmarkDataFiles.NUMBER_OF_CATEGORIES, format.hasHeader());
+
+        counters.add(fileSize, dataReader.getReadMetrics());
+
+        return columns;
+    }
+
+    @Benchmark
+    public Data determineDiscreteDataColumnsAndRead(ReadCounters counters) throws IOException {
+        DataColumn[] columns = Arrays.stream(dataColumns)
+                .map(e -> new TabularDataColumn(e.getName(), e.getColumnNumber(), e.isGenerated()))
+                .toArray(DataColumn[]::new);
+
+        TabularDataReader dataReader = createDataReader();
+        Data data = dataReader.read(columns, BenchmarkDataFiles.NUMBER_OF_CATEGORIES, format.hasHeader());
+
+        counters.add(fileSize, dataReader.getReadMetrics());
+
+        return data;
+    }
+
+    private TabularDataReader createDataReader() {
+        TabularDataReader dataReader = new TabularDataFileReader(dataFile, Delimiter.COMMA);
+        dataReader.setCommentMarker(BenchmarkDataFiles.COMMENT_MARKER);
+        dataReader.setQuoteCharacter(BenchmarkDataFiles.QUOTE_CHARACTER);
+        dataReader.setMissingDataMarker(BenchmarkDataFiles.MISSING_VALUE_MARKER);
+
+        return dataReader;
+    }
+
+}
@@ -18,11 +18,11 @@
  */
 package edu.pitt.dbmi.data.reader;
 
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import edu.pitt.dbmi.data.reader.util.LineCounter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 
 /**
  *
@@ -44,11 +44,14 @@ public abstract class DataFileReader implements DataReader {
     protected final Path dataFile;
     protected final Delimiter delimiter;
 
+    protected final ReadMetrics readMetrics;
+
     public DataFileReader(Path dataFile, Delimiter delimiter) {
         this.dataFile = dataFile;
         this.delimiter = delimiter;
         this.quoteCharacter = -1;
         this.commentMarker = "";
+        this.readMetrics = new ReadMetrics(getClass(), dataFile);
     }
 
     /**
@@ -60,97 +63,24 @@ public abstract class DataFileReader implements DataReader {
     protected int countNumberOfColumns() throws IOException {
         int count = 0;
 
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-            boolean finished = false;
-
-            byte delimChar = delimiter.getByteValue();
-            byte prevChar = -1;
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !finished && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        finished = hasSeenNonblankChar && !skip;
-                        if (finished) {
-                            count++;
-                        }
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        checkForComment = comment.length > 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
-
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
-
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
-
-                        if (currChar == quoteCharacter) {
-                            hasQuoteChar = !hasQuoteChar;
-                        } else {
-                            if (!hasQuoteChar) {
-                                switch (delimiter) {
-                                    case WHITESPACE:
-                                        if (currChar <= SPACE_CHAR && prevChar > SPACE_CHAR) {
-                                            count++;
-                                        }
-                                        break;
-                                    default:
-                                        if (currChar == delimChar) {
-                                            count++;
-                                        }
-                                }
-                            }
-                        }
-                    }
-
-                    prevChar = currChar;
-                }
-            }
-
-            // case when no newline char at end of file
-            finished = hasSeenNonblankChar && !skip;
-            if (finished) {
-                count++;
-            }
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.COUNT_COLUMNS);
+        try {
+            LineCounter lineCounter = new LineCounter(dataFile, commentMarker);
+            count = lineCounter.countColumns(delimiter, quoteCharacter);
+
+            pass.addBytesRead(lineCounter.getBytesRead());
+            pass.setNumberOfColumns(count);
+            pass.addCells(count);
+        } finally {
+            pass.end();
         }
 
         return count;
     }
 
     /**
-     * Counts number of non-blank lines.
+     * Counts number of non-blank lines. Large files are counted on several
+     * threads, and the count is shared by the readers of the same file.
      *
      * @return the number of non-blank and non-commented lines
      * @throws IOException
@@ -158,67 +88,26 @@ public abstract class DataFileReader implements DataReader {
     protected int countNumberOfLines() throws IOException {
         int count = 0;
 
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len; i++) {
-                    byte currChar = buffer[i];
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (!skip && cmntIndex > 0) {
-                            count++;
-                        }
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                    } else {
-                        if (!skip) {
-                            if (currChar > SPACE_CHAR) {
-                                hasSeenNonblankChar = true;
-                            }
-
-                            // skip blank chars at the begining of the line
-                            if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                                continue;
-                            }
-
-                            if (checkForComment) {
-                                if (currChar == comment[cmntIndex]) {
-                                    cmntIndex++;
-                                    if (cmntIndex == comment.length) {
-                                        skip = true;
-                                    }
-
-                                    continue;
-                                }
-                            }
-
-                            count++;
-                            skip = true;
-                        }
-                    }
-                }
-            }
-
-            // case when no newline char at end of file
-            if (!skip && cmntIndex > 0) {
-                count++;
-            }
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.COUNT_LINES);
+        try {
+            LineCounter lineCounter = new LineCounter(dataFile, commentMarker);
+            lineCounter.setPass(pass);
+            count = lineCounter.countLines();
+
+            pass.addBytesRead(lineCounter.getBytesRead());
+            pass.addRows(count);
+        } finally {
+            pass.end();
         }
 
         return count;
     }
 
+    @Override
+    public ReadMetrics getReadMetrics() {
+        return readMetrics;
+    }
+
     @Override
     public void setQuoteCharacter(char quoteCharacter) {
         this.quoteCharacter = Character.isDefined(quoteCharacter)
@@ -18,6 +18,8 @@
  */
 package edu.pitt.dbmi.data.reader;
 
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+
 /**
  *
  * Dec 12, 2018 11:16:53 AM
@@ -40,4 +42,15 @@ public interface DataReader {
      */
     public void setCommentMarker(String commentMarker);
 
+    /**
+     * Get the performance metrics of all the passes this reader has made over
+     * the file. The default is empty metrics, for readers that do not measure
+     * their passes.
+     *
+     * @return
+     */
+    public default ReadMetrics getReadMetrics() {
+        return new ReadMetrics(getClass());
+    }
+
 }
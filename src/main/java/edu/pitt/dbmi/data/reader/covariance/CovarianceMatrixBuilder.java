@@ -0,0 +1,556 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+import edu.pitt.dbmi.data.reader.ContinuousData;
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.DataReaderException;
+import edu.pitt.dbmi.data.reader.DiscreteDataColumn;
+import edu.pitt.dbmi.data.reader.MixedData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the sample covariance or correlation matrix of data that is
+ * already in memory, in rows or in columns.
+ *
+ * The columns are split into blocks, and each pair of blocks on or below the
+ * diagonal is a task for the thread pool. A task copies the centered values
+ * of its two blocks into small panels, a few hundred rows at a time, so that
+ * the products are computed from the cache whatever the layout of the data.
+ * Each task writes its own part of the lower triangle.
+ *
+ * Missing values (NaN) are deleted pairwise, as {@link StreamingCovariance}
+ * does: the covariance of two columns is computed from the rows where both
+ * are present. The blocks are still computed on the thread pool, but each
+ * task also multiplies the masks of present values with the panels to get
+ * the count and the sums of each pair, which takes about four times the work
+ * of data without missing values, and six times for the correlation matrix.
+ * Data with fewer than two rows are handed to {@link StreamingCovariance}.
+ *
+ * Oct 19, 2026 10:21:54 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class CovarianceMatrixBuilder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CovarianceMatrixBuilder.class);
+
+    /**
+     * The number of rows copied into the panels at a time.
+     */
+    private static final int PANEL_SIZE = 256;
+
+    private int numberOfThreads;
+    private int blockSize;
+
+    public CovarianceMatrixBuilder() {
+        this.numberOfThreads = Runtime.getRuntime().availableProcessors();
+        this.blockSize = 64;
+    }
+
+    /**
+     * Compute the covariance matrix of the columns of continuous data.
+     *
+     * @param data
+     * @param isCorrelation true to compute the correlation matrix
+     * @return
+     * @throws InterruptedException
+     */
+    public PackedCovarianceData build(ContinuousData data, boolean isCorrelation) throws InterruptedException {
+        List<String> variables = new ArrayList<>();
+        for (DataColumn dataColumn : data.getDataColumns()) {
+            variables.add(dataColumn.getName());
+        }
+
+        return buildFromRows(data.getData(), variables, isCorrelation);
+    }
+
+    /**
+     * Compute the covariance matrix of the continuous columns of mixed data.
+     * The discrete columns are left out.
+     *
+     * @param data
+     * @param isCorrelation true to compute the correlation matrix
+     * @return
+     * @throws InterruptedException
+     */
+    public PackedCovarianceData build(MixedData data, boolean isCorrelation) throws InterruptedException {
+        DiscreteDataColumn[] dataColumns = data.getDataColumns();
+        double[][] continuousData = data.getContinuousData();
+
+        List<String> variables = new ArrayList<>();
+        List<double[]> columns = new ArrayList<>();
+        for (int i = 0; i < dataColumns.length; i++) {
+            if (continuousData[i] != null) {
+                variables.add(dataColumns[i].getDataColumn().getName());
+                columns.add(continuousData[i]);
+            }
+        }
+
+        return buildFromColumns(columns.toArray(new double[columns.size()][]), data.getNumOfRows(), variables, isCorrelation);
+    }
+
+    /**
+     * Compute the covariance matrix of data stored row by row.
+     *
+     * @param rows the values of each row
+     * @param variables the names of the columns
+     * @param isCorrelation true to compute the correlation matrix
+     * @return
+     * @throws InterruptedException
+     */
+    public PackedCovarianceData buildFromRows(double[][] rows, List<String> variables, boolean isCorrelation) throws InterruptedException {
+        int numOfRows = rows.length;
+        int numOfCols = variables.size();
+
+        double[] means = new double[numOfCols];
+        for (double[] row : rows) {
+            for (int j = 0; j < numOfCols; j++) {
+                means[j] += row[j];
+            }
+        }
+        if (numOfRows < 2) {
+            StreamingCovariance covariance = new StreamingCovariance(numOfCols);
+            for (double[] row : rows) {
+                covariance.add(row);
+            }
+
+            return covariance.toCovarianceData(variables, isCorrelation);
+        }
+
+        boolean hasMissingValue = hasMissingValue(means);
+        if (hasMissingValue) {
+            // the means of the present values
+            long[] counts = new long[numOfCols];
+            Arrays.fill(means, 0);
+            for (double[] row : rows) {
+                for (int j = 0; j < numOfCols; j++) {
+                    if (!Double.isNaN(row[j])) {
+                        means[j] += row[j];
+                        counts[j]++;
+                    }
+                }
+            }
+            divide(means, counts);
+        } else {
+            divide(means, numOfRows);
+        }
+
+        return build(numOfRows, variables, isCorrelation, hasMissingValue, (firstCol, numOfBlockCols, firstRow, numOfPanelRows, panel) -> {
+            for (int r = 0; r < numOfPanelRows; r++) {
+                double[] row = rows[firstRow + r];
+                for (int j = 0; j < numOfBlockCols; j++) {
+                    panel[(j * PANEL_SIZE) + r] = row[firstCol + j] - means[firstCol + j];
+                }
+            }
+        });
+    }
+
+    /**
+     * Compute the covariance matrix of data stored column by column.
+     *
+     * @param columns the values of each column
+     * @param numOfRows
+     * @param variables the names of the columns
+     * @param isCorrelation true to compute the correlation matrix
+     * @return
+     * @throws InterruptedException
+     */
+    public PackedCovarianceData buildFromColumns(double[][] columns, int numOfRows, List<String> variables, boolean isCorrelation) throws InterruptedException {
+        int numOfCols = variables.size();
+
+        double[] means = new double[numOfCols];
+        for (int j = 0; j < numOfCols; j++) {
+            double[] column = columns[j];
+            for (int r = 0; r < numOfRows; r++) {
+                means[j] += column[r];
+            }
+        }
+        if (numOfRows < 2) {
+            StreamingCovariance covariance = new StreamingCovariance(numOfCols);
+            double[] row = new double[numOfCols];
+            for (int r = 0; r < numOfRows; r++) {
+                for (int j = 0; j < numOfCols; j++) {
+                    row[j] = columns[j][r];
+                }
+                covariance.add(row);
+            }
+
+            return covariance.toCovarianceData(variables, isCorrelation);
+        }
+
+        boolean hasMissingValue = hasMissingValue(means);
+        if (hasMissingValue) {
+            // the means of the present values
+            long[] counts = new long[numOfCols];
+            for (int j = 0; j < numOfCols; j++) {
+                double[] column = columns[j];
+                means[j] = 0;
+                for (int r = 0; r < numOfRows; r++) {
+                    if (!Double.isNaN(column[r])) {
+                        means[j] += column[r];
+                        counts[j]++;
+                    }
+                }
+            }
+            divide(means, counts);
+        } else {
+            divide(means, numOfRows);
+        }
+
+        return build(numOfRows, variables, isCorrelation, hasMissingValue, (firstCol, numOfBlockCols, firstRow, numOfPanelRows, panel) -> {
+            for (int j = 0; j < numOfBlockCols; j++) {
+                double[] column = columns[firstCol + j];
+                double mean = means[firstCol + j];
+                int offset = j * PANEL_SIZE;
+                for (int r = 0; r < numOfPanelRows; r++) {
+                    panel[offset + r] = column[firstRow + r] - mean;
+                }
+            }
+        });
+    }
+
+    /**
+     * A NaN in the data makes the sum of its column NaN.
+     */
+    private static boolean hasMissingValue(double[] sums) {
+        for (double sum : sums) {
+            if (Double.isNaN(sum)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void divide(double[] values, int divisor) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] /= divisor;
+        }
+    }
+
+    /**
+     * A column without any value present has a mean of zero, so that its
+     * missing values stay missing once centered.
+     */
+    private static void divide(double[] values, long[] divisors) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (divisors[i] > 0) ? values[i] / divisors[i] : 0;
+        }
+    }
+
+    private PackedCovarianceData build(int numOfRows, List<String> variables, boolean isCorrelation, boolean hasMissingValue, PanelPacker packer) throws InterruptedException {
+        int numOfCols = variables.size();
+        double[] values = new double[PackedCovarianceData.size(numOfCols)];
+
+        int numOfBlocks = (numOfCols + blockSize - 1) / blockSize;
+        List<Runnable> tasks = new ArrayList<>();
+        for (int rowBlock = 0; rowBlock < numOfBlocks; rowBlock++) {
+            for (int colBlock = 0; colBlock <= rowBlock; colBlock++) {
+                int firstRowCol = rowBlock * blockSize;
+                int firstCol = colBlock * blockSize;
+                int numOfRowCols = Math.min(blockSize, numOfCols - firstRowCol);
+                int numOfBlockCols = Math.min(blockSize, numOfCols - firstCol);
+                if (hasMissingValue) {
+                    tasks.add(() -> computePairwiseBlock(firstRowCol, numOfRowCols, firstCol, numOfBlockCols, numOfRows, isCorrelation, packer, values));
+                } else {
+                    tasks.add(() -> computeBlock(firstRowCol, numOfRowCols, firstCol, numOfBlockCols, numOfRows, packer, values));
+                }
+            }
+        }
+
+        ExecutorService pool = (numberOfThreads > 1 && tasks.size() > 1) ? Executors.newFixedThreadPool(numberOfThreads) : null;
+        try {
+            if (pool == null) {
+                for (Runnable task : tasks) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException();
+                    }
+                    task.run();
+                }
+            } else {
+                List<Future<?>> futures = new ArrayList<>(tasks.size());
+                for (Runnable task : tasks) {
+                    futures.add(pool.submit(task));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } catch (ExecutionException exception) {
+            String errMsg = "Unable to compute the covariance matrix.";
+            LOGGER.error(errMsg, exception.getCause());
+            throw new DataReaderException(errMsg);
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+
+        if (isCorrelation && !hasMissingValue) {
+            toCorrelation(values, numOfCols);
+        }
+
+        return new PackedCovarianceData(numOfRows, variables, values);
+    }
+
+    /**
+     * Compute the covariances of a block of columns with another block of
+     * columns to its left, or with itself.
+     */
+    private void computeBlock(int firstRowCol, int numOfRowCols, int firstCol, int numOfBlockCols, int numOfRows, PanelPacker packer, double[] values) {
+        boolean isDiagonal = firstRowCol == firstCol;
+        double[] rowPanel = new double[blockSize * PANEL_SIZE];
+        double[] colPanel = isDiagonal ? rowPanel : new double[blockSize * PANEL_SIZE];
+        double[] sums = new double[numOfRowCols * numOfBlockCols];
+
+        for (int firstRow = 0; firstRow < numOfRows; firstRow += PANEL_SIZE) {
+            int numOfPanelRows = Math.min(PANEL_SIZE, numOfRows - firstRow);
+            packer.pack(firstRowCol, numOfRowCols, firstRow, numOfPanelRows, rowPanel);
+            if (!isDiagonal) {
+                packer.pack(firstCol, numOfBlockCols, firstRow, numOfPanelRows, colPanel);
+            }
+
+            multiply(rowPanel, numOfRowCols, colPanel, numOfBlockCols, numOfPanelRows, sums);
+        }
+
+        // write the lower triangle
+        double divisor = numOfRows - 1;
+        for (int i = 0; i < numOfRowCols; i++) {
+            int row = firstRowCol + i;
+            int offset = (int) (((long) row * (row + 1)) / 2) + firstCol;
+            int numOfValues = isDiagonal ? i + 1 : numOfBlockCols;
+            for (int j = 0; j < numOfValues; j++) {
+                values[offset + j] = sums[(i * numOfBlockCols) + j] / divisor;
+            }
+        }
+    }
+
+    /**
+     * Compute the covariances, or the correlations, of a block of columns with
+     * another block of columns to its left, or with itself, from the rows
+     * where both columns of a pair are present. Besides the products of the
+     * values, the masks of the present values are multiplied with each other
+     * and with the values, to get the count and the sums of the values of each
+     * pair over its rows.
+     */
+    private void computePairwiseBlock(int firstRowCol, int numOfRowCols, int firstCol, int numOfBlockCols, int numOfRows, boolean isCorrelation, PanelPacker packer, double[] values) {
+        boolean isDiagonal = firstRowCol == firstCol;
+        int panelLength = blockSize * PANEL_SIZE;
+        double[] rowPanel = new double[panelLength];
+        double[] rowMask = new double[panelLength];
+        double[] rowSquarePanel = isCorrelation ? new double[panelLength] : null;
+        double[] colPanel = isDiagonal ? rowPanel : new double[panelLength];
+        double[] colMask = isDiagonal ? rowMask : new double[panelLength];
+        double[] colSquarePanel = (isDiagonal || !isCorrelation) ? rowSquarePanel : new double[panelLength];
+
+        int size = numOfRowCols * numOfBlockCols;
+        double[] products = new double[size];
+        double[] counts = new double[size];
+        double[] rowSums = new double[size];
+        double[] colSums = new double[size];
+        double[] rowSquares = isCorrelation ? new double[size] : null;
+        double[] colSquares = isCorrelation ? new double[size] : null;
+
+        for (int firstRow = 0; firstRow < numOfRows; firstRow += PANEL_SIZE) {
+            int numOfPanelRows = Math.min(PANEL_SIZE, numOfRows - firstRow);
+            packer.pack(firstRowCol, numOfRowCols, firstRow, numOfPanelRows, rowPanel);
+            mask(rowPanel, numOfRowCols, numOfPanelRows, rowMask, rowSquarePanel);
+            if (!isDiagonal) {
+                packer.pack(firstCol, numOfBlockCols, firstRow, numOfPanelRows, colPanel);
+                mask(colPanel, numOfBlockCols, numOfPanelRows, colMask, colSquarePanel);
+            }
+
+            multiply(rowPanel, numOfRowCols, colPanel, numOfBlockCols, numOfPanelRows, products);
+            multiply(rowMask, numOfRowCols, colMask, numOfBlockCols, numOfPanelRows, counts);
+            multiply(rowPanel, numOfRowCols, colMask, numOfBlockCols, numOfPanelRows, rowSums);
+            multiply(rowMask, numOfRowCols, colPanel, numOfBlockCols, numOfPanelRows, colSums);
+            if (isCorrelation) {
+                multiply(rowSquarePanel, numOfRowCols, colMask, numOfBlockCols, numOfPanelRows, rowSquares);
+                multiply(rowMask, numOfRowCols, colSquarePanel, numOfBlockCols, numOfPanelRows, colSquares);
+            }
+        }
+
+        // write the lower triangle, NaN for the pairs with fewer than two rows
+        for (int i = 0; i < numOfRowCols; i++) {
+            int row = firstRowCol + i;
+            int offset = (int) (((long) row * (row + 1)) / 2) + firstCol;
+            int numOfValues = isDiagonal ? i + 1 : numOfBlockCols;
+            for (int j = 0; j < numOfValues; j++) {
+                int index = (i * numOfBlockCols) + j;
+                double n = counts[index];
+                double comoment = products[index] - ((rowSums[index] * colSums[index]) / n);
+                if (isCorrelation) {
+                    double rowSquare = rowSquares[index] - ((rowSums[index] * rowSums[index]) / n);
+                    double colSquare = colSquares[index] - ((colSums[index] * colSums[index]) / n);
+                    values[offset + j] = (n < 2) ? Double.NaN : comoment / Math.sqrt(rowSquare * colSquare);
+                } else {
+                    values[offset + j] = (n < 2) ? Double.NaN : comoment / (n - 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace the missing values of the panel with zeros, and set the mask to
+     * one where a value is present and to zero where it is missing. The
+     * squares of the values are copied into their own panel if there is one.
+     */
+    private static void mask(double[] panel, int numOfCols, int numOfRows, double[] mask, double[] squares) {
+        for (int j = 0; j < numOfCols; j++) {
+            int offset = j * PANEL_SIZE;
+            for (int r = offset; r < offset + numOfRows; r++) {
+                if (Double.isNaN(panel[r])) {
+                    panel[r] = 0;
+                    mask[r] = 0;
+                } else {
+                    mask[r] = 1;
+                }
+                if (squares != null) {
+                    squares[r] = panel[r] * panel[r];
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the dot products of the columns of the two panels to the sums. Two
+     * columns of the first panel are multiplied with four columns of the
+     * second panel at a time, so that each value loaded is used more than
+     * once and the eight sums are independent.
+     */
+    private static void multiply(double[] a, int numOfACols, double[] b, int numOfBCols, int numOfRows, double[] sums) {
+        int i = 0;
+        for (; i + 1 < numOfACols; i += 2) {
+            int a0 = i * PANEL_SIZE;
+            int a1 = a0 + PANEL_SIZE;
+            int s0 = i * numOfBCols;
+            int s1 = s0 + numOfBCols;
+            int j = 0;
+            for (; j + 3 < numOfBCols; j += 4) {
+                int b0 = j * PANEL_SIZE;
+                int b1 = b0 + PANEL_SIZE;
+                int b2 = b1 + PANEL_SIZE;
+                int b3 = b2 + PANEL_SIZE;
+                double s00 = 0;
+                double s01 = 0;
+                double s02 = 0;
+                double s03 = 0;
+                double s10 = 0;
+                double s11 = 0;
+                double s12 = 0;
+                double s13 = 0;
+                for (int r = 0; r < numOfRows; r++) {
+                    double x0 = a[a0 + r];
+                    double x1 = a[a1 + r];
+                    double y0 = b[b0 + r];
+                    double y1 = b[b1 + r];
+                    double y2 = b[b2 + r];
+                    double y3 = b[b3 + r];
+                    s00 += x0 * y0;
+                    s01 += x0 * y1;
+                    s02 += x0 * y2;
+                    s03 += x0 * y3;
+                    s10 += x1 * y0;
+                    s11 += x1 * y1;
+                    s12 += x1 * y2;
+                    s13 += x1 * y3;
+                }
+                sums[s0 + j] += s00;
+                sums[s0 + j + 1] += s01;
+                sums[s0 + j + 2] += s02;
+                sums[s0 + j + 3] += s03;
+                sums[s1 + j] += s10;
+                sums[s1 + j + 1] += s11;
+                sums[s1 + j + 2] += s12;
+                sums[s1 + j + 3] += s13;
+            }
+            for (; j < numOfBCols; j++) {
+                sums[s0 + j] += dot(a, a0, b, j * PANEL_SIZE, numOfRows);
+                sums[s1 + j] += dot(a, a1, b, j * PANEL_SIZE, numOfRows);
+            }
+        }
+        if (i < numOfACols) {
+            for (int j = 0; j < numOfBCols; j++) {
+                sums[(i * numOfBCols) + j] += dot(a, i * PANEL_SIZE, b, j * PANEL_SIZE, numOfRows);
+            }
+        }
+    }
+
+    private static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        double sum = 0;
+        for (int r = 0; r < length; r++) {
+            sum += a[aOffset + r] * b[bOffset + r];
+        }
+
+        return sum;
+    }
+
+    private static void toCorrelation(double[] values, int numOfCols) {
+        double[] deviations = new double[numOfCols];
+        for (int i = 0; i < numOfCols; i++) {
+            deviations[i] = Math.sqrt(values[(int) (((long) i * (i + 1)) / 2) + i]);
+        }
+
+        int index = 0;
+        for (int i = 0; i < numOfCols; i++) {
+            for (int j = 0; j <= i; j++) {
+                values[index++] /= deviations[i] * deviations[j];
+            }
+        }
+    }
+
+    /**
+     * Set the number of threads. The default is the number of available
+     * processors.
+     *
+     * @param numberOfThreads
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+    }
+
+    /**
+     * Set the number of columns in a block. The default is 64.
+     *
+     * @param blockSize
+     */
+    public void setBlockSize(int blockSize) {
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    private interface PanelPacker {
+
+        /**
+         * Copy the centered values of the given columns and rows into the
+         * panel, column by column, PANEL_SIZE values apart.
+         */
+        public void pack(int firstCol, int numOfCols, int firstRow, int numOfRows, double[] panel);
+
+    }
+
+}
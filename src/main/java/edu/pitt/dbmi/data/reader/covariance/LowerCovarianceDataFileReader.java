@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2018 University of Pittsburgh.
+ * Copyright (C) 2019 University of Pittsburgh.
  *
  * This library is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -21,17 +21,36 @@ package edu.pitt.dbmi.data.reader.covariance;
 import edu.pitt.dbmi.data.reader.DataFileReader;
 import edu.pitt.dbmi.data.reader.DataReaderException;
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import edu.pitt.dbmi.data.reader.util.LineBlock;
+import edu.pitt.dbmi.data.reader.util.LineBlockReader;
+import edu.pitt.dbmi.data.reader.util.LineTokenizer;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Reads a lower covariance file in one pass: the number of cases on the first
+ * line, the variable names on the second line and then one row of the lower
+ * triangle per line. The matrix is allocated once the variable names are
+ * read.
+ *
+ * Since row i always has i + 1 values, the rows can be parsed on several
+ * threads once the lines are found. When more than one row has an error, the
+ * one that comes first in the file is reported.
  *
  * Nov 19, 2018 11:04:51 AM
  *
@@ -41,497 +60,367 @@ public class LowerCovarianceDataFileReader extends DataFileReader implements Cov
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LowerCovarianceDataFileReader.class);
 
+    private int numberOfThreads;
+    private Path cacheFile;
+
     public LowerCovarianceDataFileReader(Path dataFile, Delimiter delimiter) {
         super(dataFile, delimiter);
+
+        this.numberOfThreads = 1;
     }
 
     @Override
     public CovarianceData readInData() throws IOException {
-        int numOfCases = getNumberOfCases();
-        List<String> variables = getVariables();
-        double[][] data = getCovarianceData(variables.size());
-
-        return new LowerCovarianceData(numOfCases, variables, data);
-    }
-
-    private double[][] getCovarianceData(int matrixSize) throws IOException {
-        double[][] data = new double[matrixSize][matrixSize];
-
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-
-            byte delimChar = delimiter.getByteValue();
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            int lineDataNum = 1;
-            int lineNum = 1;
-            int colNum = 0;
-            int col = 0;
-            int row = 0;
-
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
-
-                        if (hasSeenNonblankChar && !skip) {
-                            if (lineDataNum >= 3) {
-                                if (col > row) {
-                                    String errMsg = String.format("Excess data on line %d.  Extracted %d value(s) but expected %d.", lineNum, col + 1, row + 1);
-                                    LOGGER.error(errMsg);
-                                    throw new DataReaderException(errMsg);
-                                } else if (col < row) {
-                                    String errMsg = String.format("Insufficent data on line %d.  Extracted %d value(s) but expected %d.", lineNum, col + 1, row + 1);
-                                    LOGGER.error(errMsg);
-                                    throw new DataReaderException(errMsg);
-                                } else {
-                                    String value = dataBuilder.toString().trim();
-                                    dataBuilder.delete(0, dataBuilder.length());
-
-                                    colNum++;
-                                    if (value.isEmpty()) {
-                                        String errMsg = String.format("Missing value on line %d at column %d.", lineNum, colNum);
-                                        LOGGER.error(errMsg);
-                                        throw new DataReaderException(errMsg);
-                                    } else {
-                                        try {
-                                            double covariance = Double.parseDouble(value);
-                                            data[row][col] = covariance;
-                                            data[col][row] = covariance;
-                                        } catch (NumberFormatException exception) {
-                                            String errMsg = String.format("Invalid number %s on line %d at column %d.", value, lineNum, colNum);
-                                            LOGGER.error(errMsg, exception);
-                                            throw new DataReaderException(errMsg);
-                                        }
-                                    }
-                                }
-
-                                row++;
-                            }
-
-                            lineDataNum++;
-                        }
-
-                        lineNum++;
-
-                        // clear data
-                        dataBuilder.delete(0, dataBuilder.length());
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        col = 0;
-                        colNum = 0;
-                        checkForComment = comment.length > 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
+        MappedCovarianceData cachedData = openCachedData();
+        if (cachedData != null) {
+            return cachedData;
+        }
 
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
 
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
+        int numOfCases = 0;
+        SymmetricCovarianceData covarianceData = null;
+        Path tempFile = null;
+        int lineDataNum = 1;
+        boolean isComplete = false;
+
+        // the bytes are counted in the data pass since the file is read once
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_HEADER);
+        ExecutorService pool = (numberOfThreads > 1) ? Executors.newFixedThreadPool(numberOfThreads) : null;
+        // a block per thread keeps the workers busy without holding much of the file
+        int blockSize = BUFFER_SIZE * numberOfThreads;
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, blockSize)) {
+            LineBlock block;
+            while ((block = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                byte[] buffer = block.getBuffer();
+                int numOfLines = block.getNumberOfLines();
+                int line = 0;
+                for (; line < numOfLines && lineDataNum <= 2; line++) {
+                    int lineNum = block.getLineNumber(line);
+                    int start = block.getLineStart(line);
+                    int end = block.getLineEnd(line);
+                    if (lineDataNum == 1) {
+                        numOfCases = getNumberOfCases(buffer, start, end, lineNum, pass);
+                    } else {
+                        List<String> variables = getVariables(buffer, start, end, lineNum, tokenizer, pass);
+                        if (cacheFile == null) {
+                            covarianceData = new PackedCovarianceData(numOfCases, variables);
+                        } else {
+                            tempFile = createTempFile();
+                            covarianceData = MappedCovarianceData.create(tempFile, numOfCases, variables);
                         }
 
-                        if (lineDataNum >= 3) {
-                            if (currChar == quoteCharacter) {
-                                hasQuoteChar = !hasQuoteChar;
-                            } else {
-                                if (hasQuoteChar) {
-                                    dataBuilder.append((char) currChar);
-                                } else {
-                                    boolean isDelimiter;
-                                    switch (delimiter) {
-                                        case WHITESPACE:
-                                            isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                            break;
-                                        default:
-                                            isDelimiter = (currChar == delimChar);
-                                    }
-
-                                    if (isDelimiter) {
-                                        if (col > row) {
-                                            String errMsg = String.format("Excess data on line %d.  Extracted %d value(s) but expected %d.", lineNum, col + 1, row + 1);
-                                            LOGGER.error(errMsg);
-                                            throw new DataReaderException(errMsg);
-                                        }
-
-                                        String value = dataBuilder.toString().trim();
-                                        dataBuilder.delete(0, dataBuilder.length());
-
-                                        colNum++;
-                                        if (value.isEmpty()) {
-                                            String errMsg = String.format("Missing value on line %d at column %d.", lineNum, colNum);
-                                            LOGGER.error(errMsg);
-                                            throw new DataReaderException(errMsg);
-                                        } else {
-                                            try {
-                                                double covariance = Double.parseDouble(value);
-                                                data[row][col] = covariance;
-                                                data[col][row] = covariance;
-                                            } catch (NumberFormatException exception) {
-                                                String errMsg = String.format("Invalid number %s on line %d at column %d.", value, lineNum, colNum);
-                                                LOGGER.error(errMsg, exception);
-                                                throw new DataReaderException(errMsg);
-                                            }
-                                        }
-
-                                        col++;
-                                    } else {
-                                        dataBuilder.append((char) currChar);
-                                    }
-                                }
-                            }
-                        }
+                        pass.end();
+                        pass = readMetrics.startPass(ReadPhase.READ_DATA);
                     }
 
-                    prevChar = currChar;
+                    lineDataNum++;
                 }
-            }
 
-            if (hasSeenNonblankChar && !skip) {
-                if (lineDataNum >= 3) {
-                    if (col > row) {
-                        String errMsg = String.format("Excess data on line %d.  Extracted %d value(s) but expected %d.", lineNum, col + 1, row + 1);
-                        LOGGER.error(errMsg);
-                        throw new DataReaderException(errMsg);
-                    } else if (col < row) {
-                        String errMsg = String.format("Insufficent data on line %d.  Extracted %d value(s) but expected %d.", lineNum, col + 1, row + 1);
-                        LOGGER.error(errMsg);
-                        throw new DataReaderException(errMsg);
-                    } else {
-                        String value = dataBuilder.toString().trim();
-                        dataBuilder.delete(0, dataBuilder.length());
-
-                        colNum++;
-                        if (value.isEmpty()) {
-                            String errMsg = String.format("Missing value on line %d at column %d.", lineNum, colNum);
-                            LOGGER.error(errMsg);
-                            throw new DataReaderException(errMsg);
+                if (line < numOfLines) {
+                    // each line is a row of the lower triangle
+                    ParseError error = readInRows(pool, pass, covarianceData, block, line, lineDataNum - 3, tokenizer);
+                    if (error != null) {
+                        pass.addParseError();
+                        if (error.cause == null) {
+                            LOGGER.error(error.message);
                         } else {
-                            try {
-                                double covariance = Double.parseDouble(value);
-                                data[row][col] = covariance;
-                                data[col][row] = covariance;
-                            } catch (NumberFormatException exception) {
-                                String errMsg = String.format("Invalid number %s on line %d at column %d.", value, lineNum, colNum);
-                                LOGGER.error(errMsg, exception);
-                                throw new DataReaderException(errMsg);
-                            }
+                            LOGGER.error(error.message, error.cause);
                         }
+                        throw new DataReaderException(error.message);
                     }
+
+                    lineDataNum += numOfLines - line;
                 }
             }
+
+            if (lineDataNum == 1) {
+                String errMsg = String.format("Line %d: Missing number of cases.", reader.getLineNumber());
+                pass.addParseError();
+                LOGGER.error(errMsg);
+                throw new DataReaderException(errMsg);
+            }
+            if (covarianceData == null) {
+                String errMsg = "Covariance file does not contain variable names.";
+                LOGGER.error(errMsg);
+                throw new DataReaderException(errMsg);
+            }
+
+            int matrixSize = covarianceData.getNumberOfVariables();
+            pass.addBytesRead(reader.getBytesRead());
+            pass.addRows(matrixSize);
+            pass.setNumberOfColumns(matrixSize);
+            pass.addCells(((long) matrixSize * (matrixSize + 1)) / 2);
+
+            if (covarianceData instanceof MappedCovarianceData) {
+                ((MappedCovarianceData) covarianceData).commit(dataFile, getCacheSettings());
+                moveToCacheFile(tempFile);
+            }
+            isComplete = true;
+        } finally {
+            pass.end();
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            if (!isComplete && covarianceData instanceof MappedCovarianceData) {
+                ((MappedCovarianceData) covarianceData).close();
+            }
+            if (!isComplete && tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
         }
 
-        return data;
+        return covarianceData;
     }
 
-    private List<String> getVariables() throws IOException {
-        List<String> variables = new LinkedList<>();
-
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-            boolean finished = false;
-
-            byte delimChar = delimiter.getByteValue();
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            int lineDataNum = 1;
-            int colNum = 0;
-            int lineNum = 1;
-
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !finished && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
+    /**
+     * Create the file the matrix is written to before it replaces the cache
+     * file. It is in the same directory so that it can be moved atomically.
+     */
+    private Path createTempFile() throws IOException {
+        Path directory = cacheFile.toAbsolutePath().getParent();
 
-                        if (hasSeenNonblankChar && !skip) {
-                            if (lineDataNum == 2) {
-                                String value = dataBuilder.toString().trim();
-                                dataBuilder.delete(0, dataBuilder.length());
-
-                                colNum++;
-                                if (value.isEmpty()) {
-                                    String errMsg = String.format("Missing variable name on line %d at column %d.", lineNum, colNum);
-                                    LOGGER.error(errMsg);
-                                    throw new DataReaderException(errMsg);
-                                } else {
-                                    variables.add(value);
-                                }
-                            }
-
-                            lineDataNum++;
-                            finished = lineDataNum > 2;
-                        }
+        return Files.createTempFile(directory, cacheFile.getFileName().toString() + ".", ".tmp");
+    }
 
-                        lineNum++;
+    /**
+     * Replace the cache file with the complete matrix file. A matrix mapped
+     * from the old cache file keeps reading the old file.
+     */
+    private void moveToCacheFile(Path tempFile) throws IOException {
+        try {
+            Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 
-                        // clear data
-                        dataBuilder.delete(0, dataBuilder.length());
+    /**
+     * Open the cache file if it holds the matrix of the data file, as it is
+     * now, read with the same settings. A cache file that cannot be read, for
+     * example one that is truncated or from an older version, is a miss and
+     * is replaced by the read.
+     *
+     * @return the cached matrix, or null if there is none
+     */
+    private MappedCovarianceData openCachedData() {
+        if (cacheFile == null || !Files.exists(cacheFile)) {
+            return null;
+        }
 
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        checkForComment = comment.length > 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
+        MappedCovarianceData cachedData = null;
+        try {
+            cachedData = MappedCovarianceData.open(cacheFile);
+            if (cachedData.isCacheOf(dataFile, getCacheSettings())) {
+                return cachedData;
+            }
+            cachedData.close();
+        } catch (IOException | RuntimeException exception) {
+            LOGGER.warn(String.format("Unable to use covariance cache file %s.", cacheFile), exception);
+            if (cachedData != null) {
+                try {
+                    cachedData.close();
+                } catch (IOException closeException) {
+                    exception.addSuppressed(closeException);
+                }
+            }
+        }
 
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
+        return null;
+    }
 
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
+    private String getCacheSettings() {
+        StringBuilder settings = new StringBuilder();
+        settings.append(getClass().getName()).append('\n');
+        settings.append("delimiter=").append(delimiter).append('\n');
+        settings.append("quoteCharacter=").append(quoteCharacter).append('\n');
+        settings.append("commentMarker=").append(commentMarker).append('\n');
 
-                        if (lineDataNum == 2) {
-                            if (currChar == quoteCharacter) {
-                                hasQuoteChar = !hasQuoteChar;
-                            } else {
-                                if (hasQuoteChar) {
-                                    dataBuilder.append((char) currChar);
-                                } else {
-                                    boolean isDelimiter;
-                                    switch (delimiter) {
-                                        case WHITESPACE:
-                                            isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                            break;
-                                        default:
-                                            isDelimiter = (currChar == delimChar);
-                                    }
-
-                                    if (isDelimiter) {
-                                        String value = dataBuilder.toString().trim();
-                                        dataBuilder.delete(0, dataBuilder.length());
-
-                                        colNum++;
-                                        if (value.isEmpty()) {
-                                            String errMsg = String.format("Missing variable name on line %d at column %d.", lineNum, colNum);
-                                            LOGGER.error(errMsg);
-                                            throw new DataReaderException(errMsg);
-                                        } else {
-                                            variables.add(value);
-                                        }
-                                    } else {
-                                        dataBuilder.append((char) currChar);
-                                    }
-                                }
-                            }
-                        }
-                    }
+        return settings.toString();
+    }
 
-                    prevChar = currChar;
-                }
-            }
+    /**
+     * Read in the rows of the lines of the block, starting from the given
+     * line. The lines are split into about four ranges per thread, and the
+     * rows of each range are parsed in order.
+     *
+     * @param pool the thread pool, or null to parse the rows in this thread
+     * @param pass the pass the heap allocated by the workers is counted with
+     * @param covarianceData
+     * @param block
+     * @param firstLine the index of the first line of the block to read
+     * @param firstRow the row of the first line
+     * @param tokenizer
+     * @return the error that comes first in the file, or null if none
+     * @throws IOException
+     */
+    private ParseError readInRows(ExecutorService pool, ReadMetrics.Pass pass, SymmetricCovarianceData covarianceData, LineBlock block, int firstLine, int firstRow, LineTokenizer tokenizer) throws IOException {
+        int numOfRows = block.getNumberOfLines() - firstLine;
+        int numOfTasks = (pool == null) ? 1 : Math.min(numOfRows, numberOfThreads * 4);
+        if (numOfTasks <= 1) {
+            return readInRows(covarianceData, block, firstLine, firstRow, numOfRows, tokenizer);
+        }
 
-            if (hasSeenNonblankChar && !skip) {
-                if (lineDataNum == 2) {
-                    String value = dataBuilder.toString().trim();
-                    dataBuilder.delete(0, dataBuilder.length());
+        List<Future<ParseError>> futures = new ArrayList<>(numOfTasks);
+        for (int i = 0; i < numOfTasks; i++) {
+            int from = (int) ((long) numOfRows * i / numOfTasks);
+            int to = (int) ((long) numOfRows * (i + 1) / numOfTasks);
+            futures.add(pool.submit(pass.track(() -> readInRows(covarianceData, block, firstLine + from, firstRow + from, to - from, tokenizer))));
+        }
 
-                    colNum++;
-                    if (value.isEmpty()) {
-                        String errMsg = String.format("Missing variable name on line %d at column %d.", lineNum, colNum);
-                        LOGGER.error(errMsg);
-                        throw new DataReaderException(errMsg);
-                    } else {
-                        variables.add(value);
-                    }
+        // the ranges are in file order
+        ParseError firstError = null;
+        try {
+            for (Future<ParseError> future : futures) {
+                ParseError error = future.get();
+                if (firstError == null) {
+                    firstError = error;
                 }
             }
-        }
-
-        if (variables.isEmpty()) {
-            String errMsg = "Covariance file does not contain variable names.";
-            LOGGER.error(errMsg);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Data reading was interrupted.");
+        } catch (ExecutionException exception) {
+            String errMsg = String.format("Unable to read data file %s.", dataFile.getFileName());
+            LOGGER.error(errMsg, exception.getCause());
             throw new DataReaderException(errMsg);
         }
 
-        return variables;
+        return firstError;
     }
 
-    private int getNumberOfCases() throws IOException {
-        int numOfCases = 0;
-
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean finished = false;
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            int lineNum = 1;
-
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !finished && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
+    private ParseError readInRows(SymmetricCovarianceData covarianceData, LineBlock block, int firstLine, int firstRow, int numOfRows, LineTokenizer tokenizer) {
+        int numOfVariables = covarianceData.getNumberOfVariables();
+        int maxNumOfValues = Math.min(firstRow + numOfRows, numOfVariables) + 1;
+        int[] tokenStarts = new int[maxNumOfValues];
+        int[] tokenEnds = new int[maxNumOfValues];
+
+        byte[] buffer = block.getBuffer();
+        for (int i = 0; i < numOfRows; i++) {
+            int line = firstLine + i;
+            int row = firstRow + i;
+            int lineNum = block.getLineNumber(line);
+            if (row >= numOfVariables) {
+                return new ParseError(String.format("Excess data on line %d.  Expected %d line(s) of data.", lineNum, numOfVariables), null);
+            }
 
-                        finished = hasSeenNonblankChar && !skip;
-                        if (!finished) {
-                            lineNum++;
+            ParseError error = readInRow(covarianceData, row, buffer, block.getLineStart(line), block.getLineEnd(line), lineNum, tokenizer, tokenStarts, tokenEnds);
+            if (error != null) {
+                return error;
+            }
+        }
 
-                            // clear data
-                            dataBuilder.delete(0, dataBuilder.length());
+        return null;
+    }
 
-                            // reset states
-                            skip = false;
-                            hasSeenNonblankChar = false;
-                            cmntIndex = 0;
-                            checkForComment = comment.length > 0;
-                        }
-                    } else {
-                        if (!skip) {
-                            if (currChar > SPACE_CHAR) {
-                                hasSeenNonblankChar = true;
-                            }
-
-                            // skip blank chars at the begining of the line
-                            if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                                continue;
-                            }
-
-                            // check for comment marker to skip line
-                            if (checkForComment) {
-                                if (currChar == comment[cmntIndex]) {
-                                    cmntIndex++;
-                                    if (cmntIndex == comment.length) {
-                                        skip = true;
-                                        prevChar = currChar;
-
-                                        continue;
-                                    }
-                                } else {
-                                    checkForComment = false;
-                                }
-                            }
-
-                            if (currChar != quoteCharacter) {
-                                dataBuilder.append((char) currChar);
-                            }
-                        }
-                    }
+    /**
+     * Read in a row of the lower triangle, which has row + 1 values.
+     */
+    private ParseError readInRow(SymmetricCovarianceData covarianceData, int row, byte[] buffer, int start, int end, int lineNum, LineTokenizer tokenizer, int[] tokenStarts, int[] tokenEnds) {
+        int numOfValues = tokenizer.tokenize(buffer, start, end, row + 2, tokenStarts, tokenEnds, 0);
+
+        // the last value of a short line is not parsed
+        int numOfValuesToParse = (numOfValues <= row) ? numOfValues - 1 : row + 1;
+        for (int col = 0; col < numOfValuesToParse; col++) {
+            String value = tokenizer.toString(buffer, tokenStarts[col], tokenEnds[col]);
+            int colNum = col + 1;
+            if (value.isEmpty()) {
+                return new ParseError(String.format("Missing value on line %d at column %d.", lineNum, colNum), null);
+            }
 
-                    prevChar = currChar;
-                }
+            try {
+                covarianceData.set(row, col, Double.parseDouble(value));
+            } catch (NumberFormatException exception) {
+                return new ParseError(String.format("Invalid number %s on line %d at column %d.", value, lineNum, colNum), exception);
             }
+        }
+
+        if (numOfValues > row + 1) {
+            return new ParseError(String.format("Excess data on line %d.  Extracted %d value(s) but expected %d.", lineNum, numOfValues, row + 1), null);
+        } else if (numOfValues < row + 1) {
+            return new ParseError(String.format("Insufficent data on line %d.  Extracted %d value(s) but expected %d.", lineNum, numOfValues, row + 1), null);
+        }
 
-            String value = dataBuilder.toString().trim();
+        return null;
+    }
+
+    private List<String> getVariables(byte[] buffer, int start, int end, int lineNum, LineTokenizer tokenizer, ReadMetrics.Pass pass) {
+        List<String> variables = new LinkedList<>();
+        tokenizer.tokenize(buffer, start, end, Integer.MAX_VALUE, (index, tokenStart, tokenEnd) -> {
+            String value = tokenizer.toString(buffer, tokenStart, tokenEnd);
             if (value.isEmpty()) {
-                String errMsg = String.format("Line %d: Missing number of cases.", lineNum);
+                String errMsg = String.format("Missing variable name on line %d at column %d.", lineNum, index + 1);
+                pass.addParseError();
                 LOGGER.error(errMsg);
                 throw new DataReaderException(errMsg);
             } else {
-                try {
-                    numOfCases += Integer.parseInt(value);
-                } catch (NumberFormatException exception) {
-                    String errMsg = String.format("Invalid number %s on line %d.", value, lineNum);
-                    LOGGER.error(errMsg);
-                    throw new DataReaderException(errMsg);
-                }
+                variables.add(value);
             }
-        }
+        });
 
-        return numOfCases;
+        return variables;
     }
 
-    private final class LowerCovarianceData implements CovarianceData {
-
-        private final int numberOfCases;
-        private final List<String> variables;
-        private final double[][] data;
-
-        private LowerCovarianceData(int numberOfCases, List<String> variables, double[][] data) {
-            this.numberOfCases = numberOfCases;
-            this.variables = variables;
-            this.data = data;
+    private int getNumberOfCases(byte[] buffer, int start, int end, int lineNum, ReadMetrics.Pass pass) {
+        // the whole line without the quote characters
+        StringBuilder dataBuilder = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            if (buffer[i] != quoteCharacter) {
+                dataBuilder.append((char) buffer[i]);
+            }
         }
 
-        @Override
-        public int getNumberOfCases() {
-            return numberOfCases;
+        String value = dataBuilder.toString().trim();
+        if (value.isEmpty()) {
+            String errMsg = String.format("Line %d: Missing number of cases.", lineNum);
+            pass.addParseError();
+            LOGGER.error(errMsg);
+            throw new DataReaderException(errMsg);
         }
 
-        @Override
-        public List<String> getVariables() {
-            return variables;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            String errMsg = String.format("Invalid number %s on line %d.", value, lineNum);
+            pass.addParseError();
+            LOGGER.error(errMsg);
+            throw new DataReaderException(errMsg);
         }
+    }
+
+    /**
+     * Set a file to keep the parsed matrix in, as a
+     * {@link MappedCovarianceData}, instead of the heap. The matrix is read
+     * from this file, without parsing the text, as long as the data file has
+     * not changed since it was written. The matrix is written to a temporary
+     * file next to the cache file, which replaces it once the matrix is
+     * complete, so a failed read leaves the cache as it was and a matrix read
+     * earlier from the cache stays readable.
+     *
+     * @param cacheFile the matrix file, or null to keep the matrix in memory
+     */
+    public void setCacheFile(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Set the number of threads used to parse the rows of the matrix. The
+     * default is one.
+     *
+     * @param numberOfThreads
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+    }
+
+    private static final class ParseError {
+
+        private final String message;
+        private final Throwable cause;
 
-        @Override
-        public double[][] getData() {
-            return data;
+        public ParseError(String message, Throwable cause) {
+            this.message = message;
+            this.cause = cause;
         }
 
     }
@@ -0,0 +1,384 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A covariance matrix whose lower triangle is kept in a memory-mapped file
+ * instead of the heap, for matrices too large for
+ * {@link PackedCovarianceData}. Only the pages that are read or written are
+ * loaded, so a row or a submatrix can be read without touching the rest of
+ * the file.
+ *
+ * The file starts with a header that holds the number of cases, the variable
+ * names, the size and modification time of the text file the matrix was
+ * parsed from and a digest of the settings it was parsed with, followed by
+ * the lower triangle row by row as little-endian doubles. A file is only
+ * marked complete once {@link #commit(Path, String)} is called, so it can be
+ * reused in later runs as a cache of the parsed text file.
+ *
+ * The buffer position and limit are set through {@link Buffer}, since the
+ * covariant overrides of {@link ByteBuffer} do not exist on Java 8.
+ *
+ * Oct 19, 2026 7:58:03 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class MappedCovarianceData implements SymmetricCovarianceData, Closeable {
+
+    private static final long MAGIC = 0x434F56444154414CL;  // "COVDATAL"
+    private static final int VERSION = 2;
+
+    private static final int SETTINGS_DIGEST_LENGTH = 32;  // SHA-256
+
+    private static final int COMPLETE_OFFSET = 12;
+    private static final int SOURCE_OFFSET = 16;
+    private static final int SETTINGS_OFFSET = 32;
+    private static final int CASES_OFFSET = SETTINGS_OFFSET + SETTINGS_DIGEST_LENGTH;
+    private static final int VARIABLES_OFFSET = CASES_OFFSET + 2 * Integer.BYTES;
+
+    // each segment is mapped separately since a mapping is limited to 2 GB
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final int numberOfCases;
+    private final List<String> variables;
+    private final int numberOfVariables;
+    private final MappedByteBuffer[] segments;
+
+    private MappedCovarianceData(FileChannel channel, boolean writable, int numberOfCases, List<String> variables, long dataOffset) throws IOException {
+        this.channel = channel;
+        this.writable = writable;
+        this.numberOfCases = numberOfCases;
+        this.variables = variables;
+        this.numberOfVariables = variables.size();
+
+        long dataSize = size(numberOfVariables) * Double.BYTES;
+        int numOfSegments = (int) ((dataSize + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        this.segments = new MappedByteBuffer[numOfSegments];
+        for (int i = 0; i < numOfSegments; i++) {
+            long position = (long) i << SEGMENT_SHIFT;
+            long length = Math.min(SEGMENT_MASK + 1, dataSize - position);
+            segments[i] = channel.map(mode, dataOffset + position, length);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Create a new matrix file of zeros, replacing any existing file.
+     *
+     * @param file
+     * @param numberOfCases
+     * @param variables
+     * @return
+     * @throws IOException
+     */
+    public static MappedCovarianceData create(Path file, int numberOfCases, List<String> variables) throws IOException {
+        List<byte[]> names = new ArrayList<>(variables.size());
+        int headerSize = VARIABLES_OFFSET;
+        for (String variable : variables) {
+            byte[] name = variable.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            headerSize += Integer.BYTES + name.length;
+        }
+
+        // align the values on 8 bytes
+        long dataOffset = (headerSize + 7) & ~7L;
+
+        ByteBuffer header = ByteBuffer.allocate((int) dataOffset).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(0);  // complete
+        header.putLong(-1);  // source size
+        header.putLong(-1);  // source last modified
+        header.put(new byte[SETTINGS_DIGEST_LENGTH]);
+        header.putInt(numberOfCases);
+        header.putInt(variables.size());
+        for (byte[] name : names) {
+            header.putInt(name.length);
+            header.put(name);
+        }
+        ((Buffer) header).rewind();
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+
+            return new MappedCovarianceData(channel, true, numberOfCases, Collections.unmodifiableList(new ArrayList<>(variables)), dataOffset);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Open an existing matrix file for reading.
+     *
+     * @param file
+     * @return
+     * @throws IOException if the file is not a matrix file
+     */
+    public static MappedCovarianceData open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readFully(channel, 0, VARIABLES_OFFSET);
+            if (header.getLong() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(String.format("%s is not a covariance matrix file.", file.getFileName()));
+            }
+
+            ((Buffer) header).position(CASES_OFFSET);
+            int numOfCases = header.getInt();
+            int numOfVariables = header.getInt();
+            if (numOfVariables < 0) {
+                throw new IOException(String.format("%s is not a covariance matrix file.", file.getFileName()));
+            }
+
+            List<String> variables = new ArrayList<>();
+            long position = VARIABLES_OFFSET;
+            for (int i = 0; i < numOfVariables; i++) {
+                int length = readFully(channel, position, Integer.BYTES).getInt();
+                position += Integer.BYTES;
+                if (length < 0 || position + length > channel.size()) {
+                    throw new IOException(String.format("%s is truncated.", file.getFileName()));
+                }
+                variables.add(new String(readFully(channel, position, length).array(), StandardCharsets.UTF_8));
+                position += length;
+            }
+
+            long dataOffset = (position + 7) & ~7L;
+            if (channel.size() < dataOffset + size(numOfVariables) * Double.BYTES) {
+                throw new IOException(String.format("%s is truncated.", file.getFileName()));
+            }
+
+            return new MappedCovarianceData(channel, false, numOfCases, Collections.unmodifiableList(variables), dataOffset);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of covariance matrix file.");
+            }
+        }
+        ((Buffer) buffer).flip();
+
+        return buffer;
+    }
+
+    /**
+     * Get the number of values stored for a matrix of the given size.
+     *
+     * @param numberOfVariables
+     * @return
+     */
+    public static long size(int numberOfVariables) {
+        return ((long) numberOfVariables * (numberOfVariables + 1)) / 2;
+    }
+
+    private static long indexOf(int row, int column) {
+        return (row >= column)
+                ? (((long) row * (row + 1)) / 2) + column
+                : (((long) column * (column + 1)) / 2) + row;
+    }
+
+    private double getValue(long index) {
+        long position = index * Double.BYTES;
+
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getDouble((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * Check if this file holds the matrix parsed from the given text file, as
+     * it is now, with the same settings.
+     *
+     * @param dataFile
+     * @param settings the settings the matrix was parsed with, such as the
+     * delimiter, quote character and comment marker
+     * @return
+     * @throws IOException
+     */
+    public boolean isCacheOf(Path dataFile, String settings) throws IOException {
+        ByteBuffer header = readFully(channel, COMPLETE_OFFSET, CASES_OFFSET - COMPLETE_OFFSET);
+        if (header.getInt() != 1
+                || header.getLong() != Files.size(dataFile)
+                || header.getLong() != Files.getLastModifiedTime(dataFile).toMillis()) {
+            return false;
+        }
+
+        byte[] settingsDigest = new byte[SETTINGS_DIGEST_LENGTH];
+        header.get(settingsDigest);
+
+        return Arrays.equals(settingsDigest, digest(settings));
+    }
+
+    private static byte[] digest(String settings) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(settings.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Write the values to disk and mark the file as the complete matrix of
+     * the given text file.
+     *
+     * @param dataFile the file the matrix was parsed from
+     * @param settings the settings the matrix was parsed with
+     * @throws IOException
+     */
+    public void commit(Path dataFile, String settings) throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(CASES_OFFSET - COMPLETE_OFFSET).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(1);
+        header.putLong(Files.size(dataFile));
+        header.putLong(Files.getLastModifiedTime(dataFile).toMillis());
+        header.put(digest(settings));
+        ((Buffer) header).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, COMPLETE_OFFSET + header.position());
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writable) {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+        channel.close();
+    }
+
+    @Override
+    public int getNumberOfCases() {
+        return numberOfCases;
+    }
+
+    @Override
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Get the full matrix. This loads the whole file, so use {@link #get},
+     * {@link #getRow} or {@link #getSubmatrix} when possible.
+     *
+     * @return
+     */
+    @Override
+    public double[][] getData() {
+        double[][] matrix = new double[numberOfVariables][numberOfVariables];
+        long index = 0;
+        for (int row = 0; row < numberOfVariables; row++) {
+            for (int column = 0; column <= row; column++) {
+                double value = getValue(index++);
+                matrix[row][column] = value;
+                matrix[column][row] = value;
+            }
+        }
+
+        return matrix;
+    }
+
+    @Override
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    @Override
+    public double get(int row, int column) {
+        return getValue(indexOf(row, column));
+    }
+
+    @Override
+    public void set(int row, int column, double value) {
+        long position = indexOf(row, column) * Double.BYTES;
+        segments[(int) (position >>> SEGMENT_SHIFT)].putDouble((int) (position & SEGMENT_MASK), value);
+    }
+
+    @Override
+    public double[] getRow(int row) {
+        return getRow(row, new double[numberOfVariables]);
+    }
+
+    @Override
+    public double[] getRow(int row, double[] values) {
+        long start = indexOf(row, 0);
+        for (int column = 0; column <= row; column++) {
+            values[column] = getValue(start + column);
+        }
+
+        // the rest of the row is the column below the diagonal
+        long index = start + row;
+        for (int column = row + 1; column < numberOfVariables; column++) {
+            index += column;
+            values[column] = getValue(index);
+        }
+
+        return values;
+    }
+
+    @Override
+    public double[][] getSubmatrix(int[] indices) {
+        int size = indices.length;
+        double[][] matrix = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j <= i; j++) {
+                double value = get(indices[i], indices[j]);
+                matrix[i][j] = value;
+                matrix[j][i] = value;
+            }
+        }
+
+        return matrix;
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+import java.util.List;
+
+/**
+ * A symmetric covariance matrix that only stores its lower triangle, row by
+ * row, in a single array of n(n + 1) / 2 values. The value at (row, column)
+ * with column &lt;= row is at row(row + 1) / 2 + column, which is also the
+ * order of the values in a lower covariance file.
+ *
+ * Oct 19, 2026 5:52:44 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class PackedCovarianceData implements SymmetricCovarianceData {
+
+    /**
+     * The largest number of variables whose lower triangle fits in an array.
+     */
+    public static final int MAX_NUMBER_OF_VARIABLES = 65535;
+
+    private final int numberOfCases;
+    private final List<String> variables;
+    private final int numberOfVariables;
+    private final double[] data;
+
+    public PackedCovarianceData(int numberOfCases, List<String> variables) {
+        this(numberOfCases, variables, new double[size(variables.size())]);
+    }
+
+    /**
+     * @param numberOfCases
+     * @param variables
+     * @param data the lower triangle, row by row
+     */
+    public PackedCovarianceData(int numberOfCases, List<String> variables, double[] data) {
+        if (data.length != size(variables.size())) {
+            throw new IllegalArgumentException(String.format("Expected %d values for %d variables but got %d.", size(variables.size()), variables.size(), data.length));
+        }
+
+        this.numberOfCases = numberOfCases;
+        this.variables = variables;
+        this.numberOfVariables = variables.size();
+        this.data = data;
+    }
+
+    /**
+     * Get the number of values stored for a matrix of the given size.
+     *
+     * @param numberOfVariables
+     * @return
+     */
+    public static int size(int numberOfVariables) {
+        if (numberOfVariables > MAX_NUMBER_OF_VARIABLES) {
+            throw new IllegalArgumentException(String.format("Number of variables %d exceeds the maximum of %d.", numberOfVariables, MAX_NUMBER_OF_VARIABLES));
+        }
+
+        return (int) (((long) numberOfVariables * (numberOfVariables + 1)) / 2);
+    }
+
+    private static int indexOf(int row, int column) {
+        return (row >= column)
+                ? (int) (((long) row * (row + 1)) / 2) + column
+                : (int) (((long) column * (column + 1)) / 2) + row;
+    }
+
+    @Override
+    public int getNumberOfCases() {
+        return numberOfCases;
+    }
+
+    @Override
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Get the full matrix. A new matrix of n x n values is created on each
+     * call, so use {@link #get}, {@link #getRow} or {@link #getSubmatrix}
+     * when possible.
+     *
+     * @return
+     */
+    @Override
+    public double[][] getData() {
+        double[][] matrix = new double[numberOfVariables][numberOfVariables];
+        int index = 0;
+        for (int row = 0; row < numberOfVariables; row++) {
+            for (int column = 0; column <= row; column++) {
+                double value = data[index++];
+                matrix[row][column] = value;
+                matrix[column][row] = value;
+            }
+        }
+
+        return matrix;
+    }
+
+    @Override
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    @Override
+    public double get(int row, int column) {
+        return data[indexOf(row, column)];
+    }
+
+    @Override
+    public void set(int row, int column, double value) {
+        data[indexOf(row, column)] = value;
+    }
+
+    /**
+     * Get a row of the matrix, which is also the column of the same index.
+     *
+     * @param row
+     * @return
+     */
+    @Override
+    public double[] getRow(int row) {
+        return getRow(row, new double[numberOfVariables]);
+    }
+
+    /**
+     * Copy a row of the matrix into the given array.
+     *
+     * @param row
+     * @param values an array of at least n values
+     * @return the given array
+     */
+    @Override
+    public double[] getRow(int row, double[] values) {
+        int start = indexOf(row, 0);
+        System.arraycopy(data, start, values, 0, row + 1);
+
+        // the rest of the row is the column below the diagonal
+        int index = start + row;
+        for (int column = row + 1; column < numberOfVariables; column++) {
+            index += column;
+            values[column] = data[index];
+        }
+
+        return values;
+    }
+
+    /**
+     * Get the covariance matrix of the given variables.
+     *
+     * @param indices the indices of the variables
+     * @return
+     */
+    @Override
+    public double[][] getSubmatrix(int[] indices) {
+        int size = indices.length;
+        double[][] matrix = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j <= i; j++) {
+                double value = get(indices[i], indices[j]);
+                matrix[i][j] = value;
+                matrix[j][i] = value;
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Get the lower triangle of the matrix, row by row.
+     *
+     * @return
+     */
+    public double[] getPackedData() {
+        return data;
+    }
+
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+import java.util.List;
+
+/**
+ * Computes the sample covariance or correlation matrix of a stream of rows
+ * without keeping the rows. The means and co-moments are updated one row at
+ * a time with Welford's method, and the results of separate chunks of rows
+ * can be combined with {@link #merge}, so the rows can be split across
+ * threads.
+ *
+ * Missing values, given as NaN, are deleted pairwise: the covariance of two
+ * variables is computed from the rows where both are present. As long as no
+ * value is missing, only the means and one co-moment per pair are kept. The
+ * first missing value switches to keeping a count, two means and three
+ * co-moments per pair.
+ *
+ * Oct 19, 2026 9:12:37 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class StreamingCovariance {
+
+    private final int numberOfVariables;
+    private final double[] deltas;
+
+    private long numberOfRows;
+
+    // the co-moments of the pairs, in the order of PackedCovarianceData
+    private final double[] comoments;
+
+    // the means when no value is missing
+    private final double[] means;
+
+    // the counts, means and squares of the rows where both values are present
+    private long[] pairCounts;
+    private double[] rowMeans;
+    private double[] columnMeans;
+    private double[] rowSquares;
+    private double[] columnSquares;
+
+    public StreamingCovariance(int numberOfVariables) {
+        this.numberOfVariables = numberOfVariables;
+        this.deltas = new double[numberOfVariables];
+        this.means = new double[numberOfVariables];
+        this.comoments = new double[PackedCovarianceData.size(numberOfVariables)];
+    }
+
+    private static int diagonalOf(int variable) {
+        return (int) (((long) variable * (variable + 1)) / 2) + variable;
+    }
+
+    /**
+     * Add a row of values.
+     *
+     * @param values the values of the variables, NaN if missing
+     */
+    public void add(double[] values) {
+        numberOfRows++;
+
+        if (pairCounts == null) {
+            boolean hasMissingValue = false;
+            for (int i = 0; i < numberOfVariables && !hasMissingValue; i++) {
+                hasMissingValue = Double.isNaN(values[i]);
+            }
+
+            if (!hasMissingValue) {
+                addCompleteRow(values);
+
+                return;
+            }
+
+            usePairwiseDeletion(numberOfRows - 1);
+        }
+
+        addRow(values);
+    }
+
+    private void addCompleteRow(double[] values) {
+        double n = numberOfRows;
+        for (int i = 0; i < numberOfVariables; i++) {
+            deltas[i] = values[i] - means[i];
+            means[i] += deltas[i] / n;
+        }
+
+        double factor = (n - 1) / n;
+        int index = 0;
+        for (int i = 0; i < numberOfVariables; i++) {
+            double delta = factor * deltas[i];
+            for (int j = 0; j <= i; j++) {
+                comoments[index++] += delta * deltas[j];
+            }
+        }
+    }
+
+    private void addRow(double[] values) {
+        int index = 0;
+        for (int i = 0; i < numberOfVariables; i++) {
+            double x = values[i];
+            if (Double.isNaN(x)) {
+                index += i + 1;
+                continue;
+            }
+
+            for (int j = 0; j <= i; j++, index++) {
+                double y = values[j];
+                if (Double.isNaN(y)) {
+                    continue;
+                }
+
+                double n = ++pairCounts[index];
+                double deltaX = x - rowMeans[index];
+                double deltaY = y - columnMeans[index];
+                rowMeans[index] += deltaX / n;
+                columnMeans[index] += deltaY / n;
+                comoments[index] += deltaX * (y - columnMeans[index]);
+                rowSquares[index] += deltaX * (x - rowMeans[index]);
+                columnSquares[index] += deltaY * (y - columnMeans[index]);
+            }
+        }
+    }
+
+    /**
+     * Switch to keeping the statistics of each pair.
+     *
+     * @param numOfCompleteRows the number of rows added so far, which have no
+     * missing value
+     */
+    private void usePairwiseDeletion(long numOfCompleteRows) {
+        int size = comoments.length;
+        pairCounts = new long[size];
+        rowMeans = new double[size];
+        columnMeans = new double[size];
+        rowSquares = new double[size];
+        columnSquares = new double[size];
+
+        int index = 0;
+        for (int i = 0; i < numberOfVariables; i++) {
+            for (int j = 0; j <= i; j++, index++) {
+                pairCounts[index] = numOfCompleteRows;
+                rowMeans[index] = means[i];
+                columnMeans[index] = means[j];
+                rowSquares[index] = comoments[diagonalOf(i)];
+                columnSquares[index] = comoments[diagonalOf(j)];
+            }
+        }
+    }
+
+    /**
+     * Add the rows of another computation of the same variables. The other
+     * computation is not changed.
+     *
+     * @param other
+     */
+    public void merge(StreamingCovariance other) {
+        if (other.numberOfVariables != numberOfVariables) {
+            throw new IllegalArgumentException(String.format("Cannot merge %d variables into %d.", other.numberOfVariables, numberOfVariables));
+        }
+
+        if (pairCounts == null && other.pairCounts == null) {
+            mergeCompleteRows(other);
+        } else {
+            if (pairCounts == null) {
+                usePairwiseDeletion(numberOfRows);
+            }
+            mergeRows(other);
+        }
+
+        numberOfRows += other.numberOfRows;
+    }
+
+    private void mergeCompleteRows(StreamingCovariance other) {
+        double countA = numberOfRows;
+        double countB = other.numberOfRows;
+        double n = countA + countB;
+        if (countB == 0) {
+            return;
+        }
+
+        for (int i = 0; i < numberOfVariables; i++) {
+            deltas[i] = other.means[i] - means[i];
+            means[i] += deltas[i] * (countB / n);
+        }
+
+        double factor = (countA * countB) / n;
+        int index = 0;
+        for (int i = 0; i < numberOfVariables; i++) {
+            double delta = factor * deltas[i];
+            for (int j = 0; j <= i; j++, index++) {
+                comoments[index] += other.comoments[index] + (delta * deltas[j]);
+            }
+        }
+    }
+
+    private void mergeRows(StreamingCovariance other) {
+        boolean isComplete = other.pairCounts == null;
+        int index = 0;
+        for (int i = 0; i < numberOfVariables; i++) {
+            for (int j = 0; j <= i; j++, index++) {
+                double countB = isComplete ? other.numberOfRows : other.pairCounts[index];
+                if (countB == 0) {
+                    continue;
+                }
+
+                double rowMeanB = isComplete ? other.means[i] : other.rowMeans[index];
+                double columnMeanB = isComplete ? other.means[j] : other.columnMeans[index];
+                double rowSquaresB = isComplete ? other.comoments[diagonalOf(i)] : other.rowSquares[index];
+                double columnSquaresB = isComplete ? other.comoments[diagonalOf(j)] : other.columnSquares[index];
+
+                double countA = pairCounts[index];
+                double n = countA + countB;
+                double deltaX = rowMeanB - rowMeans[index];
+                double deltaY = columnMeanB - columnMeans[index];
+                double factor = (countA * countB) / n;
+
+                comoments[index] += other.comoments[index] + (deltaX * deltaY * factor);
+                rowSquares[index] += rowSquaresB + (deltaX * deltaX * factor);
+                columnSquares[index] += columnSquaresB + (deltaY * deltaY * factor);
+                rowMeans[index] += deltaX * (countB / n);
+                columnMeans[index] += deltaY * (countB / n);
+                pairCounts[index] += (long) countB;
+            }
+        }
+    }
+
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    public long getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * Get the number of rows where both variables are present.
+     *
+     * @param row
+     * @param column
+     * @return
+     */
+    public long getNumberOfCases(int row, int column) {
+        if (pairCounts == null) {
+            return numberOfRows;
+        }
+
+        int index = (row >= column)
+                ? (int) (((long) row * (row + 1)) / 2) + column
+                : (int) (((long) column * (column + 1)) / 2) + row;
+
+        return pairCounts[index];
+    }
+
+    /**
+     * Get the sample covariance matrix, or the correlation matrix, of the
+     * rows added so far. The number of cases is the number of rows. Pairs
+     * with fewer than two rows have a covariance of NaN.
+     *
+     * @param variables the names of the variables
+     * @param isCorrelation true to compute the correlation matrix
+     * @return
+     */
+    public PackedCovarianceData toCovarianceData(List<String> variables, boolean isCorrelation) {
+        double[] values = new double[comoments.length];
+        int index = 0;
+        for (int i = 0; i < numberOfVariables; i++) {
+            for (int j = 0; j <= i; j++, index++) {
+                if (isCorrelation) {
+                    double rowSquare = (pairCounts == null) ? comoments[diagonalOf(i)] : rowSquares[index];
+                    double columnSquare = (pairCounts == null) ? comoments[diagonalOf(j)] : columnSquares[index];
+                    values[index] = comoments[index] / Math.sqrt(rowSquare * columnSquare);
+                } else {
+                    long n = (pairCounts == null) ? numberOfRows : pairCounts[index];
+                    values[index] = (n < 2) ? Double.NaN : comoments[index] / (n - 1);
+                }
+            }
+        }
+
+        return new PackedCovarianceData((int) Math.min(numberOfRows, Integer.MAX_VALUE), variables, values);
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+/**
+ * A covariance matrix that only stores its lower triangle. Single values,
+ * rows and submatrices can be read without building the full matrix. Since
+ * the matrix is symmetric, a row is also the column of the same index.
+ *
+ * Oct 19, 2026 7:41:26 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public interface SymmetricCovarianceData extends CovarianceData {
+
+    public int getNumberOfVariables();
+
+    public double get(int row, int column);
+
+    public void set(int row, int column, double value);
+
+    public double[] getRow(int row);
+
+    /**
+     * Copy a row of the matrix into the given array.
+     *
+     * @param row
+     * @param values an array of at least n values
+     * @return the given array
+     */
+    public double[] getRow(int row, double[] values);
+
+    /**
+     * Get the covariance matrix of the given variables.
+     *
+     * @param indices the indices of the variables
+     * @return
+     */
+    public double[][] getSubmatrix(int[] indices);
+
+}
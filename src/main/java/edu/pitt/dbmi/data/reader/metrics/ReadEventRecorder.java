@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.metrics;
+
+/**
+ * Emits an event for each pass over a file. The JDK Flight Recorder
+ * implementation is compiled only on JDK 11 or later and is loaded by name, so
+ * nothing in this package depends on <code>jdk.jfr</code> at compile time.
+ *
+ * Oct 19, 2026 11:05:21 AM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+interface ReadEventRecorder {
+
+    /**
+     * Start timing an event.
+     *
+     * @return the event, or null if the event is not being recorded
+     */
+    public Object begin();
+
+    public void commit(Object event, String reader, String path, ReadPhase phase, long bytesRead, long rows, long columns, long cells, long parseErrors);
+
+}
@@ -0,0 +1,458 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Performance metrics collected by a reader, validator or previewer. Each
+ * pass over a file is timed and counted per {@link ReadPhase}. The values are
+ * accumulated for the lifetime of the reader and are also added to the
+ * JVM-wide {@link ReaderStatistics} of the reader type.
+ *
+ * Collecting the metrics costs a couple of clock reads per pass and one
+ * addition per buffer read, so it is always on.
+ *
+ * When running on a JVM with the JDK Flight Recorder, each pass is also
+ * emitted as an <code>edu.pitt.dbmi.data.reader.FileRead</code> event. On
+ * Java 8 the events are no-ops.
+ *
+ * Oct 19, 2026 9:15:02 AM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class ReadMetrics {
+
+    private static final int NUM_OF_PHASES = ReadPhase.values().length;
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = getAllocationMXBean();
+
+    private static final String FLIGHT_RECORDER_EVENT_CLASS = "jdk.jfr.Event";
+    private static final String FLIGHT_RECORDER_RECORDER_CLASS = "edu.pitt.dbmi.data.reader.metrics.FlightRecorderEventRecorder";
+
+    private static final ReadEventRecorder EVENT_RECORDER = getEventRecorder();
+
+    private final ReaderStatistics statistics;
+    private final String readerName;
+    private final String path;
+
+    private final long[] wallTimes = new long[NUM_OF_PHASES];
+    private final long[] numOfPasses = new long[NUM_OF_PHASES];
+    private final long[] bytesRead = new long[NUM_OF_PHASES];
+    private final long[] numOfRows = new long[NUM_OF_PHASES];
+    private final long[] numOfCells = new long[NUM_OF_PHASES];
+    private final long[] numOfParseErrors = new long[NUM_OF_PHASES];
+    private final long[] allocatedBytes = new long[NUM_OF_PHASES];
+
+    public ReadMetrics(Class<?> readerClass) {
+        this(readerClass, null);
+    }
+
+    public ReadMetrics(Class<?> readerClass, Path dataFile) {
+        this.statistics = ReaderStatistics.getInstance(readerClass);
+        this.readerName = readerClass.getName();
+        this.path = (dataFile == null) ? null : dataFile.toString();
+    }
+
+    /**
+     * Start timing a pass over a file.
+     *
+     * @param phase the kind of work done by the pass
+     * @return the pass to update and end when the pass is done
+     */
+    public Pass startPass(ReadPhase phase) {
+        return new Pass(phase);
+    }
+
+    /**
+     * Add the metrics from another reader, e.g. from the column reader used by
+     * a dataset reader.
+     *
+     * @param metrics
+     */
+    public void add(ReadMetrics metrics) {
+        if (metrics == null || metrics == this) {
+            return;
+        }
+
+        long[][] values;
+        synchronized (metrics) {
+            values = new long[][]{
+                metrics.wallTimes.clone(),
+                metrics.numOfPasses.clone(),
+                metrics.bytesRead.clone(),
+                metrics.numOfRows.clone(),
+                metrics.numOfCells.clone(),
+                metrics.numOfParseErrors.clone(),
+                metrics.allocatedBytes.clone()
+            };
+        }
+
+        synchronized (this) {
+            for (int i = 0; i < NUM_OF_PHASES; i++) {
+                wallTimes[i] += values[0][i];
+                numOfPasses[i] += values[1][i];
+                bytesRead[i] += values[2][i];
+                numOfRows[i] += values[3][i];
+                numOfCells[i] += values[4][i];
+                numOfParseErrors[i] += values[5][i];
+                allocatedBytes[i] += values[6][i];
+            }
+        }
+    }
+
+    /**
+     * Clear all the metrics collected by this reader. The JVM-wide statistics
+     * are not affected.
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < NUM_OF_PHASES; i++) {
+            wallTimes[i] = 0;
+            numOfPasses[i] = 0;
+            bytesRead[i] = 0;
+            numOfRows[i] = 0;
+            numOfCells[i] = 0;
+            numOfParseErrors[i] = 0;
+            allocatedBytes[i] = 0;
+        }
+    }
+
+    private synchronized void record(Pass pass, long wallTime, long allocated) {
+        int i = pass.phase.ordinal();
+        wallTimes[i] += wallTime;
+        numOfPasses[i]++;
+        bytesRead[i] += pass.bytesRead;
+        numOfRows[i] += pass.numOfRows;
+        numOfCells[i] += pass.numOfCells;
+        numOfParseErrors[i] += pass.numOfParseErrors;
+        allocatedBytes[i] += allocated;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ReadMetrics{" + "wallTime=" + getWallTime() + ", numOfPasses=" + getNumberOfPasses() + ", bytesRead=" + getBytesRead() + ", numOfRows=" + getNumberOfRows() + ", numOfCells=" + getNumberOfCells() + ", numOfParseErrors=" + getNumberOfParseErrors() + ", allocatedBytes=" + getAllocatedBytes() + ", throughput=" + getThroughput() + '}';
+    }
+
+    /**
+     * Get the wall-clock time, in nanoseconds, spent on the given phase.
+     *
+     * @param phase
+     * @return
+     */
+    public synchronized long getWallTime(ReadPhase phase) {
+        return wallTimes[phase.ordinal()];
+    }
+
+    /**
+     * Get the wall-clock time, in nanoseconds, spent on all the phases.
+     *
+     * @return
+     */
+    public synchronized long getWallTime() {
+        return sum(wallTimes);
+    }
+
+    /**
+     * Get the wall-clock time, in nanoseconds, of each phase that has been
+     * run.
+     *
+     * @return
+     */
+    public synchronized Map<ReadPhase, Long> getWallTimes() {
+        Map<ReadPhase, Long> times = new EnumMap<>(ReadPhase.class);
+        for (ReadPhase phase : ReadPhase.values()) {
+            if (numOfPasses[phase.ordinal()] > 0) {
+                times.put(phase, wallTimes[phase.ordinal()]);
+            }
+        }
+
+        return times;
+    }
+
+    public synchronized long getNumberOfPasses(ReadPhase phase) {
+        return numOfPasses[phase.ordinal()];
+    }
+
+    public synchronized long getNumberOfPasses() {
+        return sum(numOfPasses);
+    }
+
+    public synchronized long getBytesRead(ReadPhase phase) {
+        return bytesRead[phase.ordinal()];
+    }
+
+    public synchronized long getBytesRead() {
+        return sum(bytesRead);
+    }
+
+    public synchronized long getNumberOfRows(ReadPhase phase) {
+        return numOfRows[phase.ordinal()];
+    }
+
+    public synchronized long getNumberOfRows() {
+        return sum(numOfRows);
+    }
+
+    public synchronized long getNumberOfCells(ReadPhase phase) {
+        return numOfCells[phase.ordinal()];
+    }
+
+    public synchronized long getNumberOfCells() {
+        return sum(numOfCells);
+    }
+
+    public synchronized long getNumberOfParseErrors(ReadPhase phase) {
+        return numOfParseErrors[phase.ordinal()];
+    }
+
+    public synchronized long getNumberOfParseErrors() {
+        return sum(numOfParseErrors);
+    }
+
+    /**
+     * Get the estimated number of bytes allocated on the heap during the
+     * passes, by the thread running each pass and by the worker tasks it
+     * submitted through {@link Pass#track(Callable)}. The estimate is based on
+     * the per-thread allocation counter of the JVM and is zero when the JVM
+     * does not support it.
+     *
+     * @param phase
+     * @return
+     */
+    public synchronized long getAllocatedBytes(ReadPhase phase) {
+        return allocatedBytes[phase.ordinal()];
+    }
+
+    public synchronized long getAllocatedBytes() {
+        return sum(allocatedBytes);
+    }
+
+    /**
+     * Get the read throughput, in megabytes per second, over all the passes.
+     *
+     * @return
+     */
+    public synchronized double getThroughput() {
+        return toThroughput(getBytesRead(), getWallTime());
+    }
+
+    /**
+     * Get the read throughput, in megabytes per second, of the given phase.
+     *
+     * @param phase
+     * @return
+     */
+    public synchronized double getThroughput(ReadPhase phase) {
+        return toThroughput(bytesRead[phase.ordinal()], wallTimes[phase.ordinal()]);
+    }
+
+    static double toThroughput(long bytes, long nanoseconds) {
+        return (nanoseconds > 0)
+                ? (bytes / (1024.0 * 1024.0)) / (nanoseconds / 1_000_000_000.0)
+                : 0;
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+
+        return total;
+    }
+
+    private static long getCurrentThreadAllocatedBytes() {
+        return (ALLOCATION_MX_BEAN == null)
+                ? 0
+                : ALLOCATION_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+        try {
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) threadMXBean;
+                if (mxBean.isThreadAllocatedMemorySupported() && mxBean.isThreadAllocatedMemoryEnabled()) {
+                    return mxBean;
+                }
+            }
+        } catch (LinkageError | RuntimeException exception) {
+            // allocation estimate is not available on this JVM
+        }
+
+        return null;
+    }
+
+    private static ReadEventRecorder getEventRecorder() {
+        try {
+            Class.forName(FLIGHT_RECORDER_EVENT_CLASS);
+
+            return (ReadEventRecorder) Class.forName(FLIGHT_RECORDER_RECORDER_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException exception) {
+            // flight recorder is not available on this JVM
+        }
+
+        return null;
+    }
+
+    /**
+     * A single pass over a file. The counters are updated by the reader while
+     * it scans the file and are recorded when the pass ends.
+     */
+    public final class Pass {
+
+        private final ReadPhase phase;
+        private final long startTime;
+        private final long startAllocatedBytes;
+        private final Object event;
+
+        private long bytesRead;
+        private long numOfRows;
+        private long numOfColumns;
+        private long numOfCells;
+        private long numOfParseErrors;
+
+        // heap allocated by the worker threads of the pass
+        private final LongAdder workerAllocatedBytes = new LongAdder();
+
+        private boolean ended;
+
+        private Pass(ReadPhase phase) {
+            this.phase = phase;
+            this.startAllocatedBytes = getCurrentThreadAllocatedBytes();
+            this.event = (EVENT_RECORDER == null) ? null : EVENT_RECORDER.begin();
+            this.startTime = System.nanoTime();
+        }
+
+        public void addBytesRead(long numOfBytes) {
+            bytesRead += numOfBytes;
+        }
+
+        public void addRows(long rows) {
+            numOfRows += rows;
+        }
+
+        public void setNumberOfColumns(long columns) {
+            numOfColumns = columns;
+        }
+
+        public void addCells(long cells) {
+            numOfCells += cells;
+        }
+
+        public void addParseErrors(long errors) {
+            numOfParseErrors += errors;
+        }
+
+        public void addParseError() {
+            numOfParseErrors++;
+        }
+
+        /**
+         * Wrap a task run on a worker thread so that the heap it allocates is
+         * counted with the pass. Only the thread that starts and ends the pass
+         * is measured otherwise.
+         *
+         * @param <T>
+         * @param task
+         * @return the task counting its allocation
+         */
+        public <T> Callable<T> track(Callable<T> task) {
+            if (ALLOCATION_MX_BEAN == null) {
+                return task;
+            }
+
+            return () -> {
+                long start = getCurrentThreadAllocatedBytes();
+                try {
+                    return task.call();
+                } finally {
+                    workerAllocatedBytes.add(Math.max(0, getCurrentThreadAllocatedBytes() - start));
+                }
+            };
+        }
+
+        public Runnable track(Runnable task) {
+            if (ALLOCATION_MX_BEAN == null) {
+                return task;
+            }
+
+            return () -> {
+                long start = getCurrentThreadAllocatedBytes();
+                try {
+                    task.run();
+                } finally {
+                    workerAllocatedBytes.add(Math.max(0, getCurrentThreadAllocatedBytes() - start));
+                }
+            };
+        }
+
+        /**
+         * Record the pass. Calling this more than once has no effect.
+         */
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+
+            long wallTime = System.nanoTime() - startTime;
+            long allocated = Math.max(0, getCurrentThreadAllocatedBytes() - startAllocatedBytes) + workerAllocatedBytes.sum();
+
+            record(this, wallTime, allocated);
+            statistics.record(phase, wallTime, bytesRead, numOfRows, numOfCells, numOfParseErrors, allocated);
+
+            if (event != null) {
+                EVENT_RECORDER.commit(event, readerName, path, phase, bytesRead, numOfRows, numOfColumns, numOfCells, numOfParseErrors);
+            }
+        }
+
+        public ReadPhase getPhase() {
+            return phase;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getNumberOfRows() {
+            return numOfRows;
+        }
+
+        public long getNumberOfColumns() {
+            return numOfColumns;
+        }
+
+        public long getNumberOfCells() {
+            return numOfCells;
+        }
+
+        public long getNumberOfParseErrors() {
+            return numOfParseErrors;
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.metrics;
+
+/**
+ * The kind of work done during a single pass over a file.
+ *
+ * Oct 19, 2026 9:12:40 AM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public enum ReadPhase {
+
+    COUNT_COLUMNS,
+    COUNT_LINES,
+    READ_HEADER,
+    DETERMINE_DATA_TYPES,
+    READ_CATEGORIES,
+    READ_DATA,
+    VALIDATE_HEADER,
+    VALIDATE_DATA,
+    PREVIEW
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics aggregated over all the instances of a reader type for the life of
+ * the JVM. Each reader type is registered with the platform MBean server as
+ * <code>edu.pitt.dbmi.data.reader:type=ReaderStatistics,name=&lt;class&gt;</code>
+ * the first time it is used.
+ *
+ * Oct 19, 2026 9:48:55 AM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class ReaderStatistics implements ReaderStatisticsMXBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReaderStatistics.class);
+
+    public static final String JMX_DOMAIN = "edu.pitt.dbmi.data.reader";
+
+    private static final ConcurrentMap<String, ReaderStatistics> INSTANCES = new ConcurrentHashMap<>();
+
+    private static final int NUM_OF_PHASES = ReadPhase.values().length;
+
+    private final String name;
+
+    private final LongAdder[] wallTimes = newAdders();
+    private final LongAdder[] numOfPasses = newAdders();
+    private final LongAdder[] bytesRead = newAdders();
+    private final LongAdder numOfRows = new LongAdder();
+    private final LongAdder numOfCells = new LongAdder();
+    private final LongAdder numOfParseErrors = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    private ReaderStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the statistics of the given reader type, registering them with the
+     * platform MBean server if needed.
+     *
+     * @param readerClass
+     * @return
+     */
+    public static ReaderStatistics getInstance(Class<?> readerClass) {
+        String name = readerClass.getSimpleName().isEmpty()
+                ? readerClass.getName()
+                : readerClass.getSimpleName();
+
+        ReaderStatistics statistics = INSTANCES.get(name);
+        if (statistics == null) {
+            statistics = INSTANCES.computeIfAbsent(name, ReaderStatistics::register);
+        }
+
+        return statistics;
+    }
+
+    private static ReaderStatistics register(String name) {
+        ReaderStatistics statistics = new ReaderStatistics(name);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=ReaderStatistics,name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(statistics, objectName);
+            }
+        } catch (JMException | RuntimeException exception) {
+            LOGGER.warn(String.format("Unable to register reader statistics for %s.", name), exception);
+        }
+
+        return statistics;
+    }
+
+    void record(ReadPhase phase, long wallTime, long bytes, long rows, long cells, long parseErrors, long allocated) {
+        int i = phase.ordinal();
+        wallTimes[i].add(wallTime);
+        numOfPasses[i].increment();
+        bytesRead[i].add(bytes);
+        numOfRows.add(rows);
+        numOfCells.add(cells);
+        numOfParseErrors.add(parseErrors);
+        allocatedBytes.add(allocated);
+    }
+
+    @Override
+    public String toString() {
+        return "ReaderStatistics{" + "name=" + name + ", numOfPasses=" + getNumberOfPasses() + ", bytesRead=" + getBytesRead() + ", wallTimeMillis=" + getWallTimeMillis() + '}';
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getNumberOfPasses() {
+        return sum(numOfPasses);
+    }
+
+    @Override
+    public long getBytesRead() {
+        return sum(bytesRead);
+    }
+
+    @Override
+    public long getNumberOfRows() {
+        return numOfRows.sum();
+    }
+
+    @Override
+    public long getNumberOfCells() {
+        return numOfCells.sum();
+    }
+
+    @Override
+    public long getNumberOfParseErrors() {
+        return numOfParseErrors.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public long getWallTimeMillis() {
+        return sum(wallTimes) / 1_000_000;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseWallTimeMillis() {
+        Map<String, Long> times = new LinkedHashMap<>();
+        for (ReadPhase phase : ReadPhase.values()) {
+            int i = phase.ordinal();
+            if (numOfPasses[i].sum() > 0) {
+                times.put(phase.name(), wallTimes[i].sum() / 1_000_000);
+            }
+        }
+
+        return times;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseBytesRead() {
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        for (ReadPhase phase : ReadPhase.values()) {
+            int i = phase.ordinal();
+            if (numOfPasses[i].sum() > 0) {
+                bytes.put(phase.name(), bytesRead[i].sum());
+            }
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public double getThroughput() {
+        return ReadMetrics.toThroughput(getBytesRead(), sum(wallTimes));
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < NUM_OF_PHASES; i++) {
+            wallTimes[i].reset();
+            numOfPasses[i].reset();
+            bytesRead[i].reset();
+        }
+        numOfRows.reset();
+        numOfCells.reset();
+        numOfParseErrors.reset();
+        allocatedBytes.reset();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[NUM_OF_PHASES];
+        for (int i = 0; i < NUM_OF_PHASES; i++) {
+            adders[i] = new LongAdder();
+        }
+
+        return adders;
+    }
+
+    private static long sum(LongAdder[] adders) {
+        long total = 0;
+        for (LongAdder adder : adders) {
+            total += adder.sum();
+        }
+
+        return total;
+    }
+
+}
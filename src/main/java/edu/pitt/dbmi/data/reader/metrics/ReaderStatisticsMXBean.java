@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics aggregated over all the instances of a reader type.
+ *
+ * Oct 19, 2026 9:41:27 AM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public interface ReaderStatisticsMXBean {
+
+    public long getNumberOfPasses();
+
+    public long getBytesRead();
+
+    public long getNumberOfRows();
+
+    public long getNumberOfCells();
+
+    public long getNumberOfParseErrors();
+
+    public long getAllocatedBytes();
+
+    /**
+     * Get the total wall-clock time, in milliseconds.
+     *
+     * @return
+     */
+    public long getWallTimeMillis();
+
+    /**
+     * Get the wall-clock time, in milliseconds, of each phase.
+     *
+     * @return
+     */
+    public Map<String, Long> getPhaseWallTimeMillis();
+
+    /**
+     * Get the number of bytes read in each phase.
+     *
+     * @return
+     */
+    public Map<String, Long> getPhaseBytesRead();
+
+    /**
+     * Get the read throughput, in megabytes per second.
+     *
+     * @return
+     */
+    public double getThroughput();
+
+    public void reset();
+
+}
@@ -18,6 +18,7 @@
  */
 package edu.pitt.dbmi.data.reader.preview;
 
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
 import java.nio.file.Path;
 
 /**
@@ -35,8 +36,15 @@ public abstract class AbstractDataPreviewer {
 
     protected final Path dataFile;
 
+    protected final ReadMetrics readMetrics;
+
     public AbstractDataPreviewer(Path dataFile) {
         this.dataFile = dataFile;
+        this.readMetrics = new ReadMetrics(getClass(), dataFile);
+    }
+
+    public ReadMetrics getReadMetrics() {
+        return readMetrics;
     }
 
     protected void checkCharacterNumberParameter(int numOfCharacters) {
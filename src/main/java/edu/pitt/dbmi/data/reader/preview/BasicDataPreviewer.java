@@ -19,6 +19,8 @@
 package edu.pitt.dbmi.data.reader.preview;
 
 import static edu.pitt.dbmi.data.reader.preview.AbstractDataPreviewer.CARRIAGE_RETURN;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.MappedByteBuffer;
@@ -65,6 +67,7 @@ public class BasicDataPreviewer extends AbstractDataPreviewer implements DataPre
     }
 
     protected void getPreviews(int fromLine, int toLine, int numOfCharacters, List<String> list) throws IOException {
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.PREVIEW);
         try (FileChannel fc = new RandomAccessFile(dataFile.toFile(), "r").getChannel()) {
             long fileSize = fc.size();
             long position = 0;
@@ -125,6 +128,7 @@ public class BasicDataPreviewer extends AbstractDataPreviewer implements DataPre
 
                     previousChar = currentChar;
                 }
+                pass.addBytesRead(buffer.position());
 
                 position += size;
                 if ((position + size) > fileSize) {
@@ -132,6 +136,9 @@ public class BasicDataPreviewer extends AbstractDataPreviewer implements DataPre
                 }
             } while (position < fileSize && !Thread.currentThread().isInterrupted());
 
+            pass.addRows(list.size());
+        } finally {
+            pass.end();
         }
     }
 
@@ -18,6 +18,7 @@
  */
 package edu.pitt.dbmi.data.reader.preview;
 
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
 import java.io.IOException;
 import java.util.List;
 
@@ -31,4 +32,15 @@ public interface DataPreviewer {
 
     public List<String> getPreviews(int fromLine, int toLine, int numOfCharacters) throws IOException;
 
+    /**
+     * Get the performance metrics of the passes this previewer has made over
+     * the file. The default is empty metrics, for previewers that do not
+     * measure their passes.
+     *
+     * @return
+     */
+    public default ReadMetrics getReadMetrics() {
+        return new ReadMetrics(getClass());
+    }
+
 }
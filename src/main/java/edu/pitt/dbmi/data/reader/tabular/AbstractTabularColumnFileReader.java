@@ -20,13 +20,20 @@ package edu.pitt.dbmi.data.reader.tabular;
 
 import edu.pitt.dbmi.data.reader.DataFileReader;
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import edu.pitt.dbmi.data.reader.util.Columns;
+import edu.pitt.dbmi.data.reader.util.LineBlock;
+import edu.pitt.dbmi.data.reader.util.LineBlockReader;
+import edu.pitt.dbmi.data.reader.util.LineTokenizer;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -41,125 +48,80 @@ public abstract class AbstractTabularColumnFileReader extends DataFileReader {
         super(dataFile, delimiter);
     }
 
-    protected int[] toColumnNumbers(Set<String> columnNames) throws IOException {
-        List<Integer> colNums = new LinkedList<>();
-
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-            boolean finished = false;
-
-            byte delimChar = delimiter.getByteValue();
-            byte prevChar = -1;
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            int colNum = 0;
-            StringBuilder dataBuilder = new StringBuilder();
-
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !finished && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        finished = hasSeenNonblankChar && !skip;
-                        if (finished) {
-                            String value = dataBuilder.toString().trim();
-                            dataBuilder.delete(0, dataBuilder.length());
-
-                            colNum++;
-                            if (columnNames.contains(value)) {
-                                colNums.add(colNum);
-                            }
-                        } else {
-                            dataBuilder.delete(0, dataBuilder.length());
-                        }
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        checkForComment = comment.length > 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
-
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
-
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
-
-                        if (currChar == quoteCharacter) {
-                            hasQuoteChar = !hasQuoteChar;
-                        } else {
-                            if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
-                            } else {
-                                boolean isDelimiter;
-                                switch (delimiter) {
-                                    case WHITESPACE:
-                                        isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                        break;
-                                    default:
-                                        isDelimiter = (currChar == delimChar);
-                                }
-
-                                if (isDelimiter) {
-                                    String value = dataBuilder.toString().trim();
-                                    dataBuilder.delete(0, dataBuilder.length());
-
-                                    colNum++;
-                                    if (columnNames.contains(value)) {
-                                        colNums.add(colNum);
-                                    }
-                                } else {
-                                    dataBuilder.append((char) currChar);
-                                }
-                            }
-                        }
-                    }
-
-                    prevChar = currChar;
-                }
+    /**
+     * Read the header in one pass. The header is split into names, the
+     * excluded columns are left out, and the duplicate names are found, all
+     * while the header is scanned.
+     *
+     * @param columnsToExclude the numbers of the columns to exclude
+     * @param namesOfColumnsToExclude the names of the columns to exclude, as
+     * returned by {@link #cleanColumnNames(java.util.Set)}
+     * @return the columns in the header
+     * @throws IOException
+     */
+    protected TabularColumnSchema readInColumnSchema(int[] columnsToExclude, Set<String> namesOfColumnsToExclude) throws IOException {
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_HEADER);
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, BUFFER_SIZE)) {
+            LineBlock block = reader.next();
+            pass.addBytesRead(reader.getBytesRead());
+
+            LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+            SchemaParser parser = new SchemaParser(block, Columns.toBitSet(columnsToExclude), namesOfColumnsToExclude, tokenizer);
+            if (block != null) {
+                tokenizer.tokenize(block.getBuffer(), block.getLineStart(0), block.getLineEnd(0), Integer.MAX_VALUE, parser);
             }
 
-            finished = hasSeenNonblankChar && !skip;
-            if (finished) {
-                String value = dataBuilder.toString().trim();
-                dataBuilder.delete(0, dataBuilder.length());
+            TabularColumnSchema schema = parser.toSchema();
 
-                colNum++;
-                if (columnNames.contains(value)) {
-                    colNums.add(colNum);
-                }
-            }
+            pass.addRows(1);
+            pass.setNumberOfColumns(schema.getNumberOfColumns());
+            pass.addCells(schema.getNumberOfColumns());
+            pass.addParseErrors(parser.numOfMissingNames);
+
+            return schema;
+        } finally {
+            pass.end();
+        }
+    }
+
+    /**
+     * Get the numbers of the columns with the given names.
+     *
+     * @param columnNames
+     * @return
+     * @throws IOException
+     */
+    protected int[] toColumnNumbers(Set<String> columnNames) throws IOException {
+        return readInColumnSchema(new int[0], columnNames).getExcludedColumnNumbers();
+    }
+
+    /**
+     * Trim the names and remove the quote characters. Null and empty names are
+     * left out.
+     *
+     * @param columnNames
+     * @return
+     */
+    protected Set<String> cleanColumnNames(Set<String> columnNames) {
+        Set<String> cleanedColumnNames = new HashSet<>();
+        if (columnNames != null) {
+            boolean hasQuoteCharacter = Character.isDefined(quoteCharacter);
+            columnNames.stream()
+                    .filter(Objects::nonNull)
+                    .map(String::trim)
+                    .filter(e -> !e.isEmpty())
+                    .map(e -> hasQuoteCharacter ? stripCharacter(e, quoteCharacter) : e)
+                    .forEach(cleanedColumnNames::add);
         }
 
-        return colNums.stream().mapToInt(e -> e).toArray();
+        return cleanedColumnNames;
     }
 
     protected String stripCharacter(String word, byte character) {
+        if (word.indexOf((char) character) < 0) {
+            return word;
+        }
+
         StringBuilder dataBuilder = new StringBuilder();
         for (byte currChar : word.getBytes()) {
             if (currChar != character) {
@@ -170,4 +132,82 @@ public abstract class AbstractTabularColumnFileReader extends DataFileReader {
         return dataBuilder.toString();
     }
 
+    /**
+     * Collects the columns of the header as the tokenizer finds them.
+     */
+    private static final class SchemaParser implements LineTokenizer.TokenHandler {
+
+        private final LineBlock block;
+        private final BitSet columnsToExclude;
+        private final Set<String> namesOfColumnsToExclude;
+        private final LineTokenizer tokenizer;
+
+        private final Map<String, Integer> nameIndex = new HashMap<>();
+        private String[] names = new String[16];
+        private int[] columnNumbers = new int[16];
+        private int numOfIncludedCols;
+        private int[] excludedColumnNumbers = new int[16];
+        private int numOfExcludedCols;
+        private int[] duplicateColumnNumbers = new int[16];
+        private int numOfDuplicates;
+        private int numOfCols;
+        private int numOfMissingNames;
+
+        public SchemaParser(LineBlock block, BitSet columnsToExclude, Set<String> namesOfColumnsToExclude, LineTokenizer tokenizer) {
+            this.block = block;
+            this.columnsToExclude = columnsToExclude;
+            this.namesOfColumnsToExclude = namesOfColumnsToExclude;
+            this.tokenizer = tokenizer;
+        }
+
+        @Override
+        public void handle(int index, int tokenStart, int tokenEnd) {
+            int colNum = index + 1;
+            numOfCols = colNum;
+
+            String name = tokenizer.toString(block.getBuffer(), tokenStart, tokenEnd);
+
+            boolean isExcluded = columnsToExclude.get(colNum) || namesOfColumnsToExclude.contains(name);
+            if (isExcluded) {
+                if (numOfExcludedCols == excludedColumnNumbers.length) {
+                    excludedColumnNumbers = Arrays.copyOf(excludedColumnNumbers, numOfExcludedCols * 2);
+                }
+                excludedColumnNumbers[numOfExcludedCols++] = colNum;
+
+                return;
+            }
+
+            if (name.isEmpty()) {
+                numOfMissingNames++;
+            } else if (nameIndex.putIfAbsent(name, colNum) != null) {
+                if (numOfDuplicates == duplicateColumnNumbers.length) {
+                    duplicateColumnNumbers = Arrays.copyOf(duplicateColumnNumbers, numOfDuplicates * 2);
+                }
+                duplicateColumnNumbers[numOfDuplicates++] = colNum;
+            }
+
+            if (numOfIncludedCols == names.length) {
+                names = Arrays.copyOf(names, numOfIncludedCols * 2);
+                columnNumbers = Arrays.copyOf(columnNumbers, numOfIncludedCols * 2);
+            }
+            names[numOfIncludedCols] = name;
+            columnNumbers[numOfIncludedCols] = colNum;
+            numOfIncludedCols++;
+        }
+
+        public TabularColumnSchema toSchema() {
+            int lineNumber = (block == null) ? 0 : block.getLineNumber(0);
+
+            return new TabularColumnSchema(
+                    lineNumber,
+                    numOfCols,
+                    Arrays.copyOf(names, numOfIncludedCols),
+                    Arrays.copyOf(columnNumbers, numOfIncludedCols),
+                    Arrays.copyOf(excludedColumnNumbers, numOfExcludedCols),
+                    Arrays.copyOf(duplicateColumnNumbers, numOfDuplicates),
+                    nameIndex);
+        }
+
+    }
+
 }
@@ -73,7 +73,11 @@ public class MixedTabularDatasetFileReader extends DatasetFileReader implements
 
         dataReader.determineDiscreteDataColumns(dataColumns, numberOfDiscreteCategories, hasHeader);
 
-        return toMixedData(dataReader.read(dataColumns, hasHeader));
+        Data data = dataReader.read(dataColumns, hasHeader);
+        readMetrics.add(columnReader.getReadMetrics());
+        readMetrics.add(dataReader.getReadMetrics());
+
+        return toMixedData(data);
     }
 
     @Override
@@ -94,7 +98,11 @@ public class MixedTabularDatasetFileReader extends DatasetFileReader implements
 
         dataReader.determineDiscreteDataColumns(dataColumns, numberOfDiscreteCategories, hasHeader);
 
-        return toMixedData(dataReader.read(dataColumns, hasHeader));
+        Data data = dataReader.read(dataColumns, hasHeader);
+        readMetrics.add(columnReader.getReadMetrics());
+        readMetrics.add(dataReader.getReadMetrics());
+
+        return toMixedData(data);
     }
 
     private Data toMixedData(Data data) {
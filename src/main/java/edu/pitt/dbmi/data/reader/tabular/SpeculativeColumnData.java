@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.tabular;
+
+import edu.pitt.dbmi.data.reader.Data;
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.DataReaderException;
+import edu.pitt.dbmi.data.reader.DatasetReader;
+import edu.pitt.dbmi.data.reader.DiscreteDataColumn;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The values of a column read before its data type is known. Each value is
+ * kept both as a number and as a category code until the column either has a
+ * value that is not a number or has more categories than allowed, so the type
+ * can be decided at the end of the file without reading the file again.
+ *
+ * A column is used by one thread at a time.
+ *
+ * Oct 19, 2026 5:14:26 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+final class SpeculativeColumnData {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpeculativeColumnData.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int numberOfCategories;
+
+    private double[] continuousData;  // null once a value is not a number
+    private int[] discreteData;  // null once there are too many categories
+    private Map<String, Integer> codes;
+    private List<String> categories;
+    private int numOfRows;
+
+    // the first value that is not a number
+    private String invalidValue;
+    private int invalidLineNum;
+    private int invalidColNum;
+
+    SpeculativeColumnData(int numberOfCategories) {
+        this.numberOfCategories = numberOfCategories;
+        this.continuousData = new double[INITIAL_CAPACITY];
+        this.discreteData = new int[INITIAL_CAPACITY];
+        this.codes = new HashMap<>();
+        this.categories = new ArrayList<>();
+    }
+
+    /**
+     * A column whose data type is already known.
+     *
+     * @param isDiscrete
+     */
+    SpeculativeColumnData(boolean isDiscrete) {
+        this.numberOfCategories = Integer.MAX_VALUE;
+        if (isDiscrete) {
+            this.discreteData = new int[INITIAL_CAPACITY];
+            this.codes = new HashMap<>();
+            this.categories = new ArrayList<>();
+        } else {
+            this.continuousData = new double[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Add the value of the next row.
+     *
+     * @param value the value, or null if it is missing
+     * @param lineNum
+     * @param colNum
+     */
+    void add(String value, int lineNum, int colNum) {
+        if (numOfRows == capacity()) {
+            grow();
+        }
+
+        if (continuousData != null) {
+            if (value == null) {
+                continuousData[numOfRows] = DatasetReader.CONTINUOUS_MISSING_VALUE;
+            } else {
+                try {
+                    continuousData[numOfRows] = Double.parseDouble(value);
+                } catch (NumberFormatException exception) {
+                    continuousData = null;
+                    invalidValue = value;
+                    invalidLineNum = lineNum;
+                    invalidColNum = colNum;
+                }
+            }
+        }
+
+        if (discreteData != null) {
+            if (value == null) {
+                discreteData[numOfRows] = DatasetReader.DISCRETE_MISSING_VALUE;
+            } else {
+                Integer code = codes.get(value);
+                if (code == null) {
+                    if (categories.size() == numberOfCategories) {
+                        // it is continuous
+                        discreteData = null;
+                        codes = null;
+                        categories = null;
+                    } else {
+                        code = categories.size();
+                        codes.put(value, code);
+                        categories.add(value);
+                    }
+                }
+                if (code != null) {
+                    discreteData[numOfRows] = code;
+                }
+            }
+        }
+
+        numOfRows++;
+    }
+
+    /**
+     * Add the value of the next row of a continuous column.
+     *
+     * @param value the value, or NaN if it is missing
+     */
+    void add(double value) {
+        if (numOfRows == capacity()) {
+            grow();
+        }
+
+        continuousData[numOfRows++] = value;
+    }
+
+    boolean isDiscrete() {
+        return discreteData != null;
+    }
+
+    private int capacity() {
+        if (continuousData != null) {
+            return continuousData.length;
+        } else if (discreteData != null) {
+            return discreteData.length;
+        } else {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private void grow() {
+        int capacity = capacity() * 2;
+        if (continuousData != null) {
+            continuousData = Arrays.copyOf(continuousData, capacity);
+        }
+        if (discreteData != null) {
+            discreteData = Arrays.copyOf(discreteData, capacity);
+        }
+    }
+
+    /**
+     * Set the data type of the columns and put their values together. A
+     * column is discrete if it has no more than the given number of
+     * categories.
+     *
+     * @param dataColumns the columns, generated columns last
+     * @param columns the values of the columns in the file
+     * @param numOfRows
+     * @param pass the pass to add the parse error to, or null if the values
+     * were checked as they were added
+     * @return
+     * @throws DataReaderException if a continuous column has a value that is
+     * not a number
+     */
+    static Data toData(DataColumn[] dataColumns, SpeculativeColumnData[] columns, int numOfRows, ReadMetrics.Pass pass) {
+        int numOfCols = dataColumns.length;
+        for (int i = 0; i < columns.length; i++) {
+            dataColumns[i].setDiscrete(columns[i].isDiscrete());
+        }
+
+        boolean isDiscrete = false;
+        boolean isContinuous = false;
+        for (DataColumn dataColumn : dataColumns) {
+            if (dataColumn.isDiscrete()) {
+                isDiscrete = true;
+            } else {
+                isContinuous = true;
+            }
+        }
+
+        // the first value in the file that is not a number
+        SpeculativeColumnData invalidColumn = null;
+        for (SpeculativeColumnData column : columns) {
+            if (!column.isDiscrete() && column.continuousData == null) {
+                if (invalidColumn == null
+                        || column.invalidLineNum < invalidColumn.invalidLineNum
+                        || (column.invalidLineNum == invalidColumn.invalidLineNum && column.invalidColNum < invalidColumn.invalidColNum)) {
+                    invalidColumn = column;
+                }
+            }
+        }
+        if (invalidColumn != null) {
+            String errMsg = String.format(isDiscrete ? "Invalid number %s on line %d at column %d." : "Non-continuous number %s on line %d at column %d.",
+                    invalidColumn.invalidValue, invalidColumn.invalidLineNum, invalidColumn.invalidColNum);
+            pass.addParseError();
+            LOGGER.error(errMsg);
+            throw new DataReaderException(errMsg);
+        }
+
+        if (!isDiscrete) {
+            double[][] data = new double[numOfRows][numOfCols];
+            for (int i = 0; i < columns.length; i++) {
+                double[] values = columns[i].continuousData;
+                for (int row = 0; row < numOfRows; row++) {
+                    data[row][i] = values[row];
+                }
+            }
+
+            return new ContinuousTabularData(dataColumns, data);
+        }
+
+        DiscreteDataColumn[] discreteDataColumns = new DiscreteDataColumn[numOfCols];
+        double[][] continuousData = new double[numOfCols][];
+        int[][] discreteData = new int[numOfCols][];
+        for (int i = 0; i < numOfCols; i++) {
+            DataColumn dataColumn = dataColumns[i];
+            DiscreteDataColumn discreteDataColumn = isContinuous
+                    ? new MixedTabularDataColumn(dataColumn)
+                    : new DiscreteTabularDataColumn(dataColumn);
+            discreteDataColumns[i] = discreteDataColumn;
+
+            if (dataColumn.isGenerated()) {
+                if (dataColumn.isDiscrete()) {
+                    discreteDataColumn.setValue("0");
+                    discreteDataColumn.setValue("1");
+                    discreteDataColumn.recategorize();
+                    discreteData[i] = new int[numOfRows];
+                } else {
+                    continuousData[i] = new double[numOfRows];
+                }
+            } else if (dataColumn.isDiscrete()) {
+                // re-encode the values in the order of the categories
+                SpeculativeColumnData column = columns[i];
+                column.categories.forEach(discreteDataColumn::setValue);
+                discreteDataColumn.recategorize();
+
+                int[] recodes = new int[column.categories.size()];
+                for (int j = 0; j < recodes.length; j++) {
+                    recodes[j] = discreteDataColumn.getEncodeValue(column.categories.get(j));
+                }
+
+                int[] data = Arrays.copyOf(column.discreteData, numOfRows);
+                for (int row = 0; row < numOfRows; row++) {
+                    if (data[row] != DatasetReader.DISCRETE_MISSING_VALUE) {
+                        data[row] = recodes[data[row]];
+                    }
+                }
+                discreteData[i] = data;
+            } else {
+                continuousData[i] = Arrays.copyOf(columns[i].continuousData, numOfRows);
+            }
+        }
+
+        return isContinuous
+                ? new MixedTabularData(numOfRows, discreteDataColumns, continuousData, discreteData)
+                : new VerticalDiscreteTabularData(discreteDataColumns, discreteData);
+    }
+
+}
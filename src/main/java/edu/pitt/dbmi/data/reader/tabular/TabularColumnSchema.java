@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.tabular;
+
+import edu.pitt.dbmi.data.reader.DataColumn;
+import java.util.Map;
+
+/**
+ * The columns of a tabular data file as read from its header: the names and
+ * numbers of the columns that are not excluded, the numbers of the excluded
+ * columns, and the columns whose names were already used by a column before
+ * them. Names can be looked up through a hash index.
+ *
+ * Oct 19, 2026 5:12:40 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class TabularColumnSchema {
+
+    private final int lineNumber;
+    private final int numberOfColumns;
+    private final String[] names;
+    private final int[] columnNumbers;
+    private final int[] excludedColumnNumbers;
+    private final int[] duplicateColumnNumbers;
+    private final Map<String, Integer> nameIndex;
+
+    TabularColumnSchema(int lineNumber, int numberOfColumns, String[] names, int[] columnNumbers, int[] excludedColumnNumbers, int[] duplicateColumnNumbers, Map<String, Integer> nameIndex) {
+        this.lineNumber = lineNumber;
+        this.numberOfColumns = numberOfColumns;
+        this.names = names;
+        this.columnNumbers = columnNumbers;
+        this.excludedColumnNumbers = excludedColumnNumbers;
+        this.duplicateColumnNumbers = duplicateColumnNumbers;
+        this.nameIndex = nameIndex;
+    }
+
+    /**
+     * Create the data columns of the columns that are not excluded.
+     *
+     * @param isDiscrete
+     * @return
+     */
+    public DataColumn[] toDataColumns(boolean isDiscrete) {
+        DataColumn[] dataColumns = new DataColumn[names.length];
+        for (int i = 0; i < names.length; i++) {
+            dataColumns[i] = new TabularDataColumn(names[i], columnNumbers[i], false, isDiscrete);
+        }
+
+        return dataColumns;
+    }
+
+    /**
+     * Get the number of the first column with the given name that is not
+     * excluded.
+     *
+     * @param name
+     * @return the column number, or -1 if there is no such column
+     */
+    public int getColumnNumber(String name) {
+        Integer columnNumber = nameIndex.get(name);
+
+        return (columnNumber == null) ? -1 : columnNumber;
+    }
+
+    /**
+     * Get the line number of the header, or 0 if the file has no data lines.
+     *
+     * @return
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Get the number of columns in the header, including the excluded
+     * columns.
+     *
+     * @return
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * Get the number of columns that are not excluded.
+     *
+     * @return
+     */
+    public int getNumberOfIncludedColumns() {
+        return names.length;
+    }
+
+    /**
+     * Get the name of the index-th column that is not excluded. The name is
+     * empty if the header has no name for the column.
+     *
+     * @param index
+     * @return
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Get the number of the index-th column that is not excluded.
+     *
+     * @param index
+     * @return
+     */
+    public int getColumnNumber(int index) {
+        return columnNumbers[index];
+    }
+
+    public int[] getExcludedColumnNumbers() {
+        return excludedColumnNumbers.clone();
+    }
+
+    /**
+     * Get the numbers of the columns, not excluded, that have the same name as
+     * a column before them.
+     *
+     * @return
+     */
+    public int[] getDuplicateColumnNumbers() {
+        return duplicateColumnNumbers.clone();
+    }
+
+}
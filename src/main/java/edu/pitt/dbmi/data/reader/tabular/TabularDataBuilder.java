@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.tabular;
+
+import edu.pitt.dbmi.data.reader.Data;
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.util.ColumnSelection;
+
+/**
+ * Puts together the data of columns whose data types are already known, one
+ * value at a time, for code that splits the lines itself. The data is the
+ * same as {@link TabularDataFileReader#read(DataColumn[], boolean)} reads.
+ *
+ * Oct 19, 2026 11:46:20 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class TabularDataBuilder {
+
+    private final DataColumn[] dataColumns;
+    private final SpeculativeColumnData[] columns;
+    private int numOfRows;
+
+    /**
+     * @param dataColumns the columns, generated columns last
+     */
+    public TabularDataBuilder(DataColumn[] dataColumns) {
+        this.dataColumns = dataColumns;
+        this.columns = new SpeculativeColumnData[ColumnSelection.select(dataColumns).getNumberOfColumns()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new SpeculativeColumnData(dataColumns[i].isDiscrete());
+        }
+    }
+
+    /**
+     * Add the value of the next row of a continuous column.
+     *
+     * @param columnIndex the index of the column in the file
+     * @param value the value, or NaN if it is missing
+     */
+    public void add(int columnIndex, double value) {
+        columns[columnIndex].add(value);
+    }
+
+    /**
+     * Add the value of the next row of a discrete column.
+     *
+     * @param columnIndex the index of the column in the file
+     * @param value the value, or null if it is missing
+     */
+    public void add(int columnIndex, String value) {
+        columns[columnIndex].add(value, 0, 0);
+    }
+
+    /**
+     * End the row once a value has been added to every column.
+     */
+    public void addRow() {
+        numOfRows++;
+    }
+
+    public int getNumberOfRows() {
+        return numOfRows;
+    }
+
+    public Data build() {
+        return SpeculativeColumnData.toData(dataColumns, columns, numOfRows, null);
+    }
+
+}
@@ -26,15 +26,26 @@ import edu.pitt.dbmi.data.reader.DatasetFileReader;
 import edu.pitt.dbmi.data.reader.Delimiter;
 import edu.pitt.dbmi.data.reader.DiscreteData;
 import edu.pitt.dbmi.data.reader.DiscreteDataColumn;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceData;
+import edu.pitt.dbmi.data.reader.covariance.StreamingCovariance;
 import edu.pitt.dbmi.data.reader.metadata.ColumnMetadata;
 import edu.pitt.dbmi.data.reader.metadata.Metadata;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import edu.pitt.dbmi.data.reader.util.ColumnSelection;
+import edu.pitt.dbmi.data.reader.util.LineBlock;
+import edu.pitt.dbmi.data.reader.util.LineBlockReader;
+import edu.pitt.dbmi.data.reader.util.LineTokenizer;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +78,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             columnCategories[i] = new HashSet<>();
         }
 
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.DETERMINE_DATA_TYPES);
+        pass.setNumberOfColumns(numOfColsInDataFile);
         try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
             boolean skipHeader = hasHeader;
             boolean skip = false;
@@ -83,6 +96,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             int colNum = 0;
             int lineNum = 1;
 
+            // selected columns check
+            ColumnSelection selection = ColumnSelection.select(dataColumns);
             int columnIndex = 0;
 
             int maxCategoryToAdd = numberOfCategories + 1;
@@ -92,6 +107,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             byte[] buffer = new byte[BUFFER_SIZE];
             int len;
             while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
+                pass.addBytesRead(len);
                 int i = 0; // buffer array index
 
                 if (skipHeader) {
@@ -158,8 +174,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                         if (hasSeenNonblankChar && !skip) {
                             colNum++;
 
-                            DataColumn dataColumn = dataColumns[columnIndex];
-                            if (dataColumn.getColumnNumber() == colNum) {
+                            if (selection.isSelected(colNum)) {
                                 String value = dataBuilder.toString().trim();
                                 if (!(value.isEmpty() || value.equals(missingDataMarker))) {
                                     Set<String> categories = columnCategories[columnIndex];
@@ -174,6 +189,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             // ensure we have enough data
                             if (columnIndex < numOfColsInDataFile) {
                                 String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                                pass.addParseError();
                                 LOGGER.error(errMsg);
                                 throw new DataReaderException(errMsg);
                             }
@@ -219,7 +235,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             hasQuoteChar = !hasQuoteChar;
                         } else {
                             if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
+                                if (selection.isSelected(colNum + 1)) {
+                                    dataBuilder.append((char) currChar);
+                                }
                             } else {
                                 boolean isDelimiter;
                                 switch (delimiter) {
@@ -233,8 +251,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                 if (isDelimiter) {
                                     colNum++;
 
-                                    DataColumn dataColumn = dataColumns[columnIndex];
-                                    if (dataColumn.getColumnNumber() == colNum) {
+                                    if (selection.isSelected(colNum)) {
                                         String value = dataBuilder.toString().trim();
                                         if (!(value.isEmpty() || value.equals(missingDataMarker))) {
                                             Set<String> categories = columnCategories[columnIndex];
@@ -251,7 +268,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
 
                                     // clear data
                                     dataBuilder.delete(0, dataBuilder.length());
-                                } else {
+                                } else if (selection.isSelected(colNum + 1)) {
                                     dataBuilder.append((char) currChar);
                                 }
                             }
@@ -265,8 +282,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             if (!skipHeader && hasSeenNonblankChar && !skip) {
                 colNum++;
 
-                DataColumn dataColumn = dataColumns[columnIndex];
-                if (dataColumn.getColumnNumber() == colNum) {
+                if (selection.isSelected(colNum)) {
                     String value = dataBuilder.toString().trim();
                     if (!(value.isEmpty() || value.equals(missingDataMarker))) {
                         Set<String> categories = columnCategories[columnIndex];
@@ -281,10 +297,13 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                 // ensure we have enough data
                 if (columnIndex < numOfColsInDataFile) {
                     String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                    pass.addParseError();
                     LOGGER.error(errMsg);
                     throw new DataReaderException(errMsg);
                 }
             }
+        } finally {
+            pass.end();
         }
 
         for (int i = 0; i < numOfColsInDataFile; i++) {
@@ -324,10 +343,190 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
         }
     }
 
+    @Override
+    public Data read(DataColumn[] dataColumns, int numberOfCategories, boolean hasHeader) throws IOException {
+        if (dataColumns == null) {
+            return null;
+        }
+
+        ColumnSelection selection = ColumnSelection.select(dataColumns);
+        int numOfColsInDataFile = selection.getNumberOfColumns();
+        int lastColNum = selection.getLastColumnNumber();
+
+        SpeculativeColumnData[] columns = new SpeculativeColumnData[numOfColsInDataFile];
+        for (int i = 0; i < numOfColsInDataFile; i++) {
+            columns[i] = new SpeculativeColumnData(numberOfCategories);
+        }
+
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        byte[] missingValue = missingDataMarker.getBytes(StandardCharsets.ISO_8859_1);
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(dataColumns.length);
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, BUFFER_SIZE)) {
+            boolean skipHeader = hasHeader;
+            int numOfRows = 0;
+            LineBlock block;
+            while ((block = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                byte[] buffer = block.getBuffer();
+                for (int line = 0; line < block.getNumberOfLines(); line++) {
+                    if (skipHeader) {
+                        skipHeader = false;
+                        continue;
+                    }
+
+                    int lineNum = block.getLineNumber(line);
+                    int numOfTokens = tokenizer.tokenize(buffer, block.getLineStart(line), block.getLineEnd(line), lastColNum, (index, tokenStart, tokenEnd) -> {
+                        int columnIndex = selection.indexOf(index + 1);
+                        if (columnIndex >= 0) {
+                            String value = tokenizer.isEmptyOrEquals(buffer, tokenStart, tokenEnd, missingValue)
+                                    ? null
+                                    : tokenizer.toString(buffer, tokenStart, tokenEnd);
+                            columns[columnIndex].add(value, lineNum, index + 1);
+                        }
+                    });
+
+                    // ensure we have enough data
+                    if (numOfTokens < lastColNum) {
+                        int columnIndex = 0;
+                        for (int colNum : selection.getColumnNumbers()) {
+                            if (colNum <= numOfTokens) {
+                                columnIndex++;
+                            }
+                        }
+
+                        String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                        pass.addParseError();
+                        LOGGER.error(errMsg);
+                        throw new DataReaderException(errMsg);
+                    }
+
+                    numOfRows++;
+                }
+            }
+
+            pass.addBytesRead(reader.getBytesRead());
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * dataColumns.length);
+
+            return SpeculativeColumnData.toData(dataColumns, columns, numOfRows, pass);
+        } finally {
+            pass.end();
+        }
+    }
+
     @Override
     public Data read(DataColumn[] dataColumns, boolean hasHeader, Metadata metadata) throws IOException {
         Data data = read(dataColumns, hasHeader);
+        setInterventionalData(data, dataColumns, metadata);
+
+        return data;
+    }
+
+    @Override
+    public CovarianceData readInCovariance(DataColumn[] dataColumns, boolean hasHeader, boolean isCorrelation) throws IOException {
+        if (dataColumns == null) {
+            return null;
+        }
 
+        ColumnSelection selection = ColumnSelection.select(dataColumns);
+        int numOfColsInDataFile = selection.getNumberOfColumns();
+        int lastColNum = selection.getLastColumnNumber();
+
+        StreamingCovariance covariance = new StreamingCovariance(numOfColsInDataFile);
+        double[] values = new double[numOfColsInDataFile];
+
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        byte[] missingValue = missingDataMarker.getBytes(StandardCharsets.ISO_8859_1);
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(numOfColsInDataFile);
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, BUFFER_SIZE)) {
+            boolean skipHeader = hasHeader;
+            LineBlock block;
+            while ((block = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                byte[] buffer = block.getBuffer();
+                for (int line = 0; line < block.getNumberOfLines(); line++) {
+                    if (skipHeader) {
+                        skipHeader = false;
+                        continue;
+                    }
+
+                    int lineNum = block.getLineNumber(line);
+                    int numOfTokens = tokenizer.tokenize(buffer, block.getLineStart(line), block.getLineEnd(line), lastColNum, (index, tokenStart, tokenEnd) -> {
+                        int columnIndex = selection.indexOf(index + 1);
+                        if (columnIndex >= 0) {
+                            if (tokenizer.isEmptyOrEquals(buffer, tokenStart, tokenEnd, missingValue)) {
+                                values[columnIndex] = CONTINUOUS_MISSING_VALUE;
+                            } else {
+                                String value = tokenizer.toString(buffer, tokenStart, tokenEnd);
+                                try {
+                                    values[columnIndex] = Double.parseDouble(value);
+                                } catch (NumberFormatException exception) {
+                                    String errMsg = String.format("Non-continuous number %s on line %d at column %d.", value, lineNum, index + 1);
+                                    pass.addParseError();
+                                    LOGGER.error(errMsg, exception);
+                                    throw new DataReaderException(errMsg);
+                                }
+                            }
+                        }
+                    });
+
+                    // ensure we have enough data
+                    if (numOfTokens < lastColNum) {
+                        int columnIndex = 0;
+                        for (int colNum : selection.getColumnNumbers()) {
+                            if (colNum <= numOfTokens) {
+                                columnIndex++;
+                            }
+                        }
+
+                        String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                        pass.addParseError();
+                        LOGGER.error(errMsg);
+                        throw new DataReaderException(errMsg);
+                    }
+
+                    covariance.add(values);
+                }
+            }
+
+            pass.addBytesRead(reader.getBytesRead());
+            pass.addRows(covariance.getNumberOfRows());
+            pass.addCells(covariance.getNumberOfRows() * numOfColsInDataFile);
+        } finally {
+            pass.end();
+        }
+
+        return covariance.toCovarianceData(getVariables(dataColumns), isCorrelation);
+    }
+
+    /**
+     * Get the names of the columns that are in the file.
+     *
+     * @param dataColumns
+     * @return
+     */
+    static List<String> getVariables(DataColumn[] dataColumns) {
+        List<String> variables = new ArrayList<>(dataColumns.length);
+        for (DataColumn dataColumn : dataColumns) {
+            if (!dataColumn.isGenerated()) {
+                variables.add(dataColumn.getName());
+            }
+        }
+
+        return variables;
+    }
+
+    /**
+     * Replace the missing values of the interventional value columns with zero
+     * and set their status columns accordingly.
+     *
+     * @param data
+     * @param dataColumns
+     * @param metadata
+     */
+    static void setInterventionalData(Data data, DataColumn[] dataColumns, Metadata metadata) {
         if (metadata != null) {
             if (data instanceof ContinuousData) {
                 ContinuousData continuousData = (ContinuousData) data;
@@ -426,8 +625,6 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                 });
             }
         }
-
-        return data;
     }
 
     private Data readInMixedData(DataColumn[] dataColumns, boolean hasHeader, int numOfColsInDataFile) throws IOException {
@@ -452,13 +649,15 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
         }
 
         readInDiscreteCategorizes(discreteDataColumns, hasHeader, numOfColsInDataFile);
-        readInMixedData(discreteDataColumns, hasHeader, continuousData, discreteData, numOfColsInDataFile);
+        readInMixedData(discreteDataColumns, hasHeader, continuousData, discreteData, numOfRows, numOfColsInDataFile);
 
         return new MixedTabularData(numOfRows, discreteDataColumns, continuousData, discreteData);
     }
 
-    private void readInMixedData(DiscreteDataColumn[] dataColumns, boolean hasHeader, double[][] continuousData, int[][] discreteData, int numOfColsInDataFile) throws IOException {
+    private void readInMixedData(DiscreteDataColumn[] dataColumns, boolean hasHeader, double[][] continuousData, int[][] discreteData, int numOfRows, int numOfColsInDataFile) throws IOException {
         int numOfCols = dataColumns.length;
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(numOfCols);
         try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
             boolean skipHeader = hasHeader;
             boolean skip = false;
@@ -475,6 +674,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             int colNum = 0;
             int lineNum = 1;
 
+            // selected columns check
+            ColumnSelection selection = ColumnSelection.select(dataColumns);
             int columnIndex = 0;
 
             int row = 0;  // array row number
@@ -485,6 +686,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             byte[] buffer = new byte[BUFFER_SIZE];
             int len;
             while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
+                pass.addBytesRead(len);
                 int i = 0; // buffer array index
 
                 if (skipHeader) {
@@ -551,9 +753,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                         if (hasSeenNonblankChar && !skip) {
                             colNum++;
 
-                            DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                            DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                            if (dataColumn.getColumnNumber() == colNum) {
+                            if (selection.isSelected(colNum)) {
+                                DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
+                                DataColumn dataColumn = discreteDataColumn.getDataColumn();
                                 String value = dataBuilder.toString().trim();
                                 if (dataColumn.isDiscrete()) {
                                     if (value.isEmpty() || value.equals(missingDataMarker)) {
@@ -569,6 +771,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                             continuousData[col++][row] = Double.parseDouble(value);
                                         } catch (NumberFormatException exception) {
                                             String errMsg = String.format("Invalid number %s on line %d at column %d.", value, lineNum, colNum);
+                                            pass.addParseError();
                                             LOGGER.error(errMsg, exception);
                                             throw new DataReaderException(errMsg);
                                         }
@@ -581,6 +784,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             // ensure we have enough data
                             if (columnIndex < numOfColsInDataFile) {
                                 String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                                pass.addParseError();
                                 LOGGER.error(errMsg);
                                 throw new DataReaderException(errMsg);
                             }
@@ -629,7 +833,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             hasQuoteChar = !hasQuoteChar;
                         } else {
                             if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
+                                if (selection.isSelected(colNum + 1)) {
+                                    dataBuilder.append((char) currChar);
+                                }
                             } else {
                                 boolean isDelimiter;
                                 switch (delimiter) {
@@ -643,9 +849,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                 if (isDelimiter) {
                                     colNum++;
 
-                                    DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                                    DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                                    if (dataColumn.getColumnNumber() == colNum) {
+                                    if (selection.isSelected(colNum)) {
+                                        DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
+                                        DataColumn dataColumn = discreteDataColumn.getDataColumn();
                                         String value = dataBuilder.toString().trim();
                                         if (dataColumn.isDiscrete()) {
                                             if (value.isEmpty() || value.equals(missingDataMarker)) {
@@ -661,6 +867,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                                     continuousData[col++][row] = Double.parseDouble(value);
                                                 } catch (NumberFormatException exception) {
                                                     String errMsg = String.format("Invalid number %s on line %d at column %d.", value, lineNum, colNum);
+                                                    pass.addParseError();
                                                     LOGGER.error(errMsg, exception);
                                                     throw new DataReaderException(errMsg);
                                                 }
@@ -676,7 +883,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
 
                                     // clear data
                                     dataBuilder.delete(0, dataBuilder.length());
-                                } else {
+                                } else if (selection.isSelected(colNum + 1)) {
                                     dataBuilder.append((char) currChar);
                                 }
                             }
@@ -690,9 +897,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             if (!skipHeader && hasSeenNonblankChar && !skip) {
                 colNum++;
 
-                DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                if (dataColumn.getColumnNumber() == colNum) {
+                if (selection.isSelected(colNum)) {
+                    DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
+                    DataColumn dataColumn = discreteDataColumn.getDataColumn();
                     String value = dataBuilder.toString().trim();
                     if (dataColumn.isDiscrete()) {
                         if (value.isEmpty() || value.equals(missingDataMarker)) {
@@ -708,6 +915,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                 continuousData[col++][row] = Double.parseDouble(value);
                             } catch (NumberFormatException exception) {
                                 String errMsg = String.format("Invalid number %s on line %d at column %d.", value, lineNum, colNum);
+                                pass.addParseError();
                                 LOGGER.error(errMsg, exception);
                                 throw new DataReaderException(errMsg);
                             }
@@ -720,10 +928,16 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                 // ensure we have enough data
                 if (columnIndex < numOfColsInDataFile) {
                     String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                    pass.addParseError();
                     LOGGER.error(errMsg);
                     throw new DataReaderException(errMsg);
                 }
             }
+
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * numOfCols);
+        } finally {
+            pass.end();
         }
     }
 
@@ -732,6 +946,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
         int numOfRows = hasHeader ? countNumberOfLines() - 1 : countNumberOfLines();
         double[][] data = new double[numOfRows][numOfCols];
 
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(numOfCols);
         try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
             boolean skipHeader = hasHeader;
             boolean skip = false;
@@ -748,6 +964,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             int colNum = 0;
             int lineNum = 1;
 
+            // selected columns check
+            ColumnSelection selection = ColumnSelection.select(dataColumns);
             int columnIndex = 0;
 
             int row = 0;  // array row number
@@ -758,6 +976,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             byte[] buffer = new byte[BUFFER_SIZE];
             int len;
             while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
+                pass.addBytesRead(len);
                 int i = 0; // buffer array index
 
                 if (skipHeader) {
@@ -824,8 +1043,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                         if (hasSeenNonblankChar && !skip) {
                             colNum++;
 
-                            DataColumn dataColumn = dataColumns[columnIndex];
-                            if (dataColumn.getColumnNumber() == colNum) {
+                            if (selection.isSelected(colNum)) {
                                 String value = dataBuilder.toString().trim();
                                 if (value.isEmpty() || value.equals(missingDataMarker)) {
                                     data[row][col++] = CONTINUOUS_MISSING_VALUE;
@@ -834,6 +1052,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                         data[row][col++] = Double.parseDouble(value);
                                     } catch (NumberFormatException exception) {
                                         String errMsg = String.format("Non-continuous number %s on line %d at column %d.", value, lineNum, colNum);
+                                        pass.addParseError();
                                         LOGGER.error(errMsg, exception);
                                         throw new DataReaderException(errMsg);
                                     }
@@ -845,6 +1064,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             // ensure we have enough data
                             if (columnIndex < numOfColsInDataFile) {
                                 String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                                pass.addParseError();
                                 LOGGER.error(errMsg);
                                 throw new DataReaderException(errMsg);
                             }
@@ -893,7 +1113,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             hasQuoteChar = !hasQuoteChar;
                         } else {
                             if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
+                                if (selection.isSelected(colNum + 1)) {
+                                    dataBuilder.append((char) currChar);
+                                }
                             } else {
                                 boolean isDelimiter;
                                 switch (delimiter) {
@@ -907,8 +1129,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                 if (isDelimiter) {
                                     colNum++;
 
-                                    DataColumn dataColumn = dataColumns[columnIndex];
-                                    if (dataColumn.getColumnNumber() == colNum) {
+                                    if (selection.isSelected(colNum)) {
                                         String value = dataBuilder.toString().trim();
                                         if (value.isEmpty() || value.equals(missingDataMarker)) {
                                             data[row][col++] = CONTINUOUS_MISSING_VALUE;
@@ -917,6 +1138,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                                 data[row][col++] = Double.parseDouble(value);
                                             } catch (NumberFormatException exception) {
                                                 String errMsg = String.format("Non-continuous number %s on line %d at column %d.", value, lineNum, colNum);
+                                                pass.addParseError();
                                                 LOGGER.error(errMsg, exception);
                                                 throw new DataReaderException(errMsg);
                                             }
@@ -931,7 +1153,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
 
                                     // clear data
                                     dataBuilder.delete(0, dataBuilder.length());
-                                } else {
+                                } else if (selection.isSelected(colNum + 1)) {
                                     dataBuilder.append((char) currChar);
                                 }
                             }
@@ -945,8 +1167,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             if (!skipHeader && hasSeenNonblankChar && !skip) {
                 colNum++;
 
-                DataColumn dataColumn = dataColumns[columnIndex];
-                if (dataColumn.getColumnNumber() == colNum) {
+                if (selection.isSelected(colNum)) {
                     String value = dataBuilder.toString().trim();
                     if (value.isEmpty() || value.equals(missingDataMarker)) {
                         data[row][col++] = CONTINUOUS_MISSING_VALUE;
@@ -955,6 +1176,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             data[row][col++] = Double.parseDouble(value);
                         } catch (NumberFormatException exception) {
                             String errMsg = String.format("Non-continuous number %s on line %d at column %d.", value, lineNum, colNum);
+                            pass.addParseError();
                             LOGGER.error(errMsg, exception);
                             throw new DataReaderException(errMsg);
                         }
@@ -966,10 +1188,16 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                 // ensure we have enough data
                 if (columnIndex < numOfColsInDataFile) {
                     String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                    pass.addParseError();
                     LOGGER.error(errMsg);
                     throw new DataReaderException(errMsg);
                 }
             }
+
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * numOfCols);
+        } finally {
+            pass.end();
         }
 
         return new ContinuousTabularData(dataColumns, data);
@@ -991,6 +1219,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
         int numOfRows = hasHeader ? countNumberOfLines() - 1 : countNumberOfLines();
         int[][] data = new int[numOfCols][numOfRows];
 
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(numOfCols);
         try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
             boolean skipHeader = hasHeader;
             boolean skip = false;
@@ -1007,6 +1237,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             int colNum = 0;
             int lineNum = 1;
 
+            // selected columns check
+            ColumnSelection selection = ColumnSelection.select(dataColumns);
             int columnIndex = 0;
 
             int row = 0;  // array row number
@@ -1017,6 +1249,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             byte[] buffer = new byte[BUFFER_SIZE];
             int len;
             while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
+                pass.addBytesRead(len);
                 int i = 0; // buffer array index
 
                 if (skipHeader) {
@@ -1083,9 +1316,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                         if (hasSeenNonblankChar && !skip) {
                             colNum++;
 
-                            DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                            DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                            if (dataColumn.getColumnNumber() == colNum) {
+                            if (selection.isSelected(colNum)) {
+                                DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
                                 String value = dataBuilder.toString().trim();
                                 if (value.isEmpty() || value.equals(missingDataMarker)) {
                                     data[col++][row] = DISCRETE_MISSING_VALUE;
@@ -1099,6 +1331,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             // ensure we have enough data
                             if (columnIndex < numOfColsInDataFile) {
                                 String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                                pass.addParseError();
                                 LOGGER.error(errMsg);
                                 throw new DataReaderException(errMsg);
                             }
@@ -1147,7 +1380,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             hasQuoteChar = !hasQuoteChar;
                         } else {
                             if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
+                                if (selection.isSelected(colNum + 1)) {
+                                    dataBuilder.append((char) currChar);
+                                }
                             } else {
                                 boolean isDelimiter;
                                 switch (delimiter) {
@@ -1161,9 +1396,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                 if (isDelimiter) {
                                     colNum++;
 
-                                    DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                                    DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                                    if (dataColumn.getColumnNumber() == colNum) {
+                                    if (selection.isSelected(colNum)) {
+                                        DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
                                         String value = dataBuilder.toString().trim();
                                         if (value.isEmpty() || value.equals(missingDataMarker)) {
                                             data[col++][row] = DISCRETE_MISSING_VALUE;
@@ -1180,7 +1414,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
 
                                     // clear data
                                     dataBuilder.delete(0, dataBuilder.length());
-                                } else {
+                                } else if (selection.isSelected(colNum + 1)) {
                                     dataBuilder.append((char) currChar);
                                 }
                             }
@@ -1194,9 +1428,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             if (!skipHeader && hasSeenNonblankChar && !skip) {
                 colNum++;
 
-                DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                if (dataColumn.getColumnNumber() == colNum) {
+                if (selection.isSelected(colNum)) {
+                    DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
                     String value = dataBuilder.toString().trim();
                     if (value.isEmpty() || value.equals(missingDataMarker)) {
                         data[col++][row] = DISCRETE_MISSING_VALUE;
@@ -1210,10 +1443,16 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                 // ensure we have enough data
                 if (columnIndex < numOfColsInDataFile) {
                     String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                    pass.addParseError();
                     LOGGER.error(errMsg);
                     throw new DataReaderException(errMsg);
                 }
             }
+
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * numOfCols);
+        } finally {
+            pass.end();
         }
 
         return data;
@@ -1221,6 +1460,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
 
     private void readInDiscreteCategorizes(DiscreteDataColumn[] dataColumns, boolean hasHeader, int numOfColsInDataFile) throws IOException {
         int numOfCols = dataColumns.length;
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_CATEGORIES);
+        pass.setNumberOfColumns(numOfCols);
         try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
             boolean skipHeader = hasHeader;
             boolean skip = false;
@@ -1237,6 +1478,8 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             int colNum = 0;
             int lineNum = 1;
 
+            // selected columns check
+            ColumnSelection selection = ColumnSelection.select(dataColumns);
             int columnIndex = 0;
 
             StringBuilder dataBuilder = new StringBuilder();
@@ -1244,6 +1487,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             byte[] buffer = new byte[BUFFER_SIZE];
             int len;
             while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
+                pass.addBytesRead(len);
                 int i = 0; // buffer array index
 
                 if (skipHeader) {
@@ -1310,9 +1554,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                         if (hasSeenNonblankChar && !skip) {
                             colNum++;
 
-                            DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                            DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                            if (dataColumn.getColumnNumber() == colNum) {
+                            if (selection.isSelected(colNum)) {
+                                DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
+                                DataColumn dataColumn = discreteDataColumn.getDataColumn();
                                 if (dataColumn.isDiscrete()) {
                                     String value = dataBuilder.toString().trim();
                                     if (value.length() > 0 && !value.equals(missingDataMarker)) {
@@ -1326,6 +1570,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             // ensure we have enough data
                             if (columnIndex < numOfColsInDataFile) {
                                 String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                                pass.addParseError();
                                 LOGGER.error(errMsg);
                                 throw new DataReaderException(errMsg);
                             }
@@ -1371,7 +1616,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                             hasQuoteChar = !hasQuoteChar;
                         } else {
                             if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
+                                if (selection.isSelected(colNum + 1)) {
+                                    dataBuilder.append((char) currChar);
+                                }
                             } else {
                                 boolean isDelimiter;
                                 switch (delimiter) {
@@ -1385,9 +1632,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                                 if (isDelimiter) {
                                     colNum++;
 
-                                    DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                                    DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                                    if (dataColumn.getColumnNumber() == colNum) {
+                                    if (selection.isSelected(colNum)) {
+                                        DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
+                                        DataColumn dataColumn = discreteDataColumn.getDataColumn();
                                         if (dataColumn.isDiscrete()) {
                                             String value = dataBuilder.toString().trim();
                                             if (value.length() > 0 && !value.equals(missingDataMarker)) {
@@ -1403,7 +1650,7 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
 
                                     // clear data
                                     dataBuilder.delete(0, dataBuilder.length());
-                                } else {
+                                } else if (selection.isSelected(colNum + 1)) {
                                     dataBuilder.append((char) currChar);
                                 }
                             }
@@ -1417,9 +1664,9 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
             if (!skipHeader && hasSeenNonblankChar && !skip) {
                 colNum++;
 
-                DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
-                DataColumn dataColumn = discreteDataColumn.getDataColumn();
-                if (dataColumn.getColumnNumber() == colNum) {
+                if (selection.isSelected(colNum)) {
+                    DiscreteDataColumn discreteDataColumn = dataColumns[columnIndex];
+                    DataColumn dataColumn = discreteDataColumn.getDataColumn();
                     if (dataColumn.isDiscrete()) {
                         String value = dataBuilder.toString().trim();
                         if (value.length() > 0 && !value.equals(missingDataMarker)) {
@@ -1433,10 +1680,13 @@ public final class TabularDataFileReader extends DatasetFileReader implements Ta
                 // ensure we have enough data
                 if (columnIndex < numOfColsInDataFile) {
                     String errMsg = String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfColsInDataFile);
+                    pass.addParseError();
                     LOGGER.error(errMsg);
                     throw new DataReaderException(errMsg);
                 }
             }
+        } finally {
+            pass.end();
         }
 
         // recategorize values
@@ -18,11 +18,16 @@
  */
 package edu.pitt.dbmi.data.reader.tabular;
 
+import edu.pitt.dbmi.data.reader.ContinuousData;
 import edu.pitt.dbmi.data.reader.Data;
 import edu.pitt.dbmi.data.reader.DataColumn;
 import edu.pitt.dbmi.data.reader.DatasetReader;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceData;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceMatrixBuilder;
+import edu.pitt.dbmi.data.reader.covariance.StreamingCovariance;
 import edu.pitt.dbmi.data.reader.metadata.Metadata;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 
 /**
  *
@@ -49,6 +54,70 @@ public interface TabularDataReader extends DatasetReader {
 
     public Data read(DataColumn[] dataColumns, boolean hasHeader) throws IOException;
 
+    /**
+     * Read in the data and determine the data type of the columns at the same
+     * time, in one pass over the file. The data columns are set to discrete
+     * the same way {@link #determineDiscreteDataColumns} does, and the result
+     * is the same as calling it followed by {@link #read(DataColumn[], boolean)},
+     * which is what the default does in two passes.
+     *
+     * @param dataColumns
+     * @param numberOfCategories maximum number of categories to be considered
+     * discrete
+     * @param hasHeader
+     * @return
+     * @throws IOException
+     */
+    public default Data read(DataColumn[] dataColumns, int numberOfCategories, boolean hasHeader) throws IOException {
+        determineDiscreteDataColumns(dataColumns, numberOfCategories, hasHeader);
+
+        return read(dataColumns, hasHeader);
+    }
+
     public Data read(DataColumn[] dataColumns, boolean hasHeader, Metadata metadata) throws IOException;
 
+    /**
+     * Compute the sample covariance matrix, or the correlation matrix, of the
+     * columns while reading the data, without keeping the data. All the
+     * columns are read as continuous. Missing values are deleted pairwise.
+     *
+     * The default reads the data in memory, with all the columns set to
+     * continuous for the time of the read, and computes the matrix with a
+     * {@link CovarianceMatrixBuilder}.
+     *
+     * @param dataColumns
+     * @param hasHeader
+     * @param isCorrelation true to compute the correlation matrix
+     * @return
+     * @throws IOException
+     * @see StreamingCovariance
+     */
+    public default CovarianceData readInCovariance(DataColumn[] dataColumns, boolean hasHeader, boolean isCorrelation) throws IOException {
+        if (dataColumns == null) {
+            return null;
+        }
+
+        boolean[] isDiscrete = new boolean[dataColumns.length];
+        for (int i = 0; i < dataColumns.length; i++) {
+            isDiscrete[i] = dataColumns[i].isDiscrete();
+            dataColumns[i].setDiscrete(false);
+        }
+
+        ContinuousData data;
+        try {
+            data = (ContinuousData) read(dataColumns, hasHeader);
+        } finally {
+            for (int i = 0; i < dataColumns.length; i++) {
+                dataColumns[i].setDiscrete(isDiscrete[i]);
+            }
+        }
+
+        try {
+            return new CovarianceMatrixBuilder().build(data, isCorrelation);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Data reading was interrupted.");
+        }
+    }
+
 }
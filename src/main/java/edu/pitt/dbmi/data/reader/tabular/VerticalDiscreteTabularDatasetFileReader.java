@@ -65,7 +65,11 @@ public class VerticalDiscreteTabularDatasetFileReader extends DatasetFileReader
         dataReader.setQuoteCharacter(quoteChar);
         dataReader.setMissingDataMarker(missingDataMarker);
 
-        return dataReader.read(dataColumns, hasHeader);
+        Data data = dataReader.read(dataColumns, hasHeader);
+        readMetrics.add(columnReader.getReadMetrics());
+        readMetrics.add(dataReader.getReadMetrics());
+
+        return data;
     }
 
     @Override
@@ -84,7 +88,11 @@ public class VerticalDiscreteTabularDatasetFileReader extends DatasetFileReader
         dataReader.setQuoteCharacter(quoteChar);
         dataReader.setMissingDataMarker(missingDataMarker);
 
-        return dataReader.read(dataColumns, hasHeader);
+        Data data = dataReader.read(dataColumns, hasHeader);
+        readMetrics.add(columnReader.getReadMetrics());
+        readMetrics.add(dataReader.getReadMetrics());
+
+        return data;
     }
 
     @Override
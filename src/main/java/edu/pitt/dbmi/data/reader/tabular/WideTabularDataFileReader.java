@@ -0,0 +1,730 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.tabular;
+
+import edu.pitt.dbmi.data.reader.Data;
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.DataReaderException;
+import edu.pitt.dbmi.data.reader.DatasetFileReader;
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.DiscreteDataColumn;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceData;
+import edu.pitt.dbmi.data.reader.covariance.StreamingCovariance;
+import edu.pitt.dbmi.data.reader.metadata.Metadata;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import edu.pitt.dbmi.data.reader.util.ColumnSelection;
+import edu.pitt.dbmi.data.reader.util.LineBlock;
+import edu.pitt.dbmi.data.reader.util.LineBlockReader;
+import edu.pitt.dbmi.data.reader.util.LineTokenizer;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tabular data reader for files with a very large number of columns. The
+ * file is read in blocks of lines. The lines of a block are split into values
+ * in parallel, and then the values are parsed in parallel by ranges of
+ * columns, so that each column is only touched by one thread. The columns to
+ * read are looked up from an array of column numbers instead of being matched
+ * value by value.
+ *
+ * The data read and the error messages are the same as
+ * {@link TabularDataFileReader}; when a block has more than one error, the one
+ * that comes first in the file is reported.
+ *
+ * Oct 19, 2026 3:58:12 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class WideTabularDataFileReader extends DatasetFileReader implements TabularDataReader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WideTabularDataFileReader.class);
+
+    /**
+     * The maximum number of values split from the lines at a time.
+     */
+    private static final int MAX_NUM_OF_TOKENS = 4 * 1024 * 1024;
+
+    private int numberOfThreads;
+    private int blockSize;
+
+    public WideTabularDataFileReader(Path dataFile, Delimiter delimiter) {
+        super(dataFile, delimiter);
+
+        this.numberOfThreads = Runtime.getRuntime().availableProcessors();
+        this.blockSize = LineBlockReader.DEFAULT_BLOCK_SIZE;
+    }
+
+    @Override
+    public void determineDiscreteDataColumns(DataColumn[] dataColumns, int numberOfCategories, boolean hasHeader) throws IOException {
+        int[] columnNumbers = ColumnSelection.select(dataColumns).getColumnNumbers();
+        int numOfColsInDataFile = columnNumbers.length;
+
+        List<Set<String>> columnCategories = new ArrayList<>(numOfColsInDataFile);
+        for (int i = 0; i < numOfColsInDataFile; i++) {
+            columnCategories.add(new HashSet<>());
+        }
+
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        byte[] missingValue = missingDataMarker.getBytes(StandardCharsets.ISO_8859_1);
+        int maxCategoryToAdd = numberOfCategories + 1;
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.DETERMINE_DATA_TYPES);
+        pass.setNumberOfColumns(numOfColsInDataFile);
+        try {
+            int numOfRows = readInDataLines(columnNumbers, hasHeader, tokenizer, pass, (columnIndex, row, lineNum, colNum, buffer, start, end) -> {
+                Set<String> categories = columnCategories.get(columnIndex);
+                if (categories.size() < maxCategoryToAdd && !tokenizer.isEmptyOrEquals(buffer, start, end, missingValue)) {
+                    categories.add(tokenizer.toString(buffer, start, end));
+                }
+
+                return null;
+            });
+
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * numOfColsInDataFile);
+        } finally {
+            pass.end();
+        }
+
+        for (int i = 0; i < numOfColsInDataFile; i++) {
+            dataColumns[i].setDiscrete(columnCategories.get(i).size() <= numberOfCategories);
+        }
+    }
+
+    @Override
+    public Data read(DataColumn[] dataColumns, boolean hasHeader) throws IOException {
+        if (dataColumns == null) {
+            return null;
+        }
+
+        boolean isDiscrete = false;
+        boolean isContinuous = false;
+        for (DataColumn dataColumn : dataColumns) {
+            if (dataColumn.isDiscrete()) {
+                isDiscrete = true;
+            } else {
+                isContinuous = true;
+            }
+        }
+
+        if (isDiscrete && isContinuous) {
+            return readInMixedData(dataColumns, hasHeader);
+        } else if (isContinuous) {
+            return readInContinuousData(dataColumns, hasHeader);
+        } else if (isDiscrete) {
+            return readInDiscreteData(dataColumns, hasHeader);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public Data read(DataColumn[] dataColumns, int numberOfCategories, boolean hasHeader) throws IOException {
+        if (dataColumns == null) {
+            return null;
+        }
+
+        int[] columnNumbers = ColumnSelection.select(dataColumns).getColumnNumbers();
+        int numOfColsInDataFile = columnNumbers.length;
+
+        SpeculativeColumnData[] columns = new SpeculativeColumnData[numOfColsInDataFile];
+        for (int i = 0; i < numOfColsInDataFile; i++) {
+            columns[i] = new SpeculativeColumnData(numberOfCategories);
+        }
+
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        byte[] missingValue = missingDataMarker.getBytes(StandardCharsets.ISO_8859_1);
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(dataColumns.length);
+        try {
+            int numOfRows = readInDataLines(columnNumbers, hasHeader, tokenizer, pass, (columnIndex, row, lineNum, colNum, buffer, start, end) -> {
+                String value = tokenizer.isEmptyOrEquals(buffer, start, end, missingValue)
+                        ? null
+                        : tokenizer.toString(buffer, start, end);
+                columns[columnIndex].add(value, lineNum, colNum);
+
+                return null;
+            });
+
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * dataColumns.length);
+
+            return SpeculativeColumnData.toData(dataColumns, columns, numOfRows, pass);
+        } finally {
+            pass.end();
+        }
+    }
+
+    @Override
+    public Data read(DataColumn[] dataColumns, boolean hasHeader, Metadata metadata) throws IOException {
+        Data data = read(dataColumns, hasHeader);
+        TabularDataFileReader.setInterventionalData(data, dataColumns, metadata);
+
+        return data;
+    }
+
+    /**
+     * The lines of each block are split into ranges that are read on the
+     * thread pool. Each thread adds its rows to its own
+     * {@link StreamingCovariance}, and they are merged at the end, so this
+     * keeps one n x n computation per thread.
+     */
+    @Override
+    public CovarianceData readInCovariance(DataColumn[] dataColumns, boolean hasHeader, boolean isCorrelation) throws IOException {
+        if (dataColumns == null) {
+            return null;
+        }
+
+        int[] columnNumbers = ColumnSelection.select(dataColumns).getColumnNumbers();
+        int numOfCols = columnNumbers.length;
+        int maxNumOfTokens = (numOfCols == 0) ? 0 : columnNumbers[numOfCols - 1];
+
+        // each running task takes a computation and puts it back when done
+        Queue<StreamingCovariance> covariances = new ConcurrentLinkedQueue<>();
+        List<StreamingCovariance> allCovariances = Collections.synchronizedList(new ArrayList<>());
+
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        byte[] missingValue = missingDataMarker.getBytes(StandardCharsets.ISO_8859_1);
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(numOfCols);
+        ExecutorService pool = (numberOfThreads > 1) ? Executors.newFixedThreadPool(numberOfThreads) : null;
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, blockSize)) {
+            boolean skipHeader = hasHeader;
+            LineBlock block;
+            while ((block = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                byte[] buffer = block.getBuffer();
+                int firstLine = 0;
+                if (skipHeader) {
+                    skipHeader = false;
+                    firstLine = 1;
+                }
+
+                final LineBlock lines = block;
+                final int startLine = firstLine;
+                ParseError error = runInParallel(pool, pass, block.getNumberOfLines() - firstLine, (from, to) -> {
+                    StreamingCovariance covariance = covariances.poll();
+                    if (covariance == null) {
+                        covariance = new StreamingCovariance(numOfCols);
+                        allCovariances.add(covariance);
+                    }
+
+                    try {
+                        int[] tokenStarts = new int[maxNumOfTokens];
+                        int[] tokenEnds = new int[maxNumOfTokens];
+                        double[] values = new double[numOfCols];
+                        for (int i = from; i < to; i++) {
+                            int line = startLine + i;
+                            int lineNum = lines.getLineNumber(line);
+                            int numOfTokens = tokenizer.tokenize(buffer, lines.getLineStart(line), lines.getLineEnd(line), maxNumOfTokens, tokenStarts, tokenEnds, 0);
+                            for (int columnIndex = 0; columnIndex < numOfCols; columnIndex++) {
+                                int colNum = columnNumbers[columnIndex];
+                                if (colNum > numOfTokens) {
+                                    return new ParseError(lineNum, 0, String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, columnIndex, numOfCols), null);
+                                }
+
+                                int start = tokenStarts[colNum - 1];
+                                int end = tokenEnds[colNum - 1];
+                                if (tokenizer.isEmptyOrEquals(buffer, start, end, missingValue)) {
+                                    values[columnIndex] = CONTINUOUS_MISSING_VALUE;
+                                } else {
+                                    String value = tokenizer.toString(buffer, start, end);
+                                    try {
+                                        values[columnIndex] = Double.parseDouble(value);
+                                    } catch (NumberFormatException exception) {
+                                        return new ParseError(lineNum, colNum, String.format("Non-continuous number %s on line %d at column %d.", value, lineNum, colNum), exception);
+                                    }
+                                }
+                            }
+
+                            covariance.add(values);
+                        }
+
+                        return null;
+                    } finally {
+                        covariances.add(covariance);
+                    }
+                });
+
+                if (error != null) {
+                    pass.addParseError();
+                    if (error.cause == null) {
+                        LOGGER.error(error.message);
+                    } else {
+                        LOGGER.error(error.message, error.cause);
+                    }
+                    throw new DataReaderException(error.message);
+                }
+            }
+
+            StreamingCovariance covariance = new StreamingCovariance(numOfCols);
+            allCovariances.forEach(covariance::merge);
+
+            pass.addBytesRead(reader.getBytesRead());
+            pass.addRows(covariance.getNumberOfRows());
+            pass.addCells(covariance.getNumberOfRows() * numOfCols);
+
+            return covariance.toCovarianceData(TabularDataFileReader.getVariables(dataColumns), isCorrelation);
+        } finally {
+            pass.end();
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private Data readInContinuousData(DataColumn[] dataColumns, boolean hasHeader) throws IOException {
+        int numOfCols = dataColumns.length;
+        int numOfRows = hasHeader ? countNumberOfLines() - 1 : countNumberOfLines();
+        double[][] data = new double[numOfRows][numOfCols];
+
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        byte[] missingValue = missingDataMarker.getBytes(StandardCharsets.ISO_8859_1);
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(numOfCols);
+        try {
+            readInDataLines(ColumnSelection.select(dataColumns).getColumnNumbers(), hasHeader, tokenizer, pass, (columnIndex, row, lineNum, colNum, buffer, start, end) -> {
+                if (tokenizer.isEmptyOrEquals(buffer, start, end, missingValue)) {
+                    data[row][columnIndex] = CONTINUOUS_MISSING_VALUE;
+                } else {
+                    String value = tokenizer.toString(buffer, start, end);
+                    try {
+                        data[row][columnIndex] = Double.parseDouble(value);
+                    } catch (NumberFormatException exception) {
+                        return new ParseError(lineNum, colNum, String.format("Non-continuous number %s on line %d at column %d.", value, lineNum, colNum), exception);
+                    }
+                }
+
+                return null;
+            });
+
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * numOfCols);
+        } finally {
+            pass.end();
+        }
+
+        return new ContinuousTabularData(dataColumns, data);
+    }
+
+    private Data readInDiscreteData(DataColumn[] dataColumns, boolean hasHeader) throws IOException {
+        int numOfCols = dataColumns.length;
+        int numOfRows = hasHeader ? countNumberOfLines() - 1 : countNumberOfLines();
+        int[][] data = new int[numOfCols][numOfRows];
+
+        DiscreteDataColumn[] discreteDataColumns = new DiscreteDataColumn[numOfCols];
+        for (int i = 0; i < numOfCols; i++) {
+            discreteDataColumns[i] = new DiscreteTabularDataColumn(dataColumns[i]);
+        }
+
+        readInData(discreteDataColumns, hasHeader, null, data, numOfRows);
+
+        return new VerticalDiscreteTabularData(discreteDataColumns, data);
+    }
+
+    private Data readInMixedData(DataColumn[] dataColumns, boolean hasHeader) throws IOException {
+        int numOfCols = dataColumns.length;
+        int numOfRows = hasHeader ? countNumberOfLines() - 1 : countNumberOfLines();
+
+        DiscreteDataColumn[] discreteDataColumns = new DiscreteDataColumn[numOfCols];
+        double[][] continuousData = new double[numOfCols][];
+        int[][] discreteData = new int[numOfCols][];
+        for (int i = 0; i < numOfCols; i++) {
+            DataColumn dataColumn = dataColumns[i];
+
+            // initialize data
+            if (dataColumn.isDiscrete()) {
+                discreteData[i] = new int[numOfRows];
+            } else {
+                continuousData[i] = new double[numOfRows];
+            }
+
+            // initialize columns
+            discreteDataColumns[i] = new MixedTabularDataColumn(dataColumn);
+        }
+
+        readInData(discreteDataColumns, hasHeader, continuousData, discreteData, numOfRows);
+
+        return new MixedTabularData(numOfRows, discreteDataColumns, continuousData, discreteData);
+    }
+
+    /**
+     * Read in the data column by column. The discrete values are first encoded
+     * in the order they are seen and then re-encoded in the order of the
+     * categories once all of them are known.
+     *
+     * @param dataColumns
+     * @param hasHeader
+     * @param continuousData continuous data by column, or null if there is no
+     * continuous column
+     * @param discreteData discrete data by column
+     * @param numOfRows
+     * @throws IOException
+     */
+    private void readInData(DiscreteDataColumn[] dataColumns, boolean hasHeader, double[][] continuousData, int[][] discreteData, int numOfRows) throws IOException {
+        int numOfCols = dataColumns.length;
+        CategoryEncoder[] encoders = new CategoryEncoder[numOfCols];
+        for (int i = 0; i < numOfCols; i++) {
+            if (dataColumns[i].getDataColumn().isDiscrete()) {
+                encoders[i] = new CategoryEncoder();
+            }
+        }
+
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        byte[] missingValue = missingDataMarker.getBytes(StandardCharsets.ISO_8859_1);
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.setNumberOfColumns(numOfCols);
+        try {
+            readInDataLines(ColumnSelection.select(dataColumns).getColumnNumbers(), hasHeader, tokenizer, pass, (columnIndex, row, lineNum, colNum, buffer, start, end) -> {
+                boolean isMissing = tokenizer.isEmptyOrEquals(buffer, start, end, missingValue);
+                CategoryEncoder encoder = encoders[columnIndex];
+                if (encoder == null) {
+                    if (isMissing) {
+                        continuousData[columnIndex][row] = CONTINUOUS_MISSING_VALUE;
+                    } else {
+                        String value = tokenizer.toString(buffer, start, end);
+                        try {
+                            continuousData[columnIndex][row] = Double.parseDouble(value);
+                        } catch (NumberFormatException exception) {
+                            return new ParseError(lineNum, colNum, String.format("Invalid number %s on line %d at column %d.", value, lineNum, colNum), exception);
+                        }
+                    }
+                } else {
+                    discreteData[columnIndex][row] = isMissing
+                            ? DISCRETE_MISSING_VALUE
+                            : encoder.encode(tokenizer.toString(buffer, start, end));
+                }
+
+                return null;
+            });
+
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * numOfCols);
+        } finally {
+            pass.end();
+        }
+
+        // recategorize values
+        for (int i = 0; i < numOfCols; i++) {
+            DiscreteDataColumn discreteDataColumn = dataColumns[i];
+            CategoryEncoder encoder = encoders[i];
+            if (encoder == null) {
+                continue;
+            }
+
+            if (discreteDataColumn.getDataColumn().isGenerated()) {
+                discreteDataColumn.setValue("0");
+                discreteDataColumn.setValue("1");
+                discreteDataColumn.recategorize();
+            } else {
+                encoder.values.forEach(discreteDataColumn::setValue);
+                discreteDataColumn.recategorize();
+
+                int[] codes = new int[encoder.values.size()];
+                for (int j = 0; j < codes.length; j++) {
+                    codes[j] = discreteDataColumn.getEncodeValue(encoder.values.get(j));
+                }
+
+                int[] data = discreteData[i];
+                for (int row = 0; row < numOfRows; row++) {
+                    if (data[row] != DISCRETE_MISSING_VALUE) {
+                        data[row] = codes[data[row]];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the data lines after the header and hand the values of the given
+     * columns to the parser. The parser is called concurrently, but each
+     * column is always parsed by one thread at a time.
+     *
+     * @param columnNumbers the numbers of the columns to read, in ascending
+     * order
+     * @param hasHeader
+     * @param tokenizer
+     * @param pass
+     * @param parser
+     * @return the number of data lines read
+     * @throws IOException
+     */
+    private int readInDataLines(int[] columnNumbers, boolean hasHeader, LineTokenizer tokenizer, ReadMetrics.Pass pass, ValueParser parser) throws IOException {
+        int numOfCols = columnNumbers.length;
+        int maxNumOfTokens = (numOfCols == 0) ? 0 : columnNumbers[numOfCols - 1];
+        int maxNumOfLines = Math.max(1, MAX_NUM_OF_TOKENS / Math.max(1, maxNumOfTokens));
+
+        ExecutorService pool = (numberOfThreads > 1) ? Executors.newFixedThreadPool(numberOfThreads) : null;
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, blockSize)) {
+            int[] tokenStarts = new int[0];
+            int[] tokenEnds = new int[0];
+            int[] lineTokenCounts = new int[0];
+
+            boolean skipHeader = hasHeader;
+            int row = 0;
+            LineBlock block;
+            while ((block = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                byte[] buffer = block.getBuffer();
+                int numOfLinesInBlock = block.getNumberOfLines();
+
+                int firstLine = 0;
+                if (skipHeader) {
+                    skipHeader = false;
+                    firstLine = 1;
+                }
+
+                for (int batchStart = firstLine; batchStart < numOfLinesInBlock; batchStart += maxNumOfLines) {
+                    int batchEnd = Math.min(numOfLinesInBlock, batchStart + maxNumOfLines);
+                    int numOfLines = batchEnd - batchStart;
+                    int numOfTokens = numOfLines * maxNumOfTokens;
+                    if (tokenStarts.length < numOfTokens) {
+                        tokenStarts = new int[numOfTokens];
+                        tokenEnds = new int[numOfTokens];
+                    }
+                    if (lineTokenCounts.length < numOfLines) {
+                        lineTokenCounts = new int[numOfLines];
+                    }
+
+                    // split the lines into values
+                    final int startLine = batchStart;
+                    final int[] starts = tokenStarts;
+                    final int[] ends = tokenEnds;
+                    final int[] counts = lineTokenCounts;
+                    final LineBlock lines = block;
+                    runInParallel(pool, pass, numOfLines, (from, to) -> {
+                        for (int i = from; i < to; i++) {
+                            int line = startLine + i;
+                            counts[i] = tokenizer.tokenize(buffer, lines.getLineStart(line), lines.getLineEnd(line), maxNumOfTokens, starts, ends, i * maxNumOfTokens);
+                        }
+
+                        return null;
+                    });
+
+                    // only parse up to the first line that is too short
+                    int numOfLinesToParse = numOfLines;
+                    for (int i = 0; i < numOfLines; i++) {
+                        if (lineTokenCounts[i] < maxNumOfTokens) {
+                            numOfLinesToParse = i + 1;
+                            break;
+                        }
+                    }
+
+                    // parse the values by columns
+                    final int lastLine = numOfLinesToParse;
+                    final int firstRow = row;
+                    ParseError error = runInParallel(pool, pass, numOfCols, (from, to) -> {
+                        for (int i = 0; i < lastLine; i++) {
+                            int lineNum = lines.getLineNumber(startLine + i);
+                            int offset = (i * maxNumOfTokens) - 1;
+                            for (int columnIndex = from; columnIndex < to; columnIndex++) {
+                                int colNum = columnNumbers[columnIndex];
+                                if (colNum > counts[i]) {
+                                    break;
+                                }
+
+                                ParseError parseError = parser.parse(columnIndex, firstRow + i, lineNum, colNum, buffer, starts[offset + colNum], ends[offset + colNum]);
+                                if (parseError != null) {
+                                    return parseError;
+                                }
+                            }
+                        }
+
+                        return null;
+                    });
+
+                    // ensure we have enough data
+                    int lastLineTokenCount = lineTokenCounts[numOfLinesToParse - 1];
+                    if (error == null && lastLineTokenCount < maxNumOfTokens) {
+                        int numOfValues = 0;
+                        while (numOfValues < numOfCols && columnNumbers[numOfValues] <= lastLineTokenCount) {
+                            numOfValues++;
+                        }
+
+                        int lineNum = block.getLineNumber(batchStart + numOfLinesToParse - 1);
+                        error = new ParseError(lineNum, 0, String.format("Insufficient data on line %d.  Extracted %d value(s) but expected %d.", lineNum, numOfValues, numOfCols), null);
+                    }
+
+                    if (error != null) {
+                        pass.addParseError();
+                        if (error.cause == null) {
+                            LOGGER.error(error.message);
+                        } else {
+                            LOGGER.error(error.message, error.cause);
+                        }
+                        throw new DataReaderException(error.message);
+                    }
+
+                    row += numOfLines;
+                }
+            }
+
+            pass.addBytesRead(reader.getBytesRead());
+
+            return row;
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Split the range [0, size) into about four ranges per thread and run the
+     * task on each of them.
+     *
+     * @param pool the thread pool, or null to run the task in this thread
+     * @param pass the pass the heap allocated by the tasks is counted with
+     * @param size
+     * @param task
+     * @return the error that comes first in the file, or null if none
+     * @throws IOException
+     */
+    private ParseError runInParallel(ExecutorService pool, ReadMetrics.Pass pass, int size, RangeTask task) throws IOException {
+        int numOfTasks = (pool == null) ? 1 : Math.min(size, numberOfThreads * 4);
+        if (numOfTasks <= 1) {
+            return task.run(0, size);
+        }
+
+        List<Future<ParseError>> futures = new ArrayList<>(numOfTasks);
+        for (int i = 0; i < numOfTasks; i++) {
+            int from = (int) ((long) size * i / numOfTasks);
+            int to = (int) ((long) size * (i + 1) / numOfTasks);
+            futures.add(pool.submit(pass.track(() -> task.run(from, to))));
+        }
+
+        ParseError firstError = null;
+        try {
+            for (Future<ParseError> future : futures) {
+                ParseError error = future.get();
+                if (error != null && (firstError == null || error.isBefore(firstError))) {
+                    firstError = error;
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Data reading was interrupted.");
+        } catch (ExecutionException exception) {
+            String errMsg = String.format("Unable to read data file %s.", dataFile.getFileName());
+            LOGGER.error(errMsg, exception.getCause());
+            throw new DataReaderException(errMsg);
+        }
+
+        return firstError;
+    }
+
+    /**
+     * Set the number of threads used to parse the data. The default is the
+     * number of available processors.
+     *
+     * @param numberOfThreads
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+    }
+
+    /**
+     * Set the number of bytes read at a time. A block grows to hold at least
+     * one line.
+     *
+     * @param blockSize
+     */
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    private interface ValueParser {
+
+        /**
+         * Parse the value in buffer[start, end).
+         *
+         * @return the parse error, or null if the value is valid
+         */
+        public ParseError parse(int columnIndex, int row, int lineNum, int colNum, byte[] buffer, int start, int end);
+
+    }
+
+    private interface RangeTask {
+
+        public ParseError run(int from, int to);
+
+    }
+
+    private static final class ParseError {
+
+        private final int lineNum;
+        private final int colNum;
+        private final String message;
+        private final Throwable cause;
+
+        public ParseError(int lineNum, int colNum, String message, Throwable cause) {
+            this.lineNum = lineNum;
+            this.colNum = colNum;
+            this.message = message;
+            this.cause = cause;
+        }
+
+        public boolean isBefore(ParseError other) {
+            return (lineNum < other.lineNum) || (lineNum == other.lineNum && colNum < other.colNum);
+        }
+
+    }
+
+    /**
+     * Encodes the values of a discrete column in the order they are seen.
+     */
+    private static final class CategoryEncoder {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        public int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+
+            return code;
+        }
+
+    }
+
+}
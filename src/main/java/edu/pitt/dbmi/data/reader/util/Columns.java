@@ -19,6 +19,7 @@
 package edu.pitt.dbmi.data.reader.util;
 
 import java.util.Arrays;
+import java.util.BitSet;
 
 /**
  *
@@ -61,4 +62,24 @@ public final class Columns {
                         .toArray();
     }
 
+    /**
+     * Put the column numbers into a bitmap. Column numbers less than 1 are
+     * ignored.
+     *
+     * @param columns
+     * @return
+     */
+    public static final BitSet toBitSet(int[] columns) {
+        BitSet bitSet = new BitSet();
+        if (columns != null) {
+            for (int column : columns) {
+                if (column > 0) {
+                    bitSet.set(column);
+                }
+            }
+        }
+
+        return bitSet;
+    }
+
 }
@@ -0,0 +1,538 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guesses the format of a text data file from a few samples of it: the
+ * delimiter, the quote character, the comment marker, whether there is a
+ * header, the line terminator, the missing value markers and the number of
+ * rows. Unlike {@link TextFileUtils#inferDelimiter}, everything is inferred
+ * from the same samples, so the file is read once no matter how many
+ * properties are needed.
+ *
+ * The samples are taken from the start, the middle and the end of the file,
+ * and the whole file is read when it is no bigger than the three samples.
+ * The reading stops early once the time limit is reached, but the first
+ * sample is always read.
+ *
+ * Oct 19, 2026 4:20:51 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class DialectSniffer {
+
+    public static final int DEFAULT_SAMPLE_SIZE = 256 * 1024;
+    public static final long DEFAULT_TIME_LIMIT = 200;  // milliseconds
+
+    private static final Delimiter[] DELIMITERS = {
+        Delimiter.TAB,
+        Delimiter.COMMA,
+        Delimiter.SEMICOLON,
+        Delimiter.PIPE,
+        Delimiter.COLON,
+        Delimiter.SPACE,
+        Delimiter.WHITESPACE
+    };
+    private static final String[] COMMENT_MARKERS = {"//", "#", "%"};
+    private static final char[] QUOTE_CHARACTERS = {'"', '\''};
+    private static final String[] MISSING_VALUE_MARKERS = {"", "*", "?", "NA", "N/A", "NaN", "null", "."};
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SPACE_CHAR = ' ';
+
+    private final Path file;
+
+    private int sampleSize;
+    private long timeLimit;
+    private Delimiter[] delimiters;
+
+    public DialectSniffer(Path file) {
+        this.file = file;
+        this.sampleSize = DEFAULT_SAMPLE_SIZE;
+        this.timeLimit = DEFAULT_TIME_LIMIT;
+        this.delimiters = DELIMITERS;
+    }
+
+    /**
+     * Sample the file and guess its format.
+     *
+     * @return
+     * @throws IOException
+     */
+    public FileDialect sniff() throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimit);
+
+        List<Sample> samples = new LinkedList<>();
+        long fileSize;
+        boolean wholeFile;
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            fileSize = fc.size();
+            wholeFile = fileSize <= 3L * sampleSize;
+            if (wholeFile) {
+                samples.add(readSample(fc, 0, (int) fileSize, true));
+            } else {
+                long[] positions = {0, (fileSize / 2) - (sampleSize / 2), fileSize - sampleSize};
+                for (int i = 0; i < positions.length && (i == 0 || System.nanoTime() < deadline); i++) {
+                    samples.add(readSample(fc, positions[i], sampleSize, i == positions.length - 1));
+                }
+            }
+        }
+
+        // split the samples into lines
+        List<Line> lines = new ArrayList<>();
+        int[] terminators = new int[3];  // LF, CRLF, CR
+        long bytesSampled = 0;
+        long bytesCovered = 0;  // bytes of the complete lines
+        boolean truncated = false;
+        for (Sample sample : samples) {
+            bytesSampled += sample.length;
+            bytesCovered += split(sample, lines, terminators);
+        }
+        if (lines.isEmpty() && samples.get(0).length > 0) {
+            // a line is longer than the sample, use what we have of it
+            Sample sample = samples.get(0);
+            addLine(sample.buffer, 0, sample.length, lines);
+            truncated = true;
+        }
+
+        String commentMarker = inferCommentMarker(lines);
+        List<Line> dataLines = new ArrayList<>(lines.size());
+        lines.forEach(line -> {
+            if (!(commentMarker.length() > 0 && line.startsWith(commentMarker))) {
+                dataLines.add(line);
+            }
+        });
+
+        char quoteCharacter = inferQuoteCharacter(dataLines);
+
+        // pick the delimiter that splits the most lines into the same number of values
+        Delimiter delimiter = delimiters[0];
+        int numberOfColumns = 1;
+        double bestScore = 0;
+        for (Delimiter candidate : delimiters) {
+            LineTokenizer tokenizer = new LineTokenizer(candidate, (byte) quoteCharacter);
+            Map<Integer, Integer> counts = new HashMap<>();
+            dataLines.forEach(line -> {
+                int count = tokenizer.tokenize(line.buffer, line.start, line.end, Integer.MAX_VALUE, (index, tokenStart, tokenEnd) -> {
+                });
+                counts.merge(count, 1, Integer::sum);
+            });
+
+            int mode = 0;
+            int modeCount = 0;
+            for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+                if (entry.getValue() > modeCount || (entry.getValue() == modeCount && entry.getKey() > mode)) {
+                    mode = entry.getKey();
+                    modeCount = entry.getValue();
+                }
+            }
+            if (mode < 2) {
+                continue;
+            }
+
+            double score = (double) modeCount / dataLines.size();
+            if (score > bestScore || (score == bestScore && mode > numberOfColumns)) {
+                delimiter = candidate;
+                numberOfColumns = mode;
+                bestScore = score;
+            }
+        }
+
+        // read in the values
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, (byte) quoteCharacter);
+        List<String[]> rows = new ArrayList<>(dataLines.size());
+        for (Line line : dataLines) {
+            String[] values = new String[numberOfColumns];
+            tokenizer.tokenize(line.buffer, line.start, line.end, numberOfColumns, (index, tokenStart, tokenEnd) -> {
+                values[index] = tokenizer.toString(line.buffer, tokenStart, tokenEnd);
+            });
+            rows.add(values);
+        }
+
+        boolean hasHeader = inferHeader(rows, truncated);
+        List<String> missingValueMarkers = inferMissingValueMarkers(hasHeader ? rows.subList(1, rows.size()) : rows);
+
+        long numberOfRows;
+        boolean exactNumberOfRows = wholeFile && !truncated;
+        if (exactNumberOfRows) {
+            numberOfRows = dataLines.size();
+        } else if (truncated || bytesCovered == 0) {
+            numberOfRows = -1;
+        } else {
+            numberOfRows = Math.round((double) fileSize * dataLines.size() / bytesCovered);
+        }
+        if (hasHeader && numberOfRows > 0) {
+            numberOfRows--;
+        }
+
+        String lineSeparator;
+        if (terminators[1] >= terminators[0] && terminators[1] >= terminators[2] && terminators[1] > 0) {
+            lineSeparator = "\r\n";
+        } else if (terminators[2] > terminators[0]) {
+            lineSeparator = "\r";
+        } else {
+            lineSeparator = "\n";
+        }
+
+        return new FileDialect(delimiter, quoteCharacter, commentMarker, hasHeader, lineSeparator, missingValueMarkers,
+                truncated ? -1 : numberOfColumns, numberOfRows, exactNumberOfRows, bytesSampled);
+    }
+
+    private Sample readSample(FileChannel fc, long position, int size, boolean isLast) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (fc.read(buffer, position + buffer.position()) == -1) {
+                break;
+            }
+        }
+
+        return new Sample(buffer.array(), buffer.position(), position == 0, isLast);
+    }
+
+    /**
+     * Add the complete, non-blank lines of the sample.
+     *
+     * @return the number of bytes covered by the complete lines
+     */
+    private int split(Sample sample, List<Line> lines, int[] terminators) {
+        byte[] buffer = sample.buffer;
+        int length = sample.length;
+
+        // skip the partial line at the start of the sample
+        int start = 0;
+        if (!sample.isFirst) {
+            while (start < length && buffer[start] != LINE_FEED && buffer[start] != CARRIAGE_RETURN) {
+                start++;
+            }
+            if (start < length && buffer[start] == CARRIAGE_RETURN) {
+                start++;
+            }
+            if (start < length && buffer[start] == LINE_FEED) {
+                start++;
+            }
+        }
+
+        int first = start;
+        int last = start;
+        for (int i = start; i < length; i++) {
+            byte currChar = buffer[i];
+            if (currChar == LINE_FEED || currChar == CARRIAGE_RETURN) {
+                addLine(buffer, start, i, lines);
+
+                if (currChar == CARRIAGE_RETURN && i + 1 < length && buffer[i + 1] == LINE_FEED) {
+                    terminators[1]++;
+                    i++;
+                } else if (currChar == CARRIAGE_RETURN) {
+                    terminators[2]++;
+                } else {
+                    terminators[0]++;
+                }
+                start = i + 1;
+                last = start;
+            }
+        }
+
+        // the last line is only complete at the end of the file
+        if (sample.isLast && start < length) {
+            addLine(buffer, start, length, lines);
+            last = length;
+        }
+
+        return last - first;
+    }
+
+    private void addLine(byte[] buffer, int start, int end, List<Line> lines) {
+        while (start < end && (buffer[start] & 0xFF) <= SPACE_CHAR) {
+            start++;
+        }
+        while (end > start && (buffer[end - 1] & 0xFF) <= SPACE_CHAR) {
+            end--;
+        }
+
+        if (start < end) {
+            lines.add(new Line(buffer, start, end));
+        }
+    }
+
+    /**
+     * The comment marker is the candidate that starts the most lines.
+     */
+    private String inferCommentMarker(List<Line> lines) {
+        String commentMarker = "";
+        int maxCount = 0;
+        for (String candidate : COMMENT_MARKERS) {
+            int count = 0;
+            for (Line line : lines) {
+                if (line.startsWith(candidate)) {
+                    count++;
+                }
+            }
+            if (count > maxCount) {
+                commentMarker = candidate;
+                maxCount = count;
+            }
+        }
+
+        return commentMarker;
+    }
+
+    /**
+     * The quote character is the candidate that is paired up on the most
+     * lines.
+     */
+    private char inferQuoteCharacter(List<Line> lines) {
+        char quoteCharacter = QUOTE_CHARACTERS[0];
+        int maxCount = 0;
+        for (char candidate : QUOTE_CHARACTERS) {
+            int count = 0;
+            for (Line line : lines) {
+                int numOfQuotes = 0;
+                for (int i = line.start; i < line.end; i++) {
+                    if (line.buffer[i] == candidate) {
+                        numOfQuotes++;
+                    }
+                }
+                if (numOfQuotes > 0 && numOfQuotes % 2 == 0) {
+                    count++;
+                }
+            }
+            if (count > maxCount) {
+                quoteCharacter = candidate;
+                maxCount = count;
+            }
+        }
+
+        return quoteCharacter;
+    }
+
+    /**
+     * The first row is a header if none of its values are numbers or empty,
+     * and either a column is numeric below it or none of its values show up
+     * again in their columns.
+     */
+    private boolean inferHeader(List<String[]> rows, boolean truncated) {
+        if (rows.isEmpty()) {
+            return false;
+        }
+
+        String[] names = rows.get(0);
+        int numOfNames = names.length;
+        if (truncated) {
+            // the last value may have been cut off
+            numOfNames--;
+        }
+        for (int i = 0; i < numOfNames; i++) {
+            if (names[i] == null || names[i].isEmpty() || isNumber(names[i])) {
+                return false;
+            }
+        }
+        if (rows.size() == 1) {
+            return true;
+        }
+
+        boolean repeated = false;
+        for (int i = 0; i < numOfNames; i++) {
+            int numOfNumbers = 0;
+            int numOfValues = 0;
+            Set<String> values = new HashSet<>();
+            for (String[] row : rows.subList(1, rows.size())) {
+                String value = row[i];
+                if (value == null || isMissingValueMarker(value)) {
+                    continue;
+                }
+
+                numOfValues++;
+                if (isNumber(value)) {
+                    numOfNumbers++;
+                }
+                values.add(value);
+            }
+            if (numOfValues > 0 && numOfNumbers * 2 >= numOfValues) {
+                return true;
+            }
+            repeated = repeated || values.contains(names[i]);
+        }
+
+        return !repeated;
+    }
+
+    /**
+     * Get the missing value markers found in the values, most frequent first.
+     */
+    private List<String> inferMissingValueMarkers(List<String[]> rows) {
+        Map<String, Integer> counts = new HashMap<>();
+        rows.forEach(row -> {
+            for (String value : row) {
+                if (value != null && isMissingValueMarker(value)) {
+                    counts.merge(value, 1, Integer::sum);
+                }
+            }
+        });
+
+        List<String> markers = new ArrayList<>(counts.keySet());
+        markers.sort((m1, m2) -> counts.get(m2) - counts.get(m1));
+
+        return markers;
+    }
+
+    private boolean isMissingValueMarker(String value) {
+        for (String marker : MISSING_VALUE_MARKERS) {
+            if (marker.equals(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * True if the value is a decimal number, with an optional sign and
+     * exponent.
+     */
+    private static boolean isNumber(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+
+        int numOfDigits = 0;
+        while (i < length && Character.isDigit(value.charAt(i))) {
+            i++;
+            numOfDigits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && Character.isDigit(value.charAt(i))) {
+                i++;
+                numOfDigits++;
+            }
+        }
+        if (numOfDigits == 0) {
+            return false;
+        }
+
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int numOfExpDigits = 0;
+            while (i < length && Character.isDigit(value.charAt(i))) {
+                i++;
+                numOfExpDigits++;
+            }
+            if (numOfExpDigits == 0) {
+                return false;
+            }
+        }
+
+        return i == length;
+    }
+
+    /**
+     * Set the number of bytes read from each part of the file.
+     *
+     * @param sampleSize
+     */
+    public void setSampleSize(int sampleSize) {
+        this.sampleSize = Math.max(1024, sampleSize);
+    }
+
+    /**
+     * Set the time limit in milliseconds. The middle and end samples are not
+     * read once the time limit is reached.
+     *
+     * @param timeLimit
+     */
+    public void setTimeLimit(long timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * Set the delimiters to choose from, in order of preference.
+     *
+     * @param delimiters
+     */
+    public void setDelimiters(Delimiter[] delimiters) {
+        this.delimiters = (delimiters == null || delimiters.length == 0) ? DELIMITERS : delimiters;
+    }
+
+    private static final class Sample {
+
+        private final byte[] buffer;
+        private final int length;
+        private final boolean isFirst;
+        private final boolean isLast;
+
+        private Sample(byte[] buffer, int length, boolean isFirst, boolean isLast) {
+            this.buffer = buffer;
+            this.length = length;
+            this.isFirst = isFirst;
+            this.isLast = isLast;
+        }
+
+    }
+
+    private static final class Line {
+
+        private final byte[] buffer;
+        private final int start;
+        private final int end;
+
+        private Line(byte[] buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        private boolean startsWith(String prefix) {
+            byte[] bytes = prefix.getBytes(StandardCharsets.ISO_8859_1);
+            if (end - start < bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer[start + i] != bytes[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
+}
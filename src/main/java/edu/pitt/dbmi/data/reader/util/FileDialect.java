@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The format of a text data file as guessed by {@link DialectSniffer}.
+ *
+ * Oct 19, 2026 4:12:07 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class FileDialect {
+
+    private final Delimiter delimiter;
+    private final char quoteCharacter;
+    private final String commentMarker;
+    private final boolean hasHeader;
+    private final String lineSeparator;
+    private final List<String> missingValueMarkers;
+    private final int numberOfColumns;
+    private final long numberOfRows;
+    private final boolean exactNumberOfRows;
+    private final long bytesSampled;
+
+    FileDialect(Delimiter delimiter, char quoteCharacter, String commentMarker, boolean hasHeader, String lineSeparator, List<String> missingValueMarkers, int numberOfColumns, long numberOfRows, boolean exactNumberOfRows, long bytesSampled) {
+        this.delimiter = delimiter;
+        this.quoteCharacter = quoteCharacter;
+        this.commentMarker = commentMarker;
+        this.hasHeader = hasHeader;
+        this.lineSeparator = lineSeparator;
+        this.missingValueMarkers = Collections.unmodifiableList(missingValueMarkers);
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+        this.exactNumberOfRows = exactNumberOfRows;
+        this.bytesSampled = bytesSampled;
+    }
+
+    @Override
+    public String toString() {
+        return "FileDialect{" + "delimiter=" + delimiter + ", quoteCharacter=" + quoteCharacter + ", commentMarker=" + commentMarker + ", hasHeader=" + hasHeader + ", numberOfColumns=" + numberOfColumns + ", numberOfRows=" + numberOfRows + ", exactNumberOfRows=" + exactNumberOfRows + ", missingValueMarkers=" + missingValueMarkers + ", bytesSampled=" + bytesSampled + '}';
+    }
+
+    public Delimiter getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Get the quote character. Defaults to the double quote when the sample
+     * has no quoted values.
+     *
+     * @return
+     */
+    public char getQuoteCharacter() {
+        return quoteCharacter;
+    }
+
+    /**
+     * Get the comment marker.
+     *
+     * @return the comment marker or an empty string if no line is commented
+     */
+    public String getCommentMarker() {
+        return commentMarker;
+    }
+
+    public boolean hasHeader() {
+        return hasHeader;
+    }
+
+    /**
+     * Get the most common line terminator: "\n", "\r\n" or "\r".
+     *
+     * @return
+     */
+    public String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    /**
+     * Get the values that look like missing data markers, most frequent
+     * first. The empty string stands for empty values.
+     *
+     * @return
+     */
+    public List<String> getMissingValueMarkers() {
+        return missingValueMarkers;
+    }
+
+    /**
+     * Get the number of values found on most lines.
+     *
+     * @return
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * Get the number of data rows, not counting the header. When only part of
+     * the file was sampled, this is an estimate based on the average size of
+     * the sampled lines.
+     *
+     * @return the number of rows, or -1 if no complete line was sampled
+     */
+    public long getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * True if the whole file was sampled and the number of rows is exact.
+     *
+     * @return
+     */
+    public boolean isExactNumberOfRows() {
+        return exactNumberOfRows;
+    }
+
+    public long getBytesSampled() {
+        return bytesSampled;
+    }
+
+}
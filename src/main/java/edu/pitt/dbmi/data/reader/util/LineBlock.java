@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+/**
+ * A block of complete data lines read by {@link LineBlockReader}. Blank lines
+ * and commented lines are not included.
+ *
+ * Oct 19, 2026 3:20:14 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class LineBlock {
+
+    private final byte[] buffer;
+    private final int[] lineStarts;
+    private final int[] lineEnds;
+    private final int[] lineNumbers;
+    private final int numberOfLines;
+
+    LineBlock(byte[] buffer, int[] lineStarts, int[] lineEnds, int[] lineNumbers, int numberOfLines) {
+        this.buffer = buffer;
+        this.lineStarts = lineStarts;
+        this.lineEnds = lineEnds;
+        this.lineNumbers = lineNumbers;
+        this.numberOfLines = numberOfLines;
+    }
+
+    /**
+     * Get the bytes of the block. The buffer is reused by the reader once the
+     * next block is read.
+     *
+     * @return
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Get the buffer index of the first non-blank character of the line.
+     *
+     * @param index
+     * @return
+     */
+    public int getLineStart(int index) {
+        return lineStarts[index];
+    }
+
+    /**
+     * Get the buffer index of the line terminator, or the end of the data for
+     * the last line in the file.
+     *
+     * @param index
+     * @return
+     */
+    public int getLineEnd(int index) {
+        return lineEnds[index];
+    }
+
+    /**
+     * Get the line number in the file, starting from 1.
+     *
+     * @param index
+     * @return
+     */
+    public int getLineNumber(int index) {
+        return lineNumbers[index];
+    }
+
+    public int getNumberOfLines() {
+        return numberOfLines;
+    }
+
+}
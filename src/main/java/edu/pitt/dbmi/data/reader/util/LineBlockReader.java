@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a text file in large blocks of complete lines so that the lines of a
+ * block can be processed in parallel. Blank lines and lines starting with the
+ * comment marker are skipped, and the line numbers are kept for error
+ * messages. Lines can end with LF, CR or CRLF.
+ *
+ * Oct 19, 2026 3:24:40 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class LineBlockReader implements Closeable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SPACE_CHAR = ' ';
+
+    private final InputStream in;
+    private final byte[] comment;
+
+    private byte[] buffer;
+    private int[] lineStarts;
+    private int[] lineEnds;
+    private int[] lineNumbers;
+
+    private int size;  // number of bytes in the buffer
+    private int consumed;  // number of bytes in the buffer handed out in the last block
+    private int lineNumber;
+    private byte lastTerminator;
+    private boolean endOfFile;
+    private long bytesRead;
+
+    public LineBlockReader(Path file, String commentMarker) throws IOException {
+        this(file, commentMarker, DEFAULT_BLOCK_SIZE);
+    }
+
+    public LineBlockReader(Path file, String commentMarker, int blockSize) throws IOException {
+        this(Files.newInputStream(file, StandardOpenOption.READ), commentMarker, blockSize);
+    }
+
+    /**
+     * Read the lines of a stream, for example a part of a file. The stream is
+     * closed with the reader.
+     *
+     * @param in
+     * @param commentMarker
+     * @param blockSize
+     */
+    public LineBlockReader(InputStream in, String commentMarker, int blockSize) {
+        this.in = in;
+        this.comment = (commentMarker == null) ? new byte[0] : commentMarker.trim().getBytes();
+        this.buffer = new byte[Math.max(1024, blockSize)];
+        this.lineStarts = new int[1024];
+        this.lineEnds = new int[1024];
+        this.lineNumbers = new int[1024];
+        this.lineNumber = 1;
+        this.lastTerminator = -1;
+    }
+
+    /**
+     * Read the next block of lines. A block is never empty and always holds
+     * complete lines; a line longer than the block size makes the block grow.
+     *
+     * @return the next block or null when there are no more data lines
+     * @throws IOException
+     */
+    public LineBlock next() throws IOException {
+        // the previous block is no longer used
+        if (consumed > 0) {
+            System.arraycopy(buffer, consumed, buffer, 0, size - consumed);
+            size -= consumed;
+            consumed = 0;
+        }
+
+        while (true) {
+            if (!endOfFile && size < buffer.length) {
+                int len = in.read(buffer, size, buffer.length - size);
+                if (len == -1) {
+                    endOfFile = true;
+                } else {
+                    size += len;
+                    bytesRead += len;
+                    continue;
+                }
+            }
+
+            if (size == 0) {
+                return null;
+            }
+
+            // process up to the last line terminator, or everything at the end of the file
+            int end = endOfFile ? size : lastIndexOfLineTerminator();
+            if (end < 0) {
+                byte[] newBuffer = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, newBuffer, 0, size);
+                buffer = newBuffer;
+                continue;
+            }
+
+            int length = endOfFile ? size : end + 1;
+            int numOfLines = findLines(length);
+            consumed = length;
+            if (numOfLines > 0) {
+                return new LineBlock(buffer, lineStarts, lineEnds, lineNumbers, numOfLines);
+            }
+
+            System.arraycopy(buffer, consumed, buffer, 0, size - consumed);
+            size -= consumed;
+            consumed = 0;
+        }
+    }
+
+    /**
+     * Get the number of bytes read from the file so far.
+     *
+     * @return
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Get the number of the line after the last line scanned. Once all the
+     * blocks are read, this is the number of the last line of the file.
+     *
+     * @return
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int lastIndexOfLineTerminator() {
+        for (int i = size - 1; i >= 0; i--) {
+            if (buffer[i] == LINE_FEED || buffer[i] == CARRIAGE_RETURN) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Find the data lines in the first length bytes of the buffer.
+     *
+     * @param length
+     * @return the number of data lines found
+     */
+    private int findLines(int length) {
+        int numOfLines = 0;
+        int i = 0;
+
+        // LF of a CRLF split between two blocks
+        if (lastTerminator == CARRIAGE_RETURN && length > 0 && buffer[0] == LINE_FEED) {
+            i++;
+        }
+
+        while (i < length) {
+            int lineStart = i;
+            while (i < length && buffer[i] != LINE_FEED && buffer[i] != CARRIAGE_RETURN) {
+                i++;
+            }
+            int lineEnd = i;
+
+            // skip blank chars at the begining of the line
+            while (lineStart < lineEnd && buffer[lineStart] <= SPACE_CHAR) {
+                lineStart++;
+            }
+
+            if (lineStart < lineEnd && !isComment(lineStart, lineEnd)) {
+                if (numOfLines == lineStarts.length) {
+                    lineStarts = grow(lineStarts);
+                    lineEnds = grow(lineEnds);
+                    lineNumbers = grow(lineNumbers);
+                }
+                lineStarts[numOfLines] = lineStart;
+                lineEnds[numOfLines] = lineEnd;
+                lineNumbers[numOfLines] = lineNumber;
+                numOfLines++;
+            }
+
+            if (i < length) {
+                lastTerminator = buffer[i];
+                i++;
+                if (lastTerminator == CARRIAGE_RETURN && i < length && buffer[i] == LINE_FEED) {
+                    lastTerminator = LINE_FEED;
+                    i++;
+                }
+                lineNumber++;
+            }
+        }
+
+        return numOfLines;
+    }
+
+    private boolean isComment(int lineStart, int lineEnd) {
+        if (comment.length == 0 || lineEnd - lineStart < comment.length) {
+            return false;
+        }
+
+        for (int i = 0; i < comment.length; i++) {
+            if (buffer[lineStart + i] != comment[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int[] grow(int[] array) {
+        int[] newArray = new int[array.length * 2];
+        System.arraycopy(array, 0, newArray, 0, array.length);
+
+        return newArray;
+    }
+
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright (C) 2026 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the data lines and the columns of a text file. Blank lines and lines
+ * starting with the comment marker are not counted. Lines can end with LF, CR
+ * or CRLF.
+ *
+ * Large files are split into chunks that are counted on several threads. A
+ * line is counted by the chunk it starts in, so a line, or a comment, that
+ * crosses the end of a chunk is counted once.
+ *
+ * The counts are kept for the most recently counted files, keyed by the path,
+ * size and modification time of the file, so the readers of the same file do
+ * not read it again.
+ *
+ * Oct 19, 2026 11:02:18 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class LineCounter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private static final int MAX_NUMBER_OF_COUNTS = 256;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SPACE_CHAR = ' ';
+
+    private static final Map<String, Integer> COUNTS = Collections.synchronizedMap(new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_NUMBER_OF_COUNTS;
+        }
+
+    });
+
+    private final Path file;
+    private final String commentMarker;
+    private final byte[] comment;
+    private final AtomicLong bytesRead;
+
+    private int numberOfThreads;
+    private int chunkSize;
+    private ReadMetrics.Pass pass;
+
+    public LineCounter(Path file, String commentMarker) {
+        this.file = file;
+        this.commentMarker = (commentMarker == null) ? "" : commentMarker.trim();
+        this.comment = this.commentMarker.getBytes();
+        this.bytesRead = new AtomicLong();
+        this.numberOfThreads = Runtime.getRuntime().availableProcessors();
+        this.chunkSize = DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Count the lines that are not blank and do not start with the comment
+     * marker.
+     *
+     * @return the number of data lines
+     * @throws IOException
+     */
+    public int countLines() throws IOException {
+        bytesRead.set(0);
+
+        String version = getFileVersion();
+        String key = String.format("%s%nlines%n%s", version, commentMarker);
+        Integer count = COUNTS.get(key);
+        if (count == null) {
+            count = countLinesInParallel();
+            cache(key, version, count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Count the columns of the first line that is not blank and does not start
+     * with the comment marker.
+     *
+     * @param delimiter
+     * @param quoteCharacter the quote character, or -1 if there is none
+     * @return the number of columns of the first data line
+     * @throws IOException
+     */
+    public int countColumns(Delimiter delimiter, byte quoteCharacter) throws IOException {
+        bytesRead.set(0);
+
+        String version = getFileVersion();
+        String key = String.format("%s%ncolumns%n%s%n%s%n%d", version, commentMarker, delimiter.name(), quoteCharacter);
+        Integer count = COUNTS.get(key);
+        if (count == null) {
+            count = countColumnsOfFirstLine(delimiter, quoteCharacter);
+            cache(key, version, count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Forget the counts of all files.
+     */
+    public static void clearCache() {
+        COUNTS.clear();
+    }
+
+    /**
+     * Keep the count unless the counting was interrupted or the file changed
+     * while it was read.
+     */
+    private void cache(String key, String version, int count) throws IOException {
+        if (!Thread.currentThread().isInterrupted() && version.equals(getFileVersion())) {
+            COUNTS.put(key, count);
+        }
+    }
+
+    private String getFileVersion() throws IOException {
+        return String.format("%s%n%d%n%d",
+                file.toAbsolutePath().normalize(),
+                Files.size(file),
+                Files.getLastModifiedTime(file).toMillis());
+    }
+
+    private int countLinesInParallel() throws IOException {
+        long size = Files.size(file);
+        int numOfChunks = (int) Math.max(1, Math.min(numberOfThreads, size / chunkSize));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (numOfChunks == 1) {
+                return countLines(channel, 0, size);
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(numOfChunks);
+            try {
+                List<Future<Integer>> futures = new ArrayList<>(numOfChunks);
+                for (int i = 0; i < numOfChunks; i++) {
+                    long start = size * i / numOfChunks;
+                    long end = size * (i + 1) / numOfChunks;
+                    Callable<Integer> task = () -> countLines(channel, start, end);
+                    futures.add(pool.submit((pass == null) ? task : pass.track(task)));
+                }
+
+                int count = 0;
+                for (Future<Integer> future : futures) {
+                    count += future.get();
+                }
+
+                return count;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Line counting was interrupted.");
+            } catch (ExecutionException exception) {
+                throw new IOException(String.format("Unable to count the lines of file %s.", file.getFileName()), exception.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Count the data lines that start in the range [start, end) of the file.
+     * The last line is read to its end, past the end of the range if need be.
+     *
+     * @param channel
+     * @param start
+     * @param end
+     * @return the number of data lines starting in the range
+     * @throws IOException
+     */
+    private int countLines(FileChannel channel, long start, long end) throws IOException {
+        int count = 0;
+
+        ByteBuffer byteBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] buffer = byteBuffer.array();
+
+        // a line started before the range belongs to the previous chunk
+        boolean skip = start > 0 && !isLineTerminator(readByte(channel, byteBuffer, start - 1));
+        boolean hasSeenNonblankChar = false;
+        boolean finished = false;
+
+        // comment marker check
+        int cmntIndex = 0;
+        boolean checkForComment = comment.length > 0;
+
+        long position = start;
+        int len;
+        while (!finished && (len = read(channel, byteBuffer, position)) != -1 && !Thread.currentThread().isInterrupted()) {
+            bytesRead.addAndGet(len);
+            for (int i = 0; i < len && !finished; i++) {
+                byte currChar = buffer[i];
+                if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
+                    if (!skip && cmntIndex > 0) {
+                        count++;
+                    }
+
+                    // reset states
+                    skip = false;
+                    hasSeenNonblankChar = false;
+                    cmntIndex = 0;
+
+                    // the next line starts at or after the end of the range
+                    finished = position + i + 1 >= end;
+                } else {
+                    if (!skip) {
+                        if (currChar > SPACE_CHAR) {
+                            hasSeenNonblankChar = true;
+                        }
+
+                        // skip blank chars at the begining of the line
+                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
+                            continue;
+                        }
+
+                        if (checkForComment) {
+                            if (currChar == comment[cmntIndex]) {
+                                cmntIndex++;
+                                if (cmntIndex == comment.length) {
+                                    skip = true;
+                                }
+
+                                continue;
+                            }
+                        }
+
+                        count++;
+                        skip = true;
+                    }
+                }
+            }
+            position += len;
+        }
+
+        // case when no newline char at end of file
+        if (!finished && !skip && cmntIndex > 0) {
+            count++;
+        }
+
+        return count;
+    }
+
+    private int countColumnsOfFirstLine(Delimiter delimiter, byte quoteCharacter) throws IOException {
+        int count = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            boolean skip = false;
+            boolean hasSeenNonblankChar = false;
+            boolean hasQuoteChar = false;
+            boolean finished = false;
+
+            byte delimChar = delimiter.getByteValue();
+            byte prevChar = -1;
+
+            // comment marker check
+            int cmntIndex = 0;
+            boolean checkForComment = comment.length > 0;
+
+            ByteBuffer byteBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] buffer = byteBuffer.array();
+            long position = 0;
+            int len;
+            while (!finished && (len = read(channel, byteBuffer, position)) != -1 && !Thread.currentThread().isInterrupted()) {
+                bytesRead.addAndGet(len);
+                position += len;
+                for (int i = 0; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
+                    byte currChar = buffer[i];
+
+                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
+                        finished = hasSeenNonblankChar && !skip;
+                        if (finished) {
+                            count++;
+                        }
+
+                        // reset states
+                        skip = false;
+                        hasSeenNonblankChar = false;
+                        cmntIndex = 0;
+                        checkForComment = comment.length > 0;
+                    } else if (!skip) {
+                        if (currChar > SPACE_CHAR) {
+                            hasSeenNonblankChar = true;
+                        }
+
+                        // skip blank chars at the begining of the line
+                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
+                            continue;
+                        }
+
+                        // check for comment marker to skip line
+                        if (checkForComment) {
+                            if (currChar == comment[cmntIndex]) {
+                                cmntIndex++;
+                                if (cmntIndex == comment.length) {
+                                    skip = true;
+                                    prevChar = currChar;
+
+                                    continue;
+                                }
+                            } else {
+                                checkForComment = false;
+                            }
+                        }
+
+                        if (currChar == quoteCharacter) {
+                            hasQuoteChar = !hasQuoteChar;
+                        } else {
+                            if (!hasQuoteChar) {
+                                switch (delimiter) {
+                                    case WHITESPACE:
+                                        if (currChar <= SPACE_CHAR && prevChar > SPACE_CHAR) {
+                                            count++;
+                                        }
+                                        break;
+                                    default:
+                                        if (currChar == delimChar) {
+                                            count++;
+                                        }
+                                }
+                            }
+                        }
+                    }
+
+                    prevChar = currChar;
+                }
+            }
+
+            // case when no newline char at end of file
+            if (!finished && hasSeenNonblankChar && !skip) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static int read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        // through Buffer, since ByteBuffer.clear() does not exist on Java 8
+        ((Buffer) buffer).clear();
+
+        return channel.read(buffer, position);
+    }
+
+    private static byte readByte(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        ((Buffer) buffer).clear();
+        ((Buffer) buffer).limit(1);
+        channel.read(buffer, position);
+
+        return buffer.get(0);
+    }
+
+    private static boolean isLineTerminator(byte b) {
+        return b == LINE_FEED || b == CARRIAGE_RETURN;
+    }
+
+    /**
+     * Set the number of threads used to count the lines of a large file. The
+     * default is the number of available processors.
+     *
+     * @param numberOfThreads
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+    }
+
+    /**
+     * Set the smallest number of bytes counted by a thread. A file smaller
+     * than two chunks is counted on one thread.
+     *
+     * @param chunkSize
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Set the pass the heap allocated by the counting threads is counted
+     * with.
+     *
+     * @param pass
+     */
+    public void setPass(ReadMetrics.Pass pass) {
+        this.pass = pass;
+    }
+
+    /**
+     * Get the number of bytes read by the last count. It is 0 when the count
+     * was already known.
+     *
+     * @return the number of bytes read
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits a line into values the same way the data readers do: delimiters
+ * inside quotes are ignored, the quote characters are dropped, and the values
+ * are trimmed. With the whitespace delimiter, a run of blank characters
+ * separates two values.
+ *
+ * Oct 19, 2026 3:41:58 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class LineTokenizer {
+
+    private static final byte SPACE_CHAR = ' ';
+
+    private final Delimiter delimiter;
+    private final byte delimChar;
+    private final byte quoteCharacter;
+
+    /**
+     * @param delimiter
+     * @param quoteCharacter the quote character, or -1 for none
+     */
+    public LineTokenizer(Delimiter delimiter, byte quoteCharacter) {
+        this.delimiter = delimiter;
+        this.delimChar = delimiter.getByteValue();
+        this.quoteCharacter = quoteCharacter;
+    }
+
+    /**
+     * Find the values in buffer[start, end). The bounds of the i-th value are
+     * stored at tokenStarts[offset + i] and tokenEnds[offset + i].
+     *
+     * @param buffer
+     * @param start
+     * @param end
+     * @param maxNumOfTokens stop after this many values
+     * @param tokenStarts
+     * @param tokenEnds
+     * @param offset
+     * @return the number of values found, at most maxNumOfTokens
+     * @see #tokenize(byte[], int, int, int, TokenHandler)
+     */
+    public int tokenize(byte[] buffer, int start, int end, int maxNumOfTokens, int[] tokenStarts, int[] tokenEnds, int offset) {
+        return tokenize(buffer, start, end, maxNumOfTokens, (index, tokenStart, tokenEnd) -> {
+            tokenStarts[offset + index] = tokenStart;
+            tokenEnds[offset + index] = tokenEnd;
+        });
+    }
+
+    /**
+     * Find the values in buffer[start, end) and hand their bounds to the
+     * handler in order. The bounds are trimmed of blank characters. When a
+     * value contains a quote character, its start is given as -(start + 1);
+     * use {@link #toString} to get the value without the quotes.
+     *
+     * @param buffer
+     * @param start
+     * @param end
+     * @param maxNumOfTokens stop after this many values
+     * @param handler
+     * @return the number of values found, at most maxNumOfTokens
+     */
+    public int tokenize(byte[] buffer, int start, int end, int maxNumOfTokens, TokenHandler handler) {
+        if (maxNumOfTokens <= 0) {
+            return 0;
+        }
+
+        boolean isWhitespace = delimiter == Delimiter.WHITESPACE;
+        boolean hasQuoteChar = false;
+        boolean isQuoted = false;
+        int numOfTokens = 0;
+        int tokenStart = start;
+        byte prevChar = -1;
+        for (int i = start; i < end; i++) {
+            byte currChar = buffer[i];
+            if (currChar == quoteCharacter) {
+                hasQuoteChar = !hasQuoteChar;
+                isQuoted = true;
+            } else if (!hasQuoteChar) {
+                boolean isDelimiter = isWhitespace
+                        ? (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR)
+                        : currChar == delimChar;
+                if (isDelimiter) {
+                    handleToken(buffer, tokenStart, i, isQuoted, numOfTokens, handler);
+                    numOfTokens++;
+                    if (numOfTokens == maxNumOfTokens) {
+                        return numOfTokens;
+                    }
+
+                    tokenStart = i + 1;
+                    isQuoted = false;
+                }
+            }
+
+            prevChar = currChar;
+        }
+
+        handleToken(buffer, tokenStart, end, isQuoted, numOfTokens, handler);
+
+        return numOfTokens + 1;
+    }
+
+    private void handleToken(byte[] buffer, int start, int end, boolean isQuoted, int index, TokenHandler handler) {
+        // same as String.trim() on the characters of the value
+        while (start < end && (buffer[start] & 0xFF) <= SPACE_CHAR) {
+            start++;
+        }
+        while (end > start && (buffer[end - 1] & 0xFF) <= SPACE_CHAR) {
+            end--;
+        }
+
+        handler.handle(index, isQuoted ? -(start + 1) : start, end);
+    }
+
+    /**
+     * Get the value of a token found by {@link #tokenize}.
+     *
+     * @param buffer
+     * @param tokenStart
+     * @param tokenEnd
+     * @return
+     */
+    public String toString(byte[] buffer, int tokenStart, int tokenEnd) {
+        if (tokenStart >= 0) {
+            return new String(buffer, tokenStart, tokenEnd - tokenStart, StandardCharsets.ISO_8859_1);
+        }
+
+        int start = -(tokenStart + 1);
+        byte[] value = new byte[tokenEnd - start];
+        int length = 0;
+        for (int i = start; i < tokenEnd; i++) {
+            if (buffer[i] != quoteCharacter) {
+                value[length++] = buffer[i];
+            }
+        }
+
+        return new String(value, 0, length, StandardCharsets.ISO_8859_1).trim();
+    }
+
+    /**
+     * True if the token is empty or equal to the given value. Quoted tokens
+     * are compared without their quotes.
+     *
+     * @param buffer
+     * @param tokenStart
+     * @param tokenEnd
+     * @param value
+     * @return
+     */
+    public boolean isEmptyOrEquals(byte[] buffer, int tokenStart, int tokenEnd, byte[] value) {
+        if (tokenStart < 0) {
+            String token = toString(buffer, tokenStart, tokenEnd);
+
+            return token.isEmpty() || token.equals(new String(value, StandardCharsets.ISO_8859_1));
+        }
+
+        int length = tokenEnd - tokenStart;
+        if (length == 0) {
+            return true;
+        }
+        if (length != value.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[tokenStart + i] != value[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public interface TokenHandler {
+
+        /**
+         * Handle the bounds of the value at the given index.
+         *
+         * @param index
+         * @param tokenStart
+         * @param tokenEnd
+         */
+        public void handle(int index, int tokenStart, int tokenEnd);
+
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+/**
+ * Recognizes the values that {@link Double#parseDouble(String)} accepts
+ * without throwing an exception, so that invalid numbers can be found at the
+ * cost of a scan instead of the cost of a {@link NumberFormatException}.
+ *
+ * Oct 19, 2026 2:17:40 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class NumberRecognizer {
+
+    private static final char SPACE_CHAR = ' ';
+
+    private NumberRecognizer() {
+    }
+
+    /**
+     * True if {@link Double#parseDouble(String)} can parse the value.
+     *
+     * @param value
+     * @return
+     */
+    public static boolean isNumber(CharSequence value) {
+        // trim blank characters the same way parseDouble does
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= SPACE_CHAR) {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= SPACE_CHAR) {
+            end--;
+        }
+
+        int i = start;
+        if (i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        if (i == end) {
+            return false;
+        }
+
+        char c = value.charAt(i);
+        if (c == 'N') {
+            return matches(value, i, end, "NaN");
+        } else if (c == 'I') {
+            return matches(value, i, end, "Infinity");
+        } else if (c == '0' && i + 1 < end && (value.charAt(i + 1) == 'x' || value.charAt(i + 1) == 'X')) {
+            return isHexNumber(value, i + 2, end);
+        }
+
+        int numOfDigits = 0;
+        while (i < end && isDigit(value.charAt(i))) {
+            i++;
+            numOfDigits++;
+        }
+        if (i < end && value.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(value.charAt(i))) {
+                i++;
+                numOfDigits++;
+            }
+        }
+        if (numOfDigits == 0) {
+            return false;
+        }
+
+        if (i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i = skipExponent(value, i + 1, end);
+            if (i < 0) {
+                return false;
+            }
+        }
+
+        return isEndOfNumber(value, i, end);
+    }
+
+    /**
+     * Hexadecimal significand with a mandatory binary exponent, as in
+     * 0x1.8p1.
+     */
+    private static boolean isHexNumber(CharSequence value, int start, int end) {
+        int i = start;
+        int numOfDigits = 0;
+        while (i < end && isHexDigit(value.charAt(i))) {
+            i++;
+            numOfDigits++;
+        }
+        if (i < end && value.charAt(i) == '.') {
+            i++;
+            while (i < end && isHexDigit(value.charAt(i))) {
+                i++;
+                numOfDigits++;
+            }
+        }
+        if (numOfDigits == 0 || i == end || (value.charAt(i) != 'p' && value.charAt(i) != 'P')) {
+            return false;
+        }
+
+        i = skipExponent(value, i + 1, end);
+
+        return i >= 0 && isEndOfNumber(value, i, end);
+    }
+
+    /**
+     * Skip the signed digits of an exponent.
+     *
+     * @return the index after the exponent, or -1 if there are no digits
+     */
+    private static int skipExponent(CharSequence value, int start, int end) {
+        int i = start;
+        if (i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+
+        int digitStart = i;
+        while (i < end && isDigit(value.charAt(i))) {
+            i++;
+        }
+
+        return (i == digitStart) ? -1 : i;
+    }
+
+    /**
+     * A number may end with one of the type suffixes f, F, d or D.
+     */
+    private static boolean isEndOfNumber(CharSequence value, int i, int end) {
+        if (i == end) {
+            return true;
+        }
+
+        char c = value.charAt(i);
+
+        return (i + 1 == end) && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+    }
+
+    private static boolean matches(CharSequence value, int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < word.length(); i++) {
+            if (value.charAt(start + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+}
@@ -57,6 +57,7 @@ public class TextFileUtils {
      * @param delims the set of delimiters to test for
      * @return
      * @throws IOException
+     * @see DialectSniffer
      */
     public static char inferDelimiter(File file, int n, int skip, String comment, char quoteCharacter, char[] delims) throws IOException {
         if (file == null) {
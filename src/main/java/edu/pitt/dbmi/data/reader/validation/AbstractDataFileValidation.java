@@ -31,6 +31,7 @@ import java.nio.file.Path;
 public abstract class AbstractDataFileValidation extends DataFileReader implements Validation {
 
     protected int maxNumOfMsg;
+    protected ValidationCache validationCache;
 
     public AbstractDataFileValidation(Path dataFile, Delimiter delimiter) {
         super(dataFile, delimiter);
@@ -42,4 +43,9 @@ public abstract class AbstractDataFileValidation extends DataFileReader implemen
         this.maxNumOfMsg = maxNumOfMsg;
     }
 
+    @Override
+    public void setValidationCache(ValidationCache validationCache) {
+        this.validationCache = validationCache;
+    }
+
 }
@@ -31,6 +31,9 @@ public enum MessageType {
     FILE_INVALID_NUMBER,
     FILE_EXCESS_DATA,
     FILE_INSUFFICIENT_DATA,
-    FILE_SUMMARY
+    FILE_SUMMARY,
+    FILE_VALIDATION_STOPPED,
+    FILE_INVALID_COVARIANCE,
+    FILE_DUPLICATE_NAME
 
 }
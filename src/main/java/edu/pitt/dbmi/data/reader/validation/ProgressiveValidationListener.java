@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.validation;
+
+import java.util.List;
+
+/**
+ * Receives the results of a progressive validation: first those of a sample
+ * of the file, then those of the whole file.
+ *
+ * Oct 19, 2026 10:06:51 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public interface ProgressiveValidationListener {
+
+    /**
+     * Called once the sample is validated. The lines of the sample are given
+     * by their byte offset in the file since their line numbers are not known.
+     *
+     * @param results
+     * @return true to go on with the validation of the whole file, false to
+     * stop
+     */
+    public boolean sampleValidated(List<ValidationResult> results);
+
+    /**
+     * Called once the whole file is validated, unless the validation was
+     * stopped or cancelled.
+     *
+     * @param results the same results as a validation of the file
+     */
+    public void fileValidated(List<ValidationResult> results);
+
+}
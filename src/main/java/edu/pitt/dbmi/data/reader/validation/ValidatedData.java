@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.validation;
+
+import edu.pitt.dbmi.data.reader.Data;
+import java.util.List;
+
+/**
+ * The results of validating a data file together with the data read in the
+ * same pass. The data is only kept if the file has no error.
+ *
+ * Oct 19, 2026 11:52:08 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class ValidatedData {
+
+    private final List<ValidationResult> validationResults;
+    private final Data data;
+
+    public ValidatedData(List<ValidationResult> validationResults, Data data) {
+        this.validationResults = validationResults;
+        this.data = data;
+    }
+
+    public List<ValidationResult> getValidationResults() {
+        return validationResults;
+    }
+
+    /**
+     * Get the data read from the file.
+     *
+     * @return the data, or null if the file is not valid
+     */
+    public Data getData() {
+        return data;
+    }
+
+    public boolean isValid() {
+        return data != null;
+    }
+
+}
@@ -28,4 +28,14 @@ public interface Validation {
 
     public void setMaximumNumberOfMessages(int maxNumOfMsg);
 
+    /**
+     * Keep the results in the cache and return them again, without reading
+     * the file, when the same content is validated with the same settings.
+     * The default ignores the cache, for validations that do not use one.
+     *
+     * @param validationCache the cache, or null for none
+     */
+    public default void setValidationCache(ValidationCache validationCache) {
+    }
+
 }
@@ -41,6 +41,7 @@ public enum ValidationAttribute {
     ROW_WITH_MISSING_VALUE_COUNT,
     COLUMN_WITH_MISSING_VALUE_COUNT,
     FILE_NAME,
-    VALUE
+    VALUE,
+    BYTE_OFFSET
 
 }
@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2018 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.validation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps validation results in a local directory so that a file that has
+ * already been validated with the same options is not read again.
+ *
+ * The results are keyed by a digest of the content of the file and of the
+ * validation options, so a copy of a file, uploaded again under another
+ * name, is found as well. The digest of each file is also kept with its size
+ * and modification time, so a file that has not changed since it was last
+ * validated is looked up without being read. At most the given number of
+ * results are kept; the least recently used are removed first.
+ *
+ * Oct 19, 2026 9:12:37 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class ValidationCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationCache.class);
+
+    public static final int DEFAULT_MAXIMUM_NUMBER_OF_ENTRIES = 1000;
+
+    private static final int VERSION = 1;
+
+    private static final String RESULTS_SUFFIX = ".results";
+    private static final String FINGERPRINT_SUFFIX = ".fingerprint";
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final Path directory;
+    private final int maxNumOfEntries;
+
+    public ValidationCache(Path directory) throws IOException {
+        this(directory, DEFAULT_MAXIMUM_NUMBER_OF_ENTRIES);
+    }
+
+    public ValidationCache(Path directory, int maxNumOfEntries) throws IOException {
+        if (maxNumOfEntries < 1) {
+            throw new IllegalArgumentException("The maximum number of entries must be at least 1.");
+        }
+
+        this.directory = Files.createDirectories(directory);
+        this.maxNumOfEntries = maxNumOfEntries;
+    }
+
+    /**
+     * Get the results of an earlier validation of the file with the same
+     * options.
+     *
+     * @param dataFile
+     * @param options all the settings the results depend on
+     * @return the results, or null if the file has not been validated with
+     * these options
+     */
+    public synchronized List<ValidationResult> get(Path dataFile, String options) {
+        try {
+            Path entry = getEntry(dataFile, options);
+            if (!Files.exists(entry)) {
+                return null;
+            }
+
+            List<ValidationResult> results = readResults(entry);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+
+            return results;
+        } catch (IOException exception) {
+            LOGGER.warn(String.format("Unable to read cached validation results of file %s.", dataFile), exception);
+
+            return null;
+        }
+    }
+
+    /**
+     * Keep the results of the validation of the file with the given options.
+     * Results with a file error are not kept.
+     *
+     * @param dataFile
+     * @param options all the settings the results depend on
+     * @param results
+     */
+    public synchronized void put(Path dataFile, String options, List<ValidationResult> results) {
+        for (ValidationResult result : results) {
+            if (result.getMessageType() == MessageType.FILE_IO_ERROR) {
+                return;
+            }
+        }
+
+        try {
+            Path entry = getEntry(dataFile, options);
+            Path tempFile = Files.createTempFile(directory, "results", ".tmp");
+            try {
+                writeResults(tempFile, results);
+                Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+
+            evict(RESULTS_SUFFIX);
+            evict(FINGERPRINT_SUFFIX);
+        } catch (IOException exception) {
+            LOGGER.warn(String.format("Unable to cache validation results of file %s.", dataFile), exception);
+        }
+    }
+
+    /**
+     * Remove all the cached results.
+     *
+     * @throws IOException
+     */
+    public synchronized void clear() throws IOException {
+        for (Path file : list(RESULTS_SUFFIX)) {
+            Files.deleteIfExists(file);
+        }
+        for (Path file : list(FINGERPRINT_SUFFIX)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Path getEntry(Path dataFile, String options) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(getFingerprint(dataFile));
+        digest.update(options.getBytes(StandardCharsets.UTF_8));
+
+        return directory.resolve(toHex(digest.digest()) + RESULTS_SUFFIX);
+    }
+
+    /**
+     * Get the digest of the content of the file. It is only computed again
+     * when the size or the modification time of the file has changed.
+     */
+    private byte[] getFingerprint(Path dataFile) throws IOException {
+        Path file = dataFile.toAbsolutePath().normalize();
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+        MessageDigest pathDigest = newDigest();
+        pathDigest.update(file.toString().getBytes(StandardCharsets.UTF_8));
+        Path entry = directory.resolve(toHex(pathDigest.digest()) + FINGERPRINT_SUFFIX);
+        if (Files.exists(entry)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(entry));
+            if (buffer.remaining() > 2 * Long.BYTES && buffer.getLong() == size && buffer.getLong() == lastModified) {
+                byte[] fingerprint = new byte[buffer.remaining()];
+                buffer.get(fingerprint);
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+
+                return fingerprint;
+            }
+        }
+
+        byte[] fingerprint = digest(file);
+
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES + fingerprint.length);
+        buffer.putLong(size);
+        buffer.putLong(lastModified);
+        buffer.put(fingerprint);
+        Path tempFile = Files.createTempFile(directory, "fingerprint", ".tmp");
+        try {
+            Files.write(tempFile, buffer.array());
+            Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        return fingerprint;
+    }
+
+    private static byte[] digest(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                // through Buffer, since ByteBuffer.flip() and clear() do not exist on Java 8
+                ((Buffer) buffer).flip();
+                digest.update(buffer);
+                ((Buffer) buffer).clear();
+            }
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * Remove the least recently used files over the maximum number of
+     * entries.
+     */
+    private void evict(String suffix) throws IOException {
+        List<Path> files = list(suffix);
+        if (files.size() <= maxNumOfEntries) {
+            return;
+        }
+
+        Path[] entries = files.toArray(new Path[files.size()]);
+        long[] lastUsed = new long[entries.length];
+        Integer[] order = new Integer[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            lastUsed[i] = Files.getLastModifiedTime(entries[i]).toMillis();
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> lastUsed[i]));
+
+        for (int i = 0; i < entries.length - maxNumOfEntries; i++) {
+            Files.deleteIfExists(entries[order[i]]);
+        }
+    }
+
+    private List<Path> list(String suffix) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + suffix)) {
+            stream.forEach(files::add);
+        }
+
+        return files;
+    }
+
+    private static void writeResults(Path file, List<ValidationResult> results) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(VERSION);
+            out.writeInt(results.size());
+            for (ValidationResult result : results) {
+                out.writeUTF(result.getCode().name());
+                out.writeUTF(result.getMessageType().name());
+                writeString(out, result.getMessage());
+
+                Map<ValidationAttribute, Object> attributes = result.getAttributes();
+                out.writeInt(attributes.size());
+                for (Map.Entry<ValidationAttribute, Object> attribute : attributes.entrySet()) {
+                    out.writeUTF(attribute.getKey().name());
+
+                    Object value = attribute.getValue();
+                    if (value instanceof Integer) {
+                        out.writeByte('I');
+                        out.writeInt((Integer) value);
+                    } else if (value instanceof Long) {
+                        out.writeByte('J');
+                        out.writeLong((Long) value);
+                    } else if (value instanceof Path) {
+                        out.writeByte('P');
+                        writeString(out, value.toString());
+                    } else {
+                        out.writeByte('S');
+                        writeString(out, String.valueOf(value));
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<ValidationResult> readResults(Path file) throws IOException {
+        List<ValidationResult> results = new LinkedList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != VERSION) {
+                throw new IOException(String.format("Unknown version of cached results %s.", file));
+            }
+
+            int numOfResults = in.readInt();
+            for (int i = 0; i < numOfResults; i++) {
+                ValidationCode code = ValidationCode.valueOf(in.readUTF());
+                MessageType messageType = MessageType.valueOf(in.readUTF());
+                ValidationResult result = new ValidationResult(code, messageType, readString(in));
+
+                int numOfAttributes = in.readInt();
+                for (int j = 0; j < numOfAttributes; j++) {
+                    ValidationAttribute attribute = ValidationAttribute.valueOf(in.readUTF());
+                    byte type = in.readByte();
+                    switch (type) {
+                        case 'I':
+                            result.setAttribute(attribute, in.readInt());
+                            break;
+                        case 'J':
+                            result.setAttribute(attribute, in.readLong());
+                            break;
+                        case 'P':
+                            result.setAttribute(attribute, Paths.get(readString(in)));
+                            break;
+                        default:
+                            result.setAttribute(attribute, readString(in));
+                    }
+                }
+
+                results.add(result);
+            }
+        } catch (IllegalArgumentException exception) {
+            throw new IOException(String.format("Invalid cached results %s.", file), exception);
+        }
+
+        return results;
+    }
+
+    // writeUTF is limited to 64 KB, which a long value could exceed
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return hex.toString();
+    }
+
+}
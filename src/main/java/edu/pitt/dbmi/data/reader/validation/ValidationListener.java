@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.validation;
+
+/**
+ * Receives the results of a validation while the file is being validated, so
+ * that the first problems can be shown before the validation ends.
+ *
+ * Oct 19, 2026 4:12:36 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public interface ValidationListener {
+
+    /**
+     * Called on the validating thread for each result added to the results.
+     *
+     * @param result
+     */
+    public void resultAdded(ValidationResult result);
+
+}
@@ -37,6 +37,10 @@ public class ValidationResult {
 
     private String message;
 
+    private String messageFormat;
+
+    private Object[] messageArgs;
+
     public ValidationResult(ValidationCode code, MessageType messageType) {
         this.code = code;
         this.messageType = messageType;
@@ -48,9 +52,25 @@ public class ValidationResult {
         this.message = message;
     }
 
+    /**
+     * The message is formatted with {@link String#format} the first time it
+     * is asked for, so that results that are only counted or dropped cost no
+     * formatting.
+     *
+     * @param code
+     * @param messageType
+     * @param messageFormat
+     * @param messageArgs
+     */
+    public ValidationResult(ValidationCode code, MessageType messageType, String messageFormat, Object... messageArgs) {
+        this(code, messageType);
+        this.messageFormat = messageFormat;
+        this.messageArgs = messageArgs;
+    }
+
     @Override
     public String toString() {
-        return "ValidationResult{" + "code=" + code + ", messageType=" + messageType + ", attributes=" + attributes + ", message=" + message + '}';
+        return "ValidationResult{" + "code=" + code + ", messageType=" + messageType + ", attributes=" + attributes + ", message=" + getMessage() + '}';
     }
 
     public ValidationCode getCode() {
@@ -70,11 +90,19 @@ public class ValidationResult {
     }
 
     public String getMessage() {
+        if (message == null && messageFormat != null) {
+            message = String.format(messageFormat, messageArgs);
+            messageFormat = null;
+            messageArgs = null;
+        }
+
         return message;
     }
 
     public void setMessage(String message) {
         this.message = message;
+        this.messageFormat = null;
+        this.messageArgs = null;
     }
 
 }
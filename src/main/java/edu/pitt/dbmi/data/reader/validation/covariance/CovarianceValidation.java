@@ -33,4 +33,25 @@ public interface CovarianceValidation extends Validation, DataReader {
 
     public List<ValidationResult> validate();
 
+    /**
+     * Stop the validation once this many errors are found, for example one to
+     * stop at the first error. The results end with a message giving the line
+     * the validation stopped at, followed by the summary. The default is no
+     * limit. Validations that cannot stop early ignore it.
+     *
+     * @param maxNumOfErrors
+     */
+    public default void setMaximumNumberOfErrors(int maxNumOfErrors) {
+    }
+
+    /**
+     * Also check that the variances are positive and that no covariance
+     * implies a correlation outside of [-1, 1]. The default is false.
+     * Validations that cannot check them ignore it.
+     *
+     * @param checkMatrixProperties
+     */
+    public default void setCheckMatrixProperties(boolean checkMatrixProperties) {
+    }
+
 }
@@ -19,16 +19,19 @@
 package edu.pitt.dbmi.data.reader.validation.covariance;
 
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import edu.pitt.dbmi.data.reader.util.LineBlock;
+import edu.pitt.dbmi.data.reader.util.LineBlockReader;
+import edu.pitt.dbmi.data.reader.util.LineTokenizer;
+import edu.pitt.dbmi.data.reader.util.NumberRecognizer;
 import edu.pitt.dbmi.data.reader.validation.AbstractDataFileValidation;
 import edu.pitt.dbmi.data.reader.validation.MessageType;
 import edu.pitt.dbmi.data.reader.validation.ValidationAttribute;
 import edu.pitt.dbmi.data.reader.validation.ValidationCode;
 import edu.pitt.dbmi.data.reader.validation.ValidationResult;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -40,574 +43,372 @@ import java.util.List;
  */
 public class LowerCovarianceDataFileValidation extends AbstractDataFileValidation implements CovarianceValidation {
 
+    /**
+     * Relative slack allowed when comparing a covariance with the standard
+     * deviations so values rounded in the file are not reported.
+     */
+    private static final double CORRELATION_TOLERANCE = 1.0e-6;
+
+    private int maxNumOfErrors = Integer.MAX_VALUE;
+    private boolean checkMatrixProperties;
+
     public LowerCovarianceDataFileValidation(Path dataFile, Delimiter delimiter) {
         super(dataFile, delimiter);
     }
 
     @Override
     public List<ValidationResult> validate() {
+        String cacheOptions = (validationCache == null) ? null : getCacheOptions();
+        if (validationCache != null) {
+            List<ValidationResult> cachedResults = validationCache.get(dataFile, cacheOptions);
+            if (cachedResults != null) {
+                return cachedResults;
+            }
+        }
+
         List<ValidationResult> validationResults = new LinkedList<>();
+        ResultCollector collector = new ResultCollector(validationResults);
 
         try {
-            int numOfCases = validateNumberOfCases(validationResults);
-            int numOfVars = validateVariables(validationResults);
-            validateData(numOfVars, validationResults);
-
-            if (validationResults.size() <= maxNumOfMsg) {
-                String infoMsg = String.format("There are %d cases and %d variables.", numOfCases, numOfVars);
-                ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, infoMsg);
-                result.setAttribute(ValidationAttribute.ROW_NUMBER, numOfCases);
-                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, numOfVars);
-                validationResults.add(result);
-            }
+            validate(collector);
         } catch (IOException exception) {
-            if (validationResults.size() <= maxNumOfMsg) {
-                String errMsg = String.format("Unable to read file %s.", dataFile.getFileName());
-                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, errMsg);
-                result.setAttribute(ValidationAttribute.FILE_NAME, dataFile.getFileName());
-                validationResults.add(result);
-            }
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, "Unable to read file %s.", dataFile.getFileName());
+            result.setAttribute(ValidationAttribute.FILE_NAME, dataFile.getFileName());
+            collector.add(result);
+        }
+
+        if (validationCache != null && !Thread.currentThread().isInterrupted()) {
+            validationCache.put(dataFile, cacheOptions, validationResults);
         }
 
         return validationResults;
     }
 
-    private void validateData(int numOfVars, List<ValidationResult> results) throws IOException {
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-
-            byte delimChar = delimiter.getByteValue();
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            int lineDataNum = 1;
-            int lineNum = 1;
-            int colNum = 0;
-            int rowNum = 1;
-
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && results.size() <= maxNumOfMsg && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
-
-                        if (hasSeenNonblankChar && !skip) {
-                            if (lineDataNum >= 3) {
-                                colNum++;
-                                String value = dataBuilder.toString().trim();
-
-                                if (colNum > rowNum) {
-                                    if (results.size() <= maxNumOfMsg) {
-                                        String errMsg = String.format(
-                                                "Line %d: Excess data.  Expect %d value(s) but encounter %d.",
-                                                lineNum, rowNum, colNum);
-                                        ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_EXCESS_DATA, errMsg);
-                                        result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                        result.setAttribute(ValidationAttribute.EXPECTED_COUNT, rowNum);
-                                        result.setAttribute(ValidationAttribute.ACTUAL_COUNT, colNum);
-                                        results.add(result);
-                                    }
-                                } else if (colNum < rowNum) {
-                                    if (results.size() <= maxNumOfMsg) {
-                                        String errMsg = String.format(
-                                                "Line %d: Insufficient data.  Expect %d value(s) but encounter %d.",
-                                                lineNum, rowNum, colNum);
-                                        ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, errMsg);
-                                        result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                        result.setAttribute(ValidationAttribute.EXPECTED_COUNT, rowNum);
-                                        result.setAttribute(ValidationAttribute.ACTUAL_COUNT, colNum);
-                                        results.add(result);
-                                    }
-                                } else {
-                                    if (value.isEmpty()) {
-                                        if (results.size() <= maxNumOfMsg) {
-                                            String errMsg = String.format("Line %d, column %d: Missing value.", lineNum, colNum);
-                                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                            results.add(result);
-                                        }
-                                    } else {
-                                        try {
-                                            Double.parseDouble(value);
-                                        } catch (NumberFormatException exception) {
-                                            if (results.size() <= maxNumOfMsg) {
-                                                String errMsg = String.format("Line %d, column %d: Invalid number %s.", lineNum, colNum, value);
-                                                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                                                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                                result.setAttribute(ValidationAttribute.VALUE, value);
-                                                results.add(result);
-                                            }
-                                        }
-                                    }
-                                }
-
-                                rowNum++;
-                            }
-
-                            lineDataNum++;
-                        }
-
-                        lineNum++;
-
-                        // clear data
-                        dataBuilder.delete(0, dataBuilder.length());
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        colNum = 0;
-                        checkForComment = comment.length > 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
-
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
-
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
-
-                        if (lineDataNum >= 3) {
-                            if (currChar == quoteCharacter) {
-                                hasQuoteChar = !hasQuoteChar;
-                            } else if (!hasQuoteChar) {
-                                boolean isDelimiter;
-                                switch (delimiter) {
-                                    case WHITESPACE:
-                                        isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                        break;
-                                    default:
-                                        isDelimiter = (currChar == delimChar);
-                                }
-
-                                if (isDelimiter) {
-                                    colNum++;
-                                    String value = dataBuilder.toString().trim();
-                                    dataBuilder.delete(0, dataBuilder.length());
-
-                                    if (colNum > rowNum) {
-                                        if (results.size() <= maxNumOfMsg) {
-                                            String errMsg = String.format(
-                                                    "Line %d: Excess data.  Expect %d value(s) but encounter %d.",
-                                                    lineNum, rowNum, colNum);
-                                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_EXCESS_DATA, errMsg);
-                                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                            result.setAttribute(ValidationAttribute.EXPECTED_COUNT, rowNum);
-                                            result.setAttribute(ValidationAttribute.ACTUAL_COUNT, colNum);
-                                            results.add(result);
-                                        }
-                                    } else {
-                                        if (value.isEmpty()) {
-                                            if (results.size() <= maxNumOfMsg) {
-                                                String errMsg = String.format("Line %d, column %d: Missing value.", lineNum, colNum);
-                                                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                                                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                                results.add(result);
-                                            }
-                                        } else {
-                                            try {
-                                                Double.parseDouble(value);
-                                            } catch (NumberFormatException exception) {
-                                                if (results.size() <= maxNumOfMsg) {
-                                                    String errMsg = String.format("Line %d, column %d: Invalid number %s.", lineNum, colNum, value);
-                                                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                                                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                                    result.setAttribute(ValidationAttribute.VALUE, value);
-                                                    results.add(result);
-                                                }
-                                            }
-                                        }
-                                    }
-                                } else {
-                                    dataBuilder.append((char) currChar);
-                                }
-                            }
-                        }
-                    }
+    @Override
+    public void setMaximumNumberOfErrors(int maxNumOfErrors) {
+        this.maxNumOfErrors = (maxNumOfErrors > 0) ? maxNumOfErrors : Integer.MAX_VALUE;
+    }
 
-                    prevChar = currChar;
-                }
-            }
+    @Override
+    public void setCheckMatrixProperties(boolean checkMatrixProperties) {
+        this.checkMatrixProperties = checkMatrixProperties;
+    }
 
-            if (hasSeenNonblankChar && !skip) {
-                if (lineDataNum >= 3) {
-                    colNum++;
-                    String value = dataBuilder.toString().trim();
-
-                    if (colNum > rowNum) {
-                        if (results.size() <= maxNumOfMsg) {
-                            String errMsg = String.format(
-                                    "Line %d: Excess data.  Expect %d value(s) but encounter %d.",
-                                    lineNum, rowNum, colNum);
-                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_EXCESS_DATA, errMsg);
-                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                            result.setAttribute(ValidationAttribute.EXPECTED_COUNT, rowNum);
-                            result.setAttribute(ValidationAttribute.ACTUAL_COUNT, colNum);
-                            results.add(result);
-                        }
-                    } else if (colNum < rowNum) {
-                        if (results.size() <= maxNumOfMsg) {
-                            String errMsg = String.format(
-                                    "Line %d: Insufficient data.  Expect %d value(s) but encounter %d.",
-                                    lineNum, rowNum, colNum);
-                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, errMsg);
-                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                            result.setAttribute(ValidationAttribute.EXPECTED_COUNT, rowNum);
-                            result.setAttribute(ValidationAttribute.ACTUAL_COUNT, colNum);
-                            results.add(result);
-                        }
+    /**
+     * @return all the settings the results of {@link #validate()} depend on
+     */
+    private String getCacheOptions() {
+        StringBuilder options = new StringBuilder();
+        options.append(getClass().getName()).append('\n');
+        options.append("delimiter=").append(delimiter).append('\n');
+        options.append("quoteCharacter=").append(quoteCharacter).append('\n');
+        options.append("commentMarker=").append(commentMarker).append('\n');
+        options.append("maxNumOfMsg=").append(maxNumOfMsg).append('\n');
+        options.append("maxNumOfErrors=").append(maxNumOfErrors).append('\n');
+        options.append("checkMatrixProperties=").append(checkMatrixProperties).append('\n');
+
+        return options.toString();
+    }
+
+    /**
+     * Validate the number of cases, the variables and the lower triangle in a
+     * single pass over the file.
+     *
+     * @param collector
+     * @throws IOException
+     */
+    private void validate(ResultCollector collector) throws IOException {
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        RowValidator rowValidator = null;
+        int numOfCases = 0;
+        int numOfVars = 0;
+        int numOfRows = 0;
+        int lineDataNum = 1;
+        int lastLineNum = 0;
+        int numOfHeaderErrors = 0;
+
+        // the bytes are counted in the data pass since the file is read once
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.VALIDATE_HEADER);
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, BUFFER_SIZE)) {
+            LineBlock block;
+            while (!collector.isFull() && !collector.isStopped() && (block = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                byte[] buffer = block.getBuffer();
+                int numOfLines = block.getNumberOfLines();
+                for (int line = 0; line < numOfLines && !collector.isFull() && !collector.isStopped(); line++) {
+                    int lineNum = block.getLineNumber(line);
+                    int start = block.getLineStart(line);
+                    int end = block.getLineEnd(line);
+                    if (lineDataNum == 1) {
+                        numOfCases = validateNumberOfCases(buffer, start, end, lineNum, collector);
+                    } else if (lineDataNum == 2) {
+                        numOfVars = validateVariables(buffer, start, end, lineNum, tokenizer, collector);
+                        rowValidator = new RowValidator(numOfVars, tokenizer, collector);
+
+                        numOfHeaderErrors = collector.getNumberOfErrors();
+                        pass.addParseErrors(numOfHeaderErrors);
+                        pass.end();
+                        pass = readMetrics.startPass(ReadPhase.VALIDATE_DATA);
+                        pass.setNumberOfColumns(numOfVars);
                     } else {
-                        if (value.isEmpty()) {
-                            if (results.size() <= maxNumOfMsg) {
-                                String errMsg = String.format("Line %d, column %d: Missing value.", lineNum, colNum);
-                                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                results.add(result);
-                            }
-                        } else {
-                            try {
-                                Double.parseDouble(value);
-                            } catch (NumberFormatException exception) {
-                                if (results.size() <= maxNumOfMsg) {
-                                    String errMsg = String.format("Line %d, column %d: Invalid number %s.", lineNum, colNum, value);
-                                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                    result.setAttribute(ValidationAttribute.VALUE, value);
-                                    results.add(result);
-                                }
-                            }
-                        }
+                        numOfRows++;
+                        rowValidator.validate(buffer, start, end, lineNum, numOfRows);
                     }
 
-                    rowNum++;
+                    lineDataNum++;
+                    lastLineNum = lineNum;
                 }
             }
 
-            rowNum--;  // minus the extra count for possibly the next line
-            if (rowNum > numOfVars) {
-                if (results.size() <= maxNumOfMsg) {
-                    String errMsg = String.format(
-                            "Excess data.  Expect %d row(s) but encounter %d.",
-                            numOfVars, rowNum);
-                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_EXCESS_DATA, errMsg);
-                    result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfVars);
-                    result.setAttribute(ValidationAttribute.ACTUAL_COUNT, rowNum);
-                    results.add(result);
+            if (!collector.isFull() && !collector.isStopped()) {
+                if (lineDataNum == 1) {
+                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, "Line %d: Missing number of cases.", reader.getLineNumber());
+                    result.setAttribute(ValidationAttribute.LINE_NUMBER, reader.getLineNumber());
+                    collector.add(result);
                 }
-            } else if (rowNum < numOfVars) {
-                if (results.size() <= maxNumOfMsg) {
-                    String errMsg = String.format(
-                            "Insufficient data.  Expect %d row(s) but encounter %d.",
-                            numOfVars, rowNum);
-                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_EXCESS_DATA, errMsg);
+                if (lineDataNum <= 2) {
+                    collector.add(new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, "Covariance file does not contain variable names."));
+                } else if (numOfRows > numOfVars) {
+                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_EXCESS_DATA, "Excess data.  Expect %d row(s) but encounter %d.", numOfVars, numOfRows);
+                    result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfVars);
+                    result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfRows);
+                    collector.add(result);
+                } else if (numOfRows < numOfVars) {
+                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_EXCESS_DATA, "Insufficient data.  Expect %d row(s) but encounter %d.", numOfVars, numOfRows);
                     result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfVars);
-                    result.setAttribute(ValidationAttribute.ACTUAL_COUNT, rowNum);
-                    results.add(result);
+                    result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfRows);
+                    collector.add(result);
                 }
             }
+
+            pass.addBytesRead(reader.getBytesRead());
+            pass.addRows(numOfRows);
+        } finally {
+            pass.addParseErrors(collector.getNumberOfErrors() - numOfHeaderErrors);
+            pass.end();
         }
-    }
 
-    private int validateVariables(List<ValidationResult> results) throws IOException {
-        int numOfVars = 0;
+        if (collector.isStopped()) {
+            ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_VALIDATION_STOPPED, "Line %d: Validation stopped.", lastLineNum);
+            result.setAttribute(ValidationAttribute.LINE_NUMBER, lastLineNum);
+            collector.add(result);
+        }
 
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-            boolean finished = false;
-
-            byte delimChar = delimiter.getByteValue();
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            int lineDataNum = 1;
-            int colNum = 0;
-            int lineNum = 1;
-
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !finished && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
-
-                        if (hasSeenNonblankChar && !skip) {
-                            if (lineDataNum == 2) {
-                                String value = dataBuilder.toString().trim();
-
-                                colNum++;
-                                if (value.isEmpty()) {
-                                    if (results.size() <= maxNumOfMsg) {
-                                        String errMsg = String.format("Line %d, column %d: Missing value.", lineNum, colNum);
-                                        ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                                        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                        result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                        results.add(result);
-                                    }
-                                }
-
-                                numOfVars++;
-
-                                finished = true;
-                            }
-
-                            lineDataNum++;
-                        }
-
-                        lineNum++;
-
-                        // clear data
-                        dataBuilder.delete(0, dataBuilder.length());
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        checkForComment = comment.length > 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
-
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
-
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
-
-                        if (lineDataNum == 2) {
-                            if (currChar == quoteCharacter) {
-                                hasQuoteChar = !hasQuoteChar;
-                            } else if (!hasQuoteChar) {
-                                boolean isDelimiter;
-                                switch (delimiter) {
-                                    case WHITESPACE:
-                                        isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                        break;
-                                    default:
-                                        isDelimiter = (currChar == delimChar);
-                                }
-
-                                if (isDelimiter) {
-                                    String value = dataBuilder.toString().trim();
-                                    dataBuilder.delete(0, dataBuilder.length());
-
-                                    colNum++;
-                                    if (value.isEmpty()) {
-                                        if (results.size() <= maxNumOfMsg) {
-                                            String errMsg = String.format("Line %d, column %d: Missing value.", lineNum, colNum);
-                                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                            results.add(result);
-                                        }
-                                    }
-
-                                    numOfVars++;
-                                } else {
-                                    dataBuilder.append((char) currChar);
-                                }
-                            }
-                        }
-                    }
+        ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, "There are %d cases and %d variables.", numOfCases, numOfVars);
+        result.setAttribute(ValidationAttribute.ROW_NUMBER, numOfCases);
+        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, numOfVars);
+        collector.add(result);
+    }
 
-                    prevChar = currChar;
-                }
+    private int validateNumberOfCases(byte[] buffer, int start, int end, int lineNum, ResultCollector collector) {
+        // the whole line without the quote characters
+        StringBuilder dataBuilder = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            if (buffer[i] != quoteCharacter) {
+                dataBuilder.append((char) buffer[i]);
             }
+        }
 
-            if (hasSeenNonblankChar && !skip) {
-                if (lineDataNum == 2) {
-                    String value = dataBuilder.toString().trim();
-                    dataBuilder.delete(0, dataBuilder.length());
-
-                    colNum++;
-                    if (value.isEmpty()) {
-                        if (results.size() <= maxNumOfMsg) {
-                            String errMsg = String.format("Line %d, column %d: Missing value.", lineNum, colNum);
-                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                            results.add(result);
-                        }
-                    }
+        String value = dataBuilder.toString().trim();
+        if (value.isEmpty()) {
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, "Line %d: Missing number of cases.", lineNum);
+            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+            collector.add(result);
 
-                    numOfVars++;
-                }
-            }
+            return 0;
         }
 
-        if (numOfVars == 0) {
-            if (results.size() <= maxNumOfMsg) {
-                String errMsg = "Covariance file does not contain variable names.";
-                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                results.add(result);
-            }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, "Line %d: Invalid number %s.", lineNum, value);
+            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+            result.setAttribute(ValidationAttribute.VALUE, value);
+            collector.add(result);
+
+            return 0;
         }
+    }
 
-        return numOfVars;
+    private int validateVariables(byte[] buffer, int start, int end, int lineNum, LineTokenizer tokenizer, ResultCollector collector) {
+        return tokenizer.tokenize(buffer, start, end, Integer.MAX_VALUE, (index, tokenStart, tokenEnd) -> {
+            if (tokenizer.toString(buffer, tokenStart, tokenEnd).isEmpty()) {
+                int colNum = index + 1;
+                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, "Line %d, column %d: Missing value.", lineNum, colNum);
+                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+                collector.add(result);
+            }
+        });
     }
 
-    private int validateNumberOfCases(List<ValidationResult> results) throws IOException {
-        int count = 0;
-
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-            boolean finished = false;
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            int lineNum = 1;
-
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !finished && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
-
-                        finished = hasSeenNonblankChar && !skip;
-                        if (!finished) {
-                            lineNum++;
-
-                            // clear data
-                            dataBuilder.delete(0, dataBuilder.length());
-
-                            // reset states
-                            skip = false;
-                            hasSeenNonblankChar = false;
-                            cmntIndex = 0;
-                            checkForComment = comment.length > 0;
-                        }
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
-
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
-
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
-
-                        if (currChar == quoteCharacter) {
-                            hasQuoteChar = !hasQuoteChar;
-                        } else if (!hasQuoteChar) {
-                            dataBuilder.append((char) currChar);
-                        }
-                    }
+    /**
+     * Validates the rows of the lower triangle. The n-th row holds n values,
+     * the last of which is the variance.
+     */
+    private final class RowValidator {
+
+        private final LineTokenizer tokenizer;
+        private final ResultCollector collector;
+
+        /**
+         * The variances of the rows validated so far, or null when the matrix
+         * properties are not checked.
+         */
+        private final double[] variances;
+
+        private int[] tokenStarts;
+        private int[] tokenEnds;
+        private double[] values;
+
+        public RowValidator(int numOfVars, LineTokenizer tokenizer, ResultCollector collector) {
+            this.tokenizer = tokenizer;
+            this.collector = collector;
+            this.variances = checkMatrixProperties ? new double[numOfVars] : null;
+            this.tokenStarts = new int[numOfVars + 1];
+            this.tokenEnds = new int[numOfVars + 1];
+            this.values = new double[numOfVars + 1];
+        }
 
-                    prevChar = currChar;
-                }
+        public void validate(byte[] buffer, int start, int end, int lineNum, int rowNum) {
+            if (tokenStarts.length <= rowNum) {
+                int length = Math.max(rowNum + 1, tokenStarts.length * 2);
+                tokenStarts = new int[length];
+                tokenEnds = new int[length];
+                values = new double[length];
             }
 
-            String value = dataBuilder.toString().trim();
-            if (value.isEmpty()) {
-                if (results.size() <= maxNumOfMsg) {
-                    String errMsg = String.format("Line %d: Missing number of cases.", lineNum);
-                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
+            int numOfTokens = tokenizer.tokenize(buffer, start, end, rowNum + 1, tokenStarts, tokenEnds, 0);
+            if (numOfTokens > rowNum) {
+                // the excess values are only counted
+                numOfTokens = tokenizer.tokenize(buffer, start, end, Integer.MAX_VALUE, (index, tokenStart, tokenEnd) -> {
+                });
+            }
+
+            int numOfValues = Math.min(numOfTokens, rowNum);
+            for (int i = 0; i < numOfValues; i++) {
+                int colNum = i + 1;
+                if (colNum == numOfTokens && colNum < rowNum) {
+                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, "Line %d: Insufficient data.  Expect %d value(s) but encounter %d.", lineNum, rowNum, colNum);
                     result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                    results.add(result);
+                    result.setAttribute(ValidationAttribute.EXPECTED_COUNT, rowNum);
+                    result.setAttribute(ValidationAttribute.ACTUAL_COUNT, colNum);
+                    collector.add(result);
+
+                    return;
                 }
-            } else {
-                try {
-                    count += Integer.parseInt(value);
-                } catch (NumberFormatException exception) {
-                    if (results.size() <= maxNumOfMsg) {
-                        String errMsg = String.format("Line %d: Invalid number %s.", lineNum, value);
-                        ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
+
+                values[i] = validateValue(buffer, tokenStarts[i], tokenEnds[i], lineNum, colNum);
+            }
+
+            for (int colNum = rowNum + 1; colNum <= numOfTokens; colNum++) {
+                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_EXCESS_DATA, "Line %d: Excess data.  Expect %d value(s) but encounter %d.", lineNum, rowNum, colNum);
+                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+                result.setAttribute(ValidationAttribute.EXPECTED_COUNT, rowNum);
+                result.setAttribute(ValidationAttribute.ACTUAL_COUNT, colNum);
+                collector.add(result);
+            }
+
+            if (variances != null && rowNum <= variances.length) {
+                validateMatrixProperties(buffer, lineNum, rowNum);
+            }
+        }
+
+        /**
+         * Check that the variance is positive and that no covariance implies a
+         * correlation outside of [-1, 1].
+         */
+        private void validateMatrixProperties(byte[] buffer, int lineNum, int rowNum) {
+            int diag = rowNum - 1;
+            double variance = values[diag];
+            variances[diag] = variance;
+
+            if (variance > 0) {
+                for (int i = 0; i < diag; i++) {
+                    double covariance = values[i];
+                    if (variances[i] > 0 && Math.abs(covariance) > Math.sqrt(variance * variances[i]) * (1 + CORRELATION_TOLERANCE)) {
+                        int colNum = i + 1;
+                        String value = tokenizer.toString(buffer, tokenStarts[i], tokenEnds[i]);
+                        ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_COVARIANCE, "Line %d, column %d: Covariance %s implies a correlation outside of [-1, 1].", lineNum, colNum, value);
+                        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
                         result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
                         result.setAttribute(ValidationAttribute.VALUE, value);
-                        results.add(result);
+                        collector.add(result);
                     }
                 }
+            } else if (!Double.isNaN(variance)) {
+                String value = tokenizer.toString(buffer, tokenStarts[diag], tokenEnds[diag]);
+                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_COVARIANCE, "Line %d, column %d: Variance %s is not positive.", lineNum, rowNum, value);
+                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, rowNum);
+                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+                result.setAttribute(ValidationAttribute.VALUE, value);
+                collector.add(result);
+            }
+        }
+
+        /**
+         * @return the number, or NaN if the value is missing or not a number
+         */
+        private double validateValue(byte[] buffer, int tokenStart, int tokenEnd, int lineNum, int colNum) {
+            String value = tokenizer.toString(buffer, tokenStart, tokenEnd);
+            if (value.isEmpty()) {
+                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, "Line %d, column %d: Missing value.", lineNum, colNum);
+                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+                collector.add(result);
+
+                return Double.NaN;
+            }
+
+            if (!NumberRecognizer.isNumber(value)) {
+                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, "Line %d, column %d: Invalid number %s.", lineNum, colNum, value);
+                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+                result.setAttribute(ValidationAttribute.VALUE, value);
+                collector.add(result);
+
+                return Double.NaN;
             }
+
+            return (variances == null) ? 0 : Double.parseDouble(value);
+        }
+
+    }
+
+    /**
+     * Counts the errors and keeps the messages up to the maximum number of
+     * messages.
+     */
+    private final class ResultCollector {
+
+        private final List<ValidationResult> results;
+
+        private int numOfErrors;
+
+        public ResultCollector(List<ValidationResult> results) {
+            this.results = results;
+        }
+
+        public void add(ValidationResult result) {
+            if (result.getCode() == ValidationCode.ERROR) {
+                numOfErrors++;
+            }
+            if (results.size() <= maxNumOfMsg) {
+                results.add(result);
+            }
+        }
+
+        public boolean isFull() {
+            return results.size() > maxNumOfMsg;
+        }
+
+        public boolean isStopped() {
+            return numOfErrors >= maxNumOfErrors;
+        }
+
+        public int getNumberOfErrors() {
+            return numOfErrors;
         }
 
-        return count;
     }
 
 }
@@ -19,22 +19,36 @@
 package edu.pitt.dbmi.data.reader.validation.tabular;
 
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
 import edu.pitt.dbmi.data.reader.tabular.AbstractTabularColumnFileReader;
 import edu.pitt.dbmi.data.reader.util.Columns;
+import edu.pitt.dbmi.data.reader.util.LineBlock;
+import edu.pitt.dbmi.data.reader.util.LineBlockReader;
+import edu.pitt.dbmi.data.reader.util.LineTokenizer;
 import edu.pitt.dbmi.data.reader.validation.MessageType;
 import edu.pitt.dbmi.data.reader.validation.ValidationAttribute;
+import edu.pitt.dbmi.data.reader.validation.ValidationCache;
 import edu.pitt.dbmi.data.reader.validation.ValidationCode;
 import edu.pitt.dbmi.data.reader.validation.ValidationResult;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
 
 /**
  *
@@ -44,11 +58,23 @@ import java.util.Set;
  */
 public class TabularColumnFileValidation extends AbstractTabularColumnFileReader implements TabularColumnValidation {
 
+    /**
+     * A header with fewer columns per thread is checked on one thread.
+     */
+    private static final int MIN_NUMBER_OF_COLUMNS_PER_TASK = 16 * 1024;
+
+    private static final byte EXCLUDED = 1;
+    private static final byte BLANK_NAME = 2;
+    private static final byte DUPLICATE_NAME = 3;
+
     private int maxNumOfMsg;
+    private int numberOfThreads;
+    private ValidationCache validationCache;
 
     public TabularColumnFileValidation(Path dataFile, Delimiter delimiter) {
         super(dataFile, delimiter);
         this.maxNumOfMsg = Integer.MAX_VALUE;
+        this.numberOfThreads = 1;
     }
 
     @Override
@@ -58,218 +84,254 @@ public class TabularColumnFileValidation extends AbstractTabularColumnFileReader
 
     @Override
     public List<ValidationResult> validate(int[] excludedColumns) {
+        BitSet excludedCols = Columns.toBitSet(excludedColumns);
+        String cacheOptions = getCacheOptions("excludedColumns=" + excludedCols);
+        List<ValidationResult> cachedResults = getCachedResults(cacheOptions);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         List<ValidationResult> results = new LinkedList<>();
 
         try {
-            int numOfCols = countNumberOfColumns();
-            int[] excludedCols = Columns.sortNew(excludedColumns);
-            int[] validCols = Columns.extractValidColumnNumbers(numOfCols, excludedCols);
-
-            validateColumns(validCols, results);
+            validateColumns(excludedCols, Collections.emptySet(), results);
         } catch (IOException exception) {
             if (results.size() <= maxNumOfMsg) {
-                String errMsg = String.format("Unable to read file %s.", dataFile.getFileName());
-                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, errMsg);
+                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, "Unable to read file %s.", dataFile.getFileName());
                 result.setAttribute(ValidationAttribute.FILE_NAME, dataFile.getFileName());
                 results.add(result);
             }
         }
+        cacheResults(cacheOptions, results);
 
         return results;
     }
 
     @Override
     public List<ValidationResult> validate(Set<String> excludedColumns) {
+        String cacheOptions = getCacheOptions("excludedColumnNames=" + ((excludedColumns == null) ? "[]" : new TreeSet<>(excludedColumns)));
+        List<ValidationResult> cachedResults = getCachedResults(cacheOptions);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         List<ValidationResult> results = new LinkedList<>();
 
         try {
-            if (excludedColumns == null || excludedColumns.isEmpty()) {
-                validateColumns(new int[0], results);
-            } else {
-                Set<String> modifiedExcludedCols = new HashSet<>();
-                if (Character.isDefined(quoteCharacter)) {
-                    excludedColumns.stream()
-                            .map(e -> e.trim())
-                            .filter(e -> !e.isEmpty())
-                            .forEach(e -> modifiedExcludedCols.add(stripCharacter(e, quoteCharacter)));
-                } else {
-                    excludedColumns.stream()
-                            .map(e -> e.trim())
-                            .filter(e -> !e.isEmpty())
-                            .forEach(e -> modifiedExcludedCols.add(e));
-                }
-
-                int[] excludedCols = toColumnNumbers(modifiedExcludedCols);
-
-                validateColumns(excludedCols, results);
-            }
+            validateColumns(new BitSet(), cleanColumnNames(excludedColumns), results);
         } catch (IOException exception) {
             if (results.size() <= maxNumOfMsg) {
-                String errMsg = String.format("Unable to read file %s.", dataFile.getFileName());
-                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, errMsg);
+                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, "Unable to read file %s.", dataFile.getFileName());
                 result.setAttribute(ValidationAttribute.FILE_NAME, dataFile.getFileName());
                 results.add(result);
             }
         }
+        cacheResults(cacheOptions, results);
 
         return results;
     }
 
-    private void validateColumns(int[] excludedColumns, List<ValidationResult> results) throws IOException {
+    /**
+     * Read the header once and check its names. The columns are excluded by
+     * their numbers or their names while the header is read.
+     *
+     * @param excludedColumns the numbers of the columns to exclude
+     * @param excludedNames the names of the columns to exclude, as returned by
+     * {@link #cleanColumnNames(java.util.Set)}
+     * @param results
+     * @throws IOException
+     */
+    private void validateColumns(BitSet excludedColumns, Set<String> excludedNames, List<ValidationResult> results) throws IOException {
         int numOfVars = 0;
 
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-            boolean finished = false;
-
-            byte delimChar = delimiter.getByteValue();
-            byte prevChar = -1;
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            // excluded columns check
-            int numOfExCols = excludedColumns.length;
-            int exColsIndex = 0;
-
-            int colNum = 0;
-            int lineNum = 1;
-            StringBuilder dataBuilder = new StringBuilder();
-
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !finished && !Thread.currentThread().isInterrupted()) {
-                for (int i = 0; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        finished = hasSeenNonblankChar && !skip;
-                        if (finished) {
-                            String value = dataBuilder.toString().trim();
-                            dataBuilder.delete(0, dataBuilder.length());
-
-                            colNum++;
-                            if (numOfExCols == 0 || exColsIndex >= numOfExCols || colNum != excludedColumns[exColsIndex]) {
-                                numOfVars++;
-                                if (value.isEmpty()) {
-                                    String errMsg = String.format("Line %d, column %d: Missing variable name.", lineNum, colNum);
-                                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                    results.add(result);
-                                }
-                            }
-                        } else {
-                            dataBuilder.delete(0, dataBuilder.length());
-                        }
+        int numOfResults = results.size();
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.VALIDATE_HEADER);
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, BUFFER_SIZE)) {
+            LineBlock block = reader.next();
+            if (block != null && !Thread.currentThread().isInterrupted()) {
+                LineTokenizer tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+                HeaderNames names = new HeaderNames(tokenizer, block.getBuffer(), block.getLineStart(0), block.getLineEnd(0));
+                numOfVars = validateNames(names, block.getLineNumber(0), excludedColumns, new ExcludedNames(excludedNames), results, pass);
+            }
+            pass.addBytesRead(reader.getBytesRead());
+        } finally {
+            pass.addParseErrors(countErrors(results, numOfResults));
+            pass.end();
+        }
 
-                        lineNum++;
+        if (numOfVars <= 0) {
+            String errMsg = "No variable was read in.";
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
+            results.add(result);
+        }
 
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        checkForComment = comment.length > 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
+        ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, "There are %d variables.", numOfVars);
+        results.add(result);
+    }
 
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
+    /**
+     * Check the names of the header for blanks and duplicates. The names are
+     * compared by the hash of their bytes, without making a string of each of
+     * them. A wide header is split into ranges of columns checked on several
+     * threads, and the duplicates are then found on several threads, each
+     * looking at the names whose hash falls in its own part.
+     *
+     * @param names
+     * @param lineNum the line number of the header
+     * @param excludedColumns
+     * @param excludedNames
+     * @param results
+     * @param pass the pass the heap allocated by the workers is counted with
+     * @return the number of columns not excluded
+     * @throws IOException
+     */
+    private int validateNames(HeaderNames names, int lineNum, BitSet excludedColumns, ExcludedNames excludedNames, List<ValidationResult> results, ReadMetrics.Pass pass) throws IOException {
+        int numOfCols = names.size();
+        byte[] problems = new byte[numOfCols];
+        long[] hashes = new long[numOfCols];
+
+        int numOfTasks = Math.max(1, Math.min(numberOfThreads, numOfCols / MIN_NUMBER_OF_COLUMNS_PER_TASK));
+        ExecutorService pool = (numOfTasks > 1) ? Executors.newFixedThreadPool(numOfTasks) : null;
+        try {
+            runTasks(pool, pass, numOfTasks, task -> {
+                int from = (int) ((long) numOfCols * task / numOfTasks);
+                int to = (int) ((long) numOfCols * (task + 1) / numOfTasks);
+                for (int i = from; i < to; i++) {
+                    if (excludedColumns.get(i + 1)) {
+                        problems[i] = EXCLUDED;
+                    } else if (names.isBlank(i)) {
+                        problems[i] = BLANK_NAME;
+                    } else {
+                        hashes[i] = names.hash(i);
+                        if (excludedNames.contains(names, i, hashes[i])) {
+                            problems[i] = EXCLUDED;
                         }
+                    }
+                }
+            });
+
+            // the first column with a name keeps it, the others are duplicates
+            runTasks(pool, pass, numOfTasks, task -> {
+                int[] table = new int[Integer.highestOneBit(Math.max(1, (numOfCols / numOfTasks) * 2)) * 2];
+                int numOfEntries = 0;
+                for (int i = 0; i < numOfCols; i++) {
+                    long hash = hashes[i];
+                    if (problems[i] != 0 || (int) ((hash >>> 32) & Integer.MAX_VALUE) % numOfTasks != task) {
+                        continue;
+                    }
 
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
+                    if (numOfEntries * 2 >= table.length) {
+                        table = rehash(table, hashes);
+                    }
 
-                        if (currChar == quoteCharacter) {
-                            hasQuoteChar = !hasQuoteChar;
-                        } else {
-                            if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
-                            } else {
-                                boolean isDelimiter;
-                                switch (delimiter) {
-                                    case WHITESPACE:
-                                        isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                        break;
-                                    default:
-                                        isDelimiter = (currChar == delimChar);
-                                }
-
-                                if (isDelimiter) {
-                                    String value = dataBuilder.toString().trim();
-                                    dataBuilder.delete(0, dataBuilder.length());
-
-                                    colNum++;
-                                    if (numOfExCols > 0 && (exColsIndex < numOfExCols && colNum == excludedColumns[exColsIndex])) {
-                                        exColsIndex++;
-                                    } else {
-                                        numOfVars++;
-                                        if (value.isEmpty()) {
-                                            String errMsg = String.format("Line %d, column %d: Missing variable name.", lineNum, colNum);
-                                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                            results.add(result);
-                                        }
-                                    }
-
-                                } else {
-                                    dataBuilder.append((char) currChar);
-                                }
-                            }
+                    int mask = table.length - 1;
+                    int slot = (int) hash & mask;
+                    while (table[slot] != 0) {
+                        int col = table[slot] - 1;
+                        if (hashes[col] == hash && names.isSameName(col, i)) {
+                            problems[i] = DUPLICATE_NAME;
+                            break;
                         }
+                        slot = (slot + 1) & mask;
+                    }
+                    if (table[slot] == 0) {
+                        table[slot] = i + 1;
+                        numOfEntries++;
                     }
+                }
+            });
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
 
-                    prevChar = currChar;
+        int numOfVars = 0;
+        for (int i = 0; i < numOfCols; i++) {
+            int colNum = i + 1;
+            switch (problems[i]) {
+                case EXCLUDED:
+                    continue;
+                case BLANK_NAME: {
+                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, "Line %d, column %d: Missing variable name.", lineNum, colNum);
+                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+                    results.add(result);
+                    break;
+                }
+                case DUPLICATE_NAME: {
+                    String name = names.getName(i);
+                    ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_DUPLICATE_NAME, "Line %d, column %d: Duplicate variable name %s.", lineNum, colNum, name);
+                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+                    result.setAttribute(ValidationAttribute.VALUE, name);
+                    results.add(result);
+                    break;
                 }
+                default:
             }
+            numOfVars++;
+        }
 
-            finished = hasSeenNonblankChar && !skip;
-            if (finished) {
-                String value = dataBuilder.toString().trim();
-                dataBuilder.delete(0, dataBuilder.length());
-
-                colNum++;
-                if (numOfExCols == 0 || exColsIndex >= numOfExCols || colNum != excludedColumns[exColsIndex]) {
-                    numOfVars++;
-                    if (value.isEmpty()) {
-                        String errMsg = String.format("Line %d, column %d: Missing variable name.", lineNum, colNum);
-                        ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-                        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                        result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                        results.add(result);
-                    }
+        return numOfVars;
+    }
+
+    private static int[] rehash(int[] table, long[] hashes) {
+        int[] newTable = new int[table.length * 2];
+        int mask = newTable.length - 1;
+        for (int entry : table) {
+            if (entry != 0) {
+                int slot = (int) hashes[entry - 1] & mask;
+                while (newTable[slot] != 0) {
+                    slot = (slot + 1) & mask;
                 }
+                newTable[slot] = entry;
             }
         }
 
-        if (numOfVars <= 0) {
-            String errMsg = "No variable was read in.";
-            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_MISSING_VALUE, errMsg);
-            results.add(result);
+        return newTable;
+    }
+
+    /**
+     * Run the tasks numbered from 0 to numOfTasks - 1 on the pool, or on the
+     * calling thread if there is no pool, and wait for all of them.
+     */
+    private void runTasks(ExecutorService pool, ReadMetrics.Pass pass, int numOfTasks, IntConsumer task) throws IOException {
+        if (pool == null) {
+            for (int i = 0; i < numOfTasks; i++) {
+                task.accept(i);
+            }
+
+            return;
         }
 
-        String infoMsg = String.format("There are %d variables.", numOfVars);
-        ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, infoMsg);
-        results.add(result);
+        List<Future<?>> futures = new ArrayList<>(numOfTasks);
+        for (int i = 0; i < numOfTasks; i++) {
+            final int taskNum = i;
+            futures.add(pool.submit(pass.track(() -> task.accept(taskNum))));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Data validation was interrupted.");
+        } catch (ExecutionException exception) {
+            throw new IOException(String.format("Unable to validate file %s.", dataFile.getFileName()), exception.getCause());
+        }
+    }
+
+    /**
+     * Set the number of threads used to check the names of a wide header. The
+     * results are the same as checking them on one thread. The default is
+     * one.
+     *
+     * @param numberOfThreads
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
     }
 
     @Override
@@ -277,4 +339,221 @@ public class TabularColumnFileValidation extends AbstractTabularColumnFileReader
         this.maxNumOfMsg = maxNumOfMsg;
     }
 
+    @Override
+    public void setValidationCache(ValidationCache validationCache) {
+        this.validationCache = validationCache;
+    }
+
+    /**
+     * @param excludedColumns the columns excluded from the validation
+     * @return all the settings the results of the validation depend on
+     */
+    private String getCacheOptions(String excludedColumns) {
+        StringBuilder options = new StringBuilder();
+        options.append(getClass().getName()).append('\n');
+        options.append("delimiter=").append(delimiter).append('\n');
+        options.append("quoteCharacter=").append(quoteCharacter).append('\n');
+        options.append("commentMarker=").append(commentMarker).append('\n');
+        options.append("maxNumOfMsg=").append(maxNumOfMsg).append('\n');
+        options.append(excludedColumns).append('\n');
+
+        return options.toString();
+    }
+
+    private List<ValidationResult> getCachedResults(String cacheOptions) {
+        return (validationCache == null) ? null : validationCache.get(dataFile, cacheOptions);
+    }
+
+    private void cacheResults(String cacheOptions, List<ValidationResult> results) {
+        if (validationCache != null && !Thread.currentThread().isInterrupted()) {
+            validationCache.put(dataFile, cacheOptions, results);
+        }
+    }
+
+    private static long countErrors(List<ValidationResult> results, int fromIndex) {
+        long count = 0;
+        for (int i = fromIndex; i < results.size(); i++) {
+            if (results.get(i).getCode() == ValidationCode.ERROR) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * The names of the columns to exclude, kept as their bytes sorted by hash
+     * so that a name of the header is looked up without making a string of
+     * it.
+     */
+    private static final class ExcludedNames {
+
+        private final long[] hashes;
+        private final byte[][] names;
+
+        public ExcludedNames(Set<String> columnNames) {
+            // a name of the header never has a character outside of ISO-8859-1
+            List<byte[]> bytes = new ArrayList<>(columnNames.size());
+            columnNames.stream()
+                    .filter(StandardCharsets.ISO_8859_1.newEncoder()::canEncode)
+                    .map(e -> e.getBytes(StandardCharsets.ISO_8859_1))
+                    .sorted(Comparator.comparingLong(e -> HeaderNames.hash(e, 0, e.length)))
+                    .forEach(bytes::add);
+
+            this.names = bytes.toArray(new byte[bytes.size()][]);
+            this.hashes = new long[names.length];
+            for (int i = 0; i < names.length; i++) {
+                hashes[i] = HeaderNames.hash(names[i], 0, names[i].length);
+            }
+        }
+
+        /**
+         * True if the name of the column of the header is one of the excluded
+         * names.
+         *
+         * @param headerNames
+         * @param index the index of the column in the header
+         * @param hash the hash of the name of the column
+         */
+        public boolean contains(HeaderNames headerNames, int index, long hash) {
+            if (names.length == 0) {
+                return false;
+            }
+
+            int i = Arrays.binarySearch(hashes, hash);
+            if (i < 0) {
+                return false;
+            }
+            while (i > 0 && hashes[i - 1] == hash) {
+                i--;
+            }
+            for (; i < names.length && hashes[i] == hash; i++) {
+                if (headerNames.isName(index, names[i])) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+    }
+
+    /**
+     * The names of a header line, kept as the bounds of their bytes in the
+     * buffer of the line.
+     */
+    private static final class HeaderNames {
+
+        private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        private final LineTokenizer tokenizer;
+        private final byte[] buffer;
+
+        private int[] starts = new int[1024];
+        private int[] ends = new int[1024];
+        private int size;
+
+        public HeaderNames(LineTokenizer tokenizer, byte[] buffer, int start, int end) {
+            this.tokenizer = tokenizer;
+            this.buffer = buffer;
+            tokenizer.tokenize(buffer, start, end, Integer.MAX_VALUE, (index, tokenStart, tokenEnd) -> {
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    ends = Arrays.copyOf(ends, size * 2);
+                }
+                starts[size] = tokenStart;
+                ends[size] = tokenEnd;
+                size++;
+            });
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public String getName(int index) {
+            return tokenizer.toString(buffer, starts[index], ends[index]);
+        }
+
+        public boolean isBlank(int index) {
+            return (starts[index] >= 0)
+                    ? starts[index] == ends[index]
+                    : getName(index).isEmpty();
+        }
+
+        /**
+         * FNV-1a hash of the bytes of the name, without the quotes.
+         */
+        public long hash(int index) {
+            byte[] bytes = buffer;
+            int start = starts[index];
+            int end = ends[index];
+            if (start < 0) {
+                bytes = getName(index).getBytes(StandardCharsets.ISO_8859_1);
+                start = 0;
+                end = bytes.length;
+            }
+
+            return hash(bytes, start, end);
+        }
+
+        /**
+         * FNV-1a hash of the bytes from start to end.
+         */
+        public static long hash(byte[] bytes, int start, int end) {
+            long hash = FNV_OFFSET_BASIS;
+            for (int i = start; i < end; i++) {
+                hash ^= bytes[i] & 0xFF;
+                hash *= FNV_PRIME;
+            }
+
+            // spread the high bits to the low bits used by the hash table
+            return hash ^ (hash >>> 29);
+        }
+
+        /**
+         * True if the name, without the quotes, has the given bytes.
+         */
+        public boolean isName(int index, byte[] name) {
+            int start = starts[index];
+            if (start < 0) {
+                return getName(index).equals(new String(name, StandardCharsets.ISO_8859_1));
+            }
+
+            int length = ends[index] - start;
+            if (length != name.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer[start + i] != name[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        public boolean isSameName(int index1, int index2) {
+            int start1 = starts[index1];
+            int start2 = starts[index2];
+            if (start1 < 0 || start2 < 0) {
+                return getName(index1).equals(getName(index2));
+            }
+
+            int length = ends[index1] - start1;
+            if (length != ends[index2] - start2) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer[start1 + i] != buffer[start2 + i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
 }
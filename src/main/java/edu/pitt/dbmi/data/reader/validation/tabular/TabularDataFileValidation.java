@@ -18,20 +18,41 @@
  */
 package edu.pitt.dbmi.data.reader.validation.tabular;
 
+import edu.pitt.dbmi.data.reader.Data;
 import edu.pitt.dbmi.data.reader.DataColumn;
 import edu.pitt.dbmi.data.reader.DatasetFileReader;
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import edu.pitt.dbmi.data.reader.tabular.TabularDataBuilder;
+import edu.pitt.dbmi.data.reader.util.ColumnSelection;
+import edu.pitt.dbmi.data.reader.util.LineBlock;
+import edu.pitt.dbmi.data.reader.util.LineBlockReader;
+import edu.pitt.dbmi.data.reader.util.LineTokenizer;
+import edu.pitt.dbmi.data.reader.util.NumberRecognizer;
 import edu.pitt.dbmi.data.reader.validation.MessageType;
+import edu.pitt.dbmi.data.reader.validation.ProgressiveValidationListener;
+import edu.pitt.dbmi.data.reader.validation.ValidatedData;
 import edu.pitt.dbmi.data.reader.validation.ValidationAttribute;
+import edu.pitt.dbmi.data.reader.validation.ValidationCache;
 import edu.pitt.dbmi.data.reader.validation.ValidationCode;
+import edu.pitt.dbmi.data.reader.validation.ValidationListener;
 import edu.pitt.dbmi.data.reader.validation.ValidationResult;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -41,878 +62,867 @@ import java.util.List;
  */
 public class TabularDataFileValidation extends DatasetFileReader implements TabularDataValidation {
 
+    // the sample reads at most 1 MB whatever the size of the file
+    private static final int NUMBER_OF_SAMPLE_BLOCKS = 16;
+    private static final int SAMPLE_BLOCK_SIZE = 64 * 1024;
+
     private int maxNumOfMsg;
+    private int maxNumOfErrors;
+    private long timeLimit;
+    private int numberOfThreads;
+    private int numOfExamples;
+    private ValidationListener listener;
+    private ValidationCache validationCache;
 
     public TabularDataFileValidation(Path dataFile, Delimiter delimiter) {
         super(dataFile, delimiter);
         this.maxNumOfMsg = Integer.MAX_VALUE;
+        this.maxNumOfErrors = Integer.MAX_VALUE;
+        this.numberOfThreads = 1;
+        this.numOfExamples = TabularValidationReport.DEFAULT_NUMBER_OF_EXAMPLES;
     }
 
     @Override
     public List<ValidationResult> validate(DataColumn[] dataColumns, boolean hasHeader) {
         List<ValidationResult> results = new LinkedList<>();
+        if (dataColumns.length == 0) {
+            return results;
+        }
 
-        boolean isDiscrete = false;
-        boolean isContinuous = false;
-        for (DataColumn dataColumn : dataColumns) {
-            if (dataColumn.isDiscrete()) {
-                isDiscrete = true;
-            } else {
-                isContinuous = true;
-            }
+        // results stopped by the time limit depend on the machine
+        boolean useCache = validationCache != null && timeLimit == 0;
+        String cacheOptions = useCache ? getCacheOptions(dataColumns, hasHeader) : null;
+        if (useCache) {
+            List<ValidationResult> cachedResults = validationCache.get(dataFile, cacheOptions);
+            if (cachedResults != null) {
+                if (listener != null) {
+                    cachedResults.forEach(listener::resultAdded);
+                }
 
-            if (isDiscrete && isContinuous) {
-                break;
+                return cachedResults;
             }
         }
 
+        ResultCollector collector = new ResultCollector(results);
         try {
-            if (isDiscrete && isContinuous) {
-                validateMixedData(dataColumns, hasHeader, results);
-            } else if (isContinuous) {
-                validateContinuousData(dataColumns, hasHeader, results);
-            } else if (isDiscrete) {
-                validateDiscreteData(dataColumns, hasHeader, results);
-            } else {
-                // do nothing because dataColumns is empty
-            }
+            validate(dataColumns, hasHeader, collector, null);
         } catch (IOException exception) {
-            if (results.size() <= maxNumOfMsg) {
-                String errMsg = String.format("Unable to read file %s.", dataFile.getFileName());
-                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, errMsg);
-                result.setAttribute(ValidationAttribute.FILE_NAME, dataFile.getFileName());
-                results.add(result);
-            }
+            collector.addFileError();
+        }
+
+        if (useCache && !Thread.currentThread().isInterrupted()) {
+            validationCache.put(dataFile, cacheOptions, results);
         }
 
         return results;
     }
 
-    private void validateDiscreteData(DataColumn[] dataColumns, boolean hasHeader, List<ValidationResult> results) throws IOException {
-        int numOfCols = dataColumns.length;
-        int numOfRows = 0;
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skipHeader = hasHeader;
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
-
-            byte delimChar = delimiter.getByteValue();
-
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
-
-            int colNum = 0;
-            int lineNum = 1;
+    @Override
+    public ValidatedData validateAndRead(DataColumn[] dataColumns, boolean hasHeader) {
+        List<ValidationResult> results = new LinkedList<>();
 
-            int columnIndex = 0;
+        ResultCollector collector = new ResultCollector(results);
+        Data data = null;
+        try {
+            data = validate(dataColumns, hasHeader, collector, new TabularDataBuilder(dataColumns));
+        } catch (IOException exception) {
+            collector.addFileError();
+        }
 
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
-                int i = 0; // buffer array index
+        return new ValidatedData(results, data);
+    }
 
-                if (skipHeader) {
-                    boolean finished = false;
-                    for (; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                        byte currChar = buffer[i];
-
-                        if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                            if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                                prevChar = currChar;
-                                continue;
-                            }
+    @Override
+    public TabularValidationReport validateToReport(DataColumn[] dataColumns, boolean hasHeader) {
+        TabularValidationReport report = new TabularValidationReport(dataColumns, numOfExamples);
+        try {
+            validate(dataColumns, hasHeader, report);
+        } catch (IOException exception) {
+            report.setUnreadableFile(dataFile.getFileName());
+        }
 
-                            finished = hasSeenNonblankChar && !skip;
-                            if (finished) {
-                                skipHeader = false;
-                            }
+        return report;
+    }
 
-                            lineNum++;
+    @Override
+    public Future<List<ValidationResult>> validateProgressively(DataColumn[] dataColumns, boolean hasHeader, ProgressiveValidationListener progressListener) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                if (!progressListener.sampleValidated(validateSample(dataColumns, hasHeader))) {
+                    return null;
+                }
 
-                            // reset states
-                            skip = false;
-                            hasSeenNonblankChar = false;
-                            cmntIndex = 0;
-                            checkForComment = comment.length > 0;
-                        } else if (!skip) {
-                            if (currChar > SPACE_CHAR) {
-                                hasSeenNonblankChar = true;
-                            }
+                List<ValidationResult> results = validate(dataColumns, hasHeader);
+                if (!Thread.currentThread().isInterrupted()) {
+                    progressListener.fileValidated(results);
+                }
 
-                            // skip blank chars at the begining of the line
-                            if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                                continue;
-                            }
+                return results;
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-                            // check for comment marker to skip line
-                            if (checkForComment) {
-                                if (currChar == comment[cmntIndex]) {
-                                    cmntIndex++;
-                                    if (cmntIndex == comment.length) {
-                                        skip = true;
-                                        prevChar = currChar;
-                                        continue;
-                                    }
-                                } else {
-                                    checkForComment = false;
-                                }
-                            }
-                        }
+    /**
+     * Validate the complete lines of blocks spread evenly across the file. A
+     * file no larger than the sample is validated whole.
+     *
+     * @param dataColumns
+     * @param hasHeader
+     * @return the results of the lines of the sample, followed by a summary
+     */
+    private List<ValidationResult> validateSample(DataColumn[] dataColumns, boolean hasHeader) {
+        List<ValidationResult> results = new LinkedList<>();
+        if (dataColumns.length == 0) {
+            return results;
+        }
 
-                        prevChar = currChar;
+        SampleResultList sampleResults = new SampleResultList();
+        int numOfLines = 0;
+        int numOfBlocks = 0;
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.VALIDATE_DATA);
+        pass.setNumberOfColumns(dataColumns.length);
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            boolean isWholeFile = fileSize <= (long) NUMBER_OF_SAMPLE_BLOCKS * SAMPLE_BLOCK_SIZE;
+            numOfBlocks = isWholeFile ? 1 : NUMBER_OF_SAMPLE_BLOCKS;
+            int blockSize = isWholeFile ? (int) fileSize : SAMPLE_BLOCK_SIZE;
+
+            LineValidator validator = new LineValidator(dataColumns);
+            for (int i = 0; i < numOfBlocks && !Thread.currentThread().isInterrupted(); i++) {
+                // the last block ends at the end of the file
+                long position = (numOfBlocks == 1) ? 0 : (fileSize - blockSize) * i / (numOfBlocks - 1);
+
+                // the byte before the block tells if it starts with a complete line
+                long blockStart = (position > 0) ? position - 1 : 0;
+                byte[] buffer = new byte[(int) (position + blockSize - blockStart)];
+                int length = read(channel, blockStart, buffer);
+                pass.addBytesRead(length);
+
+                // keep the lines from after the first line terminator up to the last one
+                int from = 0;
+                if (blockStart > 0) {
+                    while (from < buffer.length && buffer[from] != LINE_FEED && buffer[from] != CARRIAGE_RETURN) {
+                        from++;
                     }
+                    from++;
+                }
+                int to = length;
+                if (blockStart + to < fileSize) {
+                    while (to > from && buffer[to - 1] != LINE_FEED && buffer[to - 1] != CARRIAGE_RETURN) {
+                        to--;
+                    }
+                }
+                if (from >= to) {
+                    continue;
                 }
 
-                for (; i < len && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
-
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
+                try (LineBlockReader reader = new LineBlockReader(new ByteArrayInputStream(buffer, from, to - from), commentMarker, to - from + 1)) {
+                    LineBlock block = reader.next();
+                    int line = (hasHeader && blockStart == 0) ? 1 : 0;
+                    for (; block != null && line < block.getNumberOfLines(); line++) {
+                        sampleResults.lineOffset = blockStart + from + block.getLineStart(line);
+                        validator.validate(block.getBuffer(), block.getLineStart(line), block.getLineEnd(line), 0, sampleResults, null);
+                        numOfLines++;
+                    }
+                }
+            }
 
-                        if (hasSeenNonblankChar && !skip) {
-                            colNum++;
-
-                            DataColumn dataColumn = dataColumns[columnIndex];
-                            if (dataColumn.getColumnNumber() == colNum) {
-                                String value = dataBuilder.toString().trim();
-                                if (value.isEmpty()) {
-                                    String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                                    ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                    results.add(result);
-                                }
+            pass.addRows(numOfLines);
+        } catch (IOException exception) {
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, "Unable to read file %s.", dataFile.getFileName());
+            result.setAttribute(ValidationAttribute.FILE_NAME, dataFile.getFileName());
+            results.add(result);
 
-                                columnIndex++;
-                            }
+            return results;
+        } finally {
+            pass.end();
+        }
 
-                            // ensure we have enough data
-                            if (columnIndex < numOfCols) {
-                                int numOfValues = columnIndex + 1;
-                                String errMsg = String.format(
-                                        "Line %d, column %d: Insufficient data.  Expect %d value(s) but encounter %d.",
-                                        lineNum, colNum, numOfCols, numOfValues);
-                                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, errMsg);
-                                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfCols);
-                                result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfValues);
-                                results.add(result);
-                            }
+        List<ValidationResult> problems = sampleResults.results;
+        results.addAll(problems.subList(0, Math.min(problems.size(), maxNumOfMsg)));
 
-                            numOfRows++;
-                        }
+        ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, "Validated a sample of %d lines from %d part(s) of the file.", numOfLines, numOfBlocks);
+        result.setAttribute(ValidationAttribute.LINE_COUNT, numOfLines);
+        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, dataColumns.length);
+        results.add(result);
 
-                        lineNum++;
-
-                        // clear data
-                        dataBuilder.delete(0, dataBuilder.length());
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        checkForComment = comment.length > 0;
-                        columnIndex = 0;
-                        colNum = 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
+        return results;
+    }
 
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
+    /**
+     * Read the bytes of the file from the given position into the buffer.
+     *
+     * @return the number of bytes read, less than the buffer only at the end
+     * of the file
+     */
+    private static int read(FileChannel channel, long position, byte[] buffer) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        while (byteBuffer.hasRemaining()) {
+            if (channel.read(byteBuffer, position + byteBuffer.position()) == -1) {
+                break;
+            }
+        }
 
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
+        return byteBuffer.position();
+    }
 
-                        if (currChar == quoteCharacter) {
-                            hasQuoteChar = !hasQuoteChar;
-                        } else {
-                            if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
-                            } else {
-                                boolean isDelimiter;
-                                switch (delimiter) {
-                                    case WHITESPACE:
-                                        isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                        break;
-                                    default:
-                                        isDelimiter = (currChar == delimChar);
-                                }
+    /**
+     * Validate the blocks of lines read by a {@link LineBlockReader} into a
+     * report. With more than one thread, each range of lines of a block is
+     * counted in its own report, and the reports are merged in line order.
+     *
+     * @param dataColumns
+     * @param hasHeader
+     * @param report
+     * @throws IOException
+     */
+    private void validate(DataColumn[] dataColumns, boolean hasHeader, TabularValidationReport report) throws IOException {
+        int numOfCols = dataColumns.length;
 
-                                if (isDelimiter) {
-                                    colNum++;
-
-                                    DataColumn dataColumn = dataColumns[columnIndex];
-                                    if (dataColumn.getColumnNumber() == colNum) {
-                                        String value = dataBuilder.toString().trim();
-                                        if (value.isEmpty()) {
-                                            String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                                            ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                            results.add(result);
-                                        }
-
-                                        columnIndex++;
-                                        if (columnIndex == numOfCols) {
-                                            skip = true;
-                                            numOfRows++;
-                                        }
-                                    }
-
-                                    // clear data
-                                    dataBuilder.delete(0, dataBuilder.length());
-                                } else {
-                                    dataBuilder.append((char) currChar);
-                                }
-                            }
-                        }
-                    }
+        LineValidator validator = new LineValidator(dataColumns);
 
-                    prevChar = currChar;
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.VALIDATE_DATA);
+        pass.setNumberOfColumns(numOfCols);
+        ExecutorService pool = (numberOfThreads > 1) ? Executors.newFixedThreadPool(numberOfThreads) : null;
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, BUFFER_SIZE * numberOfThreads)) {
+            boolean skipHeader = hasHeader;
+            LineBlock block;
+            while ((block = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                byte[] buffer = block.getBuffer();
+                int firstLine = 0;
+                if (skipHeader) {
+                    skipHeader = false;
+                    firstLine = 1;
                 }
-            }
 
-            if (!skipHeader && hasSeenNonblankChar && !skip) {
-                colNum++;
-
-                DataColumn dataColumn = dataColumns[columnIndex];
-                if (dataColumn.getColumnNumber() == colNum) {
-                    String value = dataBuilder.toString().trim();
-                    if (value.isEmpty()) {
-                        String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                        ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                        result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                        results.add(result);
+                int numOfLines = block.getNumberOfLines();
+                if (pool == null) {
+                    ReportHandler problems = new ReportHandler(report);
+                    for (int line = firstLine; line < numOfLines; line++) {
+                        validator.validate(buffer, block.getLineStart(line), block.getLineEnd(line), block.getLineNumber(line), problems, null);
                     }
+                    report.addRows(numOfLines - firstLine);
+                } else {
+                    int numOfTasks = Math.min(numOfLines - firstLine, numberOfThreads * 4);
+                    List<Future<TabularValidationReport>> futures = new ArrayList<>(numOfTasks);
+                    for (int i = 0; i < numOfTasks; i++) {
+                        final LineBlock lines = block;
+                        int from = firstLine + (int) ((long) (numOfLines - firstLine) * i / numOfTasks);
+                        int to = firstLine + (int) ((long) (numOfLines - firstLine) * (i + 1) / numOfTasks);
+                        futures.add(pool.submit(pass.track(() -> {
+                            TabularValidationReport part = report.newPart();
+                            ReportHandler problems = new ReportHandler(part);
+                            for (int line = from; line < to; line++) {
+                                validator.validate(buffer, lines.getLineStart(line), lines.getLineEnd(line), lines.getLineNumber(line), problems, null);
+                            }
+                            part.addRows(to - from);
 
-                    columnIndex++;
-                }
+                            return part;
+                        })));
+                    }
 
-                // ensure we have enough data
-                if (columnIndex < numOfCols) {
-                    int numOfValues = columnIndex + 1;
-                    String errMsg = String.format(
-                            "Line %d, column %d: Insufficient data.  Expect %d value(s) but encounter %d.",
-                            lineNum, colNum, numOfCols, numOfValues);
-                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, errMsg);
-                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                    result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfCols);
-                    result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfValues);
-                    results.add(result);
+                    for (Future<TabularValidationReport> future : futures) {
+                        report.merge(future.get());
+                    }
                 }
+            }
 
-                numOfRows++;
+            pass.addBytesRead(reader.getBytesRead());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Data validation was interrupted.");
+        } catch (ExecutionException exception) {
+            throw new IOException(String.format("Unable to validate file %s.", dataFile.getFileName()), exception.getCause());
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
             }
-        }
 
-        String infoMsg = String.format("There are %d cases and %d variables.", numOfRows, numOfCols);
-        ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, infoMsg);
-        result.setAttribute(ValidationAttribute.ROW_NUMBER, numOfRows);
-        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, numOfCols);
-        results.add(result);
+            pass.addRows(report.getNumberOfRows());
+            pass.addCells((long) report.getNumberOfRows() * numOfCols);
+            pass.addParseErrors(report.getCount(MessageType.FILE_INVALID_NUMBER) + report.getCount(MessageType.FILE_INSUFFICIENT_DATA));
+            pass.end();
+        }
     }
 
-    private void validateContinuousData(DataColumn[] dataColumns, boolean hasHeader, List<ValidationResult> results) throws IOException {
+    /**
+     * Validate the blocks of lines read by a {@link LineBlockReader}. With
+     * more than one thread, the lines of a block are split into ranges that
+     * are validated concurrently, and the messages of the ranges are collected
+     * in line order. Once there are as many messages as allowed, the remaining
+     * lines are only counted.
+     *
+     * @param dataColumns
+     * @param hasHeader
+     * @param collector
+     * @param builder the builder that takes the values until the first error,
+     * or null to only validate the data
+     * @return the data, or null if there is no builder or the data has an
+     * error
+     * @throws IOException
+     */
+    private Data validate(DataColumn[] dataColumns, boolean hasHeader, ResultCollector collector, TabularDataBuilder builder) throws IOException {
         int numOfCols = dataColumns.length;
         int numOfRows = 0;
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
+        int lastLineNum = 0;
+
+        LineValidator validator = new LineValidator(dataColumns);
+
+        // the values must be put into the builder in line order
+        int numOfThreads = (builder == null) ? numberOfThreads : 1;
+
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.VALIDATE_DATA);
+        pass.setNumberOfColumns(numOfCols);
+        ExecutorService pool = (numOfThreads > 1) ? Executors.newFixedThreadPool(numOfThreads) : null;
+        try (LineBlockReader reader = new LineBlockReader(dataFile, commentMarker, BUFFER_SIZE * numOfThreads)) {
             boolean skipHeader = hasHeader;
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
+            LineBlock block;
+            while (!collector.isStopped() && (block = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                byte[] buffer = block.getBuffer();
+                int firstLine = 0;
+                if (skipHeader) {
+                    skipHeader = false;
+                    firstLine = 1;
+                }
 
-            byte delimChar = delimiter.getByteValue();
+                int numOfLines = block.getNumberOfLines();
+                if (collector.isFull() && builder == null) {
+                    numOfRows += numOfLines - firstLine;
+                    continue;
+                }
 
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
+                if (pool == null) {
+                    ResultList lineResults = new ResultList();
+                    for (int line = firstLine; line < numOfLines && !collector.isStopped(); line++) {
+                        if (collector.isTimeUp()) {
+                            collector.stop();
+                            break;
+                        } else if (collector.isFull() && builder == null) {
+                            numOfRows += numOfLines - line;
+                            break;
+                        }
 
-            int colNum = 0;
-            int lineNum = 1;
+                        int lineNum = block.getLineNumber(line);
+                        lineResults.results.clear();
+                        if (!validator.validate(buffer, block.getLineStart(line), block.getLineEnd(line), lineNum, lineResults, builder)) {
+                            builder = null;
+                        } else if (builder != null) {
+                            builder.addRow();
+                        }
 
-            int columnIndex = 0;
+                        for (int i = 0; i < lineResults.results.size() && !collector.isStopped(); i++) {
+                            collector.add(lineResults.results.get(i));
+                        }
 
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
-                int i = 0; // buffer array index
+                        numOfRows++;
+                        lastLineNum = lineNum;
+                    }
+                } else {
+                    int maxNumOfResults = collector.getNumberOfMessagesLeft();
+                    int maxNumOfErrorsLeft = collector.getNumberOfErrorsLeft();
+                    int numOfTasks = Math.min(numOfLines - firstLine, numOfThreads * 4);
+                    List<Future<LineRange>> futures = new ArrayList<>(numOfTasks);
+                    for (int i = 0; i < numOfTasks; i++) {
+                        final LineBlock lines = block;
+                        int from = firstLine + (int) ((long) (numOfLines - firstLine) * i / numOfTasks);
+                        int to = firstLine + (int) ((long) (numOfLines - firstLine) * (i + 1) / numOfTasks);
+                        futures.add(pool.submit(pass.track(() -> {
+                            ResultList rangeResults = new ResultList();
+                            int numOfErrors = 0;
+                            for (int line = from; line < to; line++) {
+                                if (collector.isTimeUp()) {
+                                    return new LineRange(rangeResults.results, line, true);
+                                }
 
-                if (skipHeader) {
-                    boolean finished = false;
-                    for (; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                        byte currChar = buffer[i];
-
-                        if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                            if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                                prevChar = currChar;
-                                continue;
-                            }
+                                if (!validator.validate(buffer, lines.getLineStart(line), lines.getLineEnd(line), lines.getLineNumber(line), rangeResults, null)) {
+                                    numOfErrors++;
+                                }
 
-                            finished = hasSeenNonblankChar && !skip;
-                            if (finished) {
-                                skipHeader = false;
+                                // the later lines of the range cannot be reported
+                                if (numOfErrors >= maxNumOfErrorsLeft || rangeResults.results.size() >= maxNumOfResults) {
+                                    break;
+                                }
                             }
 
-                            lineNum++;
+                            return new LineRange(rangeResults.results, to, false);
+                        })));
+                    }
 
-                            // reset states
-                            skip = false;
-                            hasSeenNonblankChar = false;
-                            cmntIndex = 0;
-                            checkForComment = comment.length > 0;
-                        } else if (!skip) {
-                            if (currChar > SPACE_CHAR) {
-                                hasSeenNonblankChar = true;
+                    int line = firstLine;
+                    int lastResultLineNum = 0;
+                    boolean isFull = false;
+                    for (Future<LineRange> future : futures) {
+                        LineRange range = future.get();
+                        for (ValidationResult result : range.results) {
+                            // as on one thread, the lines after the one that
+                            // fills the collector are only counted
+                            int lineNum = (Integer) result.getAttributes().get(ValidationAttribute.LINE_NUMBER);
+                            if (lineNum != lastResultLineNum && collector.isFull()) {
+                                isFull = true;
+                                break;
                             }
+                            lastResultLineNum = lineNum;
 
-                            // skip blank chars at the begining of the line
-                            if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                                continue;
+                            collector.add(result);
+                            if (collector.isStopped()) {
+                                // count the lines up to the one of the last error
+                                while (block.getLineNumber(line) < lineNum) {
+                                    line++;
+                                }
+                                numOfRows += line + 1 - firstLine;
+                                lastLineNum = lineNum;
+                                break;
                             }
+                        }
 
-                            // check for comment marker to skip line
-                            if (checkForComment) {
-                                if (currChar == comment[cmntIndex]) {
-                                    cmntIndex++;
-                                    if (cmntIndex == comment.length) {
-                                        skip = true;
-                                        prevChar = currChar;
-                                        continue;
-                                    }
-                                } else {
-                                    checkForComment = false;
-                                }
+                        if (collector.isStopped() || isFull) {
+                            break;
+                        } else if (range.isTimeUp) {
+                            collector.stop();
+                            numOfRows += range.end - firstLine;
+                            if (range.end > firstLine) {
+                                lastLineNum = block.getLineNumber(range.end - 1);
                             }
+                            break;
                         }
 
-                        prevChar = currChar;
+                        line = range.end;
+                    }
+
+                    if (!collector.isStopped()) {
+                        numOfRows += numOfLines - firstLine;
+                        lastLineNum = block.getLineNumber(numOfLines - 1);
                     }
                 }
+            }
 
-                for (; i < len && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
+            pass.addBytesRead(reader.getBytesRead());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Data validation was interrupted.");
+        } catch (ExecutionException exception) {
+            throw new IOException(String.format("Unable to validate file %s.", dataFile.getFileName()), exception.getCause());
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
 
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
+            pass.addRows(numOfRows);
+            pass.addCells((long) numOfRows * numOfCols);
+            pass.addParseErrors(collector.getNumberOfErrors());
+            pass.end();
+        }
 
-                        if (hasSeenNonblankChar && !skip) {
-                            colNum++;
-
-                            DataColumn dataColumn = dataColumns[columnIndex];
-                            if (dataColumn.getColumnNumber() == colNum) {
-                                String value = dataBuilder.toString().trim();
-                                if (value.isEmpty()) {
-                                    String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                                    ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                    results.add(result);
-                                } else if (!value.equals(missingDataMarker)) {
-                                    try {
-                                        Double.parseDouble(value);
-                                    } catch (NumberFormatException exception) {
-                                        String errMsg = String.format("Line %d, column %d: Non-continuous number %s.", lineNum, colNum, value);
-                                        ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                                        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                        result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                        result.setAttribute(ValidationAttribute.VALUE, value);
-                                        results.add(result);
-                                    }
-                                }
+        if (collector.isStopped()) {
+            ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_VALIDATION_STOPPED, "Line %d: Validation stopped.", lastLineNum);
+            result.setAttribute(ValidationAttribute.LINE_NUMBER, lastLineNum);
+            collector.addFinal(result);
+        }
 
-                                columnIndex++;
-                            }
+        ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, "There are %d cases and %d variables.", numOfRows, numOfCols);
+        result.setAttribute(ValidationAttribute.ROW_NUMBER, numOfRows);
+        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, numOfCols);
+        collector.addFinal(result);
 
-                            // ensure we have enough data
-                            if (columnIndex < numOfCols) {
-                                int numOfValues = columnIndex + 1;
-                                String errMsg = String.format(
-                                        "Line %d, column %d: Insufficient data.  Expect %d value(s) but encounter %d.",
-                                        lineNum, colNum, numOfCols, numOfValues);
-                                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, errMsg);
-                                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfCols);
-                                result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfValues);
-                                results.add(result);
-                            }
+        return (builder == null || collector.isStopped()) ? null : builder.build();
+    }
 
-                            numOfRows++;
-                        }
+    @Override
+    public void setMaximumNumberOfMessages(int maxNumOfMsg) {
+        this.maxNumOfMsg = maxNumOfMsg;
+    }
 
-                        lineNum++;
-
-                        // clear data
-                        dataBuilder.delete(0, dataBuilder.length());
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        checkForComment = comment.length > 0;
-                        columnIndex = 0;
-                        colNum = 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
+    @Override
+    public void setMaximumNumberOfErrors(int maxNumOfErrors) {
+        this.maxNumOfErrors = (maxNumOfErrors > 0) ? maxNumOfErrors : Integer.MAX_VALUE;
+    }
 
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
+    @Override
+    public void setTimeLimit(long timeLimit, TimeUnit unit) {
+        this.timeLimit = unit.toNanos(timeLimit);
+    }
 
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
+    @Override
+    public void setValidationListener(ValidationListener listener) {
+        this.listener = listener;
+    }
 
-                        if (currChar == quoteCharacter) {
-                            hasQuoteChar = !hasQuoteChar;
-                        } else {
-                            if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
-                            } else {
-                                boolean isDelimiter;
-                                switch (delimiter) {
-                                    case WHITESPACE:
-                                        isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                        break;
-                                    default:
-                                        isDelimiter = (currChar == delimChar);
-                                }
+    @Override
+    public void setValidationCache(ValidationCache validationCache) {
+        this.validationCache = validationCache;
+    }
 
-                                if (isDelimiter) {
-                                    colNum++;
-
-                                    DataColumn dataColumn = dataColumns[columnIndex];
-                                    if (dataColumn.getColumnNumber() == colNum) {
-                                        String value = dataBuilder.toString().trim();
-                                        if (value.isEmpty()) {
-                                            String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                                            ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                            results.add(result);
-                                        } else if (!value.equals(missingDataMarker)) {
-                                            try {
-                                                Double.parseDouble(value);
-                                            } catch (NumberFormatException exception) {
-                                                String errMsg = String.format("Line %d, column %d: Non-continuous number %s.", lineNum, colNum, value);
-                                                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                                                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                                result.setAttribute(ValidationAttribute.VALUE, value);
-                                                results.add(result);
-                                            }
-                                        }
-
-                                        columnIndex++;
-                                        if (columnIndex == numOfCols) {
-                                            skip = true;
-                                            numOfRows++;
-                                        }
-                                    }
-
-                                    // clear data
-                                    dataBuilder.delete(0, dataBuilder.length());
-                                } else {
-                                    dataBuilder.append((char) currChar);
-                                }
-                            }
-                        }
-                    }
+    /**
+     * @return all the settings the results of {@link #validate} depend on
+     */
+    private String getCacheOptions(DataColumn[] dataColumns, boolean hasHeader) {
+        StringBuilder options = new StringBuilder();
+        options.append(getClass().getName()).append('\n');
+        options.append("delimiter=").append(delimiter).append('\n');
+        options.append("quoteCharacter=").append(quoteCharacter).append('\n');
+        options.append("commentMarker=").append(commentMarker).append('\n');
+        options.append("missingDataMarker=").append(missingDataMarker).append('\n');
+        options.append("hasHeader=").append(hasHeader).append('\n');
+        options.append("maxNumOfMsg=").append(maxNumOfMsg).append('\n');
+        options.append("maxNumOfErrors=").append(maxNumOfErrors).append('\n');
+        for (DataColumn dataColumn : dataColumns) {
+            options.append(dataColumn.getColumnNumber()).append(' ')
+                    .append(dataColumn.isDiscrete()).append(' ')
+                    .append(dataColumn.isGenerated()).append(' ')
+                    .append(dataColumn.getName()).append('\n');
+        }
 
-                    prevChar = currChar;
-                }
-            }
+        return options.toString();
+    }
 
-            if (!skipHeader && hasSeenNonblankChar && !skip) {
-                colNum++;
-
-                DataColumn dataColumn = dataColumns[columnIndex];
-                if (dataColumn.getColumnNumber() == colNum) {
-                    String value = dataBuilder.toString().trim();
-                    if (value.isEmpty()) {
-                        String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                        ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                        result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                        results.add(result);
-                    } else if (!value.equals(missingDataMarker)) {
-                        try {
-                            Double.parseDouble(value);
-                        } catch (NumberFormatException exception) {
-                            String errMsg = String.format("Line %d, column %d: Non-continuous number %s.", lineNum, colNum, value);
-                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                            result.setAttribute(ValidationAttribute.VALUE, value);
-                            results.add(result);
-                        }
-                    }
+    /**
+     * Set the number of threads used to validate the data. With more than one
+     * thread, the file is validated in blocks of lines, and the messages are
+     * the same, in the same order, as validating it on one thread. The default
+     * is one.
+     *
+     * @param numberOfThreads
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+    }
 
-                    columnIndex++;
-                }
+    /**
+     * Set the number of examples a report keeps for each column and message
+     * type. The default is {@link TabularValidationReport#DEFAULT_NUMBER_OF_EXAMPLES}.
+     * With none, the messages of the report give no example value.
+     *
+     * @param numOfExamples
+     * @see #validateToReport
+     */
+    public void setNumberOfExamples(int numOfExamples) {
+        this.numOfExamples = Math.max(0, numOfExamples);
+    }
 
-                // ensure we have enough data
-                if (columnIndex < numOfCols) {
-                    int numOfValues = columnIndex + 1;
-                    String errMsg = String.format(
-                            "Line %d, column %d: Insufficient data.  Expect %d value(s) but encounter %d.",
-                            lineNum, colNum, numOfCols, numOfValues);
-                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, errMsg);
-                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                    result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfCols);
-                    result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfValues);
-                    results.add(result);
-                }
+    /**
+     * Keeps the first maxNumOfMsg messages of the data, hands them to the
+     * listener, and decides when the validation stops.
+     */
+    private final class ResultCollector {
+
+        private final List<ValidationResult> results;
+        private final long startTime;
 
-                numOfRows++;
+        private int numOfMessages;
+        private int numOfErrors;
+        private boolean stopped;
+
+        public ResultCollector(List<ValidationResult> results) {
+            this.results = results;
+            this.startTime = System.nanoTime();
+        }
+
+        /**
+         * Add a message of the data. The validation stops once there are
+         * maxNumOfErrors errors.
+         *
+         * @param result
+         */
+        public void add(ValidationResult result) {
+            if (result.getCode() == ValidationCode.ERROR) {
+                numOfErrors++;
+                stopped |= numOfErrors >= maxNumOfErrors;
+            }
+
+            if (numOfMessages < maxNumOfMsg) {
+                numOfMessages++;
+                addFinal(result);
             }
         }
 
-        String infoMsg = String.format("There are %d cases and %d variables.", numOfRows, numOfCols);
-        ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, infoMsg);
-        result.setAttribute(ValidationAttribute.ROW_NUMBER, numOfRows);
-        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, numOfCols);
-        results.add(result);
-    }
+        /**
+         * Add a message that is not counted against maxNumOfMsg.
+         *
+         * @param result
+         */
+        public void addFinal(ValidationResult result) {
+            results.add(result);
+            if (listener != null) {
+                listener.resultAdded(result);
+            }
+        }
 
-    private void validateMixedData(DataColumn[] dataColumns, boolean hasHeader, List<ValidationResult> results) throws IOException {
-        int numOfCols = dataColumns.length;
-        int numOfRows = 0;
-        try (InputStream in = Files.newInputStream(dataFile, StandardOpenOption.READ)) {
-            boolean skipHeader = hasHeader;
-            boolean skip = false;
-            boolean hasSeenNonblankChar = false;
-            boolean hasQuoteChar = false;
+        public void addFileError() {
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, "Unable to read file %s.", dataFile.getFileName());
+            result.setAttribute(ValidationAttribute.FILE_NAME, dataFile.getFileName());
+            addFinal(result);
+        }
 
-            byte delimChar = delimiter.getByteValue();
+        public void stop() {
+            stopped = true;
+        }
 
-            // comment marker check
-            byte[] comment = commentMarker.getBytes();
-            int cmntIndex = 0;
-            boolean checkForComment = comment.length > 0;
+        public boolean isStopped() {
+            return stopped;
+        }
 
-            int colNum = 0;
-            int lineNum = 1;
+        public boolean isFull() {
+            return numOfMessages >= maxNumOfMsg;
+        }
 
-            int columnIndex = 0;
+        /**
+         * This can be called from any thread.
+         *
+         * @return true if the validation has run out of time
+         */
+        public boolean isTimeUp() {
+            return timeLimit > 0 && System.nanoTime() - startTime >= timeLimit;
+        }
 
-            StringBuilder dataBuilder = new StringBuilder();
-            byte prevChar = -1;
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = in.read(buffer)) != -1 && !Thread.currentThread().isInterrupted()) {
-                int i = 0; // buffer array index
+        public int getNumberOfErrors() {
+            return numOfErrors;
+        }
 
-                if (skipHeader) {
-                    boolean finished = false;
-                    for (; i < len && !finished && !Thread.currentThread().isInterrupted(); i++) {
-                        byte currChar = buffer[i];
-
-                        if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                            if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                                prevChar = currChar;
-                                continue;
-                            }
+        public int getNumberOfMessagesLeft() {
+            return Math.max(0, maxNumOfMsg - numOfMessages);
+        }
 
-                            finished = hasSeenNonblankChar && !skip;
-                            if (finished) {
-                                skipHeader = false;
-                            }
+        public int getNumberOfErrorsLeft() {
+            return Math.max(0, maxNumOfErrors - numOfErrors);
+        }
 
-                            lineNum++;
+    }
 
-                            // reset states
-                            skip = false;
-                            hasSeenNonblankChar = false;
-                            cmntIndex = 0;
-                            checkForComment = comment.length > 0;
-                        } else if (!skip) {
-                            if (currChar > SPACE_CHAR) {
-                                hasSeenNonblankChar = true;
-                            }
+    /**
+     * The messages of a range of lines validated on a thread.
+     */
+    private static final class LineRange {
+
+        private final List<ValidationResult> results;
+        private final int end;
+        private final boolean isTimeUp;
+
+        /**
+         * @param results
+         * @param end the line after the last line validated
+         * @param isTimeUp true if the range ran out of time before its end
+         */
+        public LineRange(List<ValidationResult> results, int end, boolean isTimeUp) {
+            this.results = results;
+            this.end = end;
+            this.isTimeUp = isTimeUp;
+        }
 
-                            // skip blank chars at the begining of the line
-                            if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                                continue;
-                            }
+    }
 
-                            // check for comment marker to skip line
-                            if (checkForComment) {
-                                if (currChar == comment[cmntIndex]) {
-                                    cmntIndex++;
-                                    if (cmntIndex == comment.length) {
-                                        skip = true;
-                                        prevChar = currChar;
-                                        continue;
-                                    }
-                                } else {
-                                    checkForComment = false;
-                                }
-                            }
-                        }
+    /**
+     * Validates a line split by a {@link LineTokenizer}. It keeps no state, so
+     * it can validate lines on many threads.
+     */
+    private final class LineValidator {
+
+        private final DataColumn[] dataColumns;
+        private final ColumnSelection selection;
+        private final int numOfCols;
+        private final int lastColNum;
+        private final LineTokenizer tokenizer;
+
+        public LineValidator(DataColumn[] dataColumns) {
+            this.dataColumns = dataColumns;
+            this.selection = ColumnSelection.select(dataColumns);
+            this.numOfCols = dataColumns.length;
+            this.lastColNum = selection.getLastColumnNumber();
+            this.tokenizer = new LineTokenizer(delimiter, quoteCharacter);
+        }
+
+        /**
+         * Validate the line in buffer[start, end) and add its values to the
+         * builder.
+         *
+         * @param buffer
+         * @param start
+         * @param end
+         * @param lineNum
+         * @param problems the handler of the problems found
+         * @param builder the builder of the data, or null
+         * @return true if the line has no error
+         */
+        public boolean validate(byte[] buffer, int start, int end, int lineNum, ProblemHandler problems, TabularDataBuilder builder) {
+            boolean[] hasError = {false};
+            int numOfTokens = tokenizer.tokenize(buffer, start, end, lastColNum, (index, tokenStart, tokenEnd) -> {
+                int colNum = index + 1;
+                int columnIndex = selection.indexOf(colNum);
+                if (columnIndex < 0) {
+                    return;
+                }
+
+                String value = tokenizer.toString(buffer, tokenStart, tokenEnd);
+                if (value.isEmpty()) {
+                    problems.missingValue(lineNum, colNum, columnIndex);
+                    value = null;
+                } else if (value.equals(missingDataMarker)) {
+                    value = null;
+                }
 
-                        prevChar = currChar;
+                if (dataColumns[columnIndex].isDiscrete()) {
+                    if (builder != null) {
+                        builder.add(columnIndex, value);
+                    }
+                } else if (value == null) {
+                    if (builder != null) {
+                        builder.add(columnIndex, CONTINUOUS_MISSING_VALUE);
+                    }
+                } else if (NumberRecognizer.isNumber(value)) {
+                    if (builder != null) {
+                        builder.add(columnIndex, Double.parseDouble(value));
+                    }
+                } else {
+                    problems.invalidNumber(lineNum, colNum, columnIndex, value);
+                    hasError[0] = true;
+                }
+            });
+
+            // ensure we have enough data
+            int columnIndex = selection.getNumberOfColumns();
+            if (numOfTokens < lastColNum) {
+                columnIndex = 0;
+                for (int colNum : selection.getColumnNumbers()) {
+                    if (colNum <= numOfTokens) {
+                        columnIndex++;
                     }
                 }
+            }
+            if (columnIndex < numOfCols) {
+                problems.insufficientData(lineNum, numOfTokens, columnIndex, numOfCols);
+                hasError[0] = true;
+            }
 
-                for (; i < len && !Thread.currentThread().isInterrupted(); i++) {
-                    byte currChar = buffer[i];
+            return !hasError[0];
+        }
 
-                    if (currChar == CARRIAGE_RETURN || currChar == LINE_FEED) {
-                        if (currChar == LINE_FEED && prevChar == CARRIAGE_RETURN) {
-                            prevChar = currChar;
-                            continue;
-                        }
+    }
 
-                        if (hasSeenNonblankChar && !skip) {
-                            colNum++;
-
-                            DataColumn dataColumn = dataColumns[columnIndex];
-                            if (dataColumn.getColumnNumber() == colNum) {
-                                String value = dataBuilder.toString().trim();
-                                if (value.isEmpty()) {
-                                    String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                                    ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                    results.add(result);
-                                } else if (!value.equals(missingDataMarker)) {
-                                    if (!dataColumn.isDiscrete()) {
-                                        try {
-                                            Double.parseDouble(value);
-                                        } catch (NumberFormatException exception) {
-                                            String errMsg = String.format("Line %d, column %d: Non-continuous number %s.", lineNum, colNum, value);
-                                            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                            result.setAttribute(ValidationAttribute.VALUE, value);
-                                            results.add(result);
-                                        }
-                                    }
-                                }
+    /**
+     * Handles the problems found in a line.
+     */
+    private interface ProblemHandler {
 
-                                columnIndex++;
-                            }
+        public void missingValue(int lineNum, int colNum, int columnIndex);
 
-                            // ensure we have enough data
-                            if (columnIndex < numOfCols) {
-                                int numOfValues = columnIndex + 1;
-                                String errMsg = String.format(
-                                        "Line %d, column %d: Insufficient data.  Expect %d value(s) but encounter %d.",
-                                        lineNum, colNum, numOfCols, numOfValues);
-                                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, errMsg);
-                                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfCols);
-                                result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfValues);
-                                results.add(result);
-                            }
+        public void invalidNumber(int lineNum, int colNum, int columnIndex, String value);
 
-                            numOfRows++;
-                        }
+        /**
+         * @param lineNum
+         * @param numOfTokens the number of values in the line
+         * @param columnIndex the index of the first column without a value
+         * @param numOfCols
+         */
+        public void insufficientData(int lineNum, int numOfTokens, int columnIndex, int numOfCols);
 
-                        lineNum++;
-
-                        // clear data
-                        dataBuilder.delete(0, dataBuilder.length());
-
-                        // reset states
-                        skip = false;
-                        hasSeenNonblankChar = false;
-                        cmntIndex = 0;
-                        checkForComment = comment.length > 0;
-                        columnIndex = 0;
-                        colNum = 0;
-                    } else if (!skip) {
-                        if (currChar > SPACE_CHAR) {
-                            hasSeenNonblankChar = true;
-                        }
+    }
 
-                        // skip blank chars at the begining of the line
-                        if (currChar <= SPACE_CHAR && !hasSeenNonblankChar) {
-                            continue;
-                        }
+    /**
+     * Adds a validation result for each problem.
+     */
+    private static final class ResultList implements ProblemHandler {
 
-                        // check for comment marker to skip line
-                        if (checkForComment) {
-                            if (currChar == comment[cmntIndex]) {
-                                cmntIndex++;
-                                if (cmntIndex == comment.length) {
-                                    skip = true;
-                                    prevChar = currChar;
-                                    continue;
-                                }
-                            } else {
-                                checkForComment = false;
-                            }
-                        }
+        private final List<ValidationResult> results = new ArrayList<>();
 
-                        if (currChar == quoteCharacter) {
-                            hasQuoteChar = !hasQuoteChar;
-                        } else {
-                            if (hasQuoteChar) {
-                                dataBuilder.append((char) currChar);
-                            } else {
-                                boolean isDelimiter;
-                                switch (delimiter) {
-                                    case WHITESPACE:
-                                        isDelimiter = (currChar <= SPACE_CHAR) && (prevChar > SPACE_CHAR);
-                                        break;
-                                    default:
-                                        isDelimiter = (currChar == delimChar);
-                                }
+        @Override
+        public void missingValue(int lineNum, int colNum, int columnIndex) {
+            ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, "Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
+            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+            results.add(result);
+        }
 
-                                if (isDelimiter) {
-                                    colNum++;
-
-                                    DataColumn dataColumn = dataColumns[columnIndex];
-                                    if (dataColumn.getColumnNumber() == colNum) {
-                                        String value = dataBuilder.toString().trim();
-                                        if (value.isEmpty()) {
-                                            String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                                            ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                                            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                            results.add(result);
-                                        } else if (!value.equals(missingDataMarker)) {
-                                            if (!dataColumn.isDiscrete()) {
-                                                try {
-                                                    Double.parseDouble(value);
-                                                } catch (NumberFormatException exception) {
-                                                    String errMsg = String.format("Line %d, column %d: Non-continuous number %s.", lineNum, colNum, value);
-                                                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                                                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                                    result.setAttribute(ValidationAttribute.VALUE, value);
-                                                    results.add(result);
-                                                }
-                                            }
-                                        }
-
-                                        columnIndex++;
-                                        if (columnIndex == numOfCols) {
-                                            skip = true;
-                                            numOfRows++;
-                                        }
-                                    }
-
-                                    // clear data
-                                    dataBuilder.delete(0, dataBuilder.length());
-                                } else {
-                                    dataBuilder.append((char) currChar);
-                                }
-                            }
-                        }
-                    }
+        @Override
+        public void invalidNumber(int lineNum, int colNum, int columnIndex, String value) {
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, "Line %d, column %d: Non-continuous number %s.", lineNum, colNum, value);
+            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+            result.setAttribute(ValidationAttribute.VALUE, value);
+            results.add(result);
+        }
 
-                    prevChar = currChar;
-                }
-            }
+        @Override
+        public void insufficientData(int lineNum, int numOfTokens, int columnIndex, int numOfCols) {
+            int numOfValues = columnIndex + 1;
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, "Line %d, column %d: Insufficient data.  Expect %d value(s) but encounter %d.", lineNum, numOfTokens, numOfCols, numOfValues);
+            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, numOfTokens);
+            result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
+            result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfCols);
+            result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfValues);
+            results.add(result);
+        }
 
-            if (!skipHeader && hasSeenNonblankChar && !skip) {
-                colNum++;
-
-                DataColumn dataColumn = dataColumns[columnIndex];
-                if (dataColumn.getColumnNumber() == colNum) {
-                    String value = dataBuilder.toString().trim();
-                    if (value.isEmpty()) {
-                        String errMsg = String.format("Line %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineNum, colNum);
-                        ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, errMsg);
-                        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                        result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                        results.add(result);
-                    } else if (!value.equals(missingDataMarker)) {
-                        if (!dataColumn.isDiscrete()) {
-                            try {
-                                Double.parseDouble(value);
-                            } catch (NumberFormatException exception) {
-                                String errMsg = String.format("Line %d, column %d: Non-continuous number %s.", lineNum, colNum, value);
-                                ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, errMsg);
-                                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                                result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                                result.setAttribute(ValidationAttribute.VALUE, value);
-                                results.add(result);
-                            }
-                        }
-                    }
+    }
 
-                    columnIndex++;
-                }
+    /**
+     * Adds a validation result for each problem of a line of a sample. The
+     * line is given by its byte offset since its line number is not known.
+     */
+    private static final class SampleResultList implements ProblemHandler {
 
-                // ensure we have enough data
-                if (columnIndex < numOfCols) {
-                    int numOfValues = columnIndex + 1;
-                    String errMsg = String.format(
-                            "Line %d, column %d: Insufficient data.  Expect %d value(s) but encounter %d.",
-                            lineNum, colNum, numOfCols, numOfValues);
-                    ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, errMsg);
-                    result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
-                    result.setAttribute(ValidationAttribute.LINE_NUMBER, lineNum);
-                    result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfCols);
-                    result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfValues);
-                    results.add(result);
-                }
+        private final List<ValidationResult> results = new ArrayList<>();
 
-                numOfRows++;
-            }
+        private long lineOffset;
+
+        @Override
+        public void missingValue(int lineNum, int colNum, int columnIndex) {
+            ValidationResult result = new ValidationResult(ValidationCode.WARNING, MessageType.FILE_MISSING_VALUE, "Byte %d, column %d: Missing value.  No missing marker was found. Assumed value is missing.", lineOffset, colNum);
+            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+            result.setAttribute(ValidationAttribute.BYTE_OFFSET, lineOffset);
+            results.add(result);
+        }
+
+        @Override
+        public void invalidNumber(int lineNum, int colNum, int columnIndex, String value) {
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INVALID_NUMBER, "Byte %d, column %d: Non-continuous number %s.", lineOffset, colNum, value);
+            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+            result.setAttribute(ValidationAttribute.BYTE_OFFSET, lineOffset);
+            result.setAttribute(ValidationAttribute.VALUE, value);
+            results.add(result);
+        }
+
+        @Override
+        public void insufficientData(int lineNum, int numOfTokens, int columnIndex, int numOfCols) {
+            int numOfValues = columnIndex + 1;
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_INSUFFICIENT_DATA, "Byte %d, column %d: Insufficient data.  Expect %d value(s) but encounter %d.", lineOffset, numOfTokens, numOfCols, numOfValues);
+            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, numOfTokens);
+            result.setAttribute(ValidationAttribute.BYTE_OFFSET, lineOffset);
+            result.setAttribute(ValidationAttribute.EXPECTED_COUNT, numOfCols);
+            result.setAttribute(ValidationAttribute.ACTUAL_COUNT, numOfValues);
+            results.add(result);
         }
 
-        String infoMsg = String.format("There are %d cases and %d variables.", numOfRows, numOfCols);
-        ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, infoMsg);
-        result.setAttribute(ValidationAttribute.ROW_NUMBER, numOfRows);
-        result.setAttribute(ValidationAttribute.COLUMN_NUMBER, numOfCols);
-        results.add(result);
     }
 
-    @Override
-    public void setMaximumNumberOfMessages(int maxNumOfMsg) {
-        this.maxNumOfMsg = maxNumOfMsg;
+    /**
+     * Counts each problem in a report.
+     */
+    private static final class ReportHandler implements ProblemHandler {
+
+        private final TabularValidationReport report;
+
+        public ReportHandler(TabularValidationReport report) {
+            this.report = report;
+        }
+
+        @Override
+        public void missingValue(int lineNum, int colNum, int columnIndex) {
+            report.add(MessageType.FILE_MISSING_VALUE, columnIndex, lineNum, null);
+        }
+
+        @Override
+        public void invalidNumber(int lineNum, int colNum, int columnIndex, String value) {
+            report.add(MessageType.FILE_INVALID_NUMBER, columnIndex, lineNum, value);
+        }
+
+        @Override
+        public void insufficientData(int lineNum, int numOfTokens, int columnIndex, int numOfCols) {
+            report.add(MessageType.FILE_INSUFFICIENT_DATA, columnIndex, lineNum, null);
+        }
+
     }
 
 }
@@ -20,9 +20,16 @@ package edu.pitt.dbmi.data.reader.validation.tabular;
 
 import edu.pitt.dbmi.data.reader.DataColumn;
 import edu.pitt.dbmi.data.reader.DatasetReader;
+import edu.pitt.dbmi.data.reader.validation.ProgressiveValidationListener;
+import edu.pitt.dbmi.data.reader.validation.ValidatedData;
 import edu.pitt.dbmi.data.reader.validation.Validation;
+import edu.pitt.dbmi.data.reader.validation.ValidationListener;
 import edu.pitt.dbmi.data.reader.validation.ValidationResult;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -34,4 +41,99 @@ public interface TabularDataValidation extends Validation, DatasetReader {
 
     public List<ValidationResult> validate(DataColumn[] dataColumns, boolean hasHeader);
 
+    /**
+     * Validate the data and read it in the same pass. The validation results
+     * are the same as {@link #validate}, and the data is the same as reading
+     * the file with a tabular data reader. The default throws an
+     * {@link UnsupportedOperationException}, for validations that cannot read
+     * the data.
+     *
+     * @param dataColumns
+     * @param hasHeader
+     * @return the validation results, and the data if there is no error
+     */
+    public default ValidatedData validateAndRead(DataColumn[] dataColumns, boolean hasHeader) {
+        throw new UnsupportedOperationException(String.format("%s cannot read the data.", getClass().getName()));
+    }
+
+    /**
+     * Validate the data, counting the problems per column in a report instead
+     * of adding a result for each of them. The limits on the messages, errors
+     * and time do not apply, and the listener is not called. The default
+     * throws an {@link UnsupportedOperationException}, for validations that
+     * cannot count the problems.
+     *
+     * @param dataColumns
+     * @param hasHeader
+     * @return the report of the problems found
+     */
+    public default TabularValidationReport validateToReport(DataColumn[] dataColumns, boolean hasHeader) {
+        throw new UnsupportedOperationException(String.format("%s cannot validate to a report.", getClass().getName()));
+    }
+
+    /**
+     * Validate a sample of blocks spread across the file, which takes about
+     * the same time whatever the size of the file, then the whole file. Both
+     * run on a background thread and report to the listener, which can stop
+     * the validation once it has seen the results of the sample.
+     *
+     * The default skips the sample: it validates the whole file with
+     * {@link #validate} on a background thread and hands the results to the
+     * listener.
+     *
+     * @param dataColumns
+     * @param hasHeader
+     * @param listener
+     * @return the results of the whole file, or null if the listener stopped
+     * the validation after the sample; cancel it to stop the validation
+     */
+    public default Future<List<ValidationResult>> validateProgressively(DataColumn[] dataColumns, boolean hasHeader, ProgressiveValidationListener listener) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                List<ValidationResult> results = validate(dataColumns, hasHeader);
+                if (!Thread.currentThread().isInterrupted()) {
+                    listener.fileValidated(results);
+                }
+
+                return results;
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Stop the validation once this many errors are found, for example one to
+     * stop at the first error. The results end with a message giving the line
+     * the validation stopped at, followed by the summary of the lines
+     * validated. Zero or less means no limit, which is the default.
+     * Validations that cannot stop early ignore it.
+     *
+     * @param maxNumOfErrors
+     */
+    public default void setMaximumNumberOfErrors(int maxNumOfErrors) {
+    }
+
+    /**
+     * Stop the validation once it has run for the given time, the same way as
+     * {@link #setMaximumNumberOfErrors}. Zero means no limit, which is the
+     * default. Validations that cannot stop early ignore it.
+     *
+     * @param timeLimit
+     * @param unit
+     */
+    public default void setTimeLimit(long timeLimit, TimeUnit unit) {
+    }
+
+    /**
+     * Hand each result to the listener as soon as it is added, in the order of
+     * the results. Validations that cannot hand out the results as they go
+     * ignore it.
+     *
+     * @param listener the listener, or null for none
+     */
+    public default void setValidationListener(ValidationListener listener) {
+    }
+
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.validation.tabular;
+
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.validation.MessageType;
+import edu.pitt.dbmi.data.reader.validation.ValidationAttribute;
+import edu.pitt.dbmi.data.reader.validation.ValidationCode;
+import edu.pitt.dbmi.data.reader.validation.ValidationResult;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The problems found in tabular data, counted per column and per message
+ * type. Each count keeps the first and last line it was found on and the
+ * first few examples, so the report takes the same memory however many
+ * problems the file has.
+ *
+ * The problems of a line without enough values are counted for the first
+ * column without a value.
+ *
+ * Oct 19, 2026 4:58:13 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public final class TabularValidationReport {
+
+    public static final int DEFAULT_NUMBER_OF_EXAMPLES = 5;
+
+    private static final MessageType[] MESSAGE_TYPES = {
+        MessageType.FILE_MISSING_VALUE,
+        MessageType.FILE_INVALID_NUMBER,
+        MessageType.FILE_INSUFFICIENT_DATA
+    };
+
+    private final int[] columnNumbers;
+    private final int numOfExamples;
+
+    // indexed by message type * number of columns + column index
+    private final long[] counts;
+    private final int[] firstLineNums;
+    private final int[] lastLineNums;
+
+    // the examples of each count follow each other
+    private final int[] exampleLineNums;
+    private final String[] exampleValues;
+
+    private int numOfRows;
+    private Path unreadableFile;
+
+    TabularValidationReport(DataColumn[] dataColumns, int numOfExamples) {
+        this(Arrays.stream(dataColumns).mapToInt(DataColumn::getColumnNumber).toArray(), numOfExamples);
+    }
+
+    private TabularValidationReport(int[] columnNumbers, int numOfExamples) {
+        this.columnNumbers = columnNumbers;
+        this.numOfExamples = numOfExamples;
+
+        int size = MESSAGE_TYPES.length * columnNumbers.length;
+        this.counts = new long[size];
+        this.firstLineNums = new int[size];
+        this.lastLineNums = new int[size];
+        this.exampleLineNums = new int[size * numOfExamples];
+        this.exampleValues = new String[size * numOfExamples];
+    }
+
+    /**
+     * An empty report of the same columns, to be merged into this one.
+     */
+    TabularValidationReport newPart() {
+        return new TabularValidationReport(columnNumbers, numOfExamples);
+    }
+
+    void add(MessageType messageType, int columnIndex, int lineNum, String value) {
+        int index = indexOf(messageType, columnIndex);
+        long count = counts[index]++;
+        if (count == 0) {
+            firstLineNums[index] = lineNum;
+        }
+        lastLineNums[index] = lineNum;
+
+        if (count < numOfExamples) {
+            int exampleIndex = index * numOfExamples + (int) count;
+            exampleLineNums[exampleIndex] = lineNum;
+            exampleValues[exampleIndex] = value;
+        }
+    }
+
+    void addRows(int numOfRows) {
+        this.numOfRows += numOfRows;
+    }
+
+    /**
+     * Add the counts of a report of the lines that follow the lines of this
+     * report.
+     *
+     * @param other
+     */
+    void merge(TabularValidationReport other) {
+        for (int index = 0; index < counts.length; index++) {
+            long otherCount = other.counts[index];
+            if (otherCount == 0) {
+                continue;
+            }
+
+            long count = counts[index];
+            if (count == 0) {
+                firstLineNums[index] = other.firstLineNums[index];
+            }
+            lastLineNums[index] = other.lastLineNums[index];
+
+            int numOfCopies = (int) Math.min(otherCount, Math.max(0, numOfExamples - count));
+            System.arraycopy(other.exampleLineNums, index * numOfExamples, exampleLineNums, index * numOfExamples + (int) count, numOfCopies);
+            System.arraycopy(other.exampleValues, index * numOfExamples, exampleValues, index * numOfExamples + (int) count, numOfCopies);
+
+            counts[index] = count + otherCount;
+        }
+
+        numOfRows += other.numOfRows;
+    }
+
+    void setUnreadableFile(Path unreadableFile) {
+        this.unreadableFile = unreadableFile;
+    }
+
+    /**
+     * Summarize the report as one result per column and message type, in the
+     * order of the message types and then of the columns, followed by the
+     * summary of the file.
+     *
+     * @return
+     */
+    public List<ValidationResult> toValidationResults() {
+        List<ValidationResult> results = new LinkedList<>();
+        for (MessageType messageType : MESSAGE_TYPES) {
+            for (int columnIndex = 0; columnIndex < columnNumbers.length; columnIndex++) {
+                int index = indexOf(messageType, columnIndex);
+                long count = counts[index];
+                if (count == 0) {
+                    continue;
+                }
+
+                int colNum = columnNumbers[columnIndex];
+                int firstLineNum = firstLineNums[index];
+                int lastLineNum = lastLineNums[index];
+                ValidationResult result;
+                switch (messageType) {
+                    case FILE_MISSING_VALUE:
+                        result = new ValidationResult(ValidationCode.WARNING, messageType, "Column %d: Missing value on %d line(s), from line %d to line %d.  No missing marker was found. Assumed value is missing.", colNum, count, firstLineNum, lastLineNum);
+                        break;
+                    case FILE_INVALID_NUMBER:
+                        if (numOfExamples > 0) {
+                            result = new ValidationResult(ValidationCode.ERROR, messageType, "Column %d: Non-continuous number on %d line(s), from line %d to line %d, such as %s.", colNum, count, firstLineNum, lastLineNum, exampleValues[index * numOfExamples]);
+                            result.setAttribute(ValidationAttribute.VALUE, exampleValues[index * numOfExamples]);
+                        } else {
+                            result = new ValidationResult(ValidationCode.ERROR, messageType, "Column %d: Non-continuous number on %d line(s), from line %d to line %d.", colNum, count, firstLineNum, lastLineNum);
+                        }
+                        break;
+                    default:
+                        result = new ValidationResult(ValidationCode.ERROR, messageType, "Column %d: Insufficient data on %d line(s), from line %d to line %d.", colNum, count, firstLineNum, lastLineNum);
+                }
+                result.setAttribute(ValidationAttribute.COLUMN_NUMBER, colNum);
+                result.setAttribute(ValidationAttribute.LINE_NUMBER, firstLineNum);
+                result.setAttribute(ValidationAttribute.LINE_COUNT, count);
+                results.add(result);
+            }
+        }
+
+        if (unreadableFile != null) {
+            ValidationResult result = new ValidationResult(ValidationCode.ERROR, MessageType.FILE_IO_ERROR, "Unable to read file %s.", unreadableFile);
+            result.setAttribute(ValidationAttribute.FILE_NAME, unreadableFile);
+            results.add(result);
+        } else {
+            ValidationResult result = new ValidationResult(ValidationCode.INFO, MessageType.FILE_SUMMARY, "There are %d cases and %d variables.", numOfRows, columnNumbers.length);
+            result.setAttribute(ValidationAttribute.ROW_NUMBER, numOfRows);
+            result.setAttribute(ValidationAttribute.COLUMN_NUMBER, columnNumbers.length);
+            results.add(result);
+        }
+
+        return results;
+    }
+
+    /**
+     * @return true if an error was found or the file could not be read
+     */
+    public boolean hasErrors() {
+        return unreadableFile != null
+                || getCount(MessageType.FILE_INVALID_NUMBER) > 0
+                || getCount(MessageType.FILE_INSUFFICIENT_DATA) > 0;
+    }
+
+    /**
+     * @return the number of data lines validated
+     */
+    public int getNumberOfRows() {
+        return numOfRows;
+    }
+
+    public int getNumberOfColumns() {
+        return columnNumbers.length;
+    }
+
+    /**
+     * @param columnIndex
+     * @return the number of the column in the file
+     */
+    public int getColumnNumber(int columnIndex) {
+        return columnNumbers[columnIndex];
+    }
+
+    /**
+     * @param messageType
+     * @return the number of problems of the type in all columns
+     */
+    public long getCount(MessageType messageType) {
+        long count = 0;
+        for (int columnIndex = 0; columnIndex < columnNumbers.length; columnIndex++) {
+            count += getCount(messageType, columnIndex);
+        }
+
+        return count;
+    }
+
+    public long getCount(MessageType messageType, int columnIndex) {
+        return isCounted(messageType) ? counts[indexOf(messageType, columnIndex)] : 0;
+    }
+
+    /**
+     * @param messageType
+     * @param columnIndex
+     * @return the first line with the problem, or 0 if there is none
+     */
+    public int getFirstLineNumber(MessageType messageType, int columnIndex) {
+        return isCounted(messageType) ? firstLineNums[indexOf(messageType, columnIndex)] : 0;
+    }
+
+    /**
+     * @param messageType
+     * @param columnIndex
+     * @return the last line with the problem, or 0 if there is none
+     */
+    public int getLastLineNumber(MessageType messageType, int columnIndex) {
+        return isCounted(messageType) ? lastLineNums[indexOf(messageType, columnIndex)] : 0;
+    }
+
+    /**
+     * @param messageType
+     * @param columnIndex
+     * @return the lines of the first few problems
+     */
+    public int[] getExampleLineNumbers(MessageType messageType, int columnIndex) {
+        if (!isCounted(messageType)) {
+            return new int[0];
+        }
+
+        int index = indexOf(messageType, columnIndex);
+        int from = index * numOfExamples;
+
+        return Arrays.copyOfRange(exampleLineNums, from, from + (int) Math.min(counts[index], numOfExamples));
+    }
+
+    /**
+     * @param messageType
+     * @param columnIndex
+     * @return the values of the first few problems, null for the ones without
+     * a value
+     */
+    public String[] getExampleValues(MessageType messageType, int columnIndex) {
+        if (!isCounted(messageType)) {
+            return new String[0];
+        }
+
+        int index = indexOf(messageType, columnIndex);
+        int from = index * numOfExamples;
+
+        return Arrays.copyOfRange(exampleValues, from, from + (int) Math.min(counts[index], numOfExamples));
+    }
+
+    private int indexOf(MessageType messageType, int columnIndex) {
+        for (int i = 0; i < MESSAGE_TYPES.length; i++) {
+            if (MESSAGE_TYPES[i] == messageType) {
+                return i * columnNumbers.length + columnIndex;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("%s is not counted.", messageType));
+    }
+
+    private static boolean isCounted(MessageType messageType) {
+        for (MessageType countedType : MESSAGE_TYPES) {
+            if (countedType == messageType) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
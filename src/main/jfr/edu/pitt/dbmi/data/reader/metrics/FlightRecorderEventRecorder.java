@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emits the passes over a file as JDK Flight Recorder events. This class is
+ * only compiled on JDK 11 or later.
+ *
+ * Oct 19, 2026 11:12:48 AM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+final class FlightRecorderEventRecorder implements ReadEventRecorder {
+
+    public static final String EVENT_NAME = "edu.pitt.dbmi.data.reader.FileRead";
+
+    @Override
+    public Object begin() {
+        FileReadEvent event = new FileReadEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+
+        return event;
+    }
+
+    @Override
+    public void commit(Object event, String reader, String path, ReadPhase phase, long bytesRead, long rows, long columns, long cells, long parseErrors) {
+        FileReadEvent fileReadEvent = (FileReadEvent) event;
+        fileReadEvent.end();
+        if (fileReadEvent.shouldCommit()) {
+            fileReadEvent.reader = reader;
+            fileReadEvent.path = path;
+            fileReadEvent.phase = phase.name();
+            fileReadEvent.bytesRead = bytesRead;
+            fileReadEvent.rows = rows;
+            fileReadEvent.columns = columns;
+            fileReadEvent.cells = cells;
+            fileReadEvent.parseErrors = parseErrors;
+            fileReadEvent.commit();
+        }
+    }
+
+    @Name(EVENT_NAME)
+    @Label("File Read")
+    @Description("A single pass over a data file.")
+    @Category({"Data Reader"})
+    @StackTrace(false)
+    static final class FileReadEvent extends Event {
+
+        @Label("Reader")
+        String reader;
+
+        @Label("Path")
+        String path;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytesRead;
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Columns")
+        long columns;
+
+        @Label("Cells")
+        long cells;
+
+        @Label("Parse Errors")
+        long parseErrors;
+
+    }
+
+}
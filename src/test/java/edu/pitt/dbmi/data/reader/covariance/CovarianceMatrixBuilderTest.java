@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * Oct 19, 2026 10:54:12 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class CovarianceMatrixBuilderTest {
+
+    public CovarianceMatrixBuilderTest() {
+    }
+
+    /**
+     * Test of buildFromRows method, of class CovarianceMatrixBuilder.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testBuildFromRows() throws InterruptedException {
+        int numOfRows = 600;
+        int numOfCols = 37;
+        List<String> variables = new ArrayList<>();
+        for (int i = 1; i <= numOfCols; i++) {
+            variables.add("X" + i);
+        }
+
+        for (double missingRate : new double[]{0, 0.05, 0.8}) {
+            Random random = new Random(37);
+            double[][] rows = new double[numOfRows][numOfCols];
+            double[][] columns = new double[numOfCols][numOfRows];
+            for (int r = 0; r < numOfRows; r++) {
+                double common = random.nextGaussian();
+                for (int j = 0; j < numOfCols; j++) {
+                    rows[r][j] = (random.nextDouble() < missingRate) ? Double.NaN : 100 + (j * common) + random.nextGaussian();
+                    if (missingRate > 0 && j == 11) {
+                        // a column without any value
+                        rows[r][j] = Double.NaN;
+                    }
+                    columns[j][r] = rows[r][j];
+                }
+            }
+
+            // uneven blocks, and more rows than a panel
+            CovarianceMatrixBuilder builder = new CovarianceMatrixBuilder();
+            builder.setBlockSize(8);
+            builder.setNumberOfThreads(3);
+
+            for (boolean isCorrelation : new boolean[]{false, true}) {
+                StreamingCovariance covariance = new StreamingCovariance(numOfCols);
+                for (double[] row : rows) {
+                    covariance.add(row);
+                }
+                PackedCovarianceData expected = covariance.toCovarianceData(variables, isCorrelation);
+
+                for (PackedCovarianceData actual : new PackedCovarianceData[]{builder.buildFromRows(rows, variables, isCorrelation), builder.buildFromColumns(columns, numOfRows, variables, isCorrelation)}) {
+                    Assert.assertEquals(expected.getNumberOfCases(), actual.getNumberOfCases());
+                    Assert.assertEquals(variables, actual.getVariables());
+                    Assert.assertArrayEquals(expected.getPackedData(), actual.getPackedData(), 1e-9);
+                }
+            }
+        }
+    }
+
+}
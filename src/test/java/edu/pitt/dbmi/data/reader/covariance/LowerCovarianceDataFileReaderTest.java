@@ -18,8 +18,12 @@
  */
 package edu.pitt.dbmi.data.reader.covariance;
 
+import edu.pitt.dbmi.data.reader.DataReaderException;
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadMetrics;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
@@ -81,4 +85,84 @@ public class LowerCovarianceDataFileReaderTest {
         }
     }
 
+    /**
+     * Test of readInData method, of class LowerCovarianceDataFileReader,
+     * reading the file once.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadInDataInOnePass() throws IOException {
+        for (Path dataFile : dataFiles) {
+            CovarianceDataReader dataFileReader = new LowerCovarianceDataFileReader(dataFile, delimiter);
+            dataFileReader.setCommentMarker(commentMarker);
+            dataFileReader.setQuoteCharacter(quoteCharacter);
+            dataFileReader.readInData();
+
+            ReadMetrics readMetrics = dataFileReader.getReadMetrics();
+            long expected = 1;
+            long actual = readMetrics.getNumberOfPasses(ReadPhase.READ_HEADER);
+            Assert.assertEquals(expected, actual);
+
+            actual = readMetrics.getNumberOfPasses(ReadPhase.READ_DATA);
+            Assert.assertEquals(expected, actual);
+
+            expected = Files.size(dataFile);
+            actual = readMetrics.getBytesRead();
+            Assert.assertEquals(expected, actual);
+        }
+
+        Path dataFile = Paths.get(getClass().getResource("/data/covariance/bad_spartina.txt").getFile());
+        CovarianceDataReader dataFileReader = new LowerCovarianceDataFileReader(dataFile, delimiter);
+        dataFileReader.setCommentMarker(commentMarker);
+        dataFileReader.setQuoteCharacter(quoteCharacter);
+
+        String errMsg = null;
+        try {
+            dataFileReader.readInData();
+        } catch (DataReaderException exception) {
+            errMsg = exception.getMessage();
+        }
+        Assert.assertEquals("Missing value on line 12 at column 5.", errMsg);
+    }
+
+    /**
+     * Test of setNumberOfThreads method, of class
+     * LowerCovarianceDataFileReader.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadInDataInParallel() throws IOException {
+        for (Path dataFile : dataFiles) {
+            LowerCovarianceDataFileReader dataFileReader = new LowerCovarianceDataFileReader(dataFile, delimiter);
+            dataFileReader.setCommentMarker(commentMarker);
+            dataFileReader.setQuoteCharacter(quoteCharacter);
+            PackedCovarianceData expected = (PackedCovarianceData) dataFileReader.readInData();
+
+            dataFileReader = new LowerCovarianceDataFileReader(dataFile, delimiter);
+            dataFileReader.setCommentMarker(commentMarker);
+            dataFileReader.setQuoteCharacter(quoteCharacter);
+            dataFileReader.setNumberOfThreads(3);
+            PackedCovarianceData actual = (PackedCovarianceData) dataFileReader.readInData();
+
+            Assert.assertEquals(expected.getVariables(), actual.getVariables());
+            Assert.assertArrayEquals(expected.getPackedData(), actual.getPackedData(), 0);
+        }
+
+        Path dataFile = Paths.get(getClass().getResource("/data/covariance/bad_spartina.txt").getFile());
+        LowerCovarianceDataFileReader dataFileReader = new LowerCovarianceDataFileReader(dataFile, delimiter);
+        dataFileReader.setCommentMarker(commentMarker);
+        dataFileReader.setQuoteCharacter(quoteCharacter);
+        dataFileReader.setNumberOfThreads(3);
+
+        String errMsg = null;
+        try {
+            dataFileReader.readInData();
+        } catch (DataReaderException exception) {
+            errMsg = exception.getMessage();
+        }
+        Assert.assertEquals("Missing value on line 12 at column 5.", errMsg);
+    }
+
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * Oct 19, 2026 8:26:39 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class MappedCovarianceDataTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public MappedCovarianceDataTest() {
+    }
+
+    /**
+     * Test of open method, of class MappedCovarianceData.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testOpen() throws IOException {
+        Path file = folder.newFile("matrix.bin").toPath();
+        Path dataFile = folder.newFile("data.txt").toPath();
+
+        try (MappedCovarianceData covarianceData = MappedCovarianceData.create(file, 10, Arrays.asList("X1", "X2", "X3"))) {
+            double value = 1;
+            for (int row = 0; row < 3; row++) {
+                for (int column = 0; column <= row; column++) {
+                    covarianceData.set(row, column, value++);
+                }
+            }
+            Assert.assertFalse(covarianceData.isCacheOf(dataFile, "delimiter=TAB"));
+
+            covarianceData.commit(dataFile, "delimiter=TAB");
+        }
+
+        try (MappedCovarianceData covarianceData = MappedCovarianceData.open(file)) {
+            Assert.assertTrue(covarianceData.isCacheOf(dataFile, "delimiter=TAB"));
+            Assert.assertFalse(covarianceData.isCacheOf(dataFile, "delimiter=COMMA"));
+
+            long expected = 10;
+            long actual = covarianceData.getNumberOfCases();
+            Assert.assertEquals(expected, actual);
+
+            Assert.assertEquals(Arrays.asList("X1", "X2", "X3"), covarianceData.getVariables());
+            Assert.assertArrayEquals(new double[]{1, 2, 4}, covarianceData.getRow(0), 0);
+            Assert.assertArrayEquals(new double[]{2, 3, 5}, covarianceData.getRow(1), 0);
+            Assert.assertArrayEquals(new double[]{4, 5, 6}, covarianceData.getRow(2), 0);
+            Assert.assertArrayEquals(new double[][]{{6, 4}, {4, 1}}, covarianceData.getSubmatrix(new int[]{2, 0}));
+            Assert.assertArrayEquals(new double[][]{{1, 2, 4}, {2, 3, 5}, {4, 5, 6}}, covarianceData.getData());
+        }
+    }
+
+    /**
+     * Test of readInData method, of class LowerCovarianceDataFileReader, with
+     * a cache file.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadInDataWithCacheFile() throws IOException {
+        Path dataFile = Paths.get(getClass().getResource("/data/covariance/spartina.txt").getFile());
+        Path cacheFile = folder.getRoot().toPath().resolve("spartina.bin");
+
+        LowerCovarianceDataFileReader dataFileReader = new LowerCovarianceDataFileReader(dataFile, Delimiter.SPACE);
+        dataFileReader.setCommentMarker("//");
+        dataFileReader.setQuoteCharacter('"');
+        PackedCovarianceData expected = (PackedCovarianceData) dataFileReader.readInData();
+
+        // the first read parses the file, the second one uses the cache
+        for (int i = 1; i >= 0; i--) {
+            dataFileReader = new LowerCovarianceDataFileReader(dataFile, Delimiter.SPACE);
+            dataFileReader.setCommentMarker("//");
+            dataFileReader.setQuoteCharacter('"');
+            dataFileReader.setCacheFile(cacheFile);
+
+            try (MappedCovarianceData actual = (MappedCovarianceData) dataFileReader.readInData()) {
+                Assert.assertEquals(expected.getVariables(), actual.getVariables());
+                Assert.assertArrayEquals(expected.getData(), actual.getData());
+            }
+
+            long numOfPasses = i;
+            Assert.assertEquals(numOfPasses, dataFileReader.getReadMetrics().getNumberOfPasses(ReadPhase.READ_DATA));
+        }
+
+        // the cache of the file read with other settings is replaced, and the
+        // matrix read from the old cache is still readable
+        try (MappedCovarianceData cachedData = (MappedCovarianceData) dataFileReader.readInData()) {
+            dataFileReader = new LowerCovarianceDataFileReader(dataFile, Delimiter.SPACE);
+            dataFileReader.setCommentMarker("//");
+            dataFileReader.setQuoteCharacter('\'');
+            dataFileReader.setCacheFile(cacheFile);
+            try (MappedCovarianceData actual = (MappedCovarianceData) dataFileReader.readInData()) {
+                Assert.assertEquals(expected.getVariables(), actual.getVariables());
+            }
+
+            Assert.assertArrayEquals(expected.getData(), cachedData.getData());
+        }
+
+        long numOfPasses = 1;
+        Assert.assertEquals(numOfPasses, dataFileReader.getReadMetrics().getNumberOfPasses(ReadPhase.READ_DATA));
+
+        // no temporary file is left behind
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            Assert.assertEquals(Collections.singletonList(cacheFile), files.collect(Collectors.toList()));
+        }
+
+        // a cache file that cannot be read is replaced
+        Files.write(cacheFile, new byte[]{1, 2, 3});
+        dataFileReader = new LowerCovarianceDataFileReader(dataFile, Delimiter.SPACE);
+        dataFileReader.setCommentMarker("//");
+        dataFileReader.setQuoteCharacter('"');
+        dataFileReader.setCacheFile(cacheFile);
+        try (MappedCovarianceData actual = (MappedCovarianceData) dataFileReader.readInData()) {
+            Assert.assertArrayEquals(expected.getData(), actual.getData());
+        }
+        Assert.assertEquals(numOfPasses, dataFileReader.getReadMetrics().getNumberOfPasses(ReadPhase.READ_DATA));
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * Oct 19, 2026 6:08:17 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class PackedCovarianceDataTest {
+
+    public PackedCovarianceDataTest() {
+    }
+
+    /**
+     * Test of getRow method, of class PackedCovarianceData.
+     */
+    @Test
+    public void testGetRow() {
+        // 1
+        // 2 3
+        // 4 5 6
+        double[] values = {1, 2, 3, 4, 5, 6};
+        PackedCovarianceData covarianceData = new PackedCovarianceData(10, Arrays.asList("X1", "X2", "X3"), values);
+
+        Assert.assertArrayEquals(new double[]{1, 2, 4}, covarianceData.getRow(0), 0);
+        Assert.assertArrayEquals(new double[]{2, 3, 5}, covarianceData.getRow(1), 0);
+        Assert.assertArrayEquals(new double[]{4, 5, 6}, covarianceData.getRow(2), 0);
+        Assert.assertArrayEquals(new double[][]{{6, 4}, {4, 1}}, covarianceData.getSubmatrix(new int[]{2, 0}));
+
+        covarianceData.set(0, 2, 7);
+        Assert.assertEquals(7, covarianceData.get(2, 0), 0);
+        Assert.assertArrayEquals(new double[][]{{1, 2, 7}, {2, 3, 5}, {7, 5, 6}}, covarianceData.getData());
+    }
+
+    /**
+     * Test of getData method, of class PackedCovarianceData, as read from a
+     * file.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testGetData() throws IOException {
+        Path dataFile = Paths.get(getClass().getResource("/data/covariance/spartina.txt").getFile());
+        CovarianceDataReader dataFileReader = new LowerCovarianceDataFileReader(dataFile, Delimiter.SPACE);
+        dataFileReader.setCommentMarker("//");
+        dataFileReader.setQuoteCharacter('"');
+
+        PackedCovarianceData covarianceData = (PackedCovarianceData) dataFileReader.readInData();
+
+        long expected = 15 * 16 / 2;
+        long actual = covarianceData.getPackedData().length;
+        Assert.assertEquals(expected, actual);
+
+        double[][] data = covarianceData.getData();
+        for (int row = 0; row < data.length; row++) {
+            Assert.assertArrayEquals(data[row], covarianceData.getRow(row), 0);
+        }
+
+        // BIO and H2S
+        Assert.assertEquals(0.33, covarianceData.get(0, 1), 0);
+        Assert.assertEquals(0.33, data[1][0], 0);
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.covariance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * Oct 19, 2026 9:48:05 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class StreamingCovarianceTest {
+
+    private static final double DELTA = 1e-8;
+
+    public StreamingCovarianceTest() {
+    }
+
+    /**
+     * Test of toCovarianceData method, of class StreamingCovariance.
+     */
+    @Test
+    public void testToCovarianceData() {
+        double[][] data = createData(200, 6, 0.1, 0);
+        List<String> variables = createVariables(6);
+
+        StreamingCovariance covariance = new StreamingCovariance(6);
+        for (double[] row : data) {
+            covariance.add(row);
+        }
+
+        long expected = 200;
+        long actual = covariance.toCovarianceData(variables, false).getNumberOfCases();
+        Assert.assertEquals(expected, actual);
+
+        assertMatrixEquals(covarianceOf(data, false), covariance.toCovarianceData(variables, false));
+        assertMatrixEquals(covarianceOf(data, true), covariance.toCovarianceData(variables, true));
+    }
+
+    /**
+     * Test of merge method, of class StreamingCovariance.
+     */
+    @Test
+    public void testMerge() {
+        List<String> variables = createVariables(5);
+        for (double missingRate : new double[]{0, 0.2}) {
+            // the first chunk has no missing value
+            double[][] data = createData(300, 5, missingRate, 50);
+
+            StreamingCovariance covariance = new StreamingCovariance(5);
+            StreamingCovariance[] chunks = {new StreamingCovariance(5), new StreamingCovariance(5), new StreamingCovariance(5)};
+            for (int i = 0; i < data.length; i++) {
+                chunks[(i < 50) ? 0 : (i < 120) ? 1 : 2].add(data[i]);
+            }
+            for (StreamingCovariance chunk : chunks) {
+                covariance.merge(chunk);
+            }
+
+            long expected = 300;
+            long actual = covariance.getNumberOfRows();
+            Assert.assertEquals(expected, actual);
+
+            assertMatrixEquals(covarianceOf(data, false), covariance.toCovarianceData(variables, false));
+            assertMatrixEquals(covarianceOf(data, true), covariance.toCovarianceData(variables, true));
+        }
+    }
+
+    private void assertMatrixEquals(double[][] expected, PackedCovarianceData actual) {
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertArrayEquals(expected[i], actual.getRow(i), DELTA);
+        }
+    }
+
+    /**
+     * Compute the covariance, or the correlation, of each pair of columns in
+     * two passes over the rows where both values are present.
+     */
+    private double[][] covarianceOf(double[][] data, boolean isCorrelation) {
+        int numOfCols = data[0].length;
+        double[][] matrix = new double[numOfCols][numOfCols];
+        for (int i = 0; i < numOfCols; i++) {
+            for (int j = 0; j < numOfCols; j++) {
+                double sumX = 0;
+                double sumY = 0;
+                int n = 0;
+                for (double[] row : data) {
+                    if (!(Double.isNaN(row[i]) || Double.isNaN(row[j]))) {
+                        sumX += row[i];
+                        sumY += row[j];
+                        n++;
+                    }
+                }
+
+                double meanX = sumX / n;
+                double meanY = sumY / n;
+                double sumXY = 0;
+                double sumXX = 0;
+                double sumYY = 0;
+                for (double[] row : data) {
+                    if (!(Double.isNaN(row[i]) || Double.isNaN(row[j]))) {
+                        sumXY += (row[i] - meanX) * (row[j] - meanY);
+                        sumXX += (row[i] - meanX) * (row[i] - meanX);
+                        sumYY += (row[j] - meanY) * (row[j] - meanY);
+                    }
+                }
+
+                matrix[i][j] = isCorrelation ? sumXY / Math.sqrt(sumXX * sumYY) : sumXY / (n - 1);
+            }
+        }
+
+        return matrix;
+    }
+
+    private double[][] createData(int numOfRows, int numOfCols, double missingRate, int numOfCompleteRows) {
+        Random random = new Random(numOfRows * 31 + numOfCols);
+        double[][] data = new double[numOfRows][numOfCols];
+        for (int i = 0; i < numOfRows; i++) {
+            double common = random.nextGaussian();
+            for (int j = 0; j < numOfCols; j++) {
+                // large offsets to check the numerical stability
+                data[i][j] = (i >= numOfCompleteRows && random.nextDouble() < missingRate)
+                        ? Double.NaN
+                        : 1e6 + (j * common) + random.nextGaussian();
+            }
+        }
+
+        return data;
+    }
+
+    private List<String> createVariables(int numOfVariables) {
+        List<String> variables = new ArrayList<>();
+        for (int i = 1; i <= numOfVariables; i++) {
+            variables.add("X" + i);
+        }
+
+        return variables;
+    }
+
+}
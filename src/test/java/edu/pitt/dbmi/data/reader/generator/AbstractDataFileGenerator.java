@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.generator;
+
+import edu.pitt.dbmi.data.reader.DataReaderException;
+import edu.pitt.dbmi.data.reader.Delimiter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates a file in blocks of lines. The blocks are generated in parallel,
+ * each from its own random seed, and written in order, so the content of the
+ * file depends only on the seed. At most two blocks per thread are held in
+ * memory, which makes it possible to generate files much larger than the
+ * heap.
+ *
+ * Oct 19, 2026 1:55:36 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public abstract class AbstractDataFileGenerator implements DataFileGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDataFileGenerator.class);
+
+    /**
+     * The approximate number of bytes in a block.
+     */
+    protected static final int BLOCK_SIZE = 4 * 1024 * 1024;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    protected final Delimiter delimiter;
+
+    protected byte[] lineEnding;
+    protected byte quoteCharacter;
+    protected String commentMarker;
+    protected long seed;
+    protected int numberOfThreads;
+
+    public AbstractDataFileGenerator(Delimiter delimiter) {
+        this.delimiter = delimiter;
+        this.lineEnding = LineEnding.LF.getBytes();
+        this.quoteCharacter = -1;
+        this.commentMarker = "";
+        this.seed = System.nanoTime();
+        this.numberOfThreads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Get the number of blocks after the header.
+     *
+     * @return
+     */
+    protected abstract int getNumberOfBlocks();
+
+    protected abstract void generateHeader(ByteBlock block);
+
+    /**
+     * Generate the given block. This is called concurrently from multiple
+     * threads.
+     *
+     * @param blockIndex
+     * @param random the random number generator of the block
+     * @param block
+     */
+    protected abstract void generateBlock(int blockIndex, SplittableRandom random, ByteBlock block);
+
+    @Override
+    public void generate(Path dataFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBlock header = new ByteBlock(1024);
+            generateHeader(header);
+            write(channel, header.toByteBuffer());
+
+            int numOfBlocks = getNumberOfBlocks();
+            if (numberOfThreads <= 1 || numOfBlocks <= 1) {
+                for (int i = 0; i < numOfBlocks; i++) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Data generation was interrupted.");
+                    }
+                    write(channel, generateBlock(i));
+                }
+            } else {
+                ExecutorService pool = Executors.newFixedThreadPool(numberOfThreads);
+                try {
+                    int maxNumOfPendingBlocks = numberOfThreads * 2;
+                    LinkedList<Future<ByteBuffer>> pendingBlocks = new LinkedList<>();
+                    int blockIndex = 0;
+                    while (blockIndex < numOfBlocks || !pendingBlocks.isEmpty()) {
+                        while (blockIndex < numOfBlocks && pendingBlocks.size() < maxNumOfPendingBlocks) {
+                            final int index = blockIndex++;
+                            pendingBlocks.add(pool.submit(() -> generateBlock(index)));
+                        }
+
+                        write(channel, pendingBlocks.removeFirst().get());
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Data generation was interrupted.");
+                } catch (ExecutionException exception) {
+                    String errMsg = String.format("Unable to generate data file %s.", dataFile.getFileName());
+                    LOGGER.error(errMsg, exception.getCause());
+                    throw new DataReaderException(errMsg);
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+        }
+    }
+
+    private ByteBuffer generateBlock(int blockIndex) {
+        ByteBlock block = new ByteBlock(BLOCK_SIZE + (BLOCK_SIZE >> 2));
+        generateBlock(blockIndex, new SplittableRandom(seed + (GOLDEN_GAMMA * (blockIndex + 1))), block);
+
+        return block.toByteBuffer();
+    }
+
+    private void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    protected void appendDelimiter(ByteBlock block) {
+        block.append(delimiter.getByteValue());
+    }
+
+    protected void appendQuoted(ByteBlock block, String value) {
+        if (quoteCharacter == -1) {
+            block.append(value);
+        } else {
+            block.append(quoteCharacter);
+            block.append(value);
+            block.append(quoteCharacter);
+        }
+    }
+
+    protected void appendLineEnding(ByteBlock block) {
+        block.append(lineEnding);
+    }
+
+    protected boolean hasCommentMarker() {
+        return !commentMarker.isEmpty();
+    }
+
+    @Override
+    public void setLineEnding(LineEnding lineEnding) {
+        this.lineEnding = lineEnding.getBytes();
+    }
+
+    @Override
+    public void setQuoteCharacter(char quoteCharacter) {
+        this.quoteCharacter = Character.isDefined(quoteCharacter)
+                ? (byte) quoteCharacter
+                : (byte) -1;
+    }
+
+    @Override
+    public void setCommentMarker(String commentMarker) {
+        this.commentMarker = (commentMarker == null)
+                ? ""
+                : commentMarker.trim();
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+    }
+
+}
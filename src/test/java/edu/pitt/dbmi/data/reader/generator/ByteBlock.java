@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.generator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A growable byte array that formats values without creating Strings.
+ *
+ * Oct 19, 2026 1:47:51 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+final class ByteBlock {
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private final byte[] digits = new byte[20];
+
+    private byte[] buffer;
+    private int size;
+
+    ByteBlock(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void append(byte value) {
+        ensureCapacity(1);
+        buffer[size++] = value;
+    }
+
+    void append(byte[] values) {
+        ensureCapacity(values.length);
+        System.arraycopy(values, 0, buffer, size, values.length);
+        size += values.length;
+    }
+
+    void append(String value) {
+        append(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void append(long value) {
+        if (value < 0) {
+            append((byte) '-');
+            value = -value;
+        }
+
+        int numOfDigits = 0;
+        do {
+            digits[numOfDigits++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+
+        ensureCapacity(numOfDigits);
+        while (numOfDigits > 0) {
+            buffer[size++] = digits[--numOfDigits];
+        }
+    }
+
+    /**
+     * Append the value rounded to the given number of decimal places.
+     *
+     * @param value
+     * @param scale number of decimal places, between 1 and 9
+     */
+    void append(double value, int scale) {
+        long unit = POWERS_OF_TEN[scale];
+        long scaled = Math.round(Math.abs(value) * unit);
+        if (value < 0 && scaled != 0) {
+            append((byte) '-');
+        }
+        append(scaled / unit);
+        append((byte) '.');
+
+        long fraction = scaled % unit;
+        ensureCapacity(scale);
+        for (int i = scale - 1; i >= 0; i--) {
+            buffer[size + i] = (byte) ('0' + (fraction % 10));
+            fraction /= 10;
+        }
+        size += scale;
+    }
+
+    int size() {
+        return size;
+    }
+
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, size);
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(buffer.length * 2, size + length)];
+            System.arraycopy(buffer, 0, newBuffer, 0, size);
+            buffer = newBuffer;
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.generator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ *
+ * Oct 19, 2026 1:42:18 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public interface DataFileGenerator {
+
+    /**
+     * Write the generated data to the given file, replacing the file if it
+     * exists.
+     *
+     * @param dataFile
+     * @throws IOException
+     */
+    public void generate(Path dataFile) throws IOException;
+
+    public void setLineEnding(LineEnding lineEnding);
+
+    public void setQuoteCharacter(char quoteCharacter);
+
+    public void setCommentMarker(String commentMarker);
+
+    /**
+     * Set the seed of the random values. The same seed always generates the
+     * same file, regardless of the number of threads.
+     *
+     * @param seed
+     */
+    public void setSeed(long seed);
+
+    public void setNumberOfThreads(int numberOfThreads);
+
+}
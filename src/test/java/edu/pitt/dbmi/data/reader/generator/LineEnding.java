@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.generator;
+
+/**
+ * The line terminators a generator can write.
+ *
+ * Oct 19, 2026 1:40:03 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public enum LineEnding {
+
+    LF("lf", new byte[]{'\n'}),
+    CRLF("crlf", new byte[]{'\r', '\n'}),
+    CR("cr", new byte[]{'\r'});
+
+    private final String name;
+    private final byte[] bytes;
+
+    private LineEnding(String name, byte[] bytes) {
+        this.name = name;
+        this.bytes = bytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.generator;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a lower triangular covariance matrix. The variables are named like
+ * the columns generated by {@link TabularDataFileGenerator}. The matrix has a
+ * unit diagonal and off-diagonal values smaller than 1 / numberOfVariables in
+ * magnitude, which keeps it diagonally dominant and so positive definite.
+ *
+ * Oct 19, 2026 2:26:47 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class LowerCovarianceDataFileGenerator extends AbstractDataFileGenerator {
+
+    private static final int DECIMAL_PLACES = 6;
+
+    private final int numberOfVariables;
+    private final int numberOfCases;
+
+    public LowerCovarianceDataFileGenerator(int numberOfVariables, int numberOfCases, Delimiter delimiter) {
+        super(delimiter);
+        this.numberOfVariables = numberOfVariables;
+        this.numberOfCases = numberOfCases;
+    }
+
+    /**
+     * Get the number of rows in a block, aiming at {@link #BLOCK_SIZE} bytes
+     * for the longest row.
+     *
+     * @return
+     */
+    private int getNumberOfRowsPerBlock() {
+        long estimatedRowSize = (long) numberOfVariables * (DECIMAL_PLACES + 4);
+
+        return (int) Math.max(1, Math.min(numberOfVariables, BLOCK_SIZE / Math.max(1, estimatedRowSize)));
+    }
+
+    @Override
+    protected int getNumberOfBlocks() {
+        int numOfRowsPerBlock = getNumberOfRowsPerBlock();
+
+        return (int) (((long) numberOfVariables + numOfRowsPerBlock - 1) / numOfRowsPerBlock);
+    }
+
+    @Override
+    protected void generateHeader(ByteBlock block) {
+        if (hasCommentMarker()) {
+            block.append(commentMarker);
+            block.append(" " + numberOfVariables + " variables");
+            appendLineEnding(block);
+        }
+
+        block.append(numberOfCases);
+        appendLineEnding(block);
+
+        for (int i = 1; i <= numberOfVariables; i++) {
+            if (i > 1) {
+                appendDelimiter(block);
+            }
+            appendQuoted(block, "X" + i);
+        }
+        appendLineEnding(block);
+    }
+
+    @Override
+    protected void generateBlock(int blockIndex, SplittableRandom random, ByteBlock block) {
+        double scale = 1.0 / numberOfVariables;
+
+        int numOfRowsPerBlock = getNumberOfRowsPerBlock();
+        int startRow = blockIndex * numOfRowsPerBlock;
+        int endRow = (int) Math.min(numberOfVariables, (long) startRow + numOfRowsPerBlock);
+        for (int row = startRow; row < endRow; row++) {
+            for (int col = 0; col < row; col++) {
+                block.append(random.nextDouble(-scale, scale), DECIMAL_PLACES);
+                appendDelimiter(block);
+            }
+            block.append(1.0, DECIMAL_PLACES);
+            appendLineEnding(block);
+        }
+    }
+
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    public int getNumberOfCases() {
+        return numberOfCases;
+    }
+
+}
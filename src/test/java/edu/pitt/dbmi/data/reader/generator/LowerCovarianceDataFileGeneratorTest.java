@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.generator;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceData;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceDataReader;
+import edu.pitt.dbmi.data.reader.covariance.LowerCovarianceDataFileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * Oct 19, 2026 2:52:33 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class LowerCovarianceDataFileGeneratorTest {
+
+    private final Delimiter delimiter = Delimiter.SPACE;
+    private final char quoteCharacter = '"';
+    private final String commentMarker = "//";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public LowerCovarianceDataFileGeneratorTest() {
+    }
+
+    /**
+     * Test of generate method, of class LowerCovarianceDataFileGenerator.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testGenerate() throws IOException {
+        int numOfVars = 40;
+        int numOfCases = 500;
+
+        LowerCovarianceDataFileGenerator generator = new LowerCovarianceDataFileGenerator(numOfVars, numOfCases, delimiter);
+        generator.setQuoteCharacter(quoteCharacter);
+        generator.setCommentMarker(commentMarker);
+        generator.setLineEnding(LineEnding.CRLF);
+        generator.setSeed(3);
+
+        Path dataFile = folder.newFile("covariance.txt").toPath();
+        generator.generate(dataFile);
+
+        CovarianceDataReader dataReader = new LowerCovarianceDataFileReader(dataFile, delimiter);
+        dataReader.setCommentMarker(commentMarker);
+        dataReader.setQuoteCharacter(quoteCharacter);
+        CovarianceData covarianceData = dataReader.readInData();
+
+        long expected = numOfCases;
+        long actual = covarianceData.getNumberOfCases();
+        Assert.assertEquals(expected, actual);
+
+        expected = numOfVars;
+        actual = covarianceData.getVariables().size();
+        Assert.assertEquals(expected, actual);
+
+        double[][] data = covarianceData.getData();
+        for (int i = 0; i < numOfVars; i++) {
+            Assert.assertEquals(1.0, data[i][i], 0);
+            for (int j = 0; j < i; j++) {
+                Assert.assertEquals(data[i][j], data[j][i], 0);
+                Assert.assertTrue(Math.abs(data[i][j]) <= 1.0 / numOfVars);
+            }
+        }
+    }
+
+}
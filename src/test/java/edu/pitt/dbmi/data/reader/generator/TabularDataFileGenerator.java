@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.generator;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import java.util.SplittableRandom;
+
+/**
+ * Generates tabular data. Continuous values are drawn from the standard normal
+ * distribution and discrete values are the category numbers 0 to
+ * numberOfCategories - 1. The discrete columns are spread evenly over the
+ * columns according to the discrete column ratio.
+ *
+ * Oct 19, 2026 2:10:22 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class TabularDataFileGenerator extends AbstractDataFileGenerator {
+
+    private static final int DECIMAL_PLACES = 4;
+
+    private final int numberOfRows;
+    private final int numberOfColumns;
+
+    private double discreteColumnRatio;
+    private int numberOfCategories;
+    private double missingValueRate;
+    private byte[] missingDataMarker;
+    private int commentLineInterval;
+    private boolean hasHeader;
+
+    public TabularDataFileGenerator(int numberOfRows, int numberOfColumns, Delimiter delimiter) {
+        super(delimiter);
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.discreteColumnRatio = 0;
+        this.numberOfCategories = 4;
+        this.missingValueRate = 0;
+        this.missingDataMarker = "*".getBytes();
+        this.commentLineInterval = 0;
+        this.hasHeader = true;
+    }
+
+    /**
+     * True if the given column is generated as discrete data.
+     *
+     * @param columnNumber the column number, starting from 1
+     * @return
+     */
+    public boolean isDiscrete(int columnNumber) {
+        return Math.floor(columnNumber * discreteColumnRatio) != Math.floor((columnNumber - 1) * discreteColumnRatio);
+    }
+
+    /**
+     * Get the number of rows in a block, aiming at {@link #BLOCK_SIZE} bytes.
+     *
+     * @return
+     */
+    private int getNumberOfRowsPerBlock() {
+        long estimatedRowSize = (long) numberOfColumns * (DECIMAL_PLACES + 4);
+
+        return (int) Math.max(1, Math.min(numberOfRows, BLOCK_SIZE / Math.max(1, estimatedRowSize)));
+    }
+
+    @Override
+    protected int getNumberOfBlocks() {
+        int numOfRowsPerBlock = getNumberOfRowsPerBlock();
+
+        return (int) (((long) numberOfRows + numOfRowsPerBlock - 1) / numOfRowsPerBlock);
+    }
+
+    @Override
+    protected void generateHeader(ByteBlock block) {
+        if (!hasHeader) {
+            return;
+        }
+
+        for (int col = 1; col <= numberOfColumns; col++) {
+            if (col > 1) {
+                appendDelimiter(block);
+            }
+            appendQuoted(block, "X" + col);
+        }
+        appendLineEnding(block);
+    }
+
+    @Override
+    protected void generateBlock(int blockIndex, SplittableRandom random, ByteBlock block) {
+        boolean[] discreteColumns = new boolean[numberOfColumns];
+        for (int i = 0; i < numberOfColumns; i++) {
+            discreteColumns[i] = isDiscrete(i + 1);
+        }
+
+        boolean hasComments = hasCommentMarker() && commentLineInterval > 0;
+        boolean hasMissingValues = missingValueRate > 0;
+
+        int numOfRowsPerBlock = getNumberOfRowsPerBlock();
+        int startRow = blockIndex * numOfRowsPerBlock;
+        int endRow = (int) Math.min(numberOfRows, (long) startRow + numOfRowsPerBlock);
+        for (int row = startRow; row < endRow; row++) {
+            if (hasComments && row % commentLineInterval == 0) {
+                block.append(commentMarker);
+                block.append(" row ");
+                block.append(row + 1);
+                appendLineEnding(block);
+            }
+
+            for (int col = 0; col < numberOfColumns; col++) {
+                if (col > 0) {
+                    appendDelimiter(block);
+                }
+
+                if (quoteCharacter != -1) {
+                    block.append(quoteCharacter);
+                }
+                if (hasMissingValues && random.nextDouble() < missingValueRate) {
+                    block.append(missingDataMarker);
+                } else if (discreteColumns[col]) {
+                    block.append(random.nextInt(numberOfCategories));
+                } else {
+                    block.append(nextGaussian(random), DECIMAL_PLACES);
+                }
+                if (quoteCharacter != -1) {
+                    block.append(quoteCharacter);
+                }
+            }
+            appendLineEnding(block);
+        }
+    }
+
+    /**
+     * Box-Muller transform, since SplittableRandom has no Gaussian values.
+     *
+     * @param random
+     * @return
+     */
+    private static double nextGaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * Set the fraction of the columns that are discrete: 0 for continuous
+     * data, 1 for discrete data and anything in between for mixed data.
+     *
+     * @param discreteColumnRatio
+     */
+    public void setDiscreteColumnRatio(double discreteColumnRatio) {
+        this.discreteColumnRatio = Math.max(0, Math.min(1, discreteColumnRatio));
+    }
+
+    public void setNumberOfCategories(int numberOfCategories) {
+        this.numberOfCategories = Math.max(1, numberOfCategories);
+    }
+
+    /**
+     * Set the probability of a value being replaced by the missing data
+     * marker.
+     *
+     * @param missingValueRate
+     */
+    public void setMissingValueRate(double missingValueRate) {
+        this.missingValueRate = Math.max(0, Math.min(1, missingValueRate));
+    }
+
+    public void setMissingDataMarker(String missingDataMarker) {
+        this.missingDataMarker = (missingDataMarker == null)
+                ? new byte[0]
+                : missingDataMarker.trim().getBytes();
+    }
+
+    /**
+     * Set the number of data rows between comment lines. A comment line is
+     * written before every commentLineInterval-th row, including the first
+     * one. Comment lines are only written when a comment marker is set.
+     *
+     * @param commentLineInterval
+     */
+    public void setCommentLineInterval(int commentLineInterval) {
+        this.commentLineInterval = Math.max(0, commentLineInterval);
+    }
+
+    public void setHasHeader(boolean hasHeader) {
+        this.hasHeader = hasHeader;
+    }
+
+}
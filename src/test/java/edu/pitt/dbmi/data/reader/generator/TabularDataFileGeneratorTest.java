@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.generator;
+
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.DatasetReader;
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.MixedData;
+import edu.pitt.dbmi.data.reader.tabular.TabularColumnFileReader;
+import edu.pitt.dbmi.data.reader.tabular.TabularColumnReader;
+import edu.pitt.dbmi.data.reader.tabular.TabularDataFileReader;
+import edu.pitt.dbmi.data.reader.tabular.TabularDataReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * Oct 19, 2026 2:41:09 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class TabularDataFileGeneratorTest {
+
+    private final Delimiter delimiter = Delimiter.COMMA;
+    private final char quoteCharacter = '"';
+    private final String commentMarker = "//";
+    private final String missingValueMarker = "*";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public TabularDataFileGeneratorTest() {
+    }
+
+    /**
+     * Test of generate method, of class TabularDataFileGenerator.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testGenerate() throws IOException {
+        int numOfRows = 2500;
+        int numOfCols = 7;
+
+        TabularDataFileGenerator generator = new TabularDataFileGenerator(numOfRows, numOfCols, delimiter);
+        generator.setDiscreteColumnRatio(0.5);
+        generator.setNumberOfCategories(3);
+        generator.setMissingValueRate(0.05);
+        generator.setMissingDataMarker(missingValueMarker);
+        generator.setQuoteCharacter(quoteCharacter);
+        generator.setCommentMarker(commentMarker);
+        generator.setCommentLineInterval(100);
+        generator.setLineEnding(LineEnding.CR);
+        generator.setSeed(1);
+
+        Path dataFile = folder.newFile("mixed.csv").toPath();
+        generator.generate(dataFile);
+
+        TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, delimiter);
+        columnReader.setCommentMarker(commentMarker);
+        columnReader.setQuoteCharacter(quoteCharacter);
+        DataColumn[] dataColumns = columnReader.readInDataColumns(false);
+        for (DataColumn dataColumn : dataColumns) {
+            dataColumn.setDiscrete(generator.isDiscrete(dataColumn.getColumnNumber()));
+        }
+
+        TabularDataReader dataReader = new TabularDataFileReader(dataFile, delimiter);
+        dataReader.setCommentMarker(commentMarker);
+        dataReader.setQuoteCharacter(quoteCharacter);
+        dataReader.setMissingDataMarker(missingValueMarker);
+        MixedData mixedData = (MixedData) dataReader.read(dataColumns, true);
+
+        long expected = numOfCols;
+        long actual = mixedData.getDataColumns().length;
+        Assert.assertEquals(expected, actual);
+
+        expected = numOfRows;
+        actual = mixedData.getNumOfRows();
+        Assert.assertEquals(expected, actual);
+
+        expected = 3;
+        actual = mixedData.getDataColumns()[1].getCategories().size();
+        Assert.assertEquals(expected, actual);
+
+        int numOfMissingValues = 0;
+        for (int row = 0; row < numOfRows; row++) {
+            if (mixedData.getDiscreteData()[1][row] == DatasetReader.DISCRETE_MISSING_VALUE) {
+                numOfMissingValues++;
+            }
+        }
+        Assert.assertTrue(numOfMissingValues > 0);
+    }
+
+    /**
+     * The content of the file must not depend on the number of threads.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testGenerateInParallel() throws IOException {
+        int numOfRows = 200_000;
+        int numOfCols = 5;
+
+        TabularDataFileGenerator generator = new TabularDataFileGenerator(numOfRows, numOfCols, delimiter);
+        generator.setDiscreteColumnRatio(0.2);
+        generator.setSeed(2);
+
+        Path serialFile = folder.newFile("serial.csv").toPath();
+        generator.setNumberOfThreads(1);
+        generator.generate(serialFile);
+
+        Path parallelFile = folder.newFile("parallel.csv").toPath();
+        generator.setNumberOfThreads(4);
+        generator.generate(parallelFile);
+
+        Assert.assertArrayEquals(Files.readAllBytes(serialFile), Files.readAllBytes(parallelFile));
+
+        try (Stream<String> lines = Files.lines(parallelFile)) {
+            long expected = numOfRows + 1;
+            long actual = lines.count();
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Test of generate method, of class TabularDataFileGenerator, when the
+     * thread is interrupted. The generation fails instead of leaving a
+     * truncated file.
+     *
+     * @throws IOException
+     */
+    @Test(expected = IOException.class)
+    public void testGenerateInterrupted() throws IOException {
+        TabularDataFileGenerator generator = new TabularDataFileGenerator(1000, 10, delimiter);
+        generator.setNumberOfThreads(1);
+
+        Path dataFile = folder.newFile("interrupted.csv").toPath();
+        Thread.currentThread().interrupt();
+        try {
+            generator.generate(dataFile);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.metrics;
+
+import edu.pitt.dbmi.data.reader.ContinuousData;
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.tabular.ContinuousTabularDatasetFileReader;
+import edu.pitt.dbmi.data.reader.tabular.ContinuousTabularDatasetReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * Oct 19, 2026 10:32:18 AM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class ReadMetricsTest {
+
+    private final Delimiter delimiter = Delimiter.COMMA;
+    private final char quoteCharacter = '"';
+    private final String commentMarker = "//";
+    private final String missingValueMarker = "*";
+
+    private final Path dataFile = Paths.get(getClass().getResource("/data/tabular/continuous/sim_test_data.csv").getFile());
+
+    public ReadMetricsTest() {
+    }
+
+    /**
+     * Test of getReadMetrics method, of class DataReader.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testGetReadMetrics() throws IOException {
+        ContinuousTabularDatasetReader dataReader = new ContinuousTabularDatasetFileReader(dataFile, delimiter);
+        dataReader.setCommentMarker(commentMarker);
+        dataReader.setQuoteCharacter(quoteCharacter);
+        dataReader.setMissingDataMarker(missingValueMarker);
+        dataReader.setHasHeader(true);
+
+        ContinuousData data = (ContinuousData) dataReader.readInData();
+        int numOfRows = data.getData().length;
+        int numOfCols = data.getData()[0].length;
+
+        ReadMetrics readMetrics = dataReader.getReadMetrics();
+
+        long expected = 1;
+        long actual = readMetrics.getNumberOfPasses(ReadPhase.READ_DATA);
+        Assert.assertEquals(expected, actual);
+
+        expected = Files.size(dataFile);
+        actual = readMetrics.getBytesRead(ReadPhase.READ_DATA);
+        Assert.assertEquals(expected, actual);
+
+        expected = numOfRows;
+        actual = readMetrics.getNumberOfRows(ReadPhase.READ_DATA);
+        Assert.assertEquals(expected, actual);
+
+        expected = (long) numOfRows * numOfCols;
+        actual = readMetrics.getNumberOfCells(ReadPhase.READ_DATA);
+        Assert.assertEquals(expected, actual);
+
+        expected = 0;
+        actual = readMetrics.getNumberOfParseErrors();
+        Assert.assertEquals(expected, actual);
+
+        Assert.assertTrue(readMetrics.getNumberOfPasses(ReadPhase.READ_HEADER) > 0);
+        Assert.assertTrue(readMetrics.getWallTime() > 0);
+
+        readMetrics.reset();
+
+        expected = 0;
+        actual = readMetrics.getNumberOfPasses();
+        Assert.assertEquals(expected, actual);
+    }
+
+    /**
+     * Test of getInstance method, of class ReaderStatistics.
+     *
+     * @throws JMException
+     */
+    @Test
+    public void testReaderStatistics() throws JMException {
+        ReaderStatistics statistics = ReaderStatistics.getInstance(ReadMetricsTest.class);
+
+        ReadMetrics readMetrics = new ReadMetrics(ReadMetricsTest.class);
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        pass.addBytesRead(1024);
+        pass.addParseError();
+        pass.end();
+        pass.end();
+
+        long expected = 1;
+        long actual = readMetrics.getNumberOfPasses();
+        Assert.assertEquals(expected, actual);
+
+        expected = 1024;
+        actual = statistics.getBytesRead();
+        Assert.assertEquals(expected, actual);
+
+        expected = 1;
+        actual = statistics.getNumberOfParseErrors();
+        Assert.assertEquals(expected, actual);
+
+        ObjectName objectName = new ObjectName(ReaderStatistics.JMX_DOMAIN + ":type=ReaderStatistics,name=" + ObjectName.quote("ReadMetricsTest"));
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
+
+    /**
+     * Test of track method, of class ReadMetrics.Pass.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTrack() throws Exception {
+        int numOfBytes = 16 * 1024 * 1024;
+
+        ReadMetrics readMetrics = new ReadMetrics(ReadMetricsTest.class);
+        ReadMetrics.Pass pass = readMetrics.startPass(ReadPhase.READ_DATA);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            byte[] data = pool.submit(pass.track(() -> new byte[numOfBytes])).get();
+            Assert.assertEquals(numOfBytes, data.length);
+        } finally {
+            pool.shutdownNow();
+            pass.end();
+        }
+
+        // the allocation of the worker is counted with the pass
+        Assert.assertTrue(readMetrics.getAllocatedBytes(ReadPhase.READ_DATA) >= numOfBytes);
+    }
+
+}
@@ -52,6 +52,47 @@ public class TabularColumnFileReaderTest {
     public TabularColumnFileReaderTest() {
     }
 
+    /**
+     * Test of readInColumnSchema method, of class
+     * AbstractTabularColumnFileReader.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadInColumnSchema() throws IOException {
+        Set<String> columnNames = new HashSet<>(Arrays.asList("X3", "X4"));
+        int[] columnsToExclude = {12, 1, 4};
+        for (Path dataFile : dataFiles) {
+            TabularColumnFileReader fileReader = new TabularColumnFileReader(dataFile, delimiter);
+            fileReader.setCommentMarker(commentMarker);
+            fileReader.setQuoteCharacter(quoteCharacter);
+
+            TabularColumnSchema schema = fileReader.readInColumnSchema(columnsToExclude, columnNames);
+
+            long expected = 10;
+            long actual = schema.getNumberOfColumns();
+            Assert.assertEquals(expected, actual);
+
+            expected = 7;
+            actual = schema.getNumberOfIncludedColumns();
+            Assert.assertEquals(expected, actual);
+
+            Assert.assertArrayEquals(new int[]{1, 3, 4}, schema.getExcludedColumnNumbers());
+
+            expected = 10;
+            actual = schema.getColumnNumber("X10");
+            Assert.assertEquals(expected, actual);
+
+            expected = -1;
+            actual = schema.getColumnNumber("X3");
+            Assert.assertEquals(expected, actual);
+
+            expected = 0;
+            actual = schema.getDuplicateColumnNumbers().length;
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
     /**
      * Test of readInDataColumns method, of class TabularColumnFileReader.
      *
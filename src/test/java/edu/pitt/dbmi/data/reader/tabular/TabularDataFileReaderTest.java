@@ -791,4 +791,47 @@ public class TabularDataFileReaderTest {
         }
     }
 
+    /**
+     * Test of read method, of class TabularDataFileReader, determining the
+     * discrete columns while reading.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadWithNumberOfCategories() throws IOException {
+        for (Path dataFile : mixedDataFiles) {
+            TabularColumnReader fileReader = new TabularColumnFileReader(dataFile, delimiter);
+            fileReader.setCommentMarker(commentMarker);
+            fileReader.setQuoteCharacter(quoteCharacter);
+
+            boolean isDiscrete = false;
+            DataColumn[] dataColumns = fileReader.readInDataColumns(isDiscrete);
+
+            TabularDataReader dataReader = new TabularDataFileReader(dataFile, delimiter);
+            dataReader.setCommentMarker(commentMarker);
+            dataReader.setQuoteCharacter(quoteCharacter);
+            dataReader.setMissingDataMarker(missingValueMarker);
+
+            Data data = dataReader.read(dataColumns, 4, hasHeader);
+            Assert.assertTrue(data instanceof MixedTabularData);
+
+            long numOfDiscrete = Arrays.stream(dataColumns)
+                    .filter(DataColumn::isDiscrete)
+                    .count();
+
+            long expected = 5;
+            long actual = numOfDiscrete;
+            Assert.assertEquals(expected, actual);
+
+            MixedTabularData mixedData = (MixedTabularData) data;
+            expected = 20;
+            actual = mixedData.getNumOfRows();
+            Assert.assertEquals(expected, actual);
+
+            expected = 2;
+            actual = mixedData.getDataColumns()[1].getCategories().size();
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
 }
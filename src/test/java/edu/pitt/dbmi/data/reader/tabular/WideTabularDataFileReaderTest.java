@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.tabular;
+
+import edu.pitt.dbmi.data.reader.ContinuousData;
+import edu.pitt.dbmi.data.reader.Data;
+import edu.pitt.dbmi.data.reader.DataColumn;
+import edu.pitt.dbmi.data.reader.DataColumns;
+import edu.pitt.dbmi.data.reader.DataReaderException;
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.DiscreteData;
+import edu.pitt.dbmi.data.reader.DiscreteDataColumn;
+import edu.pitt.dbmi.data.reader.covariance.PackedCovarianceData;
+import edu.pitt.dbmi.data.reader.metadata.Metadata;
+import edu.pitt.dbmi.data.reader.metadata.MetadataFileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * Oct 19, 2026 4:27:35 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class WideTabularDataFileReaderTest {
+
+    private final Delimiter delimiter = Delimiter.COMMA;
+    private final char quoteCharacter = '"';
+    private final String missingValueMarker = "*";
+    private final String commentMarker = "//";
+    private final boolean hasHeader = true;
+
+    private final int[] columnsToExclude = {8, 2, 4, 11, 9};
+
+    private final Path[] dataFiles = {
+        Paths.get(getClass().getResource("/data/tabular/continuous/dos_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/continuous/mac_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/continuous/sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/continuous/quotes_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/discrete/dos_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/discrete/mac_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/discrete/sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/discrete/quotes_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/mixed/dos_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/mixed/mac_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/mixed/sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/mixed/quotes_sim_test_data.csv").getFile())
+    };
+
+    private final Path[] badDataFiles = {
+        Paths.get(getClass().getResource("/data/tabular/continuous/bad_data_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/discrete/bad_data_sim_test_data.csv").getFile()),
+        Paths.get(getClass().getResource("/data/tabular/mixed/bad_data_sim_test_data.csv").getFile())
+    };
+
+    public WideTabularDataFileReaderTest() {
+    }
+
+    /**
+     * Test of read method, of class WideTabularDataFileReader.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRead() throws IOException {
+        for (Path dataFile : dataFiles) {
+            for (int[] excludedColumns : new int[][]{new int[0], columnsToExclude}) {
+                DataColumn[] expectedColumns = readInDataColumns(dataFile, excludedColumns);
+                DataColumn[] actualColumns = readInDataColumns(dataFile, excludedColumns);
+
+                TabularDataReader expectedReader = createTabularDataFileReader(dataFile);
+                expectedReader.determineDiscreteDataColumns(expectedColumns, 4, hasHeader);
+
+                TabularDataReader actualReader = createWideTabularDataFileReader(dataFile);
+                actualReader.determineDiscreteDataColumns(actualColumns, 4, hasHeader);
+
+                for (int i = 0; i < expectedColumns.length; i++) {
+                    Assert.assertEquals(expectedColumns[i].isDiscrete(), actualColumns[i].isDiscrete());
+                }
+
+                assertDataEquals(expectedReader.read(expectedColumns, hasHeader), actualReader.read(actualColumns, hasHeader));
+            }
+        }
+    }
+
+    /**
+     * Test of read method, of class WideTabularDataFileReader, determining the
+     * discrete columns while reading.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadWithNumberOfCategories() throws IOException {
+        for (Path dataFile : dataFiles) {
+            for (int[] excludedColumns : new int[][]{new int[0], columnsToExclude}) {
+                DataColumn[] expectedColumns = readInDataColumns(dataFile, excludedColumns);
+                TabularDataReader expectedReader = createTabularDataFileReader(dataFile);
+                expectedReader.determineDiscreteDataColumns(expectedColumns, 4, hasHeader);
+                Data expected = expectedReader.read(expectedColumns, hasHeader);
+
+                for (TabularDataReader actualReader : new TabularDataReader[]{createTabularDataFileReader(dataFile), createWideTabularDataFileReader(dataFile)}) {
+                    DataColumn[] actualColumns = readInDataColumns(dataFile, excludedColumns);
+                    Data actual = actualReader.read(actualColumns, 4, hasHeader);
+
+                    for (int i = 0; i < expectedColumns.length; i++) {
+                        Assert.assertEquals(expectedColumns[i].isDiscrete(), actualColumns[i].isDiscrete());
+                    }
+
+                    assertDataEquals(expected, actual);
+                }
+            }
+        }
+
+        // the header is read as data, so the continuous columns have names in them
+        Path dataFile = dataFiles[8];
+        String expected = null;
+        try {
+            DataColumn[] dataColumns = readInDataColumns(dataFile, new int[0]);
+            TabularDataReader dataReader = createTabularDataFileReader(dataFile);
+            dataReader.determineDiscreteDataColumns(dataColumns, 4, false);
+            dataReader.read(dataColumns, false);
+        } catch (DataReaderException exception) {
+            expected = exception.getMessage();
+        }
+        Assert.assertEquals("Invalid number X1 on line 1 at column 1.", expected);
+
+        for (TabularDataReader actualReader : new TabularDataReader[]{createTabularDataFileReader(dataFile), createWideTabularDataFileReader(dataFile)}) {
+            String actual = null;
+            try {
+                actualReader.read(readInDataColumns(dataFile, new int[0]), 4, false);
+            } catch (DataReaderException exception) {
+                actual = exception.getMessage();
+            }
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Test of read method, of class WideTabularDataFileReader.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadWithMetadata() throws IOException {
+        String[][] files = {
+            {"/data/metadata/sim_discrete_intervention.txt", "/data/metadata/sim_discrete_intervention_metadata.json"},
+            {"/data/metadata/sim_mixed_intervention.txt", "/data/metadata/sim_mixed_intervention_metadata.json"}
+        };
+        for (String[] file : files) {
+            Path dataFile = Paths.get(getClass().getResource(file[0]).getFile());
+            Path metadataFile = Paths.get(getClass().getResource(file[1]).getFile());
+
+            DataColumn[] dataColumns = new TabularColumnFileReader(dataFile, Delimiter.TAB).readInDataColumns(true);
+
+            TabularDataFileReader expectedReader = new TabularDataFileReader(dataFile, Delimiter.TAB);
+            expectedReader.setMissingDataMarker(missingValueMarker);
+            expectedReader.determineDiscreteDataColumns(dataColumns, 4, hasHeader);
+
+            Metadata metadata = new MetadataFileReader(metadataFile).read();
+            dataColumns = DataColumns.update(dataColumns, metadata);
+
+            Data expected = expectedReader.read(dataColumns, hasHeader, metadata);
+
+            WideTabularDataFileReader actualReader = new WideTabularDataFileReader(dataFile, Delimiter.TAB);
+            actualReader.setMissingDataMarker(missingValueMarker);
+            actualReader.setNumberOfThreads(3);
+            Data actual = actualReader.read(dataColumns, hasHeader, metadata);
+
+            assertDataEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Test of read method, of class WideTabularDataFileReader.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadBadData() throws IOException {
+        String errMsg = null;
+        try {
+            createWideTabularDataFileReader(badDataFiles[0]).read(readInDataColumns(badDataFiles[0], new int[0]), hasHeader);
+        } catch (DataReaderException exception) {
+            errMsg = exception.getMessage();
+        }
+        Assert.assertEquals("Insufficient data on line 10.  Extracted 9 value(s) but expected 10.", errMsg);
+
+        for (Path dataFile : badDataFiles) {
+            DataColumn[] dataColumns = readInDataColumns(dataFile, new int[0]);
+            for (DataColumn dataColumn : dataColumns) {
+                dataColumn.setDiscrete(false);
+            }
+
+            String expected = null;
+            try {
+                createTabularDataFileReader(dataFile).read(dataColumns, hasHeader);
+            } catch (DataReaderException exception) {
+                expected = exception.getMessage();
+            }
+
+            String actual = null;
+            try {
+                createWideTabularDataFileReader(dataFile).read(dataColumns, hasHeader);
+            } catch (DataReaderException exception) {
+                actual = exception.getMessage();
+            }
+
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Test of readInCovariance method, of class WideTabularDataFileReader.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadInCovariance() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            Path dataFile = dataFiles[i];
+            for (int[] excludedColumns : new int[][]{new int[0], columnsToExclude}) {
+                DataColumn[] dataColumns = readInDataColumns(dataFile, excludedColumns);
+                double[][] data = ((ContinuousData) createTabularDataFileReader(dataFile).read(dataColumns, hasHeader)).getData();
+
+                for (TabularDataReader dataReader : new TabularDataReader[]{createTabularDataFileReader(dataFile), createWideTabularDataFileReader(dataFile)}) {
+                    PackedCovarianceData covarianceData = (PackedCovarianceData) dataReader.readInCovariance(dataColumns, hasHeader, false);
+
+                    long expected = data.length;
+                    long actual = covarianceData.getNumberOfCases();
+                    Assert.assertEquals(expected, actual);
+
+                    expected = dataColumns.length;
+                    actual = covarianceData.getVariables().size();
+                    Assert.assertEquals(expected, actual);
+
+                    for (int row = 0; row < dataColumns.length; row++) {
+                        for (int column = 0; column <= row; column++) {
+                            double sumXY = 0;
+                            double meanX = 0;
+                            double meanY = 0;
+                            for (double[] values : data) {
+                                meanX += values[row] / data.length;
+                                meanY += values[column] / data.length;
+                            }
+                            for (double[] values : data) {
+                                sumXY += (values[row] - meanX) * (values[column] - meanY);
+                            }
+                            Assert.assertEquals(sumXY / (data.length - 1), covarianceData.get(row, column), 1e-10);
+                        }
+                    }
+
+                    covarianceData = (PackedCovarianceData) dataReader.readInCovariance(dataColumns, hasHeader, true);
+                    Assert.assertEquals(1, covarianceData.get(0, 0), 1e-10);
+                }
+            }
+        }
+
+        for (TabularDataReader dataReader : new TabularDataReader[]{createTabularDataFileReader(badDataFiles[0]), createWideTabularDataFileReader(badDataFiles[0])}) {
+            String errMsg = null;
+            try {
+                dataReader.readInCovariance(readInDataColumns(badDataFiles[0], new int[0]), hasHeader, false);
+            } catch (DataReaderException exception) {
+                errMsg = exception.getMessage();
+            }
+            Assert.assertEquals("Insufficient data on line 10.  Extracted 9 value(s) but expected 10.", errMsg);
+        }
+    }
+
+    private DataColumn[] readInDataColumns(Path dataFile, int[] excludedColumns) throws IOException {
+        TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, delimiter);
+        columnReader.setCommentMarker(commentMarker);
+        columnReader.setQuoteCharacter(quoteCharacter);
+
+        return columnReader.readInDataColumns(excludedColumns, false);
+    }
+
+    private TabularDataReader createTabularDataFileReader(Path dataFile) {
+        TabularDataReader dataReader = new TabularDataFileReader(dataFile, delimiter);
+        dataReader.setCommentMarker(commentMarker);
+        dataReader.setQuoteCharacter(quoteCharacter);
+        dataReader.setMissingDataMarker(missingValueMarker);
+
+        return dataReader;
+    }
+
+    private TabularDataReader createWideTabularDataFileReader(Path dataFile) {
+        // small blocks and several threads to split the file and the columns
+        WideTabularDataFileReader dataReader = new WideTabularDataFileReader(dataFile, delimiter);
+        dataReader.setCommentMarker(commentMarker);
+        dataReader.setQuoteCharacter(quoteCharacter);
+        dataReader.setMissingDataMarker(missingValueMarker);
+        dataReader.setBlockSize(64);
+        dataReader.setNumberOfThreads(3);
+
+        return dataReader;
+    }
+
+    private void assertDataEquals(Data expected, Data actual) {
+        Assert.assertEquals(expected.getClass(), actual.getClass());
+        if (expected instanceof ContinuousData) {
+            Assert.assertArrayEquals(((ContinuousData) expected).getData(), ((ContinuousData) actual).getData());
+        } else if (expected instanceof DiscreteData) {
+            assertColumnsEquals(((DiscreteData) expected).getDataColumns(), ((DiscreteData) actual).getDataColumns());
+            Assert.assertArrayEquals(((DiscreteData) expected).getData(), ((DiscreteData) actual).getData());
+        } else {
+            MixedTabularData expectedData = (MixedTabularData) expected;
+            MixedTabularData actualData = (MixedTabularData) actual;
+            Assert.assertEquals(expectedData.getNumOfRows(), actualData.getNumOfRows());
+            assertColumnsEquals(expectedData.getDataColumns(), actualData.getDataColumns());
+            Assert.assertArrayEquals(expectedData.getContinuousData(), actualData.getContinuousData());
+            Assert.assertArrayEquals(expectedData.getDiscreteData(), actualData.getDiscreteData());
+        }
+    }
+
+    private void assertColumnsEquals(DiscreteDataColumn[] expected, DiscreteDataColumn[] actual) {
+        Assert.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i].getCategories(), actual[i].getCategories());
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * Oct 19, 2026 6:02:51 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class ColumnSelectionTest {
+
+    public ColumnSelectionTest() {
+    }
+
+    /**
+     * Test of exclude method, of class ColumnSelection.
+     */
+    @Test
+    public void testExclude() {
+        ColumnSelection selection = ColumnSelection.exclude(6, new int[]{5, 0, 2, 9, 2});
+
+        Assert.assertArrayEquals(new int[]{1, 3, 4, 6}, selection.getColumnNumbers());
+
+        long expected = 4;
+        long actual = selection.getNumberOfColumns();
+        Assert.assertEquals(expected, actual);
+
+        expected = 6;
+        actual = selection.getLastColumnNumber();
+        Assert.assertEquals(expected, actual);
+
+        expected = 2;
+        actual = selection.indexOf(4);
+        Assert.assertEquals(expected, actual);
+
+        expected = -1;
+        actual = selection.indexOf(5);
+        Assert.assertEquals(expected, actual);
+
+        actual = selection.indexOf(7);
+        Assert.assertEquals(expected, actual);
+
+        Assert.assertTrue(selection.isSelected(6));
+        Assert.assertFalse(selection.isSelected(2));
+        Assert.assertFalse(selection.isSelected(0));
+    }
+
+}
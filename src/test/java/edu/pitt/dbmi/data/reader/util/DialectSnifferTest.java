@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.generator.LineEnding;
+import edu.pitt.dbmi.data.reader.generator.TabularDataFileGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * Oct 19, 2026 4:58:36 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class DialectSnifferTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public DialectSnifferTest() {
+    }
+
+    /**
+     * Test of sniff method, of class DialectSniffer.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSniff() throws IOException {
+        Path dataFile = Paths.get(getClass().getResource("/data/tabular/continuous/bad_data_sim_test_data.csv").getFile());
+        FileDialect dialect = (new DialectSniffer(dataFile)).sniff();
+
+        Assert.assertEquals(Delimiter.COMMA, dialect.getDelimiter());
+        Assert.assertEquals("", dialect.getCommentMarker());
+        Assert.assertEquals("\r\n", dialect.getLineSeparator());
+        Assert.assertTrue(dialect.hasHeader());
+        Assert.assertTrue(dialect.isExactNumberOfRows());
+        Assert.assertTrue(dialect.getMissingValueMarkers().contains("*"));
+        Assert.assertTrue(dialect.getMissingValueMarkers().contains(""));
+
+        long expected = 10;
+        long actual = dialect.getNumberOfColumns();
+        Assert.assertEquals(expected, actual);
+
+        expected = 18;
+        actual = dialect.getNumberOfRows();
+        Assert.assertEquals(expected, actual);
+
+        dataFile = Paths.get(getClass().getResource("/data/tabular/discrete/no_header_sim_test_data.csv").getFile());
+        dialect = (new DialectSniffer(dataFile)).sniff();
+
+        Assert.assertFalse(dialect.hasHeader());
+        Assert.assertTrue(dialect.getMissingValueMarkers().isEmpty());
+
+        expected = 19;
+        actual = dialect.getNumberOfRows();
+        Assert.assertEquals(expected, actual);
+
+        dataFile = Paths.get(getClass().getResource("/data/tabular/mixed/mac_sim_test_data.csv").getFile());
+        dialect = (new DialectSniffer(dataFile)).sniff();
+
+        Assert.assertEquals("\r", dialect.getLineSeparator());
+        Assert.assertTrue(dialect.hasHeader());
+
+        dataFile = Paths.get(getClass().getResource("/data/tabular/mixed/quotes_sim_test_data.csv").getFile());
+        dialect = (new DialectSniffer(dataFile)).sniff();
+
+        expected = '"';
+        actual = dialect.getQuoteCharacter();
+        Assert.assertEquals(expected, actual);
+        Assert.assertTrue(dialect.hasHeader());
+
+        expected = 10;
+        actual = dialect.getNumberOfColumns();
+        Assert.assertEquals(expected, actual);
+    }
+
+    /**
+     * Test of sniff method, of class DialectSniffer, on a file that is bigger
+     * than the samples.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSniffSamples() throws IOException {
+        int numOfRows = 2500;
+        int numOfCols = 7;
+
+        TabularDataFileGenerator generator = new TabularDataFileGenerator(numOfRows, numOfCols, Delimiter.TAB);
+        generator.setDiscreteColumnRatio(0.5);
+        generator.setMissingValueRate(0.05);
+        generator.setMissingDataMarker("*");
+        generator.setQuoteCharacter('\'');
+        generator.setCommentMarker("#");
+        generator.setCommentLineInterval(100);
+        generator.setLineEnding(LineEnding.CR);
+        generator.setSeed(1);
+
+        Path dataFile = folder.newFile("mixed.txt").toPath();
+        generator.generate(dataFile);
+
+        DialectSniffer sniffer = new DialectSniffer(dataFile);
+        sniffer.setSampleSize(4096);
+        FileDialect dialect = sniffer.sniff();
+
+        Assert.assertEquals(Delimiter.TAB, dialect.getDelimiter());
+        Assert.assertEquals("#", dialect.getCommentMarker());
+        Assert.assertEquals("\r", dialect.getLineSeparator());
+        Assert.assertEquals("*", dialect.getMissingValueMarkers().get(0));
+        Assert.assertTrue(dialect.hasHeader());
+        Assert.assertFalse(dialect.isExactNumberOfRows());
+        Assert.assertTrue(dialect.getBytesSampled() <= 3 * 4096);
+        Assert.assertTrue(dialect.getBytesSampled() < Files.size(dataFile));
+
+        long expected = '\'';
+        long actual = dialect.getQuoteCharacter();
+        Assert.assertEquals(expected, actual);
+
+        expected = numOfCols;
+        actual = dialect.getNumberOfColumns();
+        Assert.assertEquals(expected, actual);
+
+        // the estimate is within 10 percent
+        actual = dialect.getNumberOfRows();
+        Assert.assertTrue(Math.abs(actual - numOfRows) <= numOfRows / 10);
+    }
+
+}
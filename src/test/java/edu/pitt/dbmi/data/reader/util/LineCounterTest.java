@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.generator.LineEnding;
+import edu.pitt.dbmi.data.reader.generator.TabularDataFileGenerator;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * Oct 19, 2026 11:31:52 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class LineCounterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public LineCounterTest() {
+    }
+
+    /**
+     * Test of countLines method, of class LineCounter.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testCountLines() throws IOException {
+        int numOfRows = 5000;
+        int numOfCols = 9;
+
+        TabularDataFileGenerator generator = new TabularDataFileGenerator(numOfRows, numOfCols, Delimiter.COMMA);
+        generator.setQuoteCharacter('"');
+        generator.setCommentMarker("//");
+        generator.setCommentLineInterval(7);
+        generator.setLineEnding(LineEnding.CRLF);
+        generator.setSeed(1);
+
+        Path dataFile = folder.newFile("data.csv").toPath();
+        generator.generate(dataFile);
+
+        LineCounter.clearCache();
+
+        // many small chunks so that lines and comments cross the chunk ends
+        LineCounter lineCounter = new LineCounter(dataFile, "//");
+        lineCounter.setNumberOfThreads(8);
+        lineCounter.setChunkSize(100);
+
+        long expected = numOfRows + 1;
+        long actual = lineCounter.countLines();
+        Assert.assertEquals(expected, actual);
+        Assert.assertTrue(lineCounter.getBytesRead() > 0);
+
+        // the count of the same file is not read again
+        lineCounter = new LineCounter(dataFile, "//");
+        lineCounter.setNumberOfThreads(1);
+
+        actual = lineCounter.countLines();
+        Assert.assertEquals(expected, actual);
+
+        expected = 0;
+        actual = lineCounter.getBytesRead();
+        Assert.assertEquals(expected, actual);
+
+        LineCounter.clearCache();
+
+        actual = lineCounter.countLines();
+        Assert.assertEquals(numOfRows + 1, actual);
+        Assert.assertTrue(lineCounter.getBytesRead() > 0);
+    }
+
+    /**
+     * Test of countColumns method, of class LineCounter.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testCountColumns() throws IOException {
+        Path dataFile = Paths.get(getClass().getResource("/data/tabular/mixed/quotes_sim_test_data.csv").getFile());
+        LineCounter lineCounter = new LineCounter(dataFile, "//");
+
+        long expected = 10;
+        long actual = lineCounter.countColumns(Delimiter.COMMA, (byte) '"');
+        Assert.assertEquals(expected, actual);
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * Oct 19, 2026 2:41:05 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class NumberRecognizerTest {
+
+    public NumberRecognizerTest() {
+    }
+
+    /**
+     * Test of isNumber method, of class NumberRecognizer.
+     */
+    @Test
+    public void testIsNumber() {
+        String[] values = {
+            "0", "-1", "+2", "3.", ".4", "-.5e-3", "6E+10", "7e", "8e+", "1.2.3", ".", "+", "-", "",
+            " 9 ", "\t10\n", "1f", "2D", "3.5d", "4fd", "5x", "e5", "1,5", "--1", "+-1", "1e5.5",
+            "NaN", "-NaN", "NaNd", "nan", "Infinity", "-Infinity", "+Infinityf", "Inf", "infinity",
+            "0x1p3", "0X1.8P1", "-0x.8p-1f", "0x1", "0xp1", "0x.p1", "0x1.p", "0xG1p1", "0x", "1x1p1",
+            "1e99999", "4.9e-325", "00012", "1 2", "*", "a", "A2"
+        };
+        for (String value : values) {
+            boolean expected;
+            try {
+                Double.parseDouble(value);
+                expected = true;
+            } catch (NumberFormatException exception) {
+                expected = false;
+            }
+
+            Assert.assertEquals(value, expected, NumberRecognizer.isNumber(value));
+        }
+    }
+
+}
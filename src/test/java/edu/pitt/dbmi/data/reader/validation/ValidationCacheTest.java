@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2018 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.validation;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.validation.covariance.CovarianceValidation;
+import edu.pitt.dbmi.data.reader.validation.covariance.LowerCovarianceDataFileValidation;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * Oct 19, 2026 9:48:20 PM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class ValidationCacheTest {
+
+    private final Delimiter delimiter = Delimiter.SPACE;
+    private final char quoteCharacter = '"';
+    private final String commentMarker = "//";
+
+    private final Path dataFile = Paths.get(getClass().getResource("/data/covariance/bad_spartina.txt").getFile());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public ValidationCacheTest() {
+    }
+
+    /**
+     * Test of get method, of class ValidationCache.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testGet() throws IOException {
+        ValidationCache validationCache = new ValidationCache(folder.newFolder("cache").toPath());
+        Path file = Files.copy(dataFile, folder.getRoot().toPath().resolve("bad_spartina.txt"));
+
+        CovarianceValidation validation = newValidation(file, validationCache);
+        List<ValidationResult> results = validation.validate();
+        long numOfPasses = validation.getReadMetrics().getNumberOfPasses();
+
+        // the same file is not read again
+        assertSameResults(results, validation.validate());
+        Assert.assertEquals(numOfPasses, validation.getReadMetrics().getNumberOfPasses());
+
+        // nor is a copy of it
+        Path copy = Files.copy(file, folder.getRoot().toPath().resolve("copy.txt"));
+        validation = newValidation(copy, validationCache);
+        assertSameResults(results, validation.validate());
+
+        long expected = 0;
+        long actual = validation.getReadMetrics().getNumberOfPasses();
+        Assert.assertEquals(expected, actual);
+
+        // other settings
+        validation.setMaximumNumberOfMessages(1);
+        validation.validate();
+        Assert.assertTrue(validation.getReadMetrics().getNumberOfPasses() > 0);
+
+        // changed content
+        Files.write(copy, "\n".getBytes(), StandardOpenOption.APPEND);
+        validation = newValidation(copy, validationCache);
+        validation.validate();
+        Assert.assertTrue(validation.getReadMetrics().getNumberOfPasses() > 0);
+    }
+
+    /**
+     * Test of put method, of class ValidationCache.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testPut() throws IOException {
+        Path directory = folder.newFolder("cache").toPath();
+        ValidationCache validationCache = new ValidationCache(directory, 2);
+
+        CovarianceValidation validation = newValidation(dataFile, validationCache);
+        for (int maxNumOfMsg = 1; maxNumOfMsg <= 4; maxNumOfMsg++) {
+            validation.setMaximumNumberOfMessages(maxNumOfMsg);
+            validation.validate();
+        }
+
+        long expected = 2;
+        long actual = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.results")) {
+            for (Path entry : stream) {
+                actual++;
+            }
+        }
+        Assert.assertEquals(expected, actual);
+
+        validationCache.clear();
+        long numOfPasses = validation.getReadMetrics().getNumberOfPasses();
+        validation.validate();
+        Assert.assertTrue(validation.getReadMetrics().getNumberOfPasses() > numOfPasses);
+    }
+
+    private CovarianceValidation newValidation(Path file, ValidationCache validationCache) {
+        CovarianceValidation validation = new LowerCovarianceDataFileValidation(file, delimiter);
+        validation.setCommentMarker(commentMarker);
+        validation.setQuoteCharacter(quoteCharacter);
+        validation.setValidationCache(validationCache);
+
+        return validation;
+    }
+
+    private void assertSameResults(List<ValidationResult> expected, List<ValidationResult> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+}
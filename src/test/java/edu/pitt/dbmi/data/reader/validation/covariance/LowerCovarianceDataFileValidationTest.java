@@ -19,11 +19,15 @@
 package edu.pitt.dbmi.data.reader.validation.covariance;
 
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.validation.MessageType;
+import edu.pitt.dbmi.data.reader.validation.ValidationAttribute;
+import edu.pitt.dbmi.data.reader.validation.ValidationCode;
 import edu.pitt.dbmi.data.reader.validation.ValidationResult;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -83,4 +87,75 @@ public class LowerCovarianceDataFileValidationTest {
         Assert.assertEquals(expected, actual);
     }
 
+    /**
+     * Test of setCheckMatrixProperties method, of class
+     * LowerCovarianceDataFileValidation.
+     */
+    @Test
+    public void testSetCheckMatrixProperties() {
+        Path dataFile = Paths.get(getClass().getResource("/data/covariance/bad_matrix_spartina.txt").getFile());
+
+        CovarianceValidation validation = new LowerCovarianceDataFileValidation(dataFile, delimiter);
+        validation.setCommentMarker(commentMarker);
+        validation.setQuoteCharacter(quoteCharacter);
+
+        long expected = 0;
+        long actual = validation.validate().stream()
+                .filter(e -> e.getCode() == ValidationCode.ERROR)
+                .count();
+        Assert.assertEquals(expected, actual);
+
+        // a covariance larger than the standard deviations and a negative variance
+        validation.setCheckMatrixProperties(true);
+        List<ValidationResult> errors = validation.validate().stream()
+                .filter(e -> e.getCode() == ValidationCode.ERROR)
+                .collect(Collectors.toList());
+
+        expected = 2;
+        actual = errors.size();
+        Assert.assertEquals(expected, actual);
+
+        for (ValidationResult error : errors) {
+            Assert.assertEquals(MessageType.FILE_INVALID_COVARIANCE, error.getMessageType());
+        }
+
+        expected = 1;
+        actual = (Integer) errors.get(0).getAttributes().get(ValidationAttribute.COLUMN_NUMBER);
+        Assert.assertEquals(expected, actual);
+
+        expected = 3;
+        actual = (Integer) errors.get(1).getAttributes().get(ValidationAttribute.COLUMN_NUMBER);
+        Assert.assertEquals(expected, actual);
+    }
+
+    /**
+     * Test of setMaximumNumberOfErrors method, of class
+     * LowerCovarianceDataFileValidation.
+     */
+    @Test
+    public void testSetMaximumNumberOfErrors() {
+        CovarianceValidation validation = new LowerCovarianceDataFileValidation(dataFile, delimiter);
+        validation.setCommentMarker(commentMarker);
+        validation.setQuoteCharacter(quoteCharacter);
+
+        ValidationResult firstError = validation.validate().stream()
+                .filter(e -> e.getCode() == ValidationCode.ERROR)
+                .findFirst()
+                .get();
+
+        validation.setMaximumNumberOfErrors(1);
+        List<ValidationResult> results = validation.validate();
+
+        long expected = 1;
+        long actual = results.stream()
+                .filter(e -> e.getCode() == ValidationCode.ERROR)
+                .count();
+        Assert.assertEquals(expected, actual);
+
+        ValidationResult stop = results.get(results.size() - 2);
+        Assert.assertEquals(MessageType.FILE_VALIDATION_STOPPED, stop.getMessageType());
+        Assert.assertEquals(firstError.getAttributes().get(ValidationAttribute.LINE_NUMBER), stop.getAttributes().get(ValidationAttribute.LINE_NUMBER));
+        Assert.assertEquals(MessageType.FILE_SUMMARY, results.get(results.size() - 1).getMessageType());
+    }
+
 }
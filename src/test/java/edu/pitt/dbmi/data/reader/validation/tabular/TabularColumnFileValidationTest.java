@@ -19,7 +19,12 @@
 package edu.pitt.dbmi.data.reader.validation.tabular;
 
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.metrics.ReadPhase;
+import edu.pitt.dbmi.data.reader.validation.MessageType;
 import edu.pitt.dbmi.data.reader.validation.ValidationResult;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -28,7 +33,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -44,6 +51,9 @@ public class TabularColumnFileValidationTest {
 
     private final Path dataFile = Paths.get(getClass().getResource("/data/tabular/continuous/bad_column_sim_test_data.csv").getFile());
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     public TabularColumnFileValidationTest() {
     }
 
@@ -168,4 +178,76 @@ public class TabularColumnFileValidationTest {
         Assert.assertEquals(expected, actual);
     }
 
+    /**
+     * Test of setNumberOfThreads method, of class TabularColumnFileValidation.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSetNumberOfThreads() throws IOException {
+        // a header wide enough to be checked on several threads
+        int numOfCols = 100000;
+        StringBuilder header = new StringBuilder();
+        for (int colNum = 1; colNum <= numOfCols; colNum++) {
+            if (colNum > 1) {
+                header.append(',');
+            }
+            if (colNum % 1000 == 0) {
+                header.append("  ");
+            } else if (colNum % 997 == 0) {
+                header.append("X1");
+            } else if (colNum % 991 == 0) {
+                header.append("\"X").append(colNum - 1).append('"');
+            } else {
+                header.append('X').append(colNum);
+            }
+        }
+        Path wideDataFile = folder.newFile("wide_data.csv").toPath();
+        Files.write(wideDataFile, header.append('\n').toString().getBytes(StandardCharsets.ISO_8859_1));
+
+        TabularColumnFileValidation validation = new TabularColumnFileValidation(wideDataFile, delimiter);
+        validation.setCommentMarker(commentMarker);
+        validation.setQuoteCharacter(quoteCharacter);
+        List<ValidationResult> results = validation.validate(new int[]{997});
+
+        long expected = numOfCols / 1000;
+        long actual = results.stream()
+                .filter(e -> e.getMessageType() == MessageType.FILE_MISSING_VALUE)
+                .count();
+        Assert.assertEquals(expected, actual);
+
+        // the excluded column is not a duplicate, the quoted names are
+        expected = (numOfCols / 997 - 1) + (numOfCols / 991);
+        actual = results.stream()
+                .filter(e -> e.getMessageType() == MessageType.FILE_DUPLICATE_NAME)
+                .count();
+        Assert.assertEquals(expected, actual);
+
+        validation.setNumberOfThreads(4);
+        List<ValidationResult> parallelResults = validation.validate(new int[]{997});
+        Assert.assertEquals(results.toString(), parallelResults.toString());
+
+        // all the columns named X1 are excluded while the header is read, once
+        validation.setNumberOfThreads(1);
+        results = validation.validate(new HashSet<>(Arrays.asList("X1")));
+
+        expected = numOfCols / 991;
+        actual = results.stream()
+                .filter(e -> e.getMessageType() == MessageType.FILE_DUPLICATE_NAME)
+                .count();
+        Assert.assertEquals(expected, actual);
+
+        expected = 3;
+        actual = validation.getReadMetrics().getNumberOfPasses(ReadPhase.VALIDATE_HEADER);
+        Assert.assertEquals(expected, actual);
+
+        expected = 0;
+        actual = validation.getReadMetrics().getNumberOfPasses(ReadPhase.READ_HEADER);
+        Assert.assertEquals(expected, actual);
+
+        validation.setNumberOfThreads(4);
+        parallelResults = validation.validate(new HashSet<>(Arrays.asList("X1")));
+        Assert.assertEquals(results.toString(), parallelResults.toString());
+    }
+
 }
@@ -18,20 +18,35 @@
  */
 package edu.pitt.dbmi.data.reader.validation.tabular;
 
+import edu.pitt.dbmi.data.reader.ContinuousData;
+import edu.pitt.dbmi.data.reader.Data;
 import edu.pitt.dbmi.data.reader.DataColumn;
 import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.DiscreteData;
+import edu.pitt.dbmi.data.reader.MixedData;
 import edu.pitt.dbmi.data.reader.tabular.TabularColumnFileReader;
 import edu.pitt.dbmi.data.reader.tabular.TabularColumnReader;
 import edu.pitt.dbmi.data.reader.tabular.TabularDataFileReader;
 import edu.pitt.dbmi.data.reader.tabular.TabularDataReader;
+import edu.pitt.dbmi.data.reader.validation.MessageType;
+import edu.pitt.dbmi.data.reader.validation.ProgressiveValidationListener;
+import edu.pitt.dbmi.data.reader.validation.ValidatedData;
+import edu.pitt.dbmi.data.reader.validation.ValidationAttribute;
+import edu.pitt.dbmi.data.reader.validation.ValidationCode;
 import edu.pitt.dbmi.data.reader.validation.ValidationResult;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -56,6 +71,9 @@ public class TabularDataFileValidationTest {
     private final Path mixedDataFile = Paths.get(getClass()
             .getResource("/data/tabular/mixed/bad_data_sim_test_data.csv").getFile());
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     public TabularDataFileValidationTest() {
     }
 
@@ -372,4 +390,392 @@ public class TabularDataFileValidationTest {
         Assert.assertEquals(expected, actual);
     }
 
+    /**
+     * Test of validateAndRead method, of class TabularDataFileValidation.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testValidateAndRead() throws IOException {
+        String[] files = {
+            "/data/tabular/continuous/sim_test_data.csv",
+            "/data/tabular/continuous/dos_sim_test_data.csv",
+            "/data/tabular/continuous/quotes_sim_test_data.csv",
+            "/data/tabular/discrete/mac_sim_test_data.csv",
+            "/data/tabular/mixed/sim_test_data.csv",
+            "/data/tabular/continuous/bad_data_sim_test_data.csv",
+            "/data/tabular/discrete/bad_data_sim_test_data.csv",
+            "/data/tabular/mixed/bad_data_sim_test_data.csv"
+        };
+        for (String file : files) {
+            Path dataFile = Paths.get(getClass().getResource(file).getFile());
+            for (int[] excludedColumns : new int[][]{new int[0], {1, 11, 9, 10, 3}}) {
+                TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, delimiter);
+                columnReader.setCommentMarker(commentMarker);
+                columnReader.setQuoteCharacter(quoteCharacter);
+                DataColumn[] dataColumns = columnReader.readInDataColumns(excludedColumns, true);
+
+                TabularDataReader dataReader = new TabularDataFileReader(dataFile, delimiter);
+                dataReader.setCommentMarker(commentMarker);
+                dataReader.setQuoteCharacter(quoteCharacter);
+                dataReader.setMissingDataMarker(missingValueMarker);
+                if (!file.contains("bad_data")) {
+                    dataReader.determineDiscreteDataColumns(dataColumns, 4, hasHeader);
+                }
+
+                TabularDataValidation validation = new TabularDataFileValidation(dataFile, delimiter);
+                validation.setCommentMarker(commentMarker);
+                validation.setQuoteCharacter(quoteCharacter);
+                validation.setMissingDataMarker(missingValueMarker);
+
+                List<ValidationResult> expected = validation.validate(dataColumns, hasHeader);
+                ValidatedData actual = validation.validateAndRead(dataColumns, hasHeader);
+
+                Assert.assertEquals(expected.size(), actual.getValidationResults().size());
+                boolean hasError = false;
+                for (int i = 0; i < expected.size(); i++) {
+                    ValidationResult result = actual.getValidationResults().get(i);
+                    Assert.assertEquals(expected.get(i).getCode(), result.getCode());
+                    Assert.assertEquals(expected.get(i).getMessage(), result.getMessage());
+                    Assert.assertEquals(expected.get(i).getAttributes(), result.getAttributes());
+                    hasError |= result.getCode() == ValidationCode.ERROR;
+                }
+
+                Assert.assertEquals(!hasError, actual.isValid());
+                if (!hasError) {
+                    Data data = dataReader.read(dataColumns, hasHeader);
+                    Assert.assertEquals(data.getClass(), actual.getData().getClass());
+                    if (data instanceof ContinuousData) {
+                        Assert.assertArrayEquals(((ContinuousData) data).getData(), ((ContinuousData) actual.getData()).getData());
+                    } else if (data instanceof MixedData) {
+                        Assert.assertArrayEquals(((MixedData) data).getContinuousData(), ((MixedData) actual.getData()).getContinuousData());
+                        Assert.assertArrayEquals(((MixedData) data).getDiscreteData(), ((MixedData) actual.getData()).getDiscreteData());
+                    } else {
+                        Assert.assertArrayEquals(((DiscreteData) data).getData(), ((DiscreteData) actual.getData()).getData());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of setNumberOfThreads method, of class TabularDataFileValidation.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testValidateInParallel() throws IOException {
+        String[] files = {
+            "/data/tabular/continuous/sim_test_data.csv",
+            "/data/tabular/discrete/mac_sim_test_data.csv",
+            "/data/tabular/mixed/sim_test_data.csv",
+            "/data/tabular/continuous/bad_data_sim_test_data.csv",
+            "/data/tabular/discrete/bad_data_sim_test_data.csv",
+            "/data/tabular/mixed/bad_data_sim_test_data.csv"
+        };
+        for (String file : files) {
+            Path dataFile = Paths.get(getClass().getResource(file).getFile());
+            int[][] limits = {{Integer.MAX_VALUE, Integer.MAX_VALUE}, {2, Integer.MAX_VALUE}, {2, 3}, {3, 2}, {1, 1}};
+            for (int[] limit : limits) {
+                TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, delimiter);
+                columnReader.setCommentMarker(commentMarker);
+                columnReader.setQuoteCharacter(quoteCharacter);
+                DataColumn[] dataColumns = columnReader.readInDataColumns(new int[]{1, 9}, true);
+                if (file.contains("discrete")) {
+                    for (DataColumn dataColumn : dataColumns) {
+                        dataColumn.setDiscrete(true);
+                    }
+                } else if (file.contains("mixed")) {
+                    dataColumns[0].setDiscrete(true);
+                }
+
+                TabularDataFileValidation validation = new TabularDataFileValidation(dataFile, delimiter);
+                validation.setCommentMarker(commentMarker);
+                validation.setQuoteCharacter(quoteCharacter);
+                validation.setMissingDataMarker(missingValueMarker);
+                validation.setMaximumNumberOfMessages(limit[0]);
+                validation.setMaximumNumberOfErrors(limit[1]);
+
+                List<ValidationResult> expected = validation.validate(dataColumns, hasHeader);
+                validation.setNumberOfThreads(4);
+                List<ValidationResult> actual = validation.validate(dataColumns, hasHeader);
+
+                Assert.assertEquals(expected.size(), actual.size());
+                Assert.assertTrue(actual.size() - 2 <= limit[0]);
+                for (int i = 0; i < expected.size(); i++) {
+                    Assert.assertEquals(expected.get(i).getMessage(), actual.get(i).getMessage());
+                    Assert.assertEquals(expected.get(i).getAttributes(), actual.get(i).getAttributes());
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of setNumberOfThreads method, of class TabularDataFileValidation,
+     * with both the maximum number of messages and of errors.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testValidateInParallelWithLimits() throws IOException {
+        // an error on every line, and missing values on some of them
+        StringBuilder data = new StringBuilder("X1,X2,X3\n");
+        for (int lineNum = 2; lineNum <= 4000; lineNum++) {
+            if (lineNum % 3 == 0) {
+                data.append("1,,x\n");
+            } else {
+                data.append("1,a,3\n");
+            }
+        }
+        Path dataFile = folder.newFile("errors.csv").toPath();
+        Files.write(dataFile, data.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+        TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, delimiter);
+        DataColumn[] dataColumns = columnReader.readInDataColumns(false);
+
+        int[][] limits = {{2, 3}, {1, 1}, {2, 0}, {3, 2}, {2, 5}, {5, 5}, {Integer.MAX_VALUE, 10}, {10, Integer.MAX_VALUE}};
+        for (int[] limit : limits) {
+            TabularDataFileValidation validation = new TabularDataFileValidation(dataFile, delimiter);
+            validation.setMaximumNumberOfMessages(limit[0]);
+            validation.setMaximumNumberOfErrors(limit[1]);
+
+            List<ValidationResult> expected = validation.validate(dataColumns, hasHeader);
+            validation.setNumberOfThreads(4);
+            List<ValidationResult> actual = validation.validate(dataColumns, hasHeader);
+
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(expected.get(i).getMessage(), actual.get(i).getMessage());
+                Assert.assertEquals(expected.get(i).getAttributes(), actual.get(i).getAttributes());
+            }
+
+            // no limit on the errors
+            if (limit[1] <= 0) {
+                Assert.assertFalse(actual.stream().anyMatch(e -> e.getMessageType() == MessageType.FILE_VALIDATION_STOPPED));
+            }
+        }
+    }
+
+    /**
+     * Test of setMaximumNumberOfErrors method, of class
+     * TabularDataFileValidation.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSetMaximumNumberOfErrors() throws IOException {
+        Path dataFile = Paths.get(getClass().getResource("/data/tabular/continuous/bad_data_sim_test_data.csv").getFile());
+
+        TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, delimiter);
+        columnReader.setCommentMarker(commentMarker);
+        columnReader.setQuoteCharacter(quoteCharacter);
+        DataColumn[] dataColumns = columnReader.readInDataColumns(true);
+
+        for (int numOfThreads : new int[]{1, 4}) {
+            TabularDataFileValidation validation = new TabularDataFileValidation(dataFile, delimiter);
+            validation.setCommentMarker(commentMarker);
+            validation.setQuoteCharacter(quoteCharacter);
+            validation.setMissingDataMarker(missingValueMarker);
+            validation.setNumberOfThreads(numOfThreads);
+
+            List<ValidationResult> results = validation.validate(dataColumns, hasHeader);
+            ValidationResult firstError = results.stream()
+                    .filter(e -> e.getCode() == ValidationCode.ERROR)
+                    .findFirst()
+                    .get();
+
+            List<ValidationResult> listenedResults = new LinkedList<>();
+            validation.setValidationListener(listenedResults::add);
+            validation.setMaximumNumberOfErrors(1);
+            results = validation.validate(dataColumns, hasHeader);
+            Assert.assertEquals(results, listenedResults);
+
+            long expected = 1;
+            long actual = results.stream()
+                    .filter(e -> e.getCode() == ValidationCode.ERROR)
+                    .count();
+            Assert.assertEquals(expected, actual);
+
+            ValidationResult stop = results.get(results.size() - 2);
+            Assert.assertEquals(MessageType.FILE_VALIDATION_STOPPED, stop.getMessageType());
+            Assert.assertEquals(firstError.getAttributes().get(ValidationAttribute.LINE_NUMBER), stop.getAttributes().get(ValidationAttribute.LINE_NUMBER));
+
+            // the header is on line 1 and no line is skipped before the error
+            expected = (Integer) stop.getAttributes().get(ValidationAttribute.LINE_NUMBER) - 1;
+            actual = (Integer) results.get(results.size() - 1).getAttributes().get(ValidationAttribute.ROW_NUMBER);
+            Assert.assertEquals(expected, actual);
+
+            validation.setMaximumNumberOfErrors(Integer.MAX_VALUE);
+            validation.setTimeLimit(1, TimeUnit.NANOSECONDS);
+            results = validation.validate(dataColumns, hasHeader);
+            Assert.assertEquals(MessageType.FILE_VALIDATION_STOPPED, results.get(results.size() - 2).getMessageType());
+        }
+    }
+
+    /**
+     * Test of validateToReport method, of class TabularDataFileValidation.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testValidateToReport() throws IOException {
+        String[] files = {
+            "/data/tabular/continuous/bad_data_sim_test_data.csv",
+            "/data/tabular/mixed/bad_data_sim_test_data.csv"
+        };
+        for (String file : files) {
+            Path dataFile = Paths.get(getClass().getResource(file).getFile());
+
+            TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, delimiter);
+            columnReader.setCommentMarker(commentMarker);
+            columnReader.setQuoteCharacter(quoteCharacter);
+            DataColumn[] dataColumns = columnReader.readInDataColumns(new int[]{2}, true);
+
+            TabularDataFileValidation validation = new TabularDataFileValidation(dataFile, delimiter);
+            validation.setCommentMarker(commentMarker);
+            validation.setQuoteCharacter(quoteCharacter);
+            validation.setMissingDataMarker(missingValueMarker);
+            validation.setNumberOfExamples(2);
+
+            List<ValidationResult> results = validation.validate(dataColumns, hasHeader);
+            for (int numOfThreads : new int[]{1, 4}) {
+                validation.setNumberOfThreads(numOfThreads);
+                TabularValidationReport report = validation.validateToReport(dataColumns, hasHeader);
+
+                for (MessageType messageType : new MessageType[]{MessageType.FILE_MISSING_VALUE, MessageType.FILE_INVALID_NUMBER, MessageType.FILE_INSUFFICIENT_DATA}) {
+                    long expected = results.stream().filter(e -> e.getMessageType() == messageType).count();
+                    long actual = report.getCount(messageType);
+                    Assert.assertEquals(expected, actual);
+                }
+
+                for (MessageType messageType : new MessageType[]{MessageType.FILE_MISSING_VALUE, MessageType.FILE_INVALID_NUMBER}) {
+                    for (int columnIndex = 0; columnIndex < report.getNumberOfColumns(); columnIndex++) {
+                        int colNum = report.getColumnNumber(columnIndex);
+                        int[] lineNums = results.stream()
+                                .filter(e -> e.getMessageType() == messageType && e.getAttributes().get(ValidationAttribute.COLUMN_NUMBER).equals(colNum))
+                                .mapToInt(e -> (Integer) e.getAttributes().get(ValidationAttribute.LINE_NUMBER))
+                                .toArray();
+
+                        long expected = lineNums.length;
+                        long actual = report.getCount(messageType, columnIndex);
+                        Assert.assertEquals(expected, actual);
+
+                        Assert.assertArrayEquals(Arrays.copyOf(lineNums, Math.min(2, lineNums.length)), report.getExampleLineNumbers(messageType, columnIndex));
+                        if (lineNums.length > 0) {
+                            expected = lineNums[0];
+                            actual = report.getFirstLineNumber(messageType, columnIndex);
+                            Assert.assertEquals(expected, actual);
+
+                            expected = lineNums[lineNums.length - 1];
+                            actual = report.getLastLineNumber(messageType, columnIndex);
+                            Assert.assertEquals(expected, actual);
+                        }
+                    }
+                }
+
+                List<ValidationResult> reportResults = report.toValidationResults();
+                Assert.assertEquals(results.get(results.size() - 1).getMessage(), reportResults.get(reportResults.size() - 1).getMessage());
+                Assert.assertEquals(results.stream().anyMatch(e -> e.getCode() == ValidationCode.ERROR), report.hasErrors());
+            }
+        }
+    }
+
+    /**
+     * Test of setNumberOfExamples method, of class TabularDataFileValidation.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSetNumberOfExamples() throws IOException {
+        Path dataFile = folder.newFile("examples.csv").toPath();
+        Files.write(dataFile, "X1,X2,X3\n1,a,3\n1,,3\n1,b,c\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        TabularColumnReader columnReader = new TabularColumnFileReader(dataFile, delimiter);
+        DataColumn[] dataColumns = columnReader.readInDataColumns(false);
+
+        TabularDataFileValidation validation = new TabularDataFileValidation(dataFile, delimiter);
+        validation.setNumberOfExamples(0);
+
+        TabularValidationReport report = validation.validateToReport(dataColumns, hasHeader);
+        List<ValidationResult> results = report.toValidationResults();
+
+        long expected = report.getCount(MessageType.FILE_INVALID_NUMBER);
+        long actual = results.stream()
+                .filter(e -> e.getMessageType() == MessageType.FILE_INVALID_NUMBER)
+                .mapToLong(e -> (Long) e.getAttributes().get(ValidationAttribute.LINE_COUNT))
+                .sum();
+        Assert.assertEquals(expected, actual);
+
+        expected = 3;
+        Assert.assertEquals(expected, actual);
+
+        for (ValidationResult result : results) {
+            Assert.assertFalse(result.getAttributes().containsKey(ValidationAttribute.VALUE));
+        }
+    }
+
+    /**
+     * Test of validateProgressively method, of class
+     * TabularDataFileValidation.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testValidateProgressively() throws Exception {
+        TabularColumnReader columnReader = new TabularColumnFileReader(continuousDataFile, delimiter);
+        columnReader.setCommentMarker(commentMarker);
+        columnReader.setQuoteCharacter(quoteCharacter);
+        DataColumn[] dataColumns = columnReader.readInDataColumns(true);
+
+        TabularDataFileValidation validation = new TabularDataFileValidation(continuousDataFile, delimiter);
+        validation.setCommentMarker(commentMarker);
+        validation.setQuoteCharacter(quoteCharacter);
+        validation.setMissingDataMarker(missingValueMarker);
+        List<ValidationResult> expectedResults = validation.validate(dataColumns, hasHeader);
+
+        List<List<ValidationResult>> sampleResults = new LinkedList<>();
+        List<List<ValidationResult>> fileResults = new LinkedList<>();
+        List<ValidationResult> results = validation.validateProgressively(dataColumns, hasHeader, new ProgressiveValidationListener() {
+            @Override
+            public boolean sampleValidated(List<ValidationResult> results) {
+                sampleResults.add(results);
+
+                return true;
+            }
+
+            @Override
+            public void fileValidated(List<ValidationResult> results) {
+                fileResults.add(results);
+            }
+        }).get();
+
+        Assert.assertEquals(expectedResults.toString(), results.toString());
+        Assert.assertEquals(1, sampleResults.size());
+        Assert.assertEquals(Arrays.asList(results), fileResults);
+
+        // the file is smaller than the sample so all of its problems are found
+        List<ValidationResult> sample = sampleResults.get(0);
+        Assert.assertEquals(expectedResults.size(), sample.size());
+        for (int i = 0; i < sample.size() - 1; i++) {
+            Assert.assertEquals(expectedResults.get(i).getMessageType(), sample.get(i).getMessageType());
+            Assert.assertNotNull(sample.get(i).getAttributes().get(ValidationAttribute.BYTE_OFFSET));
+        }
+
+        // stop after the sample
+        fileResults.clear();
+        results = validation.validateProgressively(dataColumns, hasHeader, new ProgressiveValidationListener() {
+            @Override
+            public boolean sampleValidated(List<ValidationResult> results) {
+                return results.stream().noneMatch(e -> e.getCode() == ValidationCode.ERROR);
+            }
+
+            @Override
+            public void fileValidated(List<ValidationResult> results) {
+                fileResults.add(results);
+            }
+        }).get();
+        Assert.assertNull(results);
+        Assert.assertTrue(fileResults.isEmpty());
+    }
+
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2019 University of Pittsburgh.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package edu.pitt.dbmi.data.reader.metrics;
+
+import edu.pitt.dbmi.data.reader.Delimiter;
+import edu.pitt.dbmi.data.reader.covariance.CovarianceDataReader;
+import edu.pitt.dbmi.data.reader.covariance.LowerCovarianceDataFileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * Oct 19, 2026 11:31:06 AM
+ *
+ * @author Kevin V. Bui (kvb2@pitt.edu)
+ */
+public class FlightRecorderEventRecorderTest {
+
+    public FlightRecorderEventRecorderTest() {
+    }
+
+    /**
+     * Test of commit method, of class FlightRecorderEventRecorder.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testCommit() throws IOException {
+        Path dataFile = Paths.get(getClass().getResource("/data/covariance/spartina.txt").getFile());
+
+        Path recordingFile = Files.createTempFile("data-reader", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(FlightRecorderEventRecorder.EVENT_NAME);
+            recording.start();
+
+            CovarianceDataReader dataReader = new LowerCovarianceDataFileReader(dataFile, Delimiter.SPACE);
+            dataReader.setCommentMarker("//");
+            dataReader.setQuoteCharacter('"');
+            dataReader.readInData();
+
+            recording.stop();
+            recording.dump(recordingFile);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                    .filter(e -> e.getEventType().getName().equals(FlightRecorderEventRecorder.EVENT_NAME))
+                    .filter(e -> e.getString("phase").equals(ReadPhase.READ_DATA.name()))
+                    .collect(Collectors.toList());
+
+            long expected = 1;
+            long actual = events.size();
+            Assert.assertEquals(expected, actual);
+
+            RecordedEvent event = events.get(0);
+            Assert.assertEquals(dataFile.toString(), event.getString("path"));
+
+            expected = Files.size(dataFile);
+            actual = event.getLong("bytesRead");
+            Assert.assertEquals(expected, actual);
+
+            expected = event.getLong("rows");
+            actual = event.getLong("columns");
+            Assert.assertEquals(expected, actual);
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+}